@@ -15,10 +15,17 @@
  */
 package org.springframework.statemachine;
 
+import java.time.Duration;
+import java.time.Instant;
+
+import org.springframework.messaging.Message;
 import org.springframework.statemachine.access.StateMachineAccessor;
 import org.springframework.statemachine.region.Region;
 import org.springframework.statemachine.state.State;
 
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
 /**
  * {@code StateMachine} provides an APIs for generic finite state machine needed
  * for basic operations like working with states, events and a lifecycle.
@@ -65,4 +72,34 @@ public interface StateMachine<S, E> extends Region<S, E> {
 	 */
 	boolean hasStateMachineError();
 
+	/**
+	 * Send an event at a given time. Default implementation keeps a delayed
+	 * event only in memory, machines built from a factory keep it as a
+	 * {@link StateMachineTimer} which is part of a persisted
+	 * {@link StateMachineContext}.
+	 *
+	 * @param event the event
+	 * @param time the time when event is sent
+	 * @return Mono emitting a {@link Disposable} which cancels the delayed event
+	 */
+	default Mono<Disposable> sendEventAt(Message<E> event, Instant time) {
+		return Mono.fromSupplier(() -> {
+			Duration delay = Duration.between(Instant.now(), time);
+			return Mono.delay(delay.isNegative() ? Duration.ZERO : delay)
+				.flatMapMany(l -> sendEvent(Mono.just(event)))
+				.subscribe();
+		});
+	}
+
+	/**
+	 * Send an event after a given delay.
+	 *
+	 * @param event the event
+	 * @param delay the delay
+	 * @return Mono emitting a {@link Disposable} which cancels the delayed event
+	 * @see #sendEventAt(Message, Instant)
+	 */
+	default Mono<Disposable> sendEventAfter(Message<E> event, Duration delay) {
+		return Mono.defer(() -> sendEventAt(event, Instant.now().plus(delay)));
+	}
 }
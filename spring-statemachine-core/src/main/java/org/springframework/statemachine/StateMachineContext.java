@@ -15,6 +15,7 @@
  */
 package org.springframework.statemachine;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -83,4 +84,13 @@ public interface StateMachineContext<S, E> {
 	 * @return the extended state
 	 */
 	ExtendedState getExtendedState();
+
+	/**
+	 * Gets the pending timers with absolute deadlines.
+	 *
+	 * @return the pending timers
+	 */
+	default List<StateMachineTimer<E>> getTimers() {
+		return Collections.emptyList();
+	}
 }
@@ -61,12 +61,13 @@ public interface StateMachineEventResult<S, E> {
 
 	/**
 	 * Enumeration of a result type indicating whether a region accepted, denied or
-	 * deferred an event.
+	 * deferred an event, or rejected it because executor mailbox was full.
 	 */
 	public enum ResultType {
 		ACCEPTED,
 		DENIED,
-		DEFERRED
+		DEFERRED,
+		REJECTED
 	}
 
 	/**
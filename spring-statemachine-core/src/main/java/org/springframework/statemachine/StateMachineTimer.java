@@ -0,0 +1,125 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine;
+
+import java.util.Map;
+
+import org.springframework.util.ObjectUtils;
+
+/**
+ * {@code StateMachineTimer} is a pending timeout of a state machine with an
+ * absolute deadline. Timer either belongs to a timer trigger of a state or
+ * sends an event when it expires. Timers are kept in a
+ * {@link StateMachineContext} so that those survive when a machine is
+ * persisted and restored.
+ *
+ * @author Janne Valkealahti
+ *
+ * @param <E> the type of event
+ */
+public class StateMachineTimer<E> {
+
+	private final String id;
+	private final long deadline;
+	private final E event;
+	private final Map<String, Object> eventHeaders;
+
+	/**
+	 * Instantiates a new state machine timer.
+	 *
+	 * @param id the timer id
+	 * @param deadline the deadline in milliseconds since epoch
+	 * @param event the event, {@code NULL} for a timer of a trigger
+	 * @param eventHeaders the event headers
+	 */
+	public StateMachineTimer(String id, long deadline, E event, Map<String, Object> eventHeaders) {
+		this.id = id;
+		this.deadline = deadline;
+		this.event = event;
+		this.eventHeaders = eventHeaders;
+	}
+
+	/**
+	 * Gets the timer id. For a timer of a trigger id identifies a trigger
+	 * within a state machine.
+	 *
+	 * @return the timer id
+	 */
+	public String getId() {
+		return id;
+	}
+
+	/**
+	 * Gets the deadline in milliseconds since epoch.
+	 *
+	 * @return the deadline
+	 */
+	public long getDeadline() {
+		return deadline;
+	}
+
+	/**
+	 * Gets the event sent when timer expires.
+	 *
+	 * @return the event, {@code NULL} for a timer of a trigger
+	 */
+	public E getEvent() {
+		return event;
+	}
+
+	/**
+	 * Gets the event headers.
+	 *
+	 * @return the event headers
+	 */
+	public Map<String, Object> getEventHeaders() {
+		return eventHeaders;
+	}
+
+	/**
+	 * Checks if timer is due at a given time.
+	 *
+	 * @param now the time in milliseconds since epoch
+	 * @return true, if timer is due
+	 */
+	public boolean isDue(long now) {
+		return deadline <= now;
+	}
+
+	@Override
+	public int hashCode() {
+		return ObjectUtils.nullSafeHashCode(new Object[] { id, deadline, event, eventHeaders });
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		StateMachineTimer<?> other = (StateMachineTimer<?>) obj;
+		return deadline == other.deadline && ObjectUtils.nullSafeEquals(id, other.id)
+				&& ObjectUtils.nullSafeEquals(event, other.event)
+				&& ObjectUtils.nullSafeEquals(eventHeaders, other.eventHeaders);
+	}
+
+	@Override
+	public String toString() {
+		return "StateMachineTimer [id=" + id + ", deadline=" + deadline + ", event=" + event + "]";
+	}
+}
@@ -37,4 +37,21 @@ public interface ReactiveStateMachineAccess<S, E> {
 	 * @return mono for completion
 	 */
 	Mono<Void> resetStateMachineReactively(StateMachineContext<S, E> stateMachineContext);
+
+	/**
+	 * Hydrate state machine reactively. Machine and all its regions are reset
+	 * into a given context and machine is brought running from it without
+	 * executing initial transitions or notifying machine start. Only timers
+	 * of restored states are armed. A running machine is hydrated in place,
+	 * its active states are left without exit actions and its executor is
+	 * kept running, thus it is neither stopped nor started.
+	 * <p>
+	 * Default implementation only resets a machine.
+	 *
+	 * @param stateMachineContext the state machine context
+	 * @return mono for completion
+	 */
+	default Mono<Void> hydrateStateMachineReactively(StateMachineContext<S, E> stateMachineContext) {
+		return resetStateMachineReactively(stateMachineContext);
+	}
 }
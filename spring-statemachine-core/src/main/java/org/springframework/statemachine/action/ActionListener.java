@@ -19,8 +19,10 @@ import java.util.function.Function;
 
 import org.springframework.statemachine.StateContext;
 import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.region.Region;
 
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 /**
  * {@code ActionListener} for various action events.
@@ -40,4 +42,26 @@ public interface ActionListener<S, E> {
 	 * @param duration the transition duration
 	 */
 	void onExecute(StateMachine<S, E> stateMachine, Function<StateContext<S, E>, Mono<Void>> action, long duration);
+
+	/**
+	 * Notified load of a scheduler an action is run on.
+	 *
+	 * @param stateMachine the state machine
+	 * @param scheduler the scheduler
+	 * @param active the count of running actions
+	 * @param queued the count of queued actions
+	 */
+	default void onSchedule(StateMachine<S, E> stateMachine, Scheduler scheduler, int active, int queued) {
+	}
+
+	/**
+	 * Notified duration of a region being started, stopped or handling an
+	 * event in parallel with its sibling regions.
+	 *
+	 * @param stateMachine the state machine
+	 * @param region the region
+	 * @param duration the region duration
+	 */
+	default void onRegion(StateMachine<S, E> stateMachine, Region<S, E> region, long duration) {
+	}
 }
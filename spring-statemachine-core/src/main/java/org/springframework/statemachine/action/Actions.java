@@ -22,6 +22,8 @@ import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.springframework.statemachine.StateContext;
+import org.springframework.statemachine.support.Blocking;
+import org.springframework.statemachine.support.BlockingExecution;
 import org.springframework.statemachine.support.DefaultStateContext;
 
 import reactor.core.publisher.Mono;
@@ -95,12 +97,24 @@ public final class Actions {
 	 */
 	public static <S, E> Function<StateContext<S, E>, Mono<Void>> from(Action<S, E> action) {
 		if (action != null) {
-			return context -> Mono.fromRunnable(() -> action.execute(context));
+			return new ActionAdapter<>(action);
 		} else {
 			return null;
 		}
 	}
 
+	/**
+	 * Marks an {@link Action} as {@link Blocking}.
+	 *
+	 * @param <S> the type of state
+	 * @param <E> the type of event
+	 * @param action the action
+	 * @return the blocking action
+	 */
+	public static <S, E> Action<S, E> blocking(Action<S, E> action) {
+		return new BlockingAction<>(action);
+	}
+
 
 	/**
 	 * Builds a {@link Collection} of {@link Function}s from a {@link Collection} of an {@link Action}s.
@@ -117,4 +131,43 @@ public final class Actions {
 			return Collections.emptyList();
 		}
 	}
+
+	@Blocking
+	private static class BlockingAction<S, E> implements Action<S, E> {
+
+		private final Action<S, E> action;
+
+		BlockingAction(Action<S, E> action) {
+			this.action = action;
+		}
+
+		@Override
+		public void execute(StateContext<S, E> context) {
+			action.execute(context);
+		}
+
+		@Override
+		public String toString() {
+			return action.toString();
+		}
+	}
+
+	private static class ActionAdapter<S, E> implements Function<StateContext<S, E>, Mono<Void>> {
+
+		private final Action<S, E> action;
+
+		ActionAdapter(Action<S, E> action) {
+			this.action = action;
+		}
+
+		@Override
+		public Mono<Void> apply(StateContext<S, E> context) {
+			return BlockingExecution.execute(action, Mono.fromRunnable(() -> action.execute(context)), context);
+		}
+
+		@Override
+		public String toString() {
+			return action.toString();
+		}
+	}
 }
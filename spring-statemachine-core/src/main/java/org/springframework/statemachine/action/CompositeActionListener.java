@@ -20,9 +20,11 @@ import java.util.function.Function;
 
 import org.springframework.statemachine.StateContext;
 import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.region.Region;
 import org.springframework.statemachine.support.AbstractCompositeItems;
 
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 /**
  * Implementation of a {@link ActionListener} backed by a multiple listeners.
@@ -43,4 +45,20 @@ public class CompositeActionListener<S, E> extends AbstractCompositeItems<Action
 			listener.onExecute(stateMachine, action, duration);
 		}
 	}
+
+	@Override
+	public void onSchedule(StateMachine<S, E> stateMachine, Scheduler scheduler, int active, int queued) {
+		for (Iterator<ActionListener<S, E>> iterator = getItems().reverse(); iterator.hasNext();) {
+			ActionListener<S, E> listener = iterator.next();
+			listener.onSchedule(stateMachine, scheduler, active, queued);
+		}
+	}
+
+	@Override
+	public void onRegion(StateMachine<S, E> stateMachine, Region<S, E> region, long duration) {
+		for (Iterator<ActionListener<S, E>> iterator = getItems().reverse(); iterator.hasNext();) {
+			ActionListener<S, E> listener = iterator.next();
+			listener.onRegion(stateMachine, region, duration);
+		}
+	}
 }
@@ -19,12 +19,15 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.Stack;
 import java.util.UUID;
+import java.util.WeakHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
@@ -42,6 +45,7 @@ import org.springframework.statemachine.action.Action;
 import org.springframework.statemachine.action.Actions;
 import org.springframework.statemachine.config.model.ChoiceData;
 import org.springframework.statemachine.config.model.DefaultStateMachineModel;
+import org.springframework.statemachine.config.model.DefaultStateMachineModelCache;
 import org.springframework.statemachine.config.model.EntryData;
 import org.springframework.statemachine.config.model.ExitData;
 import org.springframework.statemachine.config.model.HistoryData;
@@ -49,6 +53,7 @@ import org.springframework.statemachine.config.model.JunctionData;
 import org.springframework.statemachine.config.model.MalformedConfigurationException;
 import org.springframework.statemachine.config.model.StateData;
 import org.springframework.statemachine.config.model.StateMachineModel;
+import org.springframework.statemachine.config.model.StateMachineModelCache;
 import org.springframework.statemachine.config.model.StateMachineModelFactory;
 import org.springframework.statemachine.config.model.TransitionData;
 import org.springframework.statemachine.config.model.TransitionsData;
@@ -92,8 +97,10 @@ import org.springframework.statemachine.transition.InitialTransition;
 import org.springframework.statemachine.transition.Transition;
 import org.springframework.statemachine.transition.TransitionKind;
 import org.springframework.statemachine.trigger.EventTrigger;
+import org.springframework.statemachine.trigger.HashedWheelTriggerScheduler;
 import org.springframework.statemachine.trigger.TimerTrigger;
 import org.springframework.statemachine.trigger.Trigger;
+import org.springframework.statemachine.trigger.TriggerScheduler;
 import org.springframework.util.ObjectUtils;
 
 import reactor.core.publisher.Mono;
@@ -123,6 +130,14 @@ public abstract class AbstractStateMachineFactory<S, E> extends LifecycleObjectS
 
 	private StateMachineMonitor<S, E> defaultStateMachineMonitor;
 
+	private TriggerScheduler triggerScheduler;
+
+	private final Map<StateMachineModel<S, E>, MachineDefinition<S, E>> machineDefinitions = new WeakHashMap<>();
+
+	private final Set<StateMachineModel<S, E>> verifiedModels = Collections.newSetFromMap(new WeakHashMap<>());
+
+	private StateMachineModelCache<S, E> stateMachineModelCache;
+
 	/**
 	 * Instantiates a new abstract state machine factory.
 	 *
@@ -166,13 +181,7 @@ public abstract class AbstractStateMachineFactory<S, E> extends LifecycleObjectS
 		ArrayList<StateMachine<S, E>> machines = new ArrayList<>();
 
 		StateMachineModel<S, E> stateMachineModel = resolveStateMachineModel(machineId);
-		if (stateMachineModel.getConfigurationData().isVerifierEnabled()) {
-			StateMachineModelVerifier<S, E> verifier = stateMachineModel.getConfigurationData().getVerifier();
-			if (verifier == null) {
-				verifier = new CompositeStateMachineModelVerifier<S, E>();
-			}
-			verifier.verify(stateMachineModel);
-		}
+		verifyStateMachineModel(stateMachineModel);
 
 		// shared
 		DefaultExtendedState defaultExtendedState = new DefaultExtendedState();
@@ -185,43 +194,20 @@ public abstract class AbstractStateMachineFactory<S, E> extends LifecycleObjectS
 		// states.
 		final Map<S, State<S, E>> stateMap = new HashMap<S, State<S, E>>();
 		Stack<MachineStackItem<S, E>> regionStack = new Stack<MachineStackItem<S, E>>();
-		Stack<StateData<S, E>> stateStack = new Stack<StateData<S, E>>();
 		Map<Object, StateMachine<S, E>> machineMap = new HashMap<Object, StateMachine<S,E>>();
 		List<HolderListItem<S, E>> holderList = new ArrayList<>();
 
-		Iterator<Node<StateData<S, E>>> iterator = buildStateDataIterator(stateMachineModel);
-		while (iterator.hasNext()) {
-			Node<StateData<S, E>> node = iterator.next();
-			StateData<S, E> stateData = node.getData();
-			StateData<S, E> peek = stateStack.isEmpty() ? null : stateStack.peek();
-
-			// simply push and continue
-			if (stateStack.isEmpty()) {
-				stateStack.push(stateData);
-				continue;
-			}
-
-			boolean stackContainsSameParent = false;
-			Iterator<StateData<S, E>> ii = stateStack.iterator();
-			while (ii.hasNext()) {
-				StateData<S, E> sd = ii.next();
-				if (stateData != null && ObjectUtils.nullSafeEquals(stateData.getState(), sd.getParent())) {
-					stackContainsSameParent = true;
-					break;
-				}
-			}
-
-			if (stateData != null && !stackContainsSameParent) {
-				stateStack.push(stateData);
-				continue;
-			}
-
-			Collection<StateData<S, E>> stateDatas = popSameParents(stateStack);
-			int initialCount = getInitialCount(stateDatas);
-			Collection<Collection<StateData<S, E>>> regionsStateDatas = splitIntoRegions(stateDatas);
-			Collection<TransitionData<S, E>> transitionsData = getTransitionData(iterator.hasNext(), stateDatas, stateMachineModel);
-
-			if (initialCount > 1) {
+		// walking a state tree is same for every machine built from a same
+		// model, thus it's compiled once and steps are replayed here.
+		MachineDefinition<S, E> definition = resolveMachineDefinition(stateMachineModel);
+		for (BuildStep<S, E> step : definition.steps) {
+			StateData<S, E> stateData = step.stateData;
+			StateData<S, E> peek = step.peek;
+			Collection<StateData<S, E>> stateDatas = step.stateDatas;
+			Collection<Collection<StateData<S, E>>> regionsStateDatas = step.regionsStateDatas;
+			Collection<TransitionData<S, E>> transitionsData = step.transitionsData;
+
+			if (step.initialCount > 1) {
 				for (Collection<StateData<S, E>> regionStateDatas : regionsStateDatas) {
 					// try to build reqion id's
 					Object rId = regionStateDatas.iterator().next().getRegion();
@@ -230,7 +216,7 @@ public abstract class AbstractStateMachineFactory<S, E> extends LifecycleObjectS
 
 					machine = buildMachine(machineMap, stateMap, holderList, regionStateDatas, transitionsData,
 							resolveBeanFactory(stateMachineModel), contextEvents, defaultExtendedState,
-							stateMachineModel.getTransitionsData(), mId, null, stateMachineModel);
+							stateMachineModel.getTransitionsData(), mId, null, stateMachineModel, definition);
 					regionStack.push(new MachineStackItem<S, E>(machine));
 					machines.add(machine);
 				}
@@ -246,6 +232,8 @@ public abstract class AbstractStateMachineFactory<S, E> extends LifecycleObjectS
 						stateData != null ? stateData.getExitActions() : null,
 						new DefaultPseudoState<S, E>(PseudoStateKind.INITIAL), stateMachineModel);
 				rstate.setRegionExecutionPolicy(stateMachineModel.getConfigurationData().getRegionExecutionPolicy());
+				rstate.setRegionExecutionScheduler(stateMachineModel.getConfigurationData().getRegionExecutionScheduler());
+				rstate.setRegionExecutionParallelism(stateMachineModel.getConfigurationData().getRegionExecutionParallelism());
 				if (stateData != null) {
 					stateMap.put(stateData.getState(), rstate);
 				} else {
@@ -263,14 +251,12 @@ public abstract class AbstractStateMachineFactory<S, E> extends LifecycleObjectS
 			} else {
 				machine = buildMachine(machineMap, stateMap, holderList, stateDatas, transitionsData,
 						resolveBeanFactory(stateMachineModel), contextEvents, defaultExtendedState,
-						stateMachineModel.getTransitionsData(), machineId, uuid, stateMachineModel);
+						stateMachineModel.getTransitionsData(), machineId, uuid, stateMachineModel, definition);
 				machines.add(machine);
 				if (peek.isInitial() || (!peek.isInitial() && !machineMap.containsKey(peek.getParent()))) {
 					machineMap.put(peek.getParent(), machine);
 				}
 			}
-
-			stateStack.push(stateData);
 		}
 
 		// setup autostart for top-level machine
@@ -433,6 +419,32 @@ public abstract class AbstractStateMachineFactory<S, E> extends LifecycleObjectS
 		this.defaultStateMachineMonitor = stateMachineMonitor;
 	}
 
+	/**
+	 * Set trigger scheduler used with timer triggers of machines built from
+	 * this factory unless a scheduler is set in a model configuration. If not
+	 * set, every timer trigger schedules its own timeouts with reactor, a
+	 * {@link HashedWheelTriggerScheduler#getSharedInstance() shared} scheduler
+	 * can be set to keep timers of all machines in one wheel.
+	 *
+	 * @param triggerScheduler the trigger scheduler
+	 */
+	public void setTriggerScheduler(TriggerScheduler triggerScheduler) {
+		this.triggerScheduler = triggerScheduler;
+	}
+
+	/**
+	 * Resolve a trigger scheduler for a timer trigger of a given model.
+	 *
+	 * @param stateMachineModel the state machine model
+	 * @return the trigger scheduler, {@code NULL} if not configured
+	 */
+	protected TriggerScheduler resolveTriggerScheduler(StateMachineModel<S, E> stateMachineModel) {
+		if (stateMachineModel.getConfigurationData().getTriggerScheduler() != null) {
+			return stateMachineModel.getConfigurationData().getTriggerScheduler();
+		}
+		return triggerScheduler;
+	}
+
 	private StateMachine<S, E> delegateAutoStartup(StateMachine<S, E> delegate) {
 		if (handleAutostartup && delegate instanceof SmartLifecycle && ((SmartLifecycle) delegate).isAutoStartup()) {
 			AutostartListener<S, E> autostartListener = new AutostartListener<>();
@@ -457,20 +469,127 @@ public abstract class AbstractStateMachineFactory<S, E> extends LifecycleObjectS
 		}
 	}
 
+	/**
+	 * Sets the cache for models built by a {@link StateMachineModelFactory},
+	 * for example a {@link DefaultStateMachineModelCache}. Caching is disabled
+	 * by default and models are built for every machine as a model factory
+	 * may return a different model for a same machine id over time.
+	 *
+	 * @param stateMachineModelCache the state machine model cache
+	 */
+	public void setStateMachineModelCache(StateMachineModelCache<S, E> stateMachineModelCache) {
+		this.stateMachineModelCache = stateMachineModelCache;
+	}
+
+	/**
+	 * Invalidate a cached model for a given machine id. Next machine built
+	 * with this id gets a model freshly built by a {@link StateMachineModelFactory}.
+	 *
+	 * @param machineId the machine id
+	 */
+	public void invalidateStateMachineModel(String machineId) {
+		if (stateMachineModelCache != null) {
+			stateMachineModelCache.invalidate(machineId);
+		}
+	}
+
+	/**
+	 * Invalidate all cached models.
+	 */
+	public void invalidateStateMachineModels() {
+		if (stateMachineModelCache != null) {
+			stateMachineModelCache.invalidateAll();
+		}
+	}
+
+	private void verifyStateMachineModel(StateMachineModel<S, E> stateMachineModel) {
+		if (!stateMachineModel.getConfigurationData().isVerifierEnabled()) {
+			return;
+		}
+		synchronized (verifiedModels) {
+			if (verifiedModels.contains(stateMachineModel)) {
+				return;
+			}
+		}
+		StateMachineModelVerifier<S, E> verifier = stateMachineModel.getConfigurationData().getVerifier();
+		if (verifier == null) {
+			verifier = new CompositeStateMachineModelVerifier<S, E>();
+		}
+		verifier.verify(stateMachineModel);
+		synchronized (verifiedModels) {
+			verifiedModels.add(stateMachineModel);
+		}
+	}
+
 	protected StateMachineModel<S, E> resolveStateMachineModel(String machineId) {
 		if (stateMachineModelFactory == null) {
 			return defaultStateMachineModel;
+		} else if (stateMachineModelCache != null) {
+			return stateMachineModelCache.get(machineId, this::buildStateMachineModel);
 		} else {
-			StateMachineModel<S, E> m = stateMachineModelFactory.build(machineId);
-			if (m.getConfigurationData() == null) {
-				// if model doesn't have explicit configuration data,
-				// get it from default model
-				return new DefaultStateMachineModel<>(defaultStateMachineModel.getConfigurationData(), m.getStatesData(),
-						m.getTransitionsData());
-			} else {
-				return m;
+			return buildStateMachineModel(machineId);
+		}
+	}
+
+	private StateMachineModel<S, E> buildStateMachineModel(String machineId) {
+		StateMachineModel<S, E> m = stateMachineModelFactory.build(machineId);
+		if (m.getConfigurationData() == null) {
+			// if model doesn't have explicit configuration data,
+			// get it from default model
+			return new DefaultStateMachineModel<>(defaultStateMachineModel.getConfigurationData(), m.getStatesData(),
+					m.getTransitionsData());
+		} else {
+			return m;
+		}
+	}
+
+	private MachineDefinition<S, E> resolveMachineDefinition(StateMachineModel<S, E> stateMachineModel) {
+		synchronized (machineDefinitions) {
+			MachineDefinition<S, E> definition = machineDefinitions.get(stateMachineModel);
+			if (definition == null) {
+				definition = compileMachineDefinition(stateMachineModel);
+				machineDefinitions.put(stateMachineModel, definition);
+			}
+			return definition;
+		}
+	}
+
+	private MachineDefinition<S, E> compileMachineDefinition(StateMachineModel<S, E> stateMachineModel) {
+		List<BuildStep<S, E>> steps = new ArrayList<>();
+		Stack<StateData<S, E>> stateStack = new Stack<StateData<S, E>>();
+		Iterator<Node<StateData<S, E>>> iterator = buildStateDataIterator(stateMachineModel);
+		while (iterator.hasNext()) {
+			Node<StateData<S, E>> node = iterator.next();
+			StateData<S, E> stateData = node.getData();
+			StateData<S, E> peek = stateStack.isEmpty() ? null : stateStack.peek();
+
+			// simply push and continue
+			if (stateStack.isEmpty()) {
+				stateStack.push(stateData);
+				continue;
+			}
+
+			boolean stackContainsSameParent = false;
+			Iterator<StateData<S, E>> ii = stateStack.iterator();
+			while (ii.hasNext()) {
+				StateData<S, E> sd = ii.next();
+				if (stateData != null && ObjectUtils.nullSafeEquals(stateData.getState(), sd.getParent())) {
+					stackContainsSameParent = true;
+					break;
+				}
+			}
+
+			if (stateData != null && !stackContainsSameParent) {
+				stateStack.push(stateData);
+				continue;
 			}
+
+			Collection<StateData<S, E>> stateDatas = popSameParents(stateStack);
+			steps.add(new BuildStep<S, E>(stateData, peek, stateDatas, getInitialCount(stateDatas),
+					splitIntoRegions(stateDatas), getTransitionData(iterator.hasNext(), stateDatas, stateMachineModel)));
+			stateStack.push(stateData);
 		}
+		return new MachineDefinition<S, E>(steps);
 	}
 
 	private int getInitialCount(Collection<StateData<S, E>> stateDatas) {
@@ -561,7 +680,7 @@ public abstract class AbstractStateMachineFactory<S, E> extends LifecycleObjectS
 			List<HolderListItem<S, E>> holderList, Collection<StateData<S, E>> stateDatas,
 			Collection<TransitionData<S, E>> transitionsData, BeanFactory beanFactory, Boolean contextEvents,
 			DefaultExtendedState defaultExtendedState, TransitionsData<S, E> stateMachineTransitions, String machineId,
-			UUID uuid, StateMachineModel<S, E> stateMachineModel) {
+			UUID uuid, StateMachineModel<S, E> stateMachineModel, MachineDefinition<S, E> definition) {
 		State<S, E> state = null;
 		State<S, E> initialState = null;
 		PseudoState<S, E> historyState = null;
@@ -601,6 +720,8 @@ public abstract class AbstractStateMachineFactory<S, E> extends LifecycleObjectS
 						.setStateDoActionPolicy(stateMachineModel.getConfigurationData().getStateDoActionPolicy());
 				stateMachineState.setStateDoActionPolicyTimeout(
 						stateMachineModel.getConfigurationData().getStateDoActionPolicyTimeout());
+				stateMachineState.setStateDoActionScheduler(
+						stateMachineModel.getConfigurationData().getStateDoActionScheduler());
 				state = stateMachineState;
 
 				// TODO: below if/else doesn't feel right
@@ -708,7 +829,7 @@ public abstract class AbstractStateMachineFactory<S, E> extends LifecycleObjectS
 					if (holder.getState() == null) {
 						holderList.add(new HolderListItem<S, E>(c.getTarget(), holder));
 					}
-					choices.add(new ChoiceStateData<S, E>(holder, c.getGuard(), Actions.from(c.getActions())));
+					choices.add(new ChoiceStateData<S, E>(holder, c.getGuard(), definition.adapt(c.getActions())));
 				}
 				PseudoState<S, E> pseudoState = new ChoicePseudoState<S, E>(choices);
 				state = buildStateInternal(stateData.getState(), stateData.getDeferred(), stateData.getEntryActions(),
@@ -727,7 +848,7 @@ public abstract class AbstractStateMachineFactory<S, E> extends LifecycleObjectS
 					if (holder.getState() == null) {
 						holderList.add(new HolderListItem<S, E>(c.getTarget(), holder));
 					}
-					junctions.add(new JunctionStateData<S, E>(holder, c.getGuard(), Actions.from(c.getActions())));
+					junctions.add(new JunctionStateData<S, E>(holder, c.getGuard(), definition.adapt(c.getActions())));
 				}
 				PseudoState<S, E> pseudoState = new JunctionPseudoState<S, E>(junctions);
 				state = buildStateInternal(stateData.getState(), stateData.getDeferred(), stateData.getEntryActions(),
@@ -837,6 +958,14 @@ public abstract class AbstractStateMachineFactory<S, E> extends LifecycleObjectS
 			}
 		}
 
+		for (StateData<S, E> stateData : stateDatas) {
+			// state specific scheduler overrides one from a configuration
+			if (stateData.getStateDoActionScheduler() != null && stateMap.get(stateData.getState()) instanceof AbstractState) {
+				((AbstractState<S, E>) stateMap.get(stateData.getState()))
+						.setStateDoActionScheduler(stateData.getStateDoActionScheduler());
+			}
+		}
+
 		Collection<Transition<S, E>> transitions = new ArrayList<Transition<S, E>>();
 		for (TransitionData<S, E> transitionData : transitionsData) {
 			S source = transitionData.getSource();
@@ -850,6 +979,7 @@ public abstract class AbstractStateMachineFactory<S, E> extends LifecycleObjectS
 				trigger = new EventTrigger<S, E>(event);
 			} else if (period != null) {
 				TimerTrigger<S, E> t = new TimerTrigger<S, E>(period, count != null ? count : 0);
+				t.setTriggerScheduler(resolveTriggerScheduler(stateMachineModel));
 				if (beanFactory != null) {
 					t.setBeanFactory(beanFactory);
 				}
@@ -901,7 +1031,7 @@ public abstract class AbstractStateMachineFactory<S, E> extends LifecycleObjectS
 			}
 		}
 
-		Transition<S, E> initialTransition = new InitialTransition<S, E>(initialState, Actions.from(initialAction));
+		Transition<S, E> initialTransition = new InitialTransition<S, E>(initialState, definition.adapt(initialAction));
 		StateMachine<S, E> machine = buildStateMachineInternal(states, transitions, initialState, initialTransition,
 				null, defaultExtendedState, historyState, contextEvents, beanFactory,
 				beanName, machineId != null ? machineId : stateMachineModel.getConfigurationData().getMachineId(), uuid, stateMachineModel);
@@ -961,6 +1091,69 @@ public abstract class AbstractStateMachineFactory<S, E> extends LifecycleObjectS
 		}
 	}
 
+	/**
+	 * Build plan of a model shared by all machines built from it. It keeps
+	 * a state tree walk with resolved transition data and adapted initial,
+	 * choice and junction actions. Together with actions and guards kept in
+	 * a model, these are the only parts shared between instances. States,
+	 * pseudo states, transitions and triggers keep runtime state, thus are
+	 * still built per machine and this is not a flyweight of a state graph.
+	 * Definition doesn't reference a model itself so that it can be weakly
+	 * keyed by it.
+	 */
+	private static class MachineDefinition<S, E> {
+
+		final List<BuildStep<S, E>> steps;
+		// adapted actions keyed by identity of actions from a model
+		final Map<Object, Object> adapted = new IdentityHashMap<>();
+
+		MachineDefinition(List<BuildStep<S, E>> steps) {
+			this.steps = steps;
+		}
+
+		@SuppressWarnings("unchecked")
+		Function<StateContext<S, E>, Mono<Void>> adapt(Action<S, E> action) {
+			if (action == null) {
+				return null;
+			}
+			synchronized (adapted) {
+				return (Function<StateContext<S, E>, Mono<Void>>) adapted.computeIfAbsent(action,
+						a -> Actions.from((Action<S, E>) a));
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		Collection<Function<StateContext<S, E>, Mono<Void>>> adapt(Collection<Action<S, E>> actions) {
+			if (actions == null) {
+				return Actions.from(actions);
+			}
+			synchronized (adapted) {
+				return (Collection<Function<StateContext<S, E>, Mono<Void>>>) adapted.computeIfAbsent(actions,
+						a -> Collections.unmodifiableCollection(Actions.from((Collection<Action<S, E>>) a)));
+			}
+		}
+	}
+
+	private static class BuildStep<S, E> {
+		final StateData<S, E> stateData;
+		final StateData<S, E> peek;
+		final Collection<StateData<S, E>> stateDatas;
+		final int initialCount;
+		final Collection<Collection<StateData<S, E>>> regionsStateDatas;
+		final Collection<TransitionData<S, E>> transitionsData;
+
+		BuildStep(StateData<S, E> stateData, StateData<S, E> peek, Collection<StateData<S, E>> stateDatas,
+				int initialCount, Collection<Collection<StateData<S, E>>> regionsStateDatas,
+				Collection<TransitionData<S, E>> transitionsData) {
+			this.stateData = stateData;
+			this.peek = peek;
+			this.stateDatas = stateDatas;
+			this.initialCount = initialCount;
+			this.regionsStateDatas = regionsStateDatas;
+			this.transitionsData = transitionsData;
+		}
+	}
+
 	private static class HolderListItem<S, E> {
 		S key;
 		StateHolder<S, E> value;
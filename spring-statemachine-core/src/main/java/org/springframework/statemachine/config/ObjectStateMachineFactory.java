@@ -80,6 +80,19 @@ public class ObjectStateMachineFactory<S, E> extends AbstractStateMachineFactory
 		machine.setId(machineId);
 		machine.setHistoryState(historyState);
 		machine.setTransitionConflightPolicy(stateMachineModel.getConfigurationData().getTransitionConflictPolicy());
+		machine.setStateMachineExecutorPolicy(stateMachineModel.getConfigurationData().getStateMachineExecutorPolicy());
+		machine.setStateMachineExecutorBatchSize(stateMachineModel.getConfigurationData().getStateMachineExecutorBatchSize());
+		machine.setStateMachineExecutorMailbox(stateMachineModel.getConfigurationData().getStateMachineExecutorMailboxCapacity(),
+				stateMachineModel.getConfigurationData().getStateMachineExecutorMailboxOverflowPolicy());
+		machine.setStateMachineExecutorMailboxQueueSupplier(
+				stateMachineModel.getConfigurationData().getStateMachineExecutorMailboxQueueSupplier());
+		machine.setStateMachineExecutorDeferredEvents(
+				stateMachineModel.getConfigurationData().getStateMachineExecutorDeferredCapacity(),
+				stateMachineModel.getConfigurationData().getStateMachineExecutorDeferredTimeToLive());
+		machine.setStateMachineExecutorTriggerlessCascadeLimit(
+				stateMachineModel.getConfigurationData().getStateMachineExecutorTriggerlessCascadeLimit());
+		machine.setTriggerScheduler(resolveTriggerScheduler(stateMachineModel));
+		machine.setBlockingExecutionPolicy(stateMachineModel.getConfigurationData().getBlockingExecutionPolicy());
 		if (contextEventsEnabled != null) {
 			machine.setContextEventsEnabled(contextEventsEnabled);
 		}
@@ -111,6 +124,7 @@ public class ObjectStateMachineFactory<S, E> extends AbstractStateMachineFactory
 		}
 		objectState.setStateDoActionPolicy(stateMachineModel.getConfigurationData().getStateDoActionPolicy());
 		objectState.setStateDoActionPolicyTimeout(stateMachineModel.getConfigurationData().getStateDoActionPolicyTimeout());
+		objectState.setStateDoActionScheduler(stateMachineModel.getConfigurationData().getStateDoActionScheduler());
 		return objectState;
 	}
 
@@ -122,6 +136,9 @@ public class ObjectStateMachineFactory<S, E> extends AbstractStateMachineFactory
 		RegionState<S,E> regionState = new RegionState<S, E>(id, regions, deferred, entryActions, exitActions, pseudoState);
 		regionState.setStateDoActionPolicy(stateMachineModel.getConfigurationData().getStateDoActionPolicy());
 		regionState.setStateDoActionPolicyTimeout(stateMachineModel.getConfigurationData().getStateDoActionPolicyTimeout());
+		regionState.setStateDoActionScheduler(stateMachineModel.getConfigurationData().getStateDoActionScheduler());
+		regionState.setRegionExecutionScheduler(stateMachineModel.getConfigurationData().getRegionExecutionScheduler());
+		regionState.setRegionExecutionParallelism(stateMachineModel.getConfigurationData().getRegionExecutionParallelism());
 		return regionState;
 	}
 
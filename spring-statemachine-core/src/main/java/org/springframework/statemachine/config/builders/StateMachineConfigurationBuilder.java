@@ -15,8 +15,11 @@
  */
 package org.springframework.statemachine.config.builders;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Queue;
+import java.util.function.Supplier;
 
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.security.access.AccessDecisionManager;
@@ -45,8 +48,14 @@ import org.springframework.statemachine.monitor.StateMachineMonitor;
 import org.springframework.statemachine.persist.StateMachineRuntimePersister;
 import org.springframework.statemachine.region.RegionExecutionPolicy;
 import org.springframework.statemachine.security.SecurityRule;
+import org.springframework.statemachine.support.BlockingExecutionPolicy;
+import org.springframework.statemachine.support.MailboxOverflowPolicy;
+import org.springframework.statemachine.support.StateMachineExecutorPolicy;
 import org.springframework.statemachine.support.StateMachineInterceptor;
 import org.springframework.statemachine.transition.TransitionConflictPolicy;
+import org.springframework.statemachine.trigger.TriggerScheduler;
+
+import reactor.core.scheduler.Scheduler;
 
 /**
  * {@link AnnotationBuilder} for {@link StatesData}.
@@ -67,6 +76,19 @@ public class StateMachineConfigurationBuilder<S, E>
 	private StateDoActionPolicy stateDoActionPolicy;
 	private Long stateDoActionPolicyTimeout;
 	private RegionExecutionPolicy regionExecutionPolicy;
+	private StateMachineExecutorPolicy stateMachineExecutorPolicy;
+	private Integer stateMachineExecutorBatchSize;
+	private Integer stateMachineExecutorMailboxCapacity;
+	private MailboxOverflowPolicy stateMachineExecutorMailboxOverflowPolicy;
+	private Supplier<? extends Queue<?>> stateMachineExecutorMailboxQueueSupplier;
+	private Integer stateMachineExecutorDeferredCapacity;
+	private Duration stateMachineExecutorDeferredTimeToLive;
+	private Integer stateMachineExecutorTriggerlessCascadeLimit;
+	private TriggerScheduler triggerScheduler;
+	private Scheduler stateDoActionScheduler;
+	private Scheduler regionExecutionScheduler;
+	private BlockingExecutionPolicy blockingExecutionPolicy;
+	private Integer regionExecutionParallelism;
 	private StateMachineEnsemble<S, E> ensemble;
 	private final List<StateMachineListener<S, E>> listeners = new ArrayList<StateMachineListener<S, E>>();
 	private boolean securityEnabled = false;
@@ -146,10 +168,39 @@ public class StateMachineConfigurationBuilder<S, E>
 				interceptorsCopy.add(interceptor);
 			}
 		}
-		return new ConfigurationData<S, E>(beanFactory, autoStart, ensemble, listeners, securityEnabled,
-				transitionSecurityAccessDecisionManager, eventSecurityAccessDecisionManager, eventSecurityRule,
-				transitionSecurityRule, verifierEnabled, verifier, machineId, stateMachineMonitor, interceptorsCopy,
-				transitionConflictPolicy, stateDoActionPolicy, stateDoActionPolicyTimeout, regionExecutionPolicy);
+		return ConfigurationData.<S, E>builder()
+			.beanFactory(beanFactory)
+			.autoStart(autoStart)
+			.ensemble(ensemble)
+			.listeners(listeners)
+			.securityEnabled(securityEnabled)
+			.transitionSecurityAccessDecisionManager(transitionSecurityAccessDecisionManager)
+			.eventSecurityAccessDecisionManager(eventSecurityAccessDecisionManager)
+			.eventSecurityRule(eventSecurityRule)
+			.transitionSecurityRule(transitionSecurityRule)
+			.verifierEnabled(verifierEnabled)
+			.verifier(verifier)
+			.machineId(machineId)
+			.stateMachineMonitor(stateMachineMonitor)
+			.interceptors(interceptorsCopy)
+			.transitionConflictPolicy(transitionConflictPolicy)
+			.stateDoActionPolicy(stateDoActionPolicy)
+			.stateDoActionPolicyTimeout(stateDoActionPolicyTimeout)
+			.regionExecutionPolicy(regionExecutionPolicy)
+			.stateMachineExecutorPolicy(stateMachineExecutorPolicy)
+			.stateMachineExecutorBatchSize(stateMachineExecutorBatchSize)
+			.stateMachineExecutorMailboxCapacity(stateMachineExecutorMailboxCapacity)
+			.stateMachineExecutorMailboxOverflowPolicy(stateMachineExecutorMailboxOverflowPolicy)
+			.stateMachineExecutorMailboxQueueSupplier(stateMachineExecutorMailboxQueueSupplier)
+			.stateMachineExecutorDeferredCapacity(stateMachineExecutorDeferredCapacity)
+			.stateMachineExecutorDeferredTimeToLive(stateMachineExecutorDeferredTimeToLive)
+			.stateMachineExecutorTriggerlessCascadeLimit(stateMachineExecutorTriggerlessCascadeLimit)
+			.triggerScheduler(triggerScheduler)
+			.stateDoActionScheduler(stateDoActionScheduler)
+			.regionExecutionScheduler(regionExecutionScheduler)
+			.blockingExecutionPolicy(blockingExecutionPolicy)
+			.regionExecutionParallelism(regionExecutionParallelism)
+			.build();
 	}
 
 	/**
@@ -307,4 +358,107 @@ public class StateMachineConfigurationBuilder<S, E>
 	public void setRegionExecutionPolicy(RegionExecutionPolicy regionExecutionPolicy) {
 		this.regionExecutionPolicy = regionExecutionPolicy;
 	}
+
+	/**
+	 * Sets the state machine executor policy.
+	 *
+	 * @param stateMachineExecutorPolicy the state machine executor policy
+	 */
+	public void setStateMachineExecutorPolicy(StateMachineExecutorPolicy stateMachineExecutorPolicy) {
+		this.stateMachineExecutorPolicy = stateMachineExecutorPolicy;
+	}
+
+	/**
+	 * Sets the state machine executor batch size.
+	 *
+	 * @param stateMachineExecutorBatchSize the state machine executor batch size
+	 */
+	public void setStateMachineExecutorBatchSize(Integer stateMachineExecutorBatchSize) {
+		this.stateMachineExecutorBatchSize = stateMachineExecutorBatchSize;
+	}
+
+	/**
+	 * Sets the state machine executor mailbox capacity and overflow policy.
+	 *
+	 * @param capacity the mailbox capacity
+	 * @param overflowPolicy the mailbox overflow policy
+	 */
+	public void setStateMachineExecutorMailbox(Integer capacity, MailboxOverflowPolicy overflowPolicy) {
+		this.stateMachineExecutorMailboxCapacity = capacity;
+		this.stateMachineExecutorMailboxOverflowPolicy = overflowPolicy;
+	}
+
+	/**
+	 * Sets the state machine executor mailbox queue supplier.
+	 *
+	 * @param queueSupplier the mailbox queue supplier
+	 */
+	public void setStateMachineExecutorMailboxQueueSupplier(Supplier<? extends Queue<?>> queueSupplier) {
+		this.stateMachineExecutorMailboxQueueSupplier = queueSupplier;
+	}
+
+	/**
+	 * Sets the state machine executor deferred event capacity and time to live.
+	 *
+	 * @param capacity the deferred event capacity
+	 * @param timeToLive the deferred event time to live
+	 */
+	public void setStateMachineExecutorDeferredEvents(Integer capacity, Duration timeToLive) {
+		this.stateMachineExecutorDeferredCapacity = capacity;
+		this.stateMachineExecutorDeferredTimeToLive = timeToLive;
+	}
+
+	/**
+	 * Sets the state machine executor triggerless cascade limit.
+	 *
+	 * @param limit the triggerless cascade limit
+	 */
+	public void setStateMachineExecutorTriggerlessCascadeLimit(Integer limit) {
+		this.stateMachineExecutorTriggerlessCascadeLimit = limit;
+	}
+
+	/**
+	 * Sets the trigger scheduler.
+	 *
+	 * @param triggerScheduler the trigger scheduler
+	 */
+	public void setTriggerScheduler(TriggerScheduler triggerScheduler) {
+		this.triggerScheduler = triggerScheduler;
+	}
+
+	/**
+	 * Sets the state do action scheduler.
+	 *
+	 * @param stateDoActionScheduler the state do action scheduler
+	 */
+	public void setStateDoActionScheduler(Scheduler stateDoActionScheduler) {
+		this.stateDoActionScheduler = stateDoActionScheduler;
+	}
+
+	/**
+	 * Sets the region execution scheduler.
+	 *
+	 * @param regionExecutionScheduler the region execution scheduler
+	 */
+	public void setRegionExecutionScheduler(Scheduler regionExecutionScheduler) {
+		this.regionExecutionScheduler = regionExecutionScheduler;
+	}
+
+	/**
+	 * Sets the blocking execution policy.
+	 *
+	 * @param blockingExecutionPolicy the blocking execution policy
+	 */
+	public void setBlockingExecutionPolicy(BlockingExecutionPolicy blockingExecutionPolicy) {
+		this.blockingExecutionPolicy = blockingExecutionPolicy;
+	}
+
+	/**
+	 * Sets the region execution parallelism.
+	 *
+	 * @param regionExecutionParallelism the region execution parallelism
+	 */
+	public void setRegionExecutionParallelism(Integer regionExecutionParallelism) {
+		this.regionExecutionParallelism = regionExecutionParallelism;
+	}
 }
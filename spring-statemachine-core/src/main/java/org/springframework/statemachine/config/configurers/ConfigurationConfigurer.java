@@ -15,7 +15,10 @@
  */
 package org.springframework.statemachine.config.configurers;
 
+import java.time.Duration;
+import java.util.Queue;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.statemachine.StateMachine;
@@ -24,7 +27,15 @@ import org.springframework.statemachine.config.builders.StateMachineConfiguratio
 import org.springframework.statemachine.config.common.annotation.AnnotationConfigurerBuilder;
 import org.springframework.statemachine.listener.StateMachineListener;
 import org.springframework.statemachine.region.RegionExecutionPolicy;
+import org.springframework.statemachine.support.BlockingExecutionPolicy;
+import org.springframework.statemachine.support.MailboxOverflowPolicy;
+import org.springframework.statemachine.support.StateMachineExecutorPolicy;
 import org.springframework.statemachine.transition.TransitionConflictPolicy;
+import org.springframework.statemachine.trigger.HashedWheelTriggerScheduler;
+import org.springframework.statemachine.trigger.ReactorTriggerScheduler;
+import org.springframework.statemachine.trigger.TriggerScheduler;
+
+import reactor.core.scheduler.Scheduler;
 
 /**
  * Base {@code ConfigConfigurer} interface for configuring generic config.
@@ -105,4 +116,134 @@ public interface ConfigurationConfigurer<S, E> extends
 	 * @return the configuration configurer
 	 */
 	ConfigurationConfigurer<S, E> regionExecutionPolicy(RegionExecutionPolicy regionExecutionPolicy);
+
+	/**
+	 * Specify a {@link StateMachineExecutorPolicy}. Defaults to {@link StateMachineExecutorPolicy#REACTIVE}.
+	 * {@link StateMachineExecutorPolicy#SYNCHRONOUS} blocks a calling thread
+	 * until an event is handled and should only be used if all actions and
+	 * guards in a machine are synchronous.
+	 *
+	 * @param stateMachineExecutorPolicy the state machine executor policy
+	 * @return the configuration configurer
+	 */
+	ConfigurationConfigurer<S, E> stateMachineExecutorPolicy(StateMachineExecutorPolicy stateMachineExecutorPolicy);
+
+	/**
+	 * Specify a maximum number of queued events a state machine executor
+	 * handles together in one pass. Defaults to {@code 1} meaning events are
+	 * handled one by one.
+	 *
+	 * @param batchSize the batch size
+	 * @return the configuration configurer
+	 */
+	ConfigurationConfigurer<S, E> stateMachineExecutorBatchSize(int batchSize);
+
+	/**
+	 * Specify a capacity of a state machine executor mailbox and a policy
+	 * applied when it's full. Defaults to capacity of {@code 256} with
+	 * {@link MailboxOverflowPolicy#BLOCK}.
+	 *
+	 * @param capacity the mailbox capacity
+	 * @param overflowPolicy the mailbox overflow policy
+	 * @return the configuration configurer
+	 */
+	ConfigurationConfigurer<S, E> stateMachineExecutorMailbox(int capacity, MailboxOverflowPolicy overflowPolicy);
+
+	/**
+	 * Specify a supplier for a queue backing a state machine executor mailbox.
+	 * Queue needs to be safe for concurrent producers and a single consumer,
+	 * for example a lock-free MPSC queue.
+	 *
+	 * @param queueSupplier the mailbox queue supplier
+	 * @return the configuration configurer
+	 */
+	ConfigurationConfigurer<S, E> stateMachineExecutorMailboxQueue(Supplier<? extends Queue<?>> queueSupplier);
+
+	/**
+	 * Specify a capacity of a state machine executor store for deferred events
+	 * and a time to live of a deferred event. When store is full an oldest
+	 * deferred event is dropped. By default store is unbounded and events
+	 * don't expire.
+	 *
+	 * @param capacity the deferred event capacity
+	 * @param timeToLive the deferred event time to live, {@code NULL} to never expire
+	 * @return the configuration configurer
+	 */
+	ConfigurationConfigurer<S, E> stateMachineExecutorDeferredEvents(int capacity, Duration timeToLive);
+
+	/**
+	 * Specify a maximum number of triggerless transitions a state machine
+	 * executor fires in a row before failing with a state machine error.
+	 * Protects against guards of triggerless transitions forming a cycle.
+	 * Defaults to {@code 100}.
+	 *
+	 * @param limit the triggerless cascade limit
+	 * @return the configuration configurer
+	 */
+	ConfigurationConfigurer<S, E> stateMachineExecutorTriggerlessCascadeLimit(int limit);
+
+	/**
+	 * Specify a {@link TriggerScheduler} scheduling timeouts of timer
+	 * triggers. By default every timer trigger schedules its own timeouts with
+	 * reactor, {@link HashedWheelTriggerScheduler#getSharedInstance()} keeps
+	 * timers of all machines in one timing wheel.
+	 *
+	 * @param triggerScheduler the trigger scheduler
+	 * @return the configuration configurer
+	 */
+	ConfigurationConfigurer<S, E> triggerScheduler(TriggerScheduler triggerScheduler);
+
+	/**
+	 * Specify a {@link Scheduler} timeouts of timer triggers are run on. This
+	 * is a shortcut for {@link #triggerScheduler(TriggerScheduler)} with a
+	 * {@link ReactorTriggerScheduler}, for example to keep timers on a
+	 * dedicated single threaded scheduler.
+	 *
+	 * @param scheduler the timer scheduler
+	 * @return the configuration configurer
+	 */
+	ConfigurationConfigurer<S, E> timerScheduler(Scheduler scheduler);
+
+	/**
+	 * Specify a {@link Scheduler} state do actions are run on. Defaults to
+	 * {@code Schedulers.parallel()} which should not be blocked, thus machines
+	 * having blocking do actions should use a dedicated scheduler like one
+	 * from {@code Schedulers.newBoundedElastic()}. Scheduler can be overridden
+	 * per state with {@link StateConfigurer#stateDoScheduler(Object, Scheduler)}.
+	 *
+	 * @param scheduler the state do action scheduler
+	 * @return the configuration configurer
+	 */
+	ConfigurationConfigurer<S, E> stateDoActionScheduler(Scheduler scheduler);
+
+	/**
+	 * Specify a {@link Scheduler} regions are run on with
+	 * {@link RegionExecutionPolicy#PARALLEL}. Defaults to
+	 * {@code Schedulers.parallel()}.
+	 *
+	 * @param scheduler the region execution scheduler
+	 * @return the configuration configurer
+	 */
+	ConfigurationConfigurer<S, E> regionExecutionScheduler(Scheduler scheduler);
+
+	/**
+	 * Specify a maximum number of regions run at a time with
+	 * {@link RegionExecutionPolicy#PARALLEL}. A region is handed to a
+	 * scheduler as soon as a previous one completes and results are joined in
+	 * region order. By default all regions are run at once.
+	 *
+	 * @param parallelism the region execution parallelism
+	 * @return the configuration configurer
+	 */
+	ConfigurationConfigurer<S, E> regionExecutionParallelism(int parallelism);
+
+	/**
+	 * Specify a {@link BlockingExecutionPolicy} deciding which actions and
+	 * guards are offloaded to a blocking scheduler, backed by virtual threads
+	 * when those are available. Defaults to {@link BlockingExecutionPolicy#MARKED}.
+	 *
+	 * @param blockingExecutionPolicy the blocking execution policy
+	 * @return the configuration configurer
+	 */
+	ConfigurationConfigurer<S, E> blockingExecutionPolicy(BlockingExecutionPolicy blockingExecutionPolicy);
 }
@@ -15,9 +15,12 @@
  */
 package org.springframework.statemachine.config.configurers;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Queue;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.statemachine.action.StateDoActionPolicy;
@@ -27,7 +30,14 @@ import org.springframework.statemachine.config.common.annotation.AnnotationConfi
 import org.springframework.statemachine.config.model.ConfigurationData;
 import org.springframework.statemachine.listener.StateMachineListener;
 import org.springframework.statemachine.region.RegionExecutionPolicy;
+import org.springframework.statemachine.support.BlockingExecutionPolicy;
+import org.springframework.statemachine.support.MailboxOverflowPolicy;
+import org.springframework.statemachine.support.StateMachineExecutorPolicy;
 import org.springframework.statemachine.transition.TransitionConflictPolicy;
+import org.springframework.statemachine.trigger.ReactorTriggerScheduler;
+import org.springframework.statemachine.trigger.TriggerScheduler;
+
+import reactor.core.scheduler.Scheduler;
 
 /**
  * Default implementation of a {@link ConfigurationConfigurer}.
@@ -48,6 +58,19 @@ public class DefaultConfigurationConfigurer<S, E>
 	private StateDoActionPolicy stateDoActionPolicy;
 	private Long stateDoActionPolicyTimeout;
 	private RegionExecutionPolicy regionExecutionPolicy;
+	private StateMachineExecutorPolicy stateMachineExecutorPolicy;
+	private Integer stateMachineExecutorBatchSize;
+	private Integer stateMachineExecutorMailboxCapacity;
+	private MailboxOverflowPolicy stateMachineExecutorMailboxOverflowPolicy;
+	private Supplier<? extends Queue<?>> stateMachineExecutorMailboxQueueSupplier;
+	private Integer stateMachineExecutorDeferredCapacity;
+	private Duration stateMachineExecutorDeferredTimeToLive;
+	private Integer stateMachineExecutorTriggerlessCascadeLimit;
+	private TriggerScheduler triggerScheduler;
+	private Scheduler stateDoActionScheduler;
+	private Scheduler regionExecutionScheduler;
+	private BlockingExecutionPolicy blockingExecutionPolicy;
+	private Integer regionExecutionParallelism;
 	private final List<StateMachineListener<S, E>> listeners = new ArrayList<StateMachineListener<S, E>>();
 
 	@Override
@@ -59,6 +82,17 @@ public class DefaultConfigurationConfigurer<S, E>
 		builder.setTransitionConflictPolicy(transitionConflightPolicy);
 		builder.setStateDoActionPolicy(stateDoActionPolicy, stateDoActionPolicyTimeout);
 		builder.setRegionExecutionPolicy(regionExecutionPolicy);
+		builder.setStateMachineExecutorPolicy(stateMachineExecutorPolicy);
+		builder.setStateMachineExecutorBatchSize(stateMachineExecutorBatchSize);
+		builder.setStateMachineExecutorMailbox(stateMachineExecutorMailboxCapacity, stateMachineExecutorMailboxOverflowPolicy);
+		builder.setStateMachineExecutorMailboxQueueSupplier(stateMachineExecutorMailboxQueueSupplier);
+		builder.setStateMachineExecutorDeferredEvents(stateMachineExecutorDeferredCapacity, stateMachineExecutorDeferredTimeToLive);
+		builder.setStateMachineExecutorTriggerlessCascadeLimit(stateMachineExecutorTriggerlessCascadeLimit);
+		builder.setTriggerScheduler(triggerScheduler);
+		builder.setStateDoActionScheduler(stateDoActionScheduler);
+		builder.setRegionExecutionScheduler(regionExecutionScheduler);
+		builder.setBlockingExecutionPolicy(blockingExecutionPolicy);
+		builder.setRegionExecutionParallelism(regionExecutionParallelism);
 	}
 
 	@Override
@@ -108,4 +142,78 @@ public class DefaultConfigurationConfigurer<S, E>
 		this.regionExecutionPolicy = regionExecutionPolicy;
 		return this;
 	}
+
+	@Override
+	public ConfigurationConfigurer<S, E> stateMachineExecutorPolicy(StateMachineExecutorPolicy stateMachineExecutorPolicy) {
+		this.stateMachineExecutorPolicy = stateMachineExecutorPolicy;
+		return this;
+	}
+
+	@Override
+	public ConfigurationConfigurer<S, E> stateMachineExecutorBatchSize(int batchSize) {
+		this.stateMachineExecutorBatchSize = batchSize;
+		return this;
+	}
+
+	@Override
+	public ConfigurationConfigurer<S, E> stateMachineExecutorMailbox(int capacity, MailboxOverflowPolicy overflowPolicy) {
+		this.stateMachineExecutorMailboxCapacity = capacity;
+		this.stateMachineExecutorMailboxOverflowPolicy = overflowPolicy;
+		return this;
+	}
+
+	@Override
+	public ConfigurationConfigurer<S, E> stateMachineExecutorMailboxQueue(Supplier<? extends Queue<?>> queueSupplier) {
+		this.stateMachineExecutorMailboxQueueSupplier = queueSupplier;
+		return this;
+	}
+
+	@Override
+	public ConfigurationConfigurer<S, E> stateMachineExecutorDeferredEvents(int capacity, Duration timeToLive) {
+		this.stateMachineExecutorDeferredCapacity = capacity;
+		this.stateMachineExecutorDeferredTimeToLive = timeToLive;
+		return this;
+	}
+
+	@Override
+	public ConfigurationConfigurer<S, E> stateMachineExecutorTriggerlessCascadeLimit(int limit) {
+		this.stateMachineExecutorTriggerlessCascadeLimit = limit;
+		return this;
+	}
+
+	@Override
+	public ConfigurationConfigurer<S, E> triggerScheduler(TriggerScheduler triggerScheduler) {
+		this.triggerScheduler = triggerScheduler;
+		return this;
+	}
+
+	@Override
+	public ConfigurationConfigurer<S, E> timerScheduler(Scheduler scheduler) {
+		this.triggerScheduler = new ReactorTriggerScheduler(scheduler);
+		return this;
+	}
+
+	@Override
+	public ConfigurationConfigurer<S, E> stateDoActionScheduler(Scheduler scheduler) {
+		this.stateDoActionScheduler = scheduler;
+		return this;
+	}
+
+	@Override
+	public ConfigurationConfigurer<S, E> regionExecutionScheduler(Scheduler scheduler) {
+		this.regionExecutionScheduler = scheduler;
+		return this;
+	}
+
+	@Override
+	public ConfigurationConfigurer<S, E> regionExecutionParallelism(int parallelism) {
+		this.regionExecutionParallelism = parallelism;
+		return this;
+	}
+
+	@Override
+	public ConfigurationConfigurer<S, E> blockingExecutionPolicy(BlockingExecutionPolicy blockingExecutionPolicy) {
+		this.blockingExecutionPolicy = blockingExecutionPolicy;
+		return this;
+	}
 }
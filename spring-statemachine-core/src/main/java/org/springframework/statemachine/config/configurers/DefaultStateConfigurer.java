@@ -38,6 +38,7 @@ import org.springframework.statemachine.config.model.StatesData;
 import org.springframework.statemachine.state.PseudoStateKind;
 
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 /**
  * Default implementation of a {@link StateConfigurer}.
@@ -67,6 +68,7 @@ public class DefaultStateConfigurer<S, E>
 	private final Collection<S> entrys = new ArrayList<S>();
 	private final Map<S, StateMachine<S, E>> submachines = new HashMap<>();
 	private final Map<S, StateMachineFactory<S, E>> submachinefactories = new HashMap<>();
+	private final Map<S, Scheduler> stateDoSchedulers = new HashMap<>();
 
 	@Override
 	public void configure(StateMachineStateBuilder<S, E> builder) throws Exception {
@@ -105,6 +107,7 @@ public class DefaultStateConfigurer<S, E>
 			}
 			s.setSubmachine(submachines.get(s.getState()));
 			s.setSubmachineFactory(submachinefactories.get(s.getState()));
+			s.setStateDoActionScheduler(stateDoSchedulers.get(s.getState()));
 		}
 		builder.addStateData(stateDatas);
 	}
@@ -193,6 +196,13 @@ public class DefaultStateConfigurer<S, E>
 		return this;
 	}
 
+	@Override
+	public StateConfigurer<S, E> stateDoScheduler(S state, Scheduler scheduler) {
+		state(state);
+		stateDoSchedulers.put(state, scheduler);
+		return this;
+	}
+
 	@Override
 	public StateConfigurer<S, E> stateEntryFunction(S state, Function<StateContext<S, E>, Mono<Void>> action) {
 		Collection<Function<StateContext<S, E>, Mono<Void>>> entryActions = new ArrayList<>();
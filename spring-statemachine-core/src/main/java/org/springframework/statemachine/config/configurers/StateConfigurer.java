@@ -28,6 +28,7 @@ import org.springframework.statemachine.config.common.annotation.AnnotationConfi
 import org.springframework.statemachine.state.State;
 
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 /**
  * Base {@code StateConfigurer} interface for configuring {@link State}s.
@@ -152,6 +153,18 @@ public interface StateConfigurer<S, E> extends
 	 */
 	StateConfigurer<S, E> stateDoFunction(S state, Function<StateContext<S, E>, Mono<Void>> action);
 
+	/**
+	 * Specify a {@link Scheduler} state behaviour of a state {@code S} is run
+	 * on, for example a bounded elastic scheduler for a blocking action.
+	 * Overrides a scheduler set with
+	 * {@link ConfigurationConfigurer#stateDoActionScheduler(Scheduler)}.
+	 *
+	 * @param state the state
+	 * @param scheduler the state do action scheduler
+	 * @return configurer for chaining
+	 */
+	StateConfigurer<S, E> stateDoScheduler(S state, Scheduler scheduler);
+
 	/**
 	 * Specify a state {@code S} with state entry {@link Function}.
 	 *
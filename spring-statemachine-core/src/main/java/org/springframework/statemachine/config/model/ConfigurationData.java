@@ -15,8 +15,11 @@
  */
 package org.springframework.statemachine.config.model;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Queue;
+import java.util.function.Supplier;
 
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.security.access.AccessDecisionManager;
@@ -29,8 +32,14 @@ import org.springframework.statemachine.listener.StateMachineListener;
 import org.springframework.statemachine.monitor.StateMachineMonitor;
 import org.springframework.statemachine.region.RegionExecutionPolicy;
 import org.springframework.statemachine.security.SecurityRule;
+import org.springframework.statemachine.support.BlockingExecutionPolicy;
+import org.springframework.statemachine.support.MailboxOverflowPolicy;
+import org.springframework.statemachine.support.StateMachineExecutorPolicy;
 import org.springframework.statemachine.support.StateMachineInterceptor;
 import org.springframework.statemachine.transition.TransitionConflictPolicy;
+import org.springframework.statemachine.trigger.TriggerScheduler;
+
+import reactor.core.scheduler.Scheduler;
 
 /**
  * Configuration object used to keep things together in {@link StateMachineConfigurationBuilder}.
@@ -60,6 +69,19 @@ public class ConfigurationData<S, E> {
 	private final StateMachineMonitor<S, E> stateMachineMonitor;
 	private final List<StateMachineInterceptor<S, E>> interceptors;
 	private final RegionExecutionPolicy regionExecutionPolicy;
+	private final StateMachineExecutorPolicy stateMachineExecutorPolicy;
+	private final Integer stateMachineExecutorBatchSize;
+	private final Integer stateMachineExecutorMailboxCapacity;
+	private final MailboxOverflowPolicy stateMachineExecutorMailboxOverflowPolicy;
+	private final Supplier<? extends Queue<?>> stateMachineExecutorMailboxQueueSupplier;
+	private final Integer stateMachineExecutorDeferredCapacity;
+	private final Duration stateMachineExecutorDeferredTimeToLive;
+	private final Integer stateMachineExecutorTriggerlessCascadeLimit;
+	private final TriggerScheduler triggerScheduler;
+	private final Scheduler stateDoActionScheduler;
+	private final Scheduler regionExecutionScheduler;
+	private final BlockingExecutionPolicy blockingExecutionPolicy;
+	private final Integer regionExecutionParallelism;
 
 	/**
 	 * Instantiates a new state machine configuration config data.
@@ -130,24 +152,71 @@ public class ConfigurationData<S, E> {
 			List<StateMachineInterceptor<S, E>> interceptors, TransitionConflictPolicy transitionConflightPolicy,
 			StateDoActionPolicy stateDoActionPolicy, Long stateDoActionPolicyTimeout,
 			RegionExecutionPolicy regionExecutionPolicy) {
-		this.beanFactory = beanFactory;
-		this.autoStart = autoStart;
-		this.ensemble = ensemble;
-		this.listeners = listeners;
-		this.securityEnabled = securityEnabled;
-		this.transitionSecurityAccessDecisionManager = transitionSecurityAccessDecisionManager;
-		this.eventSecurityAccessDecisionManager = eventSecurityAccessDecisionManager;
-		this.eventSecurityRule = eventSecurityRule;
-		this.transitionSecurityRule = transitionSecurityRule;
-		this.verifierEnabled = verifierEnabled;
-		this.verifier = verifier;
-		this.machineId = machineId;
-		this.stateMachineMonitor = stateMachineMonitor;
-		this.interceptors = interceptors;
-		this.transitionConflictPolicy = transitionConflightPolicy;
-		this.stateDoActionPolicy = stateDoActionPolicy;
-		this.stateDoActionPolicyTimeout = stateDoActionPolicyTimeout;
-		this.regionExecutionPolicy = regionExecutionPolicy;
+		this(ConfigurationData.<S, E>builder()
+				.beanFactory(beanFactory)
+				.autoStart(autoStart)
+				.ensemble(ensemble)
+				.listeners(listeners)
+				.securityEnabled(securityEnabled)
+				.transitionSecurityAccessDecisionManager(transitionSecurityAccessDecisionManager)
+				.eventSecurityAccessDecisionManager(eventSecurityAccessDecisionManager)
+				.eventSecurityRule(eventSecurityRule)
+				.transitionSecurityRule(transitionSecurityRule)
+				.verifierEnabled(verifierEnabled)
+				.verifier(verifier)
+				.machineId(machineId)
+				.stateMachineMonitor(stateMachineMonitor)
+				.interceptors(interceptors)
+				.transitionConflictPolicy(transitionConflightPolicy)
+				.stateDoActionPolicy(stateDoActionPolicy)
+				.stateDoActionPolicyTimeout(stateDoActionPolicyTimeout)
+				.regionExecutionPolicy(regionExecutionPolicy));
+	}
+
+	private ConfigurationData(Builder<S, E> builder) {
+		this.beanFactory = builder.beanFactory;
+		this.autoStart = builder.autoStart;
+		this.ensemble = builder.ensemble;
+		this.listeners = builder.listeners;
+		this.securityEnabled = builder.securityEnabled;
+		this.transitionSecurityAccessDecisionManager = builder.transitionSecurityAccessDecisionManager;
+		this.eventSecurityAccessDecisionManager = builder.eventSecurityAccessDecisionManager;
+		this.eventSecurityRule = builder.eventSecurityRule;
+		this.transitionSecurityRule = builder.transitionSecurityRule;
+		this.verifierEnabled = builder.verifierEnabled;
+		this.verifier = builder.verifier;
+		this.machineId = builder.machineId;
+		this.stateMachineMonitor = builder.stateMachineMonitor;
+		this.interceptors = builder.interceptors;
+		this.transitionConflictPolicy = builder.transitionConflictPolicy;
+		this.stateDoActionPolicy = builder.stateDoActionPolicy;
+		this.stateDoActionPolicyTimeout = builder.stateDoActionPolicyTimeout;
+		this.regionExecutionPolicy = builder.regionExecutionPolicy;
+		this.stateMachineExecutorPolicy = builder.stateMachineExecutorPolicy;
+		this.stateMachineExecutorBatchSize = builder.stateMachineExecutorBatchSize;
+		this.stateMachineExecutorMailboxCapacity = builder.stateMachineExecutorMailboxCapacity;
+		this.stateMachineExecutorMailboxOverflowPolicy = builder.stateMachineExecutorMailboxOverflowPolicy;
+		this.stateMachineExecutorMailboxQueueSupplier = builder.stateMachineExecutorMailboxQueueSupplier;
+		this.stateMachineExecutorDeferredCapacity = builder.stateMachineExecutorDeferredCapacity;
+		this.stateMachineExecutorDeferredTimeToLive = builder.stateMachineExecutorDeferredTimeToLive;
+		this.stateMachineExecutorTriggerlessCascadeLimit = builder.stateMachineExecutorTriggerlessCascadeLimit;
+		this.triggerScheduler = builder.triggerScheduler;
+		this.stateDoActionScheduler = builder.stateDoActionScheduler;
+		this.regionExecutionScheduler = builder.regionExecutionScheduler;
+		this.blockingExecutionPolicy = builder.blockingExecutionPolicy;
+		this.regionExecutionParallelism = builder.regionExecutionParallelism;
+	}
+
+	/**
+	 * Gets a new builder for {@link ConfigurationData}. Settings not given are
+	 * left to their defaults, same as with {@link #ConfigurationData()}.
+	 *
+	 * @param <S> the type of state
+	 * @param <E> the type of event
+	 * @return the builder
+	 */
+	public static <S, E> Builder<S, E> builder() {
+		return new Builder<S, E>();
 	}
 
 	public String getMachineId() {
@@ -306,4 +375,515 @@ public class ConfigurationData<S, E> {
 	public RegionExecutionPolicy getRegionExecutionPolicy() {
 		return regionExecutionPolicy;
 	}
+
+	/**
+	 * Gets the state machine executor policy.
+	 *
+	 * @return the state machine executor policy
+	 */
+	public StateMachineExecutorPolicy getStateMachineExecutorPolicy() {
+		return stateMachineExecutorPolicy;
+	}
+
+	/**
+	 * Gets the state machine executor batch size.
+	 *
+	 * @return the state machine executor batch size
+	 */
+	public Integer getStateMachineExecutorBatchSize() {
+		return stateMachineExecutorBatchSize;
+	}
+
+	/**
+	 * Gets the state machine executor mailbox capacity.
+	 *
+	 * @return the state machine executor mailbox capacity
+	 */
+	public Integer getStateMachineExecutorMailboxCapacity() {
+		return stateMachineExecutorMailboxCapacity;
+	}
+
+	/**
+	 * Gets the state machine executor mailbox overflow policy.
+	 *
+	 * @return the state machine executor mailbox overflow policy
+	 */
+	public MailboxOverflowPolicy getStateMachineExecutorMailboxOverflowPolicy() {
+		return stateMachineExecutorMailboxOverflowPolicy;
+	}
+
+	/**
+	 * Gets the state machine executor mailbox queue supplier.
+	 *
+	 * @return the state machine executor mailbox queue supplier
+	 */
+	public Supplier<? extends Queue<?>> getStateMachineExecutorMailboxQueueSupplier() {
+		return stateMachineExecutorMailboxQueueSupplier;
+	}
+
+	/**
+	 * Gets the state machine executor deferred event capacity.
+	 *
+	 * @return the state machine executor deferred event capacity
+	 */
+	public Integer getStateMachineExecutorDeferredCapacity() {
+		return stateMachineExecutorDeferredCapacity;
+	}
+
+	/**
+	 * Gets the state machine executor deferred event time to live.
+	 *
+	 * @return the state machine executor deferred event time to live
+	 */
+	public Duration getStateMachineExecutorDeferredTimeToLive() {
+		return stateMachineExecutorDeferredTimeToLive;
+	}
+
+	/**
+	 * Gets the state machine executor triggerless cascade limit.
+	 *
+	 * @return the state machine executor triggerless cascade limit
+	 */
+	public Integer getStateMachineExecutorTriggerlessCascadeLimit() {
+		return stateMachineExecutorTriggerlessCascadeLimit;
+	}
+
+	/**
+	 * Gets the trigger scheduler.
+	 *
+	 * @return the trigger scheduler
+	 */
+	public TriggerScheduler getTriggerScheduler() {
+		return triggerScheduler;
+	}
+
+	/**
+	 * Gets the state do action scheduler.
+	 *
+	 * @return the state do action scheduler
+	 */
+	public Scheduler getStateDoActionScheduler() {
+		return stateDoActionScheduler;
+	}
+
+	/**
+	 * Gets the region execution scheduler.
+	 *
+	 * @return the region execution scheduler
+	 */
+	public Scheduler getRegionExecutionScheduler() {
+		return regionExecutionScheduler;
+	}
+
+	/**
+	 * Gets the blocking execution policy.
+	 *
+	 * @return the blocking execution policy
+	 */
+	public BlockingExecutionPolicy getBlockingExecutionPolicy() {
+		return blockingExecutionPolicy;
+	}
+
+	/**
+	 * Gets the region execution parallelism.
+	 *
+	 * @return the region execution parallelism
+	 */
+	public Integer getRegionExecutionParallelism() {
+		return regionExecutionParallelism;
+	}
+
+	/**
+	 * Builder for {@link ConfigurationData}.
+	 *
+	 * @param <S> the type of state
+	 * @param <E> the type of event
+	 */
+	public static class Builder<S, E> {
+
+		private BeanFactory beanFactory;
+		private boolean autoStart;
+		private StateMachineEnsemble<S, E> ensemble;
+		private List<StateMachineListener<S, E>> listeners = new ArrayList<StateMachineListener<S, E>>();
+		private boolean securityEnabled;
+		private AccessDecisionManager transitionSecurityAccessDecisionManager;
+		private AccessDecisionManager eventSecurityAccessDecisionManager;
+		private SecurityRule eventSecurityRule;
+		private SecurityRule transitionSecurityRule;
+		private boolean verifierEnabled = true;
+		private StateMachineModelVerifier<S, E> verifier = new DefaultStateMachineModelVerifier<S, E>();
+		private String machineId;
+		private StateMachineMonitor<S, E> stateMachineMonitor;
+		private List<StateMachineInterceptor<S, E>> interceptors;
+		private TransitionConflictPolicy transitionConflictPolicy;
+		private StateDoActionPolicy stateDoActionPolicy;
+		private Long stateDoActionPolicyTimeout;
+		private RegionExecutionPolicy regionExecutionPolicy;
+		private StateMachineExecutorPolicy stateMachineExecutorPolicy;
+		private Integer stateMachineExecutorBatchSize;
+		private Integer stateMachineExecutorMailboxCapacity;
+		private MailboxOverflowPolicy stateMachineExecutorMailboxOverflowPolicy;
+		private Supplier<? extends Queue<?>> stateMachineExecutorMailboxQueueSupplier;
+		private Integer stateMachineExecutorDeferredCapacity;
+		private Duration stateMachineExecutorDeferredTimeToLive;
+		private Integer stateMachineExecutorTriggerlessCascadeLimit;
+		private TriggerScheduler triggerScheduler;
+		private Scheduler stateDoActionScheduler;
+		private Scheduler regionExecutionScheduler;
+		private BlockingExecutionPolicy blockingExecutionPolicy;
+		private Integer regionExecutionParallelism;
+
+		Builder() {
+		}
+
+		/**
+		 * Sets the bean factory.
+		 *
+		 * @param beanFactory the bean factory
+		 * @return the builder for chaining
+		 */
+		public Builder<S, E> beanFactory(BeanFactory beanFactory) {
+			this.beanFactory = beanFactory;
+			return this;
+		}
+
+		/**
+		 * Sets the autostart flag.
+		 *
+		 * @param autoStart the autostart flag
+		 * @return the builder for chaining
+		 */
+		public Builder<S, E> autoStart(boolean autoStart) {
+			this.autoStart = autoStart;
+			return this;
+		}
+
+		/**
+		 * Sets the state machine ensemble.
+		 *
+		 * @param ensemble the state machine ensemble
+		 * @return the builder for chaining
+		 */
+		public Builder<S, E> ensemble(StateMachineEnsemble<S, E> ensemble) {
+			this.ensemble = ensemble;
+			return this;
+		}
+
+		/**
+		 * Sets the state machine listeners.
+		 *
+		 * @param listeners the state machine listeners
+		 * @return the builder for chaining
+		 */
+		public Builder<S, E> listeners(List<StateMachineListener<S, E>> listeners) {
+			this.listeners = listeners;
+			return this;
+		}
+
+		/**
+		 * Sets the security enabled flag.
+		 *
+		 * @param securityEnabled the security enabled flag
+		 * @return the builder for chaining
+		 */
+		public Builder<S, E> securityEnabled(boolean securityEnabled) {
+			this.securityEnabled = securityEnabled;
+			return this;
+		}
+
+		/**
+		 * Sets the transition security access decision manager.
+		 *
+		 * @param transitionSecurityAccessDecisionManager the transition security access decision manager
+		 * @return the builder for chaining
+		 */
+		public Builder<S, E> transitionSecurityAccessDecisionManager(AccessDecisionManager transitionSecurityAccessDecisionManager) {
+			this.transitionSecurityAccessDecisionManager = transitionSecurityAccessDecisionManager;
+			return this;
+		}
+
+		/**
+		 * Sets the event security access decision manager.
+		 *
+		 * @param eventSecurityAccessDecisionManager the event security access decision manager
+		 * @return the builder for chaining
+		 */
+		public Builder<S, E> eventSecurityAccessDecisionManager(AccessDecisionManager eventSecurityAccessDecisionManager) {
+			this.eventSecurityAccessDecisionManager = eventSecurityAccessDecisionManager;
+			return this;
+		}
+
+		/**
+		 * Sets the event security rule.
+		 *
+		 * @param eventSecurityRule the event security rule
+		 * @return the builder for chaining
+		 */
+		public Builder<S, E> eventSecurityRule(SecurityRule eventSecurityRule) {
+			this.eventSecurityRule = eventSecurityRule;
+			return this;
+		}
+
+		/**
+		 * Sets the transition security rule.
+		 *
+		 * @param transitionSecurityRule the transition security rule
+		 * @return the builder for chaining
+		 */
+		public Builder<S, E> transitionSecurityRule(SecurityRule transitionSecurityRule) {
+			this.transitionSecurityRule = transitionSecurityRule;
+			return this;
+		}
+
+		/**
+		 * Sets the verifier enabled flag.
+		 *
+		 * @param verifierEnabled the verifier enabled flag
+		 * @return the builder for chaining
+		 */
+		public Builder<S, E> verifierEnabled(boolean verifierEnabled) {
+			this.verifierEnabled = verifierEnabled;
+			return this;
+		}
+
+		/**
+		 * Sets the state machine model verifier.
+		 *
+		 * @param verifier the state machine model verifier
+		 * @return the builder for chaining
+		 */
+		public Builder<S, E> verifier(StateMachineModelVerifier<S, E> verifier) {
+			this.verifier = verifier;
+			return this;
+		}
+
+		/**
+		 * Sets the machine id.
+		 *
+		 * @param machineId the machine id
+		 * @return the builder for chaining
+		 */
+		public Builder<S, E> machineId(String machineId) {
+			this.machineId = machineId;
+			return this;
+		}
+
+		/**
+		 * Sets the state machine monitor.
+		 *
+		 * @param stateMachineMonitor the state machine monitor
+		 * @return the builder for chaining
+		 */
+		public Builder<S, E> stateMachineMonitor(StateMachineMonitor<S, E> stateMachineMonitor) {
+			this.stateMachineMonitor = stateMachineMonitor;
+			return this;
+		}
+
+		/**
+		 * Sets the state machine interceptors.
+		 *
+		 * @param interceptors the state machine interceptors
+		 * @return the builder for chaining
+		 */
+		public Builder<S, E> interceptors(List<StateMachineInterceptor<S, E>> interceptors) {
+			this.interceptors = interceptors;
+			return this;
+		}
+
+		/**
+		 * Sets the transition conflict policy.
+		 *
+		 * @param transitionConflictPolicy the transition conflict policy
+		 * @return the builder for chaining
+		 */
+		public Builder<S, E> transitionConflictPolicy(TransitionConflictPolicy transitionConflictPolicy) {
+			this.transitionConflictPolicy = transitionConflictPolicy;
+			return this;
+		}
+
+		/**
+		 * Sets the state do action policy.
+		 *
+		 * @param stateDoActionPolicy the state do action policy
+		 * @return the builder for chaining
+		 */
+		public Builder<S, E> stateDoActionPolicy(StateDoActionPolicy stateDoActionPolicy) {
+			this.stateDoActionPolicy = stateDoActionPolicy;
+			return this;
+		}
+
+		/**
+		 * Sets the state do action policy timeout.
+		 *
+		 * @param stateDoActionPolicyTimeout the state do action policy timeout
+		 * @return the builder for chaining
+		 */
+		public Builder<S, E> stateDoActionPolicyTimeout(Long stateDoActionPolicyTimeout) {
+			this.stateDoActionPolicyTimeout = stateDoActionPolicyTimeout;
+			return this;
+		}
+
+		/**
+		 * Sets the region execution policy.
+		 *
+		 * @param regionExecutionPolicy the region execution policy
+		 * @return the builder for chaining
+		 */
+		public Builder<S, E> regionExecutionPolicy(RegionExecutionPolicy regionExecutionPolicy) {
+			this.regionExecutionPolicy = regionExecutionPolicy;
+			return this;
+		}
+
+		/**
+		 * Sets the state machine executor policy.
+		 *
+		 * @param stateMachineExecutorPolicy the state machine executor policy
+		 * @return the builder for chaining
+		 */
+		public Builder<S, E> stateMachineExecutorPolicy(StateMachineExecutorPolicy stateMachineExecutorPolicy) {
+			this.stateMachineExecutorPolicy = stateMachineExecutorPolicy;
+			return this;
+		}
+
+		/**
+		 * Sets the state machine executor batch size.
+		 *
+		 * @param stateMachineExecutorBatchSize the state machine executor batch size
+		 * @return the builder for chaining
+		 */
+		public Builder<S, E> stateMachineExecutorBatchSize(Integer stateMachineExecutorBatchSize) {
+			this.stateMachineExecutorBatchSize = stateMachineExecutorBatchSize;
+			return this;
+		}
+
+		/**
+		 * Sets the state machine executor mailbox capacity.
+		 *
+		 * @param stateMachineExecutorMailboxCapacity the state machine executor mailbox capacity
+		 * @return the builder for chaining
+		 */
+		public Builder<S, E> stateMachineExecutorMailboxCapacity(Integer stateMachineExecutorMailboxCapacity) {
+			this.stateMachineExecutorMailboxCapacity = stateMachineExecutorMailboxCapacity;
+			return this;
+		}
+
+		/**
+		 * Sets the state machine executor mailbox overflow policy.
+		 *
+		 * @param stateMachineExecutorMailboxOverflowPolicy the state machine executor mailbox overflow policy
+		 * @return the builder for chaining
+		 */
+		public Builder<S, E> stateMachineExecutorMailboxOverflowPolicy(MailboxOverflowPolicy stateMachineExecutorMailboxOverflowPolicy) {
+			this.stateMachineExecutorMailboxOverflowPolicy = stateMachineExecutorMailboxOverflowPolicy;
+			return this;
+		}
+
+		/**
+		 * Sets the state machine executor mailbox queue supplier.
+		 *
+		 * @param stateMachineExecutorMailboxQueueSupplier the state machine executor mailbox queue supplier
+		 * @return the builder for chaining
+		 */
+		public Builder<S, E> stateMachineExecutorMailboxQueueSupplier(Supplier<? extends Queue<?>> stateMachineExecutorMailboxQueueSupplier) {
+			this.stateMachineExecutorMailboxQueueSupplier = stateMachineExecutorMailboxQueueSupplier;
+			return this;
+		}
+
+		/**
+		 * Sets the state machine executor deferred event capacity.
+		 *
+		 * @param stateMachineExecutorDeferredCapacity the state machine executor deferred event capacity
+		 * @return the builder for chaining
+		 */
+		public Builder<S, E> stateMachineExecutorDeferredCapacity(Integer stateMachineExecutorDeferredCapacity) {
+			this.stateMachineExecutorDeferredCapacity = stateMachineExecutorDeferredCapacity;
+			return this;
+		}
+
+		/**
+		 * Sets the state machine executor deferred event time to live.
+		 *
+		 * @param stateMachineExecutorDeferredTimeToLive the state machine executor deferred event time to live
+		 * @return the builder for chaining
+		 */
+		public Builder<S, E> stateMachineExecutorDeferredTimeToLive(Duration stateMachineExecutorDeferredTimeToLive) {
+			this.stateMachineExecutorDeferredTimeToLive = stateMachineExecutorDeferredTimeToLive;
+			return this;
+		}
+
+		/**
+		 * Sets the state machine executor triggerless cascade limit.
+		 *
+		 * @param stateMachineExecutorTriggerlessCascadeLimit the state machine executor triggerless cascade limit
+		 * @return the builder for chaining
+		 */
+		public Builder<S, E> stateMachineExecutorTriggerlessCascadeLimit(Integer stateMachineExecutorTriggerlessCascadeLimit) {
+			this.stateMachineExecutorTriggerlessCascadeLimit = stateMachineExecutorTriggerlessCascadeLimit;
+			return this;
+		}
+
+		/**
+		 * Sets the trigger scheduler.
+		 *
+		 * @param triggerScheduler the trigger scheduler
+		 * @return the builder for chaining
+		 */
+		public Builder<S, E> triggerScheduler(TriggerScheduler triggerScheduler) {
+			this.triggerScheduler = triggerScheduler;
+			return this;
+		}
+
+		/**
+		 * Sets the state do action scheduler.
+		 *
+		 * @param stateDoActionScheduler the state do action scheduler
+		 * @return the builder for chaining
+		 */
+		public Builder<S, E> stateDoActionScheduler(Scheduler stateDoActionScheduler) {
+			this.stateDoActionScheduler = stateDoActionScheduler;
+			return this;
+		}
+
+		/**
+		 * Sets the region execution scheduler.
+		 *
+		 * @param regionExecutionScheduler the region execution scheduler
+		 * @return the builder for chaining
+		 */
+		public Builder<S, E> regionExecutionScheduler(Scheduler regionExecutionScheduler) {
+			this.regionExecutionScheduler = regionExecutionScheduler;
+			return this;
+		}
+
+		/**
+		 * Sets the blocking execution policy.
+		 *
+		 * @param blockingExecutionPolicy the blocking execution policy
+		 * @return the builder for chaining
+		 */
+		public Builder<S, E> blockingExecutionPolicy(BlockingExecutionPolicy blockingExecutionPolicy) {
+			this.blockingExecutionPolicy = blockingExecutionPolicy;
+			return this;
+		}
+
+		/**
+		 * Sets the region execution parallelism.
+		 *
+		 * @param regionExecutionParallelism the region execution parallelism
+		 * @return the builder for chaining
+		 */
+		public Builder<S, E> regionExecutionParallelism(Integer regionExecutionParallelism) {
+			this.regionExecutionParallelism = regionExecutionParallelism;
+			return this;
+		}
+
+		/**
+		 * Builds the {@link ConfigurationData}.
+		 *
+		 * @return the configuration data
+		 */
+		public ConfigurationData<S, E> build() {
+			return new ConfigurationData<S, E>(this);
+		}
+	}
 }
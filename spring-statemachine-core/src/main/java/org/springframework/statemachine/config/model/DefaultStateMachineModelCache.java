@@ -0,0 +1,146 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.config.model;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+import org.springframework.util.Assert;
+
+/**
+ * Default implementation of a {@link StateMachineModelCache} keeping at most
+ * a given number of models and evicting least recently used one first.
+ * Optionally models are evicted after a given time to live.
+ * <p>
+ * Models are built outside of a cache lock by a thread which first requests
+ * a machine id, others requesting same id concurrently wait for that build.
+ * Thus a slow build doesn't block models of other machine ids and a model
+ * for a machine id is built only once.
+ *
+ * @author Janne Valkealahti
+ *
+ * @param <S> the type of state
+ * @param <E> the type of event
+ */
+public class DefaultStateMachineModelCache<S, E> implements StateMachineModelCache<S, E> {
+
+	private final Map<String, CacheEntry<S, E>> models;
+	private final long timeToLive;
+
+	/**
+	 * Instantiates a new default state machine model cache without a time to
+	 * live.
+	 *
+	 * @param maxSize the maximum number of cached models
+	 */
+	public DefaultStateMachineModelCache(int maxSize) {
+		this(maxSize, null);
+	}
+
+	/**
+	 * Instantiates a new default state machine model cache.
+	 *
+	 * @param maxSize the maximum number of cached models
+	 * @param timeToLive the time to live of a cached model, {@code null} for no expiration
+	 */
+	public DefaultStateMachineModelCache(int maxSize, Duration timeToLive) {
+		Assert.isTrue(maxSize > 0, "'maxSize' must be greater than zero");
+		this.timeToLive = timeToLive != null ? timeToLive.toMillis() : -1;
+		this.models = new LinkedHashMap<String, CacheEntry<S, E>>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, CacheEntry<S, E>> eldest) {
+				return size() > maxSize;
+			}
+		};
+	}
+
+	@Override
+	public StateMachineModel<S, E> get(String machineId, Function<String, StateMachineModel<S, E>> builder) {
+		CacheEntry<S, E> entry;
+		boolean build = false;
+		synchronized (models) {
+			long now = System.currentTimeMillis();
+			entry = models.get(machineId);
+			if (entry == null || (timeToLive > -1 && now - entry.created > timeToLive)) {
+				entry = new CacheEntry<S, E>(now);
+				models.put(machineId, entry);
+				build = true;
+			}
+		}
+		if (build) {
+			try {
+				entry.model.complete(builder.apply(machineId));
+			} catch (RuntimeException | Error e) {
+				// don't cache a failure, next request tries to build again
+				synchronized (models) {
+					models.remove(machineId, entry);
+				}
+				entry.model.completeExceptionally(e);
+				throw e;
+			}
+		}
+		try {
+			return entry.model.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			} else if (e.getCause() instanceof Error) {
+				throw (Error) e.getCause();
+			}
+			throw e;
+		}
+	}
+
+	@Override
+	public void invalidate(String machineId) {
+		synchronized (models) {
+			models.remove(machineId);
+		}
+	}
+
+	@Override
+	public void invalidateAll() {
+		synchronized (models) {
+			models.clear();
+		}
+	}
+
+	/**
+	 * Gets the number of cached models.
+	 *
+	 * @return the number of cached models
+	 */
+	public int size() {
+		synchronized (models) {
+			return models.size();
+		}
+	}
+
+	private static class CacheEntry<S, E> {
+		final CompletableFuture<StateMachineModel<S, E>> model = new CompletableFuture<>();
+		final long created;
+
+		CacheEntry(long created) {
+			this.created = created;
+		}
+	}
+}
@@ -26,6 +26,7 @@ import org.springframework.statemachine.state.PseudoStateKind;
 import org.springframework.statemachine.state.State;
 
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 /**
  * {@code StateData} is a data representation of a {@link State} used as an
@@ -53,6 +54,7 @@ public class StateData<S, E> {
 	private Action<S, E> initialAction;
 	private boolean end = false;
 	private PseudoStateKind pseudoStateKind;
+	private Scheduler stateDoActionScheduler;
 
 	/**
 	 * Instantiates a new state data.
@@ -391,6 +393,24 @@ public class StateData<S, E> {
 		this.pseudoStateKind = pseudoStateKind;
 	}
 
+	/**
+	 * Gets the state do action scheduler.
+	 *
+	 * @return the state do action scheduler
+	 */
+	public Scheduler getStateDoActionScheduler() {
+		return stateDoActionScheduler;
+	}
+
+	/**
+	 * Sets the state do action scheduler.
+	 *
+	 * @param stateDoActionScheduler the new state do action scheduler
+	 */
+	public void setStateDoActionScheduler(Scheduler stateDoActionScheduler) {
+		this.stateDoActionScheduler = stateDoActionScheduler;
+	}
+
 	@Override
 	public String toString() {
 		return "StateData [parent=" + parent + ", region=" + region + ", state=" + state + ", deferred=" + deferred
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.config.model;
+
+import java.util.function.Function;
+
+/**
+ * Cache for {@link StateMachineModel}s built by a {@link StateMachineModelFactory}.
+ * Implementation decides when cached models are evicted.
+ *
+ * @author Janne Valkealahti
+ *
+ * @param <S> the type of state
+ * @param <E> the type of event
+ */
+public interface StateMachineModelCache<S, E> {
+
+	/**
+	 * Gets a model for a machine id, building it with a given function if
+	 * there is no cached model.
+	 *
+	 * @param machineId the machine id, may be {@code null}
+	 * @param builder the function building a model
+	 * @return the state machine model
+	 */
+	StateMachineModel<S, E> get(String machineId, Function<String, StateMachineModel<S, E>> builder);
+
+	/**
+	 * Invalidate a cached model for a machine id.
+	 *
+	 * @param machineId the machine id, may be {@code null}
+	 */
+	void invalidate(String machineId);
+
+	/**
+	 * Invalidate all cached models.
+	 */
+	void invalidateAll();
+}
@@ -18,6 +18,8 @@ package org.springframework.statemachine.guard;
 import java.util.function.Function;
 
 import org.springframework.statemachine.StateContext;
+import org.springframework.statemachine.support.Blocking;
+import org.springframework.statemachine.support.BlockingExecution;
 
 import reactor.core.publisher.Mono;
 
@@ -39,9 +41,77 @@ public final class Guards {
 	 */
 	public static <S, E> Function<StateContext<S, E>, Mono<Boolean>> from(Guard<S, E> guard) {
 		if (guard != null) {
-			return context -> Mono.fromSupplier(() -> guard.evaluate(context));
+			return new GuardAdapter<>(guard);
 		} else {
 			return null;
 		}
 	}
+
+	/**
+	 * Marks a {@link Guard} as {@link Blocking}.
+	 *
+	 * @param <S> the type of state
+	 * @param <E> the type of event
+	 * @param guard the guard
+	 * @return the blocking guard
+	 */
+	public static <S, E> Guard<S, E> blocking(Guard<S, E> guard) {
+		return new BlockingGuard<>(guard);
+	}
+
+	/**
+	 * Gets a {@link Guard} wrapped into a function with {@link #from(Guard)}.
+	 * This allows evaluating a plain guard synchronously without going
+	 * through a {@link Mono}.
+	 *
+	 * @param <S> the type of state
+	 * @param <E> the type of event
+	 * @param function the guard function
+	 * @return the guard or {@code NULL} if function doesn't wrap a guard
+	 */
+	public static <S, E> Guard<S, E> toGuard(Function<StateContext<S, E>, Mono<Boolean>> function) {
+		if (function instanceof GuardAdapter) {
+			return ((GuardAdapter<S, E>) function).guard;
+		}
+		return null;
+	}
+
+	@Blocking
+	private static class BlockingGuard<S, E> implements Guard<S, E> {
+
+		private final Guard<S, E> guard;
+
+		BlockingGuard(Guard<S, E> guard) {
+			this.guard = guard;
+		}
+
+		@Override
+		public boolean evaluate(StateContext<S, E> context) {
+			return guard.evaluate(context);
+		}
+
+		@Override
+		public String toString() {
+			return guard.toString();
+		}
+	}
+
+	private static class GuardAdapter<S, E> implements ReactiveGuard<S, E> {
+
+		private final Guard<S, E> guard;
+
+		GuardAdapter(Guard<S, E> guard) {
+			this.guard = guard;
+		}
+
+		@Override
+		public Mono<Boolean> apply(StateContext<S, E> context) {
+			return BlockingExecution.execute(guard, Mono.fromSupplier(() -> guard.evaluate(context)), context);
+		}
+
+		@Override
+		public String toString() {
+			return guard.toString();
+		}
+	}
 }
@@ -15,18 +15,30 @@
  */
 package org.springframework.statemachine.listener;
 
+import java.lang.reflect.Method;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.springframework.messaging.Message;
 import org.springframework.statemachine.StateContext;
+import org.springframework.statemachine.StateContext.Stage;
 import org.springframework.statemachine.StateMachine;
 import org.springframework.statemachine.state.State;
 import org.springframework.statemachine.transition.Transition;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ReflectionUtils;
 
 /**
  * Default {@link StateMachineListener} dispatcher.
+ * <p>
+ * Keeps track of {@link Stage}s registered listeners are interested in which
+ * is exposed via {@link StageSubscription}. A listener is subscribed to a stage
+ * if it implements a corresponding method itself instead of inheriting it from
+ * {@link StateMachineListenerAdapter}, or if it says so when it implements
+ * {@link StageSubscription}.
  *
  * @author Janne Valkealahti
  *
@@ -34,9 +46,47 @@ import org.springframework.statemachine.transition.Transition;
  * @param <E> the type of event
  */
 public class CompositeStateMachineListener<S, E> extends AbstractCompositeListener<StateMachineListener<S, E>>
-		implements StateMachineListener<S, E> {
+		implements StateMachineListener<S, E>, StageSubscription {
 
 	private final static Log log = LogFactory.getLog(CompositeStateMachineListener.class);
+	private final static int ALL_STAGES = (1 << Stage.values().length) - 1;
+	private final static Map<Class<?>, Integer> stageMasks = new ConcurrentReferenceHashMap<>();
+	private volatile int stageMask;
+	private volatile boolean dynamicStages;
+
+	@Override
+	public void setListeners(List<? extends StateMachineListener<S, E>> listeners) {
+		super.setListeners(listeners);
+		updateStageMask();
+	}
+
+	@Override
+	public void register(StateMachineListener<S, E> listener) {
+		super.register(listener);
+		updateStageMask();
+	}
+
+	@Override
+	public void unregister(StateMachineListener<S, E> listener) {
+		super.unregister(listener);
+		updateStageMask();
+	}
+
+	@Override
+	public boolean isSubscribed(Stage stage) {
+		if ((stageMask & (1 << stage.ordinal())) != 0) {
+			return true;
+		}
+		if (dynamicStages) {
+			for (Iterator<StateMachineListener<S, E>> iterator = getListeners().iterator(); iterator.hasNext();) {
+				StateMachineListener<S, E> listener = iterator.next();
+				if (listener instanceof StageSubscription && ((StageSubscription) listener).isSubscribed(stage)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
 
 	@Override
 	public void stateChanged(State<S, E> from, State<S, E> to) {
@@ -182,4 +232,48 @@ public class CompositeStateMachineListener<S, E> extends AbstractCompositeListen
 		}
 	}
 
+	private synchronized void updateStageMask() {
+		int mask = 0;
+		boolean dynamic = false;
+		for (Iterator<StateMachineListener<S, E>> iterator = getListeners().iterator(); iterator.hasNext();) {
+			StateMachineListener<S, E> listener = iterator.next();
+			if (listener instanceof StageSubscription) {
+				// subscription may change, i.e. relay from a submachine
+				dynamic = true;
+			} else {
+				mask |= stageMasks.computeIfAbsent(listener.getClass(), CompositeStateMachineListener::resolveStageMask);
+			}
+		}
+		stageMask = mask;
+		dynamicStages = dynamic;
+	}
+
+	private static int resolveStageMask(Class<?> clazz) {
+		if (isImplemented(clazz, "stateContext", StateContext.class)) {
+			return ALL_STAGES;
+		}
+		int mask = 0;
+		mask |= stageBit(clazz, Stage.STATE_CHANGED, "stateChanged", State.class, State.class);
+		mask |= stageBit(clazz, Stage.STATE_ENTRY, "stateEntered", State.class);
+		mask |= stageBit(clazz, Stage.STATE_EXIT, "stateExited", State.class);
+		mask |= stageBit(clazz, Stage.EVENT_NOT_ACCEPTED, "eventNotAccepted", Message.class);
+		mask |= stageBit(clazz, Stage.TRANSITION, "transition", Transition.class);
+		mask |= stageBit(clazz, Stage.TRANSITION_START, "transitionStarted", Transition.class);
+		mask |= stageBit(clazz, Stage.TRANSITION_END, "transitionEnded", Transition.class);
+		mask |= stageBit(clazz, Stage.STATEMACHINE_START, "stateMachineStarted", StateMachine.class);
+		mask |= stageBit(clazz, Stage.STATEMACHINE_STOP, "stateMachineStopped", StateMachine.class);
+		mask |= stageBit(clazz, Stage.STATEMACHINE_ERROR, "stateMachineError", StateMachine.class, Exception.class);
+		mask |= stageBit(clazz, Stage.EXTENDED_STATE_CHANGED, "extendedStateChanged", Object.class, Object.class);
+		return mask;
+	}
+
+	private static int stageBit(Class<?> clazz, Stage stage, String name, Class<?>... paramTypes) {
+		return isImplemented(clazz, name, paramTypes) ? 1 << stage.ordinal() : 0;
+	}
+
+	private static boolean isImplemented(Class<?> clazz, String name, Class<?>... paramTypes) {
+		Method method = ReflectionUtils.findMethod(clazz, name, paramTypes);
+		return method == null || method.getDeclaringClass() != StateMachineListenerAdapter.class;
+	}
+
 }
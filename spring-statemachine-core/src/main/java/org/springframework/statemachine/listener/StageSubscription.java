@@ -0,0 +1,41 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.listener;
+
+import org.springframework.statemachine.StateContext;
+import org.springframework.statemachine.StateContext.Stage;
+
+/**
+ * Optional interface for a {@link StateMachineListener} telling which
+ * notification {@link Stage}s it is interested in. A machine doesn't build a
+ * {@link StateContext} for a stage nobody is subscribed to.
+ * <p>
+ * Listeners not implementing this interface are inspected for methods they
+ * override from {@link StateMachineListenerAdapter}.
+ *
+ * @author Janne Valkealahti
+ *
+ */
+public interface StageSubscription {
+
+	/**
+	 * Checks if a given {@link Stage} is subscribed.
+	 *
+	 * @param stage the stage
+	 * @return true, if stage is subscribed
+	 */
+	boolean isSubscribed(Stage stage);
+}
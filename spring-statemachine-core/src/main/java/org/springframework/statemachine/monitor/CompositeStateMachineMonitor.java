@@ -20,10 +20,12 @@ import java.util.function.Function;
 
 import org.springframework.statemachine.StateContext;
 import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.region.Region;
 import org.springframework.statemachine.support.AbstractCompositeItems;
 import org.springframework.statemachine.transition.Transition;
 
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 /**
  * Implementation of a {@link StateMachineMonitor} backed by a multiple monitors.
@@ -52,4 +54,36 @@ public class CompositeStateMachineMonitor<S, E> extends AbstractCompositeItems<S
 			monitor.action(stateMachine, action, duration);
 		}
 	}
+
+	@Override
+	public void mailbox(StateMachine<S, E> stateMachine, int depth, long overflowCount) {
+		for (Iterator<StateMachineMonitor<S, E>> iterator = getItems().reverse(); iterator.hasNext();) {
+			StateMachineMonitor<S, E> monitor = iterator.next();
+			monitor.mailbox(stateMachine, depth, overflowCount);
+		}
+	}
+
+	@Override
+	public void deferred(StateMachine<S, E> stateMachine, int depth, long droppedCount) {
+		for (Iterator<StateMachineMonitor<S, E>> iterator = getItems().reverse(); iterator.hasNext();) {
+			StateMachineMonitor<S, E> monitor = iterator.next();
+			monitor.deferred(stateMachine, depth, droppedCount);
+		}
+	}
+
+	@Override
+	public void scheduler(StateMachine<S, E> stateMachine, Scheduler scheduler, int active, int queued) {
+		for (Iterator<StateMachineMonitor<S, E>> iterator = getItems().reverse(); iterator.hasNext();) {
+			StateMachineMonitor<S, E> monitor = iterator.next();
+			monitor.scheduler(stateMachine, scheduler, active, queued);
+		}
+	}
+
+	@Override
+	public void region(StateMachine<S, E> stateMachine, Region<S, E> region, long duration) {
+		for (Iterator<StateMachineMonitor<S, E>> iterator = getItems().reverse(); iterator.hasNext();) {
+			StateMachineMonitor<S, E> monitor = iterator.next();
+			monitor.region(stateMachine, region, duration);
+		}
+	}
 }
@@ -19,9 +19,12 @@ import java.util.function.Function;
 
 import org.springframework.statemachine.StateContext;
 import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.region.Region;
+import org.springframework.statemachine.region.RegionExecutionPolicy;
 import org.springframework.statemachine.transition.Transition;
 
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 /**
  * {@code StateMachineMonitor} for various state machine monitoring events.
@@ -50,4 +53,56 @@ public interface StateMachineMonitor<S, E> {
 	 * @param duration the transition duration
 	 */
 	void action(StateMachine<S, E> stateMachine, Function<StateContext<S, E>, Mono<Void>> action, long duration);
+
+	/**
+	 * Notified depth of an executor mailbox and a total count of items which
+	 * have overflowed it. Notified when executor has handled a batch of queued
+	 * items and when an item overflows.
+	 *
+	 * @param stateMachine the state machine
+	 * @param depth the mailbox depth
+	 * @param overflowCount the mailbox overflow count
+	 */
+	default void mailbox(StateMachine<S, E> stateMachine, int depth, long overflowCount) {
+	}
+
+	/**
+	 * Notified depth of deferred events kept by an executor and a total count
+	 * of deferred events dropped because store was full or events expired.
+	 * Notified when an event is deferred or released.
+	 *
+	 * @param stateMachine the state machine
+	 * @param depth the deferred event depth
+	 * @param droppedCount the dropped deferred event count
+	 */
+	default void deferred(StateMachine<S, E> stateMachine, int depth, long droppedCount) {
+	}
+
+	/**
+	 * Notified load of a scheduler state do actions are run on. Counts are
+	 * totals over all machines using a same scheduler, {@code queued} being
+	 * actions waiting for a scheduler thread and {@code active} actions
+	 * currently running. Notified when a do action is queued, started or
+	 * completed.
+	 *
+	 * @param stateMachine the state machine
+	 * @param scheduler the scheduler
+	 * @param active the count of running actions
+	 * @param queued the count of queued actions
+	 */
+	default void scheduler(StateMachine<S, E> stateMachine, Scheduler scheduler, int active, int queued) {
+	}
+
+	/**
+	 * Notified duration of a region run with
+	 * {@link RegionExecutionPolicy#PARALLEL}, measured from a region being
+	 * picked up by a scheduler thread until its start, stop or event handling
+	 * completes.
+	 *
+	 * @param stateMachine the state machine
+	 * @param region the region
+	 * @param duration the region duration
+	 */
+	default void region(StateMachine<S, E> stateMachine, Region<S, E> region, long duration) {
+	}
 }
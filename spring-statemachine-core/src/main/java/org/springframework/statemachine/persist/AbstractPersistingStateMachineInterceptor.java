@@ -30,6 +30,7 @@ import org.springframework.statemachine.StateMachine;
 import org.springframework.statemachine.StateMachineContext;
 import org.springframework.statemachine.StateMachineException;
 import org.springframework.statemachine.StateMachinePersist;
+import org.springframework.statemachine.StateMachineTimer;
 import org.springframework.statemachine.region.Region;
 import org.springframework.statemachine.state.AbstractState;
 import org.springframework.statemachine.state.HistoryPseudoState;
@@ -202,8 +203,10 @@ public abstract class AbstractPersistingStateMachineInterceptor<S, E, T> extends
 		}
 		E event = message != null ? message.getPayload() : null;
 		Map<String, Object> eventHeaders = message != null ? message.getHeaders() : null;
+		List<StateMachineTimer<E>> timers = stateMachine instanceof AbstractStateMachine
+				? ((AbstractStateMachine<S, E>) stateMachine).getTimers() : null;
 		return new DefaultStateMachineContext<S, E>(childRefs, childs, id, event, eventHeaders, extendedState,
-				historyStates, stateMachine.getId());
+				historyStates, stateMachine.getId(), timers);
 	}
 
 	private S getDeepState(State<S, E> state) {
@@ -18,12 +18,14 @@ package org.springframework.statemachine.persist;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.springframework.statemachine.ExtendedState;
 import org.springframework.statemachine.StateMachine;
 import org.springframework.statemachine.StateMachineContext;
 import org.springframework.statemachine.StateMachinePersist;
+import org.springframework.statemachine.StateMachineTimer;
 import org.springframework.statemachine.region.Region;
 import org.springframework.statemachine.state.AbstractState;
 import org.springframework.statemachine.state.HistoryPseudoState;
@@ -66,9 +68,8 @@ public abstract class AbstractStateMachinePersister<S, E, T> implements StateMac
 	@Override
 	public final StateMachine<S, E> restore(StateMachine<S, E> stateMachine, T contextObj) throws Exception {
 		final StateMachineContext<S, E> context = stateMachinePersist.read(contextObj);
-		stateMachine.stopReactively().block();
-		stateMachine.getStateMachineAccessor().doWithAllRegions(function -> function.resetStateMachineReactively(context).block());
-		stateMachine.startReactively().block();
+		// hydrate instead of a stop, reset and start cycle
+		stateMachine.getStateMachineAccessor().withRegion().hydrateStateMachineReactively(context).block();
 		return stateMachine;
 	}
 
@@ -113,6 +114,9 @@ public abstract class AbstractStateMachinePersister<S, E, T> implements StateMac
 				}
 			}
 		}
-		return new DefaultStateMachineContext<S, E>(childs, id, null, null, extendedState, historyStates, stateMachine.getId());
+		List<StateMachineTimer<E>> timers = stateMachine instanceof AbstractStateMachine
+				? ((AbstractStateMachine<S, E>) stateMachine).getTimers() : null;
+		return new DefaultStateMachineContext<S, E>(new ArrayList<>(), childs, id, null, null, extendedState, historyStates,
+				stateMachine.getId(), timers);
 	}
 }
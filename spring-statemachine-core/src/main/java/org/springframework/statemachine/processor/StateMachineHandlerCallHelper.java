@@ -32,6 +32,7 @@ import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.ListableBeanFactory;
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.statemachine.StateContext;
+import org.springframework.statemachine.StateContext.Stage;
 import org.springframework.statemachine.StateMachineSystemConstants;
 import org.springframework.statemachine.annotation.OnEventNotAccepted;
 import org.springframework.statemachine.annotation.OnExtendedStateChanged;
@@ -69,6 +70,7 @@ public class StateMachineHandlerCallHelper<S, E> implements InitializingBean, Be
 	private ListableBeanFactory beanFactory;
 	private StateMachineHandlerApplicationListener stateMachineHandlerApplicationListener;
 	private long last = Long.MIN_VALUE;
+	private volatile int stageMask;
 
 	@SuppressWarnings("unchecked")
 	@Override
@@ -100,6 +102,16 @@ public class StateMachineHandlerCallHelper<S, E> implements InitializingBean, Be
 						new CacheEntry(handler, annotation, metaAnnotation));
 			}
 		}
+		int mask = 0;
+		for (List<CacheEntry> entries : cache.values()) {
+			for (CacheEntry entry : entries) {
+				Stage stage = stageOf(entry.metaAnnotation);
+				if (stage != null) {
+					mask |= 1 << stage.ordinal();
+				}
+			}
+		}
+		stageMask = mask;
 	}
 
 	@Override
@@ -114,6 +126,21 @@ public class StateMachineHandlerCallHelper<S, E> implements InitializingBean, Be
 		this.beanFactory = (ListableBeanFactory)beanFactory;
 	}
 
+	/**
+	 * Checks if there are annotated handlers for a given {@link Stage}
+	 * regardless of a machine they're bound to. Used to skip building a
+	 * {@link StateContext} for a notification nobody would receive.
+	 *
+	 * @param stage the stage
+	 * @return true, if there are handlers for a stage
+	 */
+	public boolean hasHandlers(Stage stage) {
+		if (stateMachineHandlerApplicationListener != null) {
+			refreshCache();
+		}
+		return (stageMask & (1 << stage.ordinal())) != 0;
+	}
+
 	public void callOnStateChanged(String stateMachineId, StateContext<S, E> stateContext) {
 		if (!StringUtils.hasText(stateMachineId)) {
 			return;
@@ -335,18 +362,7 @@ public class StateMachineHandlerCallHelper<S, E> implements InitializingBean, Be
 
 	private synchronized List<CacheEntry> getCacheEntries(String cacheKey) {
 		if (stateMachineHandlerApplicationListener != null) {
-			Long l = stateMachineHandlerApplicationListener.getLastRefreshTime();
-			if (l != null && l < System.currentTimeMillis() ) {
-				if (last != l) {
-					cache.clear();
-					try {
-						afterPropertiesSet();
-					} catch (Exception e) {
-						log.error("Unable to update handler cache", e);
-					}
-					last = l;
-				}
-			}
+			refreshCache();
 		}
 		//Try to get the CacheEntry using the provided key
 		//Or use default machine name in the key
@@ -359,6 +375,49 @@ public class StateMachineHandlerCallHelper<S, E> implements InitializingBean, Be
 		}
 	}
 
+	private synchronized void refreshCache() {
+		Long l = stateMachineHandlerApplicationListener.getLastRefreshTime();
+		if (l != null && l < System.currentTimeMillis() ) {
+			if (last != l) {
+				cache.clear();
+				try {
+					afterPropertiesSet();
+				} catch (Exception e) {
+					log.error("Unable to update handler cache", e);
+				}
+				last = l;
+			}
+		}
+	}
+
+	private static Stage stageOf(Annotation metaAnnotation) {
+		Class<? extends Annotation> type = metaAnnotation.annotationType();
+		if (type == OnStateChanged.class) {
+			return Stage.STATE_CHANGED;
+		} else if (type == OnStateEntry.class) {
+			return Stage.STATE_ENTRY;
+		} else if (type == OnStateExit.class) {
+			return Stage.STATE_EXIT;
+		} else if (type == OnEventNotAccepted.class) {
+			return Stage.EVENT_NOT_ACCEPTED;
+		} else if (type == OnTransition.class) {
+			return Stage.TRANSITION;
+		} else if (type == OnTransitionStart.class) {
+			return Stage.TRANSITION_START;
+		} else if (type == OnTransitionEnd.class) {
+			return Stage.TRANSITION_END;
+		} else if (type == OnStateMachineStart.class) {
+			return Stage.STATEMACHINE_START;
+		} else if (type == OnStateMachineStop.class) {
+			return Stage.STATEMACHINE_STOP;
+		} else if (type == OnStateMachineError.class) {
+			return Stage.STATEMACHINE_ERROR;
+		} else if (type == OnExtendedStateChanged.class) {
+			return Stage.EXTENDED_STATE_CHANGED;
+		}
+		return null;
+	}
+
 	private boolean annotationHandlerVariableMatch(Annotation annotation, Object key) {
 		boolean handle = false;
 		Map<String, Object> annotationAttributes = AnnotationUtils.getAnnotationAttributes(annotation);
@@ -106,6 +106,20 @@ public interface Region<S, E> extends StateMachineReactiveLifecycle {
 	 */
 	Flux<StateMachineEventResult<S, E>> sendEvents(Flux<Message<E>> events);
 
+	/**
+	 * Send a {@link List} of events as one unit and return a {@link Flux} of
+	 * {@link StateMachineEventResult}s. Events are handled in a list order
+	 * one after another with a single subscription. Events are consumed after
+	 * returned results are consumed.
+	 *
+	 * @param events the events
+	 * @return the event results
+	 */
+	default Flux<StateMachineEventResult<S, E>> sendEvents(List<Message<E>> events) {
+		// sendEvents(Flux) doesn't promise an order, thus send one by one
+		return Flux.fromIterable(events).concatMap(e -> sendEvent(Mono.just(e)));
+	}
+
 	/**
 	 * Send a {@link Mono} of event and return a {@link Flux} of
 	 * {@link StateMachineEventResult}s. Events are consumed after returned results
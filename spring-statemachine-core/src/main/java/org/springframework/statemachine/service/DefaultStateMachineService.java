@@ -16,9 +16,14 @@
 package org.springframework.statemachine.service;
 
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.concurrent.CountDownLatch;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -30,22 +35,56 @@ import org.springframework.statemachine.StateMachineException;
 import org.springframework.statemachine.StateMachinePersist;
 import org.springframework.statemachine.config.StateMachineFactory;
 import org.springframework.statemachine.listener.StateMachineListenerAdapter;
+import org.springframework.statemachine.persist.DefaultStateMachinePersister;
+import org.springframework.statemachine.support.BlockingExecution;
 import org.springframework.util.Assert;
 
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
 /**
- * Default implementation of a {@link StateMachineService}.
+ * Default implementation of a {@link StateMachineService} and
+ * {@link ReactiveStateMachineService}. Blocking methods are adapters
+ * blocking on their reactive counterparts.
+ * <p>
+ * Machines are kept as in flight futures per machine id. Concurrent
+ * acquires of a same id share one machine while building and restoring a
+ * machine from a {@link StateMachinePersist} happens outside of any shared
+ * lock, thus a slow read for one machine doesn't block acquires of others.
+ * As {@link StateMachinePersist} itself is blocking, reads and writes are
+ * offloaded to a {@link BlockingExecution#getScheduler() blocking scheduler}.
+ * Machines are started and stopped without holding shared monitors.
+ * <p>
+ * Number of kept machines can be bounded with
+ * {@link #setMaxStateMachines(int)} and idle machines expired with an
+ * {@link StateMachineEvictionPolicy}. Evicted machines are persisted through
+ * a {@link StateMachinePersist}, which is required for eviction, and
+ * stopped, and are transparently restored from a store when acquired again.
+ * Eviction happens in the background after an acquire which added a machine
+ * and never touches a machine which is in use, that is acquired and not yet
+ * given back with {@link #returnStateMachine(String)}.
  *
  * @author Janne Valkealahti
  *
  * @param <S> the type of state
  * @param <E> the type of event
  */
-public class DefaultStateMachineService<S, E> implements StateMachineService<S, E>, DisposableBean {
+public class DefaultStateMachineService<S, E>
+		implements StateMachineService<S, E>, ReactiveStateMachineService<S, E>, DisposableBean {
 
 	private final static Log log = LogFactory.getLog(DefaultStateMachineService.class);
+	private final static StateMachineEvictionPolicy DEFAULT_EVICTION_POLICY = StateMachineEvictionPolicies.leastRecentlyUsed();
 	private final StateMachineFactory<S, E> stateMachineFactory;
-	private final Map<String, StateMachine<S, E>> machines = new HashMap<String, StateMachine<S, E>>();
+	private final ConcurrentMap<String, MachineEntry<S, E>> machines = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, CompletableFuture<StateMachine<S, E>>> passivations = new ConcurrentHashMap<>();
+	private final AtomicInteger evictionRequests = new AtomicInteger();
+	private final LongAdder hitCount = new LongAdder();
+	private final LongAdder missCount = new LongAdder();
+	private final LongAdder evictionCount = new LongAdder();
 	private StateMachinePersist<S, E, String> stateMachinePersist;
+	private StateMachineEvictionPolicy evictionPolicy;
+	private int maxStateMachines;
 
 	/**
 	 * Instantiates a new default state machine service.
@@ -81,54 +120,91 @@ public class DefaultStateMachineService<S, E> implements StateMachineService<S,
 
 	@Override
 	public StateMachine<S, E> acquireStateMachine(String machineId, boolean start) {
-		log.info("Acquiring machine with id " + machineId);
-		StateMachine<S, E> stateMachine;
-		// naive sync to handle concurrency with release
-		synchronized (machines) {
-			stateMachine = machines.get(machineId);
-			if (stateMachine == null) {
-				log.info("Getting new machine from factory with id " + machineId);
-				stateMachine = stateMachineFactory.getStateMachine(machineId);
-				if (stateMachinePersist != null) {
-					try {
-						StateMachineContext<S, E> stateMachineContext = stateMachinePersist.read(machineId);
-						stateMachine = restoreStateMachine(stateMachine, stateMachineContext);
-					} catch (Exception e) {
-						log.error("Error handling context", e);
-						throw new StateMachineException("Unable to read context from store", e);
-					}
-				}
-				machines.put(machineId, stateMachine);
-			}
-		}
-		// handle start outside of sync as it might take some time and would block other machines acquire
-		return handleStart(stateMachine, start);
+		return acquireStateMachineReactively(machineId, start).block();
 	}
 
 	@Override
 	public void releaseStateMachine(String machineId) {
-		log.info("Releasing machine with id " + machineId);
-		synchronized (machines) {
-			StateMachine<S, E> stateMachine = machines.remove(machineId);
-			if (stateMachine != null) {
-				log.info("Found machine with id " + machineId);
-				stateMachine.stopReactively().block();
-			}
-		}
+		releaseStateMachineReactively(machineId).block();
 	}
 
 	@Override
 	public void releaseStateMachine(String machineId, boolean stop) {
-		log.info("Releasing machine with id " + machineId);
-		synchronized (machines) {
-			StateMachine<S, E> stateMachine = machines.remove(machineId);
-			if (stateMachine != null) {
-				log.info("Found machine with id " + machineId);
-				handleStop(stateMachine, stop);
-			}
+		releaseStateMachineReactively(machineId, stop).block();
+	}
+
+	@Override
+	public void returnStateMachine(String machineId) {
+		MachineEntry<S, E> entry = machines.get(machineId);
+		// an over limit eviction may have skipped it while in use
+		if (entry != null && entry.unlease() && maxStateMachines > 0 && machines.size() > maxStateMachines) {
+			scheduleEviction();
 		}
 	}
 
+	@Override
+	public Mono<StateMachine<S, E>> acquireStateMachineReactively(String machineId) {
+		return acquireStateMachineReactively(machineId, true);
+	}
+
+	@Override
+	public Mono<StateMachine<S, E>> acquireStateMachineReactively(String machineId, boolean start) {
+		return Mono.defer(() -> {
+			log.info("Acquiring machine with id " + machineId);
+			MachineEntry<S, E> entry = machines.get(machineId);
+			if (entry == null) {
+				MachineEntry<S, E> newEntry = new MachineEntry<>(machineId);
+				newEntry.tryLease();
+				entry = machines.putIfAbsent(machineId, newEntry);
+				if (entry == null) {
+					// we own the id, build and restore it without holding a lock.
+					// subscribed here as other acquires of a same id wait for it.
+					awaitPassivation(machineId)
+						.switchIfEmpty(buildStateMachineReactively(machineId, start))
+						.subscribe(newEntry.future::complete, e -> {
+							machines.remove(machineId, newEntry);
+							newEntry.future.completeExceptionally(e);
+						});
+					missCount.increment();
+					scheduleEviction();
+					return acquire(newEntry, start);
+				}
+			}
+			if (!entry.tryLease()) {
+				// being evicted, acquire again when it's passivated
+				CompletableFuture<StateMachine<S, E>> passivation = passivations.get(machineId);
+				return (passivation != null ? Mono.fromFuture(passivation, true).then() : Mono.<Void>empty())
+					.then(acquireStateMachineReactively(machineId, start));
+			}
+			hitCount.increment();
+			return acquire(entry, start);
+		});
+	}
+
+	@Override
+	public Mono<Void> releaseStateMachineReactively(String machineId) {
+		return releaseStateMachineReactively(machineId, true);
+	}
+
+	@Override
+	public Mono<Void> releaseStateMachineReactively(String machineId, boolean stop) {
+		return Mono.defer(() -> {
+			log.info("Releasing machine with id " + machineId);
+			MachineEntry<S, E> entry = machines.remove(machineId);
+			if (entry == null) {
+				return Mono.empty();
+			}
+			return Mono.fromFuture(entry.future, true)
+				// failed build, nothing to stop
+				.onErrorResume(e -> Mono.empty())
+				.flatMap(stateMachine -> {
+					log.info("Found machine with id " + machineId);
+					return handleStopReactively(stateMachine, stop);
+				})
+				.then();
+		});
+	}
+
 	/**
 	 * Determines if the given machine identifier denotes a known managed state machine.
 	 *
@@ -136,9 +212,7 @@ public class DefaultStateMachineService<S, E> implements StateMachineService<S,
 	 * @return true if machineId denotes a known managed state machine currently in memory
 	 */
 	public boolean hasStateMachine(String machineId) {
-		synchronized (machines) {
-			return machines.containsKey(machineId);
-		}
+		return machines.containsKey(machineId);
 	}
 
 	/**
@@ -147,87 +221,514 @@ public class DefaultStateMachineService<S, E> implements StateMachineService<S,
 	 * @param stateMachinePersist the state machine persist
 	 */
 	public void setStateMachinePersist(StateMachinePersist<S, E, String> stateMachinePersist) {
+		Assert.state(stateMachinePersist != null || !isEvictionEnabled(),
+				"'stateMachinePersist' is required when eviction is enabled");
 		this.stateMachinePersist = stateMachinePersist;
 	}
 
+	/**
+	 * Sets the maximum number of machines kept in memory. Machines over this
+	 * limit are evicted as chosen by an {@link StateMachineEvictionPolicy}.
+	 * Zero, which is a default, means no limit. Evicted machines are
+	 * persisted, thus a {@link StateMachinePersist} needs to be set first.
+	 *
+	 * @param maxStateMachines the maximum number of machines
+	 */
+	public void setMaxStateMachines(int maxStateMachines) {
+		Assert.isTrue(maxStateMachines >= 0, "'maxStateMachines' must not be negative");
+		Assert.state(maxStateMachines == 0 || stateMachinePersist != null,
+				"'stateMachinePersist' is required to evict machines");
+		this.maxStateMachines = maxStateMachines;
+	}
+
+	/**
+	 * Sets the eviction policy. Defaults to
+	 * {@link StateMachineEvictionPolicies#leastRecentlyUsed()}. Evicted
+	 * machines are persisted, thus a {@link StateMachinePersist} needs to be
+	 * set first.
+	 *
+	 * @param evictionPolicy the eviction policy
+	 */
+	public void setEvictionPolicy(StateMachineEvictionPolicy evictionPolicy) {
+		Assert.notNull(evictionPolicy, "'evictionPolicy' must be set");
+		Assert.state(stateMachinePersist != null, "'stateMachinePersist' is required to evict machines");
+		this.evictionPolicy = evictionPolicy;
+	}
+
+	/**
+	 * Evict machines which have expired according to an
+	 * {@link StateMachineEvictionPolicy}. Expired machines are also evicted
+	 * when new machines are added, this method can be called periodically to
+	 * passivate idle machines sooner.
+	 */
+	public void evictExpiredStateMachines() {
+		evictStateMachines().block();
+	}
+
+	/**
+	 * Gets the number of machines currently kept in memory.
+	 *
+	 * @return the number of machines
+	 */
+	public int getStateMachineCount() {
+		return machines.size();
+	}
+
+	/**
+	 * Gets the number of acquires which found a machine in memory.
+	 *
+	 * @return the hit count
+	 */
+	public long getHitCount() {
+		return hitCount.sum();
+	}
+
+	/**
+	 * Gets the number of acquires which needed to build a machine.
+	 *
+	 * @return the miss count
+	 */
+	public long getMissCount() {
+		return missCount.sum();
+	}
+
+	/**
+	 * Gets the number of evicted machines.
+	 *
+	 * @return the eviction count
+	 */
+	public long getEvictionCount() {
+		return evictionCount.sum();
+	}
+
 	protected void doStop() {
 		log.info("Entering stop sequence, stopping all managed machines");
-		synchronized (machines) {
-			ArrayList<String> machineIds = new ArrayList<>(machines.keySet());
-			for (String machineId : machineIds) {
-				releaseStateMachine(machineId, true);
-			}
+		ArrayList<String> machineIds = new ArrayList<>(machines.keySet());
+		for (String machineId : machineIds) {
+			releaseStateMachine(machineId, true);
 		}
 	}
 
+	/**
+	 * Builds a new machine from a factory and restores it from a
+	 * {@link StateMachinePersist} if one is set. Subscribed at most once at a
+	 * time per machine id and without holding any shared lock.
+	 *
+	 * @param machineId the machine id
+	 * @return mono for the state machine
+	 */
+	protected Mono<StateMachine<S, E>> buildStateMachineReactively(String machineId) {
+		return buildStateMachineReactively(machineId, false);
+	}
+
+	/**
+	 * Builds a new machine from a factory and restores it from a
+	 * {@link StateMachinePersist} if one is set. If machine is to be started,
+	 * a restored machine is hydrated which brings it running where it was
+	 * without initial transitions or a start notification.
+	 *
+	 * @param machineId the machine id
+	 * @param start if machine is to be started
+	 * @return mono for the state machine
+	 */
+	protected Mono<StateMachine<S, E>> buildStateMachineReactively(String machineId, boolean start) {
+		return Mono.fromSupplier(() -> {
+			log.info("Getting new machine from factory with id " + machineId);
+			return stateMachineFactory.getStateMachine(machineId);
+		})
+		.flatMap(stateMachine -> {
+			StateMachinePersist<S, E, String> stateMachinePersist = this.stateMachinePersist;
+			if (stateMachinePersist == null) {
+				return Mono.just(stateMachine);
+			}
+			return Mono.fromCallable(() -> stateMachinePersist.read(machineId))
+				.subscribeOn(BlockingExecution.getScheduler())
+				.onErrorMap(e -> {
+					log.error("Error handling context", e);
+					return new StateMachineException("Unable to read context from store", e);
+				})
+				.flatMap(stateMachineContext -> start
+						? hydrateStateMachineReactively(stateMachine, stateMachineContext)
+						: restoreStateMachineReactively(stateMachine, stateMachineContext))
+				.defaultIfEmpty(stateMachine);
+		});
+	}
+
 	protected StateMachine<S, E> restoreStateMachine(StateMachine<S, E> stateMachine, final StateMachineContext<S, E> stateMachineContext) {
+		return restoreStateMachineReactively(stateMachine, stateMachineContext).block();
+	}
+
+	protected Mono<StateMachine<S, E>> restoreStateMachineReactively(StateMachine<S, E> stateMachine,
+			final StateMachineContext<S, E> stateMachineContext) {
 		if (stateMachineContext == null) {
-			return stateMachine;
+			return Mono.just(stateMachine);
 		}
-		stateMachine.stopReactively().block();
-		stateMachine.getStateMachineAccessor().doWithAllRegions(function -> function.resetStateMachineReactively(stateMachineContext).block());
-		return stateMachine;
+		if (((Lifecycle) stateMachine).isRunning()) {
+			// running machine is hydrated in place instead of a stop and reset
+			return hydrateStateMachineReactively(stateMachine, stateMachineContext);
+		}
+		return Mono.defer(() -> {
+			// machine built from a factory is not running, thus it's reset
+			// and left to be started when acquired
+			List<Mono<Void>> resets = new ArrayList<>();
+			stateMachine.getStateMachineAccessor()
+					.doWithAllRegions(function -> resets.add(function.resetStateMachineReactively(stateMachineContext)));
+			return Flux.concat(resets).then()
+				.thenReturn(stateMachine);
+		});
 	}
 
-	protected StateMachine<S, E> handleStart(StateMachine<S, E> stateMachine, boolean start) {
-		if (start) {
-			if (!((Lifecycle) stateMachine).isRunning()) {
-				StartListener<S, E> listener = new StartListener<>(stateMachine);
-				stateMachine.addStateListener(listener);
-				stateMachine.startReactively().block();
+	/**
+	 * Hydrates a machine from a context, after which machine is running
+	 * where it was without being started again.
+	 *
+	 * @param stateMachine the state machine
+	 * @param stateMachineContext the state machine context
+	 * @return mono for the state machine
+	 */
+	protected Mono<StateMachine<S, E>> hydrateStateMachineReactively(StateMachine<S, E> stateMachine,
+			StateMachineContext<S, E> stateMachineContext) {
+		if (stateMachineContext == null) {
+			return Mono.just(stateMachine);
+		}
+		return stateMachine.getStateMachineAccessor().withRegion()
+			.hydrateStateMachineReactively(stateMachineContext)
+			.thenReturn(stateMachine);
+	}
+
+	/**
+	 * Passivates an evicted machine by persisting it through a
+	 * {@link StateMachinePersist}, if one is set, and stopping it.
+	 *
+	 * @param machineId the machine id
+	 * @param stateMachine the state machine
+	 * @return mono for completion
+	 */
+	protected Mono<Void> passivateStateMachineReactively(String machineId, StateMachine<S, E> stateMachine) {
+		Mono<Void> persist = Mono.empty();
+		StateMachinePersist<S, E, String> stateMachinePersist = this.stateMachinePersist;
+		if (stateMachinePersist != null) {
+			persist = Mono.<Void>fromRunnable(() -> {
 				try {
-					listener.latch.await();
-				} catch (InterruptedException e) {
+					new DefaultStateMachinePersister<>(stateMachinePersist).persist(stateMachine, machineId);
+				} catch (Exception e) {
+					throw new StateMachineException("Unable to write context to store", e);
 				}
-			}
+			})
+			.subscribeOn(BlockingExecution.getScheduler());
 		}
-		return stateMachine;
+		return persist.then(handleStopReactively(stateMachine, true)).then();
+	}
+
+	protected StateMachine<S, E> handleStart(StateMachine<S, E> stateMachine, boolean start) {
+		return handleStartReactively(stateMachine, start).block();
+	}
+
+	protected Mono<StateMachine<S, E>> handleStartReactively(StateMachine<S, E> stateMachine, boolean start) {
+		if (!start || ((Lifecycle) stateMachine).isRunning()) {
+			return Mono.just(stateMachine);
+		}
+		return Mono.<Void>create(sink -> {
+			StartListener<S, E> listener = new StartListener<>(stateMachine, sink);
+			stateMachine.addStateListener(listener);
+			stateMachine.startReactively().subscribe(null, e -> {
+				stateMachine.removeStateListener(listener);
+				sink.error(e);
+			});
+		})
+		.thenReturn(stateMachine);
 	}
 
 	protected StateMachine<S, E> handleStop(StateMachine<S, E> stateMachine, boolean stop) {
-		if (stop) {
-			if (((Lifecycle) stateMachine).isRunning()) {
-				StopListener<S, E> listener = new StopListener<>(stateMachine);
-				stateMachine.addStateListener(listener);
-				stateMachine.stopReactively().block();
-				try {
-					listener.latch.await();
-				} catch (InterruptedException e) {
+		return handleStopReactively(stateMachine, stop).block();
+	}
+
+	protected Mono<StateMachine<S, E>> handleStopReactively(StateMachine<S, E> stateMachine, boolean stop) {
+		if (!stop || !((Lifecycle) stateMachine).isRunning()) {
+			return Mono.just(stateMachine);
+		}
+		return Mono.<Void>create(sink -> {
+			StopListener<S, E> listener = new StopListener<>(stateMachine, sink);
+			stateMachine.addStateListener(listener);
+			stateMachine.stopReactively().subscribe(null, e -> {
+				stateMachine.removeStateListener(listener);
+				sink.error(e);
+			});
+		})
+		.thenReturn(stateMachine);
+	}
+
+	private Mono<StateMachine<S, E>> acquire(MachineEntry<S, E> entry, boolean start) {
+		entry.touch();
+		return Mono.fromFuture(entry.future, true)
+			.flatMap(stateMachine -> {
+				boolean running = ((Lifecycle) stateMachine).isRunning();
+				return startStateMachine(entry, stateMachine, start)
+					.flatMap(started -> checkAcquired(entry, started, start, start && !running));
+			})
+			// lease is kept until a caller returns a machine
+			.doOnError(e -> entry.unlease())
+			.doOnCancel(() -> entry.unlease());
+	}
+
+	private Mono<StateMachine<S, E>> startStateMachine(MachineEntry<S, E> entry, StateMachine<S, E> stateMachine,
+			boolean start) {
+		if (!start || ((Lifecycle) stateMachine).isRunning()) {
+			return Mono.just(stateMachine);
+		}
+		// concurrent acquires of a same machine share one start
+		CompletableFuture<StateMachine<S, E>> starting = new CompletableFuture<>();
+		CompletableFuture<StateMachine<S, E>> existing = entry.starting.compareAndExchange(null, starting);
+		if (existing == null) {
+			existing = starting;
+			handleStartReactively(stateMachine, true)
+				.doFinally(signal -> entry.starting.compareAndSet(starting, null))
+				.subscribe(starting::complete, starting::completeExceptionally);
+		}
+		return Mono.fromFuture(existing, true);
+	}
+
+	private Mono<StateMachine<S, E>> checkAcquired(MachineEntry<S, E> entry, StateMachine<S, E> stateMachine,
+			boolean start, boolean started) {
+		if (machines.get(entry.machineId) == entry) {
+			return Mono.just(stateMachine);
+		}
+		// released or evicted while acquiring, a release may have already
+		// stopped it before our start, thus stop what we started and try again
+		log.info("Machine with id " + entry.machineId + " was released while acquiring, retrying");
+		return handleStopReactively(stateMachine, started)
+			.then(acquireStateMachineReactively(entry.machineId, start));
+	}
+
+	private boolean isEvictionEnabled() {
+		return maxStateMachines > 0 || evictionPolicy != null;
+	}
+
+	private void scheduleEviction() {
+		if (stateMachinePersist == null || evictionPolicy == null
+				&& (maxStateMachines == 0 || machines.size() <= maxStateMachines)) {
+			return;
+		}
+		// coalesce requests into one background run at a time so that
+		// acquires don't scan machines or wait for passivations
+		if (evictionRequests.getAndIncrement() == 0) {
+			drainEvictions().subscribeOn(BlockingExecution.getScheduler()).subscribe();
+		}
+	}
+
+	private Mono<Void> drainEvictions() {
+		return Mono.defer(() -> {
+			int requests = evictionRequests.get();
+			return evictStateMachines()
+				.onErrorResume(e -> {
+					log.error("Error evicting machines", e);
+					return Mono.empty();
+				})
+				.then(Mono.defer(() -> evictionRequests.addAndGet(-requests) == 0 ? Mono.empty() : drainEvictions()));
+		});
+	}
+
+	@SuppressWarnings("unchecked")
+	private Mono<Void> evictStateMachines() {
+		if (stateMachinePersist == null) {
+			// never passivate without a store as machine state would be lost
+			return Mono.empty();
+		}
+		StateMachineEvictionPolicy evictionPolicy = this.evictionPolicy;
+		if (evictionPolicy == null) {
+			// nothing can expire, only bounded size needs eviction
+			if (maxStateMachines == 0) {
+				return Mono.empty();
+			}
+			evictionPolicy = DEFAULT_EVICTION_POLICY;
+		}
+		long now = System.nanoTime();
+		List<Mono<Void>> evictions = new ArrayList<>();
+		List<MachineEntry<S, E>> candidates = new ArrayList<>();
+		for (MachineEntry<S, E> entry : machines.values()) {
+			// leased entries are in use
+			if (entry.future.isDone() && !entry.future.isCompletedExceptionally() && !entry.isLeased()) {
+				if (evictionPolicy.isExpired(entry, now)) {
+					evictions.add(evict(entry));
+				} else {
+					candidates.add(entry);
 				}
 			}
 		}
-		return stateMachine;
+		while (maxStateMachines > 0 && machines.size() > maxStateMachines && !candidates.isEmpty()) {
+			StateMachineCacheEntry victim = evictionPolicy.selectVictim(candidates);
+			if (victim == null) {
+				break;
+			}
+			candidates.remove(victim);
+			evictions.add(evict((MachineEntry<S, E>) victim));
+		}
+		return Flux.merge(evictions).then();
+	}
+
+	private Mono<Void> evict(MachineEntry<S, E> entry) {
+		String machineId = entry.machineId;
+		CompletableFuture<StateMachine<S, E>> passivation = new CompletableFuture<>();
+		// register passivation first so that a concurrent acquire waits
+		// for a store write before reading it
+		if (passivations.putIfAbsent(machineId, passivation) != null) {
+			return Mono.empty();
+		}
+		if (!entry.tryEvict()) {
+			// leased after it was chosen
+			passivations.remove(machineId, passivation);
+			passivation.complete(null);
+			return Mono.empty();
+		}
+		if (!machines.remove(machineId, entry)) {
+			entry.cancelEvict();
+			passivations.remove(machineId, passivation);
+			passivation.complete(null);
+			return Mono.empty();
+		}
+		log.info("Evicting machine with id " + machineId);
+		StateMachine<S, E> stateMachine = entry.future.join();
+		return passivateStateMachineReactively(machineId, stateMachine)
+			.doOnSuccess(v -> {
+				evictionCount.increment();
+				passivations.remove(machineId, passivation);
+				passivation.complete(null);
+			})
+			.onErrorResume(e -> {
+				log.error("Unable to passivate machine with id " + machineId + ", keeping it", e);
+				entry.cancelEvict();
+				if (machines.putIfAbsent(machineId, entry) == null) {
+					passivations.remove(machineId, passivation);
+					passivation.complete(null);
+				} else {
+					// an acquire already added a new entry and waits for this
+					// passivation, hand the machine over instead of a store read
+					passivation.complete(stateMachine);
+				}
+				return Mono.empty();
+			});
+	}
+
+	/**
+	 * Waits for an ongoing passivation of a machine and returns the machine
+	 * itself if it couldn't be passivated and was handed over to a caller.
+	 */
+	private Mono<StateMachine<S, E>> awaitPassivation(String machineId) {
+		CompletableFuture<StateMachine<S, E>> passivation = passivations.get(machineId);
+		if (passivation == null) {
+			return Mono.empty();
+		}
+		return Mono.fromFuture(passivation, true)
+			.filter(stateMachine -> passivations.remove(machineId, passivation));
+	}
+
+	private static class MachineEntry<S, E> implements StateMachineCacheEntry {
+
+		final String machineId;
+		final CompletableFuture<StateMachine<S, E>> future = new CompletableFuture<>();
+		final AtomicReference<CompletableFuture<StateMachine<S, E>>> starting = new AtomicReference<>();
+		// number of acquires not yet returned, or -1 when evicted
+		final AtomicInteger leases = new AtomicInteger();
+		final long creationTime = System.nanoTime();
+		final AtomicLong lastAccessTime = new AtomicLong(creationTime);
+		final LongAdder accessCount = new LongAdder();
+
+		MachineEntry(String machineId) {
+			this.machineId = machineId;
+		}
+
+		void touch() {
+			lastAccessTime.set(System.nanoTime());
+			accessCount.increment();
+		}
+
+		boolean tryLease() {
+			int current;
+			do {
+				current = leases.get();
+				if (current < 0) {
+					return false;
+				}
+			} while (!leases.compareAndSet(current, current + 1));
+			return true;
+		}
+
+		boolean unlease() {
+			int current;
+			do {
+				current = leases.get();
+				if (current <= 0) {
+					// returned more often than acquired
+					return false;
+				}
+			} while (!leases.compareAndSet(current, current - 1));
+			return true;
+		}
+
+		boolean isLeased() {
+			return leases.get() != 0;
+		}
+
+		boolean tryEvict() {
+			return leases.compareAndSet(0, -1);
+		}
+
+		void cancelEvict() {
+			leases.set(0);
+		}
+
+		@Override
+		public String getMachineId() {
+			return machineId;
+		}
+
+		@Override
+		public long getCreationTime() {
+			return creationTime;
+		}
+
+		@Override
+		public long getLastAccessTime() {
+			return lastAccessTime.get();
+		}
+
+		@Override
+		public long getAccessCount() {
+			return accessCount.sum();
+		}
 	}
 
 	private static class StartListener<S, E> extends StateMachineListenerAdapter<S, E> {
 
-		final CountDownLatch latch = new CountDownLatch(1);
+		final MonoSink<Void> sink;
 		final StateMachine<S, E> stateMachine;
 
-		public StartListener(StateMachine<S, E> stateMachine) {
+		public StartListener(StateMachine<S, E> stateMachine, MonoSink<Void> sink) {
 			this.stateMachine = stateMachine;
+			this.sink = sink;
 		}
 
 		@Override
 		public void stateMachineStarted(StateMachine<S, E> stateMachine) {
 			this.stateMachine.removeStateListener(this);
-			latch.countDown();
+			sink.success();
 		}
 	}
 
 	private static class StopListener<S, E> extends StateMachineListenerAdapter<S, E> {
 
-		final CountDownLatch latch = new CountDownLatch(1);
+		final MonoSink<Void> sink;
 		final StateMachine<S, E> stateMachine;
 
-		public StopListener(StateMachine<S, E> stateMachine) {
+		public StopListener(StateMachine<S, E> stateMachine, MonoSink<Void> sink) {
 			this.stateMachine = stateMachine;
+			this.sink = sink;
 		}
 
 		@Override
 		public void stateMachineStopped(StateMachine<S, E> stateMachine) {
 			this.stateMachine.removeStateListener(this);
-			latch.countDown();
+			sink.success();
 		}
 	}
 }
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.service;
+
+import org.springframework.statemachine.StateMachine;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of a {@link StateMachineService} where acquiring
+ * and releasing machines, including their restore, start and stop, are
+ * composed without blocking a calling thread.
+ *
+ * @author Janne Valkealahti
+ *
+ * @param <S> the type of state
+ * @param <E> the type of event
+ */
+public interface ReactiveStateMachineService<S, E> {
+
+	/**
+	 * Acquires the state machine. Machine from this method
+	 * is emitted started.
+	 *
+	 * @param machineId the machine id
+	 * @return mono for the state machine
+	 * @see #acquireStateMachineReactively(String, boolean)
+	 */
+	Mono<StateMachine<S, E>> acquireStateMachineReactively(String machineId);
+
+	/**
+	 * Acquires the state machine.
+	 *
+	 * @param machineId the machine id
+	 * @param start indicating if machine should be emitted started
+	 * @return mono for the state machine
+	 */
+	Mono<StateMachine<S, E>> acquireStateMachineReactively(String machineId, boolean start);
+
+	/**
+	 * Release the state machine. Machine with this method
+	 * is stopped.
+	 *
+	 * @param machineId the machine id
+	 * @return mono for completion
+	 * @see #releaseStateMachineReactively(String, boolean)
+	 */
+	Mono<Void> releaseStateMachineReactively(String machineId);
+
+	/**
+	 * Release state machine.
+	 *
+	 * @param machineId the machine id
+	 * @param stop indicating if machine should be stopped
+	 * @return mono for completion
+	 */
+	Mono<Void> releaseStateMachineReactively(String machineId, boolean stop);
+}
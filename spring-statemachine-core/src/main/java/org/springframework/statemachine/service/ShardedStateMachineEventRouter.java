@@ -0,0 +1,302 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.Lifecycle;
+import org.springframework.messaging.Message;
+import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.StateMachineEventResult;
+import org.springframework.statemachine.listener.StateMachineListenerAdapter;
+import org.springframework.statemachine.support.BlockingExecution;
+import org.springframework.util.Assert;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Routes events to machines managed by a {@link StateMachineService} through
+ * a fixed number of single threaded event loops. A machine id is hashed to
+ * one loop, thus all events for a machine are handled by a same thread and in
+ * order they were sent. Book keeping of in flight events is confined to a
+ * loop thread and needs no locking.
+ * <p>
+ * Only one event per machine is in flight at a time while events for other
+ * machines on a same loop are dispatched without waiting for it to complete.
+ * Machines are acquired from a service when a first event for a machine is
+ * dispatched, reactively if service is a {@link ReactiveStateMachineService}
+ * and otherwise offloaded from a loop thread. An acquired machine is kept
+ * with a loop until it stops or {@link #releaseStateMachine(String)} is
+ * called, and a loop forgets idle machines which have stopped, for example
+ * in a final state, and gives them back with
+ * {@link StateMachineService#returnStateMachine(String)}.
+ *
+ * @author Janne Valkealahti
+ *
+ * @param <S> the type of state
+ * @param <E> the type of event
+ */
+public class ShardedStateMachineEventRouter<S, E> implements DisposableBean {
+
+	private static final Log log = LogFactory.getLog(ShardedStateMachineEventRouter.class);
+	private final StateMachineService<S, E> stateMachineService;
+	private final List<EventLoop> loops;
+
+	/**
+	 * Instantiates a new sharded state machine event router with a loop per
+	 * available processor.
+	 *
+	 * @param stateMachineService the state machine service
+	 */
+	public ShardedStateMachineEventRouter(StateMachineService<S, E> stateMachineService) {
+		this(stateMachineService, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Instantiates a new sharded state machine event router.
+	 *
+	 * @param stateMachineService the state machine service
+	 * @param loopCount the number of event loops
+	 */
+	public ShardedStateMachineEventRouter(StateMachineService<S, E> stateMachineService, int loopCount) {
+		Assert.notNull(stateMachineService, "'stateMachineService' must be set");
+		Assert.isTrue(loopCount > 0, "'loopCount' must be greater than zero");
+		this.stateMachineService = stateMachineService;
+		this.loops = new ArrayList<>(loopCount);
+		for (int i = 0; i < loopCount; i++) {
+			this.loops.add(new EventLoop(Schedulers.newSingle("statemachine-loop-" + i)));
+		}
+	}
+
+	@Override
+	public void destroy() throws Exception {
+		for (EventLoop loop : loops) {
+			loop.scheduler.dispose();
+		}
+	}
+
+	/**
+	 * Send an event to a machine with a given id. Machine is acquired from a
+	 * {@link StateMachineService} if it's not yet known to a loop it's routed
+	 * to. Results are emitted after event has been handled by a machine.
+	 *
+	 * @param machineId the machine id
+	 * @param message the event message
+	 * @return the event results
+	 */
+	public Flux<StateMachineEventResult<S, E>> sendEvent(String machineId, Message<E> message) {
+		Assert.notNull(machineId, "'machineId' must be set");
+		Assert.notNull(message, "'message' must be set");
+		EventLoop loop = loops.get(getLoopIndex(machineId));
+		return Mono.<List<StateMachineEventResult<S, E>>>create(sink -> loop.execute(
+				() -> loop.dispatch(new EventTask(machineId, message, sink))))
+			.flatMapMany(Flux::fromIterable);
+	}
+
+	/**
+	 * Forget a machine with a given id so that a next event acquires it again
+	 * from a {@link StateMachineService}. Should be called when a machine is
+	 * released from a service outside of this router.
+	 *
+	 * @param machineId the machine id
+	 */
+	public void releaseStateMachine(String machineId) {
+		Assert.notNull(machineId, "'machineId' must be set");
+		EventLoop loop = loops.get(getLoopIndex(machineId));
+		loop.execute(() -> loop.release(machineId));
+	}
+
+	/**
+	 * Gets the index of an event loop a machine id is routed to.
+	 *
+	 * @param machineId the machine id
+	 * @return the event loop index
+	 */
+	public int getLoopIndex(String machineId) {
+		int h = machineId.hashCode();
+		return Math.floorMod(h ^ (h >>> 16), loops.size());
+	}
+
+	/**
+	 * Gets the number of event loops.
+	 *
+	 * @return the number of event loops
+	 */
+	public int getLoopCount() {
+		return loops.size();
+	}
+
+	private class EventLoop {
+
+		final Scheduler scheduler;
+		// only accessed from a loop thread
+		final Map<String, MachineSlot> slots = new HashMap<>();
+
+		EventLoop(Scheduler scheduler) {
+			this.scheduler = scheduler;
+		}
+
+		void execute(Runnable task) {
+			scheduler.schedule(task);
+		}
+
+		void dispatch(EventTask task) {
+			MachineSlot slot = slots.computeIfAbsent(task.machineId, id -> new MachineSlot());
+			if (slot.busy) {
+				slot.pending.add(task);
+			} else {
+				run(slot, task);
+			}
+		}
+
+		void release(String machineId) {
+			MachineSlot slot = slots.get(machineId);
+			if (slot == null) {
+				return;
+			}
+			slot.stateMachine = null;
+			if (!slot.busy) {
+				slots.remove(machineId);
+			}
+		}
+
+		void run(MachineSlot slot, EventTask task) {
+			slot.busy = true;
+			StateMachine<S, E> cached = slot.stateMachine;
+			if (cached != null && !isRunning(cached)) {
+				slot.stateMachine = null;
+				stateMachineService.returnStateMachine(task.machineId);
+			}
+			Mono<StateMachine<S, E>> machine = slot.stateMachine != null ? Mono.just(cached)
+					: acquireStateMachine(task.machineId);
+			machine
+				.doOnError(e -> log.warn("Unable to acquire machine " + task.machineId, e))
+				.subscribe(
+					stateMachine -> stateMachine.sendEvent(Mono.just(task.message))
+						.collectList()
+						.subscribe(
+							results -> execute(() -> complete(task, stateMachine, results, null)),
+							error -> execute(() -> complete(task, stateMachine, null, error))),
+					error -> execute(() -> complete(task, null, null, error)));
+		}
+
+		void complete(EventTask task, StateMachine<S, E> stateMachine, List<StateMachineEventResult<S, E>> results,
+				Throwable error) {
+			if (error != null) {
+				task.sink.error(error);
+			} else {
+				task.sink.success(results);
+			}
+			MachineSlot slot = slots.get(task.machineId);
+			if (stateMachine != null && slot.stateMachine != stateMachine) {
+				stateMachine.addStateListener(new StopListener(task.machineId, stateMachine));
+			}
+			slot.stateMachine = stateMachine;
+			EventTask next = slot.pending.poll();
+			if (next != null) {
+				run(slot, next);
+			} else {
+				slot.busy = false;
+				removeIfStopped(task.machineId, slot);
+			}
+		}
+
+		void removeIfStopped(String machineId, MachineSlot slot) {
+			// otherwise slots of machines which will never get events are kept
+			if (!slot.busy && (slot.stateMachine == null || !isRunning(slot.stateMachine))) {
+				forget(machineId, slot);
+			}
+		}
+
+		void forget(String machineId, MachineSlot slot) {
+			if (slots.remove(machineId, slot) && slot.stateMachine != null) {
+				stateMachineService.returnStateMachine(machineId);
+			}
+		}
+
+		private class StopListener extends StateMachineListenerAdapter<S, E> {
+
+			final String machineId;
+			final StateMachine<S, E> stateMachine;
+
+			StopListener(String machineId, StateMachine<S, E> stateMachine) {
+				this.machineId = machineId;
+				this.stateMachine = stateMachine;
+			}
+
+			@Override
+			public void stateMachineStopped(StateMachine<S, E> stateMachine) {
+				if (stateMachine != this.stateMachine) {
+					// stopped submachine
+					return;
+				}
+				this.stateMachine.removeStateListener(this);
+				execute(() -> {
+					// notified while stopping, thus don't check if it's running
+					MachineSlot slot = slots.get(machineId);
+					if (slot != null && !slot.busy && slot.stateMachine == this.stateMachine) {
+						forget(machineId, slot);
+					}
+				});
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private Mono<StateMachine<S, E>> acquireStateMachine(String machineId) {
+		if (stateMachineService instanceof ReactiveStateMachineService) {
+			return ((ReactiveStateMachineService<S, E>) stateMachineService).acquireStateMachineReactively(machineId);
+		}
+		// service may block which is not allowed on a loop thread
+		return Mono.fromCallable(() -> stateMachineService.acquireStateMachine(machineId))
+			.subscribeOn(BlockingExecution.getScheduler());
+	}
+
+	private static boolean isRunning(StateMachine<?, ?> stateMachine) {
+		return !(stateMachine instanceof Lifecycle) || ((Lifecycle) stateMachine).isRunning();
+	}
+
+	private class MachineSlot {
+		final Queue<EventTask> pending = new ArrayDeque<>();
+		// last acquired machine, kept while idle to avoid acquiring it per event
+		StateMachine<S, E> stateMachine;
+		boolean busy;
+	}
+
+	private class EventTask {
+		final String machineId;
+		final Message<E> message;
+		final MonoSink<List<StateMachineEventResult<S, E>>> sink;
+
+		EventTask(String machineId, Message<E> message, MonoSink<List<StateMachineEventResult<S, E>>> sink) {
+			this.machineId = machineId;
+			this.message = message;
+			this.sink = sink;
+		}
+	}
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.service;
+
+/**
+ * View of a machine kept by a {@link DefaultStateMachineService} exposing
+ * access statistics a {@link StateMachineEvictionPolicy} can use.
+ *
+ * @author Janne Valkealahti
+ *
+ */
+public interface StateMachineCacheEntry {
+
+	/**
+	 * Gets the machine id.
+	 *
+	 * @return the machine id
+	 */
+	String getMachineId();
+
+	/**
+	 * Gets the time in nanoseconds when machine was added.
+	 *
+	 * @return the creation time
+	 * @see System#nanoTime()
+	 */
+	long getCreationTime();
+
+	/**
+	 * Gets the time in nanoseconds when machine was last acquired.
+	 *
+	 * @return the last access time
+	 * @see System#nanoTime()
+	 */
+	long getLastAccessTime();
+
+	/**
+	 * Gets the number of times machine has been acquired.
+	 *
+	 * @return the access count
+	 */
+	long getAccessCount();
+}
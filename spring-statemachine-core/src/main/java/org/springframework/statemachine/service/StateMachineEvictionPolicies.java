@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Comparator;
+
+import org.springframework.util.Assert;
+
+/**
+ * Common {@link StateMachineEvictionPolicy} implementations.
+ *
+ * @author Janne Valkealahti
+ *
+ */
+public final class StateMachineEvictionPolicies {
+
+	private StateMachineEvictionPolicies() {
+	}
+
+	/**
+	 * Policy evicting least recently acquired machine.
+	 *
+	 * @return the eviction policy
+	 */
+	public static StateMachineEvictionPolicy leastRecentlyUsed() {
+		return new ComparingEvictionPolicy(Comparator.comparingLong(StateMachineCacheEntry::getLastAccessTime));
+	}
+
+	/**
+	 * Policy evicting least frequently acquired machine, least recently
+	 * acquired one being evicted first among equally used machines.
+	 *
+	 * @return the eviction policy
+	 */
+	public static StateMachineEvictionPolicy leastFrequentlyUsed() {
+		return new ComparingEvictionPolicy(Comparator.comparingLong(StateMachineCacheEntry::getAccessCount)
+				.thenComparingLong(StateMachineCacheEntry::getLastAccessTime));
+	}
+
+	/**
+	 * Policy expiring machines which have not been acquired within a given
+	 * time and evicting least recently acquired machine when over capacity.
+	 *
+	 * @param maxIdleTime the maximum idle time
+	 * @return the eviction policy
+	 */
+	public static StateMachineEvictionPolicy idleTime(Duration maxIdleTime) {
+		Assert.notNull(maxIdleTime, "'maxIdleTime' must be set");
+		long maxIdleNanos = maxIdleTime.toNanos();
+		return new ComparingEvictionPolicy(Comparator.comparingLong(StateMachineCacheEntry::getLastAccessTime)) {
+
+			@Override
+			public boolean isExpired(StateMachineCacheEntry entry, long now) {
+				return now - entry.getLastAccessTime() > maxIdleNanos;
+			}
+		};
+	}
+
+	private static class ComparingEvictionPolicy implements StateMachineEvictionPolicy {
+
+		private final Comparator<StateMachineCacheEntry> comparator;
+
+		ComparingEvictionPolicy(Comparator<StateMachineCacheEntry> comparator) {
+			this.comparator = comparator;
+		}
+
+		@Override
+		public StateMachineCacheEntry selectVictim(Collection<? extends StateMachineCacheEntry> entries) {
+			StateMachineCacheEntry victim = null;
+			for (StateMachineCacheEntry entry : entries) {
+				if (victim == null || comparator.compare(entry, victim) < 0) {
+					victim = entry;
+				}
+			}
+			return victim;
+		}
+	}
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.service;
+
+import java.util.Collection;
+
+/**
+ * Strategy deciding which machines a {@link DefaultStateMachineService}
+ * evicts when it's over its capacity or when machines have been idle.
+ *
+ * @author Janne Valkealahti
+ * @see StateMachineEvictionPolicies
+ *
+ */
+public interface StateMachineEvictionPolicy {
+
+	/**
+	 * Select an entry to evict when there are more machines than allowed.
+	 *
+	 * @param entries the candidate entries
+	 * @return the entry to evict or {@code null} if nothing should be evicted
+	 */
+	StateMachineCacheEntry selectVictim(Collection<? extends StateMachineCacheEntry> entries);
+
+	/**
+	 * Checks if an entry should be evicted regardless of capacity.
+	 *
+	 * @param entry the entry
+	 * @param now the current time in nanoseconds
+	 * @return true if entry has expired
+	 */
+	default boolean isExpired(StateMachineCacheEntry entry, long now) {
+		return false;
+	}
+}
@@ -0,0 +1,397 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.StateMachineContext;
+import org.springframework.statemachine.StateMachineException;
+import org.springframework.statemachine.config.StateMachineFactory;
+import org.springframework.statemachine.listener.StateMachineListener;
+import org.springframework.statemachine.support.AbstractStateMachine;
+import org.springframework.statemachine.support.BlockingExecution;
+import org.springframework.statemachine.support.StateMachineInterceptor;
+import org.springframework.util.Assert;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Pool of {@link StateMachine}s built from a {@link StateMachineFactory}.
+ * Borrowed machines are started and either in their initial state or
+ * restored from a given {@link StateMachineContext}. Returned machines are
+ * stopped and reset in place which resets states back to initial and
+ * clears extended state and deferred events, thus a next borrower never
+ * sees state left by a previous one. Machines which are in error or
+ * fail to reset are discarded instead of returned to the pool.
+ * <p>
+ * Listeners and interceptors present when a machine was built are recorded
+ * and anything a borrower added since is removed when machine is returned.
+ * Machines keeping a pool at its minimum idle size are built on a
+ * {@link BlockingExecution#getScheduler() blocking scheduler} instead of a
+ * thread returning a machine.
+ *
+ * @author Janne Valkealahti
+ *
+ * @param <S> the type of state
+ * @param <E> the type of event
+ */
+public class StateMachinePool<S, E> implements InitializingBean, DisposableBean {
+
+	private static final Log log = LogFactory.getLog(StateMachinePool.class);
+	private final StateMachineFactory<S, E> stateMachineFactory;
+	private final int minIdle;
+	private final int maxSize;
+	private final Semaphore permits;
+	private final BlockingDeque<StateMachine<S, E>> idle = new LinkedBlockingDeque<>();
+	private final Set<StateMachine<S, E>> borrowed = Collections.newSetFromMap(new IdentityHashMap<>());
+	private final Map<StateMachine<S, E>, List<Registrations<S, E>>> registrations = Collections
+			.synchronizedMap(new IdentityHashMap<>());
+	private final AtomicInteger pendingIdle = new AtomicInteger();
+	private final LongAdder borrowCount = new LongAdder();
+	private final LongAdder createdCount = new LongAdder();
+	private final LongAdder discardedCount = new LongAdder();
+	private final AtomicLong borrowLatencyTotal = new AtomicLong();
+	private final AtomicLong borrowLatencyMax = new AtomicLong();
+	private Duration borrowTimeout = Duration.ofSeconds(30);
+	private volatile boolean destroyed;
+
+	/**
+	 * Instantiates a new state machine pool.
+	 *
+	 * @param stateMachineFactory the state machine factory
+	 * @param minIdle the minimum number of idle machines
+	 * @param maxSize the maximum number of machines
+	 */
+	public StateMachinePool(StateMachineFactory<S, E> stateMachineFactory, int minIdle, int maxSize) {
+		Assert.notNull(stateMachineFactory, "'stateMachineFactory' must be set");
+		Assert.isTrue(maxSize > 0, "'maxSize' must be greater than zero");
+		Assert.isTrue(minIdle >= 0 && minIdle <= maxSize, "'minIdle' must be between zero and 'maxSize'");
+		this.stateMachineFactory = stateMachineFactory;
+		this.minIdle = minIdle;
+		this.maxSize = maxSize;
+		this.permits = new Semaphore(maxSize, true);
+	}
+
+	@Override
+	public void afterPropertiesSet() throws Exception {
+		while (idle.size() < minIdle) {
+			idle.offerLast(createStateMachine());
+		}
+	}
+
+	@Override
+	public void destroy() throws Exception {
+		destroyed = true;
+		List<StateMachine<S, E>> machines = new ArrayList<>();
+		idle.drainTo(machines);
+		synchronized (borrowed) {
+			machines.addAll(borrowed);
+			borrowed.clear();
+		}
+		for (StateMachine<S, E> stateMachine : machines) {
+			stateMachine.stopReactively().block();
+		}
+		registrations.clear();
+	}
+
+	/**
+	 * Borrow a machine in its initial state.
+	 *
+	 * @return the started state machine
+	 */
+	public StateMachine<S, E> borrowStateMachine() {
+		return borrowStateMachine(null);
+	}
+
+	/**
+	 * Borrow a machine and restore it from a given context before it's
+	 * started. A {@code null} context leaves machine in its initial state.
+	 *
+	 * @param stateMachineContext the state machine context
+	 * @return the started state machine
+	 */
+	public StateMachine<S, E> borrowStateMachine(StateMachineContext<S, E> stateMachineContext) {
+		Assert.state(!destroyed, "Pool has been destroyed");
+		long start = System.nanoTime();
+		try {
+			if (!permits.tryAcquire(borrowTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+				throw new StateMachineException("Timeout waiting machine from pool with max size " + maxSize);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new StateMachineException("Interrupted waiting machine from pool", e);
+		}
+		StateMachine<S, E> stateMachine = null;
+		try {
+			stateMachine = idle.pollFirst();
+			if (stateMachine == null) {
+				stateMachine = createStateMachine();
+			}
+			if (stateMachineContext != null) {
+				stateMachine.getStateMachineAccessor()
+						.doWithAllRegions(function -> function.resetStateMachineReactively(stateMachineContext).block());
+			}
+			stateMachine.startReactively().block();
+		} catch (RuntimeException e) {
+			if (stateMachine != null) {
+				stop(stateMachine);
+				discard(stateMachine);
+			}
+			permits.release();
+			throw e;
+		}
+		synchronized (borrowed) {
+			borrowed.add(stateMachine);
+		}
+		borrowCount.increment();
+		long latency = System.nanoTime() - start;
+		borrowLatencyTotal.addAndGet(latency);
+		borrowLatencyMax.accumulateAndGet(latency, Math::max);
+		return stateMachine;
+	}
+
+	/**
+	 * Return a borrowed machine back to the pool. Machine is stopped and
+	 * reset and then either kept as idle or discarded if it's not valid.
+	 *
+	 * @param stateMachine the state machine
+	 */
+	public void returnStateMachine(StateMachine<S, E> stateMachine) {
+		Assert.notNull(stateMachine, "'stateMachine' must be set");
+		synchronized (borrowed) {
+			Assert.isTrue(borrowed.remove(stateMachine), "Machine was not borrowed from this pool");
+		}
+		try {
+			boolean valid = !destroyed && !stateMachine.hasStateMachineError();
+			if (valid) {
+				valid = reset(stateMachine);
+			}
+			if (valid) {
+				removeRegistrations(stateMachine);
+				idle.offerFirst(stateMachine);
+			} else {
+				stop(stateMachine);
+				discard(stateMachine);
+			}
+		} finally {
+			permits.release();
+		}
+		if (!destroyed) {
+			ensureMinIdle();
+		}
+	}
+
+	/**
+	 * Sets the maximum time borrow waits for a machine to become available.
+	 * Defaults to 30 seconds.
+	 *
+	 * @param borrowTimeout the borrow timeout
+	 */
+	public void setBorrowTimeout(Duration borrowTimeout) {
+		Assert.notNull(borrowTimeout, "'borrowTimeout' must be set");
+		this.borrowTimeout = borrowTimeout;
+	}
+
+	/**
+	 * Gets the number of idle machines.
+	 *
+	 * @return the idle count
+	 */
+	public int getIdleCount() {
+		return idle.size();
+	}
+
+	/**
+	 * Gets the number of currently borrowed machines.
+	 *
+	 * @return the active count
+	 */
+	public int getActiveCount() {
+		synchronized (borrowed) {
+			return borrowed.size();
+		}
+	}
+
+	/**
+	 * Gets the total number of borrows.
+	 *
+	 * @return the borrow count
+	 */
+	public long getBorrowCount() {
+		return borrowCount.sum();
+	}
+
+	/**
+	 * Gets the total number of machines built from a factory.
+	 *
+	 * @return the created count
+	 */
+	public long getCreatedCount() {
+		return createdCount.sum();
+	}
+
+	/**
+	 * Gets the total number of machines discarded as not valid.
+	 *
+	 * @return the discarded count
+	 */
+	public long getDiscardedCount() {
+		return discardedCount.sum();
+	}
+
+	/**
+	 * Gets the average time borrow took including time waiting for a machine
+	 * and building or restoring it.
+	 *
+	 * @return the average borrow latency
+	 */
+	public Duration getAverageBorrowLatency() {
+		long count = borrowCount.sum();
+		return count > 0 ? Duration.ofNanos(borrowLatencyTotal.get() / count) : Duration.ZERO;
+	}
+
+	/**
+	 * Gets the maximum time borrow took.
+	 *
+	 * @return the maximum borrow latency
+	 */
+	public Duration getMaxBorrowLatency() {
+		return Duration.ofNanos(borrowLatencyMax.get());
+	}
+
+	private StateMachine<S, E> createStateMachine() {
+		StateMachine<S, E> stateMachine = stateMachineFactory.getStateMachine();
+		List<Registrations<S, E>> machineRegistrations = new ArrayList<>();
+		stateMachine.getStateMachineAccessor().doWithAllRegions(function -> {
+			if (function instanceof AbstractStateMachine) {
+				machineRegistrations.add(new Registrations<>((AbstractStateMachine<S, E>) function));
+			}
+		});
+		registrations.put(stateMachine, machineRegistrations);
+		createdCount.increment();
+		return stateMachine;
+	}
+
+	private void removeRegistrations(StateMachine<S, E> stateMachine) {
+		List<Registrations<S, E>> machineRegistrations = registrations.get(stateMachine);
+		if (machineRegistrations != null) {
+			for (Registrations<S, E> r : machineRegistrations) {
+				r.removeAdded();
+			}
+		}
+	}
+
+	private void stop(StateMachine<S, E> stateMachine) {
+		try {
+			stateMachine.stopReactively().block();
+		} catch (Exception e) {
+			log.warn("Unable to stop machine " + stateMachine, e);
+		}
+	}
+
+	private boolean reset(StateMachine<S, E> stateMachine) {
+		try {
+			stateMachine.stopReactively().block();
+			stateMachine.getStateMachineAccessor()
+					.doWithAllRegions(function -> function.resetStateMachineReactively(null).block());
+			return !stateMachine.hasStateMachineError();
+		} catch (Exception e) {
+			log.warn("Unable to reset machine, discarding it", e);
+			return false;
+		}
+	}
+
+	private void discard(StateMachine<S, E> stateMachine) {
+		registrations.remove(stateMachine);
+		discardedCount.increment();
+		if (log.isDebugEnabled()) {
+			log.debug("Discarding machine " + stateMachine);
+		}
+	}
+
+	private void ensureMinIdle() {
+		// count of machines being built guards against scheduling too many
+		while (true) {
+			int pending = pendingIdle.get();
+			int idleCount = idle.size() + pending;
+			if (destroyed || idleCount >= minIdle || idleCount + getActiveCount() >= maxSize) {
+				return;
+			}
+			if (pendingIdle.compareAndSet(pending, pending + 1)) {
+				Mono.fromRunnable(() -> {
+					try {
+						if (!destroyed) {
+							idle.offerLast(createStateMachine());
+						}
+					} catch (Exception e) {
+						log.warn("Unable to build idle machine", e);
+					} finally {
+						pendingIdle.decrementAndGet();
+					}
+				})
+				.subscribeOn(BlockingExecution.getScheduler())
+				.subscribe();
+			}
+		}
+	}
+
+	/**
+	 * Listeners and interceptors of a region present when it was built.
+	 */
+	private static class Registrations<S, E> {
+
+		final AbstractStateMachine<S, E> region;
+		final Set<StateMachineListener<S, E>> listeners = Collections.newSetFromMap(new IdentityHashMap<>());
+		final Set<StateMachineInterceptor<S, E>> interceptors = Collections.newSetFromMap(new IdentityHashMap<>());
+
+		Registrations(AbstractStateMachine<S, E> region) {
+			this.region = region;
+			this.listeners.addAll(region.getStateListeners());
+			this.interceptors.addAll(region.getStateMachineInterceptorList());
+		}
+
+		void removeAdded() {
+			for (StateMachineListener<S, E> listener : region.getStateListeners()) {
+				if (!listeners.contains(listener)) {
+					region.removeStateListener(listener);
+				}
+			}
+			for (StateMachineInterceptor<S, E> interceptor : region.getStateMachineInterceptorList()) {
+				if (!interceptors.contains(interceptor)) {
+					region.removeStateMachineInterceptor(interceptor);
+				}
+			}
+		}
+	}
+}
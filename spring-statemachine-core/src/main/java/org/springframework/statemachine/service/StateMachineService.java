@@ -63,4 +63,16 @@ public interface StateMachineService<S, E> {
 	 * @param stop indicating if machine should be stopped
 	 */
 	void releaseStateMachine(String machineId, boolean stop);
+
+	/**
+	 * Return the state machine after a caller no longer uses a machine it
+	 * acquired. A returned machine is kept by a service and may be evicted
+	 * by it while a machine which is acquired and not yet returned is never
+	 * evicted. Every acquire should be paired with either a return or a
+	 * release. Default implementation does nothing.
+	 *
+	 * @param machineId the machine id
+	 */
+	default void returnStateMachine(String machineId) {
+	}
 }
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.statemachine.StateMachineContext;
+import org.springframework.statemachine.StateMachineTimer;
+import org.springframework.util.Assert;
+
+/**
+ * Helper scanning persisted {@link StateMachineContext}s for expired
+ * {@link StateMachineTimer}s. Machines which are not in memory, for example
+ * after those have been released from a {@link StateMachineService} or
+ * after an application restart, don't have anything running which would fire
+ * their timers. A scanner acquires machines having due timers from a
+ * {@link StateMachineService} which restores and starts those and due
+ * timers then fire immediately.
+ * <p>
+ * Scanner doesn't know how contexts are stored, thus a caller is expected
+ * to run {@link #scan(Iterable, long)} periodically with contexts read from
+ * a store, preferably only with ones having a deadline before a given time.
+ *
+ * @author Janne Valkealahti
+ *
+ * @param <S> the type of state
+ * @param <E> the type of event
+ */
+public class StateMachineTimerScanner<S, E> {
+
+	private static final Log log = LogFactory.getLog(StateMachineTimerScanner.class);
+	private final StateMachineService<S, E> stateMachineService;
+
+	/**
+	 * Instantiates a new state machine timer scanner.
+	 *
+	 * @param stateMachineService the state machine service
+	 */
+	public StateMachineTimerScanner(StateMachineService<S, E> stateMachineService) {
+		Assert.notNull(stateMachineService, "StateMachineService must be set");
+		this.stateMachineService = stateMachineService;
+	}
+
+	/**
+	 * Acquire machines for contexts having timers due at a given time.
+	 * Acquired machines are kept in a {@link StateMachineService} and it is up
+	 * to a caller to release those. As scanner itself doesn't use machines
+	 * those are returned right away and may be evicted by a service.
+	 *
+	 * @param contexts the state machine contexts
+	 * @param now the time in milliseconds since epoch
+	 * @return the ids of acquired machines
+	 */
+	public List<String> scan(Iterable<? extends StateMachineContext<S, E>> contexts, long now) {
+		List<String> machineIds = new ArrayList<>();
+		for (StateMachineContext<S, E> context : contexts) {
+			if (context.getId() == null || !hasDueTimers(context, now)) {
+				continue;
+			}
+			try {
+				stateMachineService.acquireStateMachine(context.getId(), true);
+				stateMachineService.returnStateMachine(context.getId());
+				machineIds.add(context.getId());
+			} catch (Exception e) {
+				log.warn("Unable to acquire machine " + context.getId() + " for due timers", e);
+			}
+		}
+		return machineIds;
+	}
+
+	/**
+	 * Checks if a context or any of its child contexts has timers due at a
+	 * given time.
+	 *
+	 * @param <S> the type of state
+	 * @param <E> the type of event
+	 * @param context the state machine context
+	 * @param now the time in milliseconds since epoch
+	 * @return true, if context has due timers
+	 */
+	public static <S, E> boolean hasDueTimers(StateMachineContext<S, E> context, long now) {
+		Long deadline = getNextDeadline(context);
+		return deadline != null && deadline <= now;
+	}
+
+	/**
+	 * Gets the earliest timer deadline of a context and its child contexts.
+	 * Useful for storing a deadline next to a persisted context so that
+	 * a store can be queried for due contexts.
+	 *
+	 * @param <S> the type of state
+	 * @param <E> the type of event
+	 * @param context the state machine context
+	 * @return the earliest deadline, {@code NULL} if context doesn't have timers
+	 */
+	public static <S, E> Long getNextDeadline(StateMachineContext<S, E> context) {
+		Long next = null;
+		for (StateMachineTimer<E> timer : context.getTimers()) {
+			if (next == null || timer.getDeadline() < next) {
+				next = timer.getDeadline();
+			}
+		}
+		if (context.getChilds() != null) {
+			for (StateMachineContext<S, E> child : context.getChilds()) {
+				Long deadline = getNextDeadline(child);
+				if (deadline != null && (next == null || deadline < next)) {
+					next = deadline;
+				}
+			}
+		}
+		return next;
+	}
+}
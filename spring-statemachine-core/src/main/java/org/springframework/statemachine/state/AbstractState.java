@@ -20,7 +20,9 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Queue;
+import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -47,6 +49,7 @@ import org.springframework.statemachine.trigger.Trigger;
 import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 import reactor.core.scheduler.Schedulers;
 
 /**
@@ -60,6 +63,7 @@ import reactor.core.scheduler.Schedulers;
 public abstract class AbstractState<S, E> extends LifecycleObjectSupport implements State<S, E> {
 
 	private static final Log log = LogFactory.getLog(AbstractState.class);
+	private static final Map<Scheduler, SchedulerLoad> schedulerLoads = Collections.synchronizedMap(new WeakHashMap<>());
 	private final S id;
 	private final PseudoState<S, E> pseudoState;
 	private final Collection<E> deferred;
@@ -75,6 +79,7 @@ public abstract class AbstractState<S, E> extends LifecycleObjectSupport impleme
 	private final List<StateMachineListener<S, E>> completionListeners = new CopyOnWriteArrayList<>();
 	private StateDoActionPolicy stateDoActionPolicy;
 	private Long stateDoActionPolicyTimeout;
+	private Scheduler stateDoActionScheduler;
 	private final Queue<Disposable> disposables = new ConcurrentLinkedDeque<>();
 
 	/**
@@ -416,6 +421,16 @@ public abstract class AbstractState<S, E> extends LifecycleObjectSupport impleme
 		this.stateDoActionPolicyTimeout = stateDoActionPolicyTimeout;
 	}
 
+	/**
+	 * Sets the scheduler state do actions are run on. Defaults to
+	 * {@link Schedulers#parallel()}.
+	 *
+	 * @param stateDoActionScheduler the state do action scheduler
+	 */
+	public void setStateDoActionScheduler(Scheduler stateDoActionScheduler) {
+		this.stateDoActionScheduler = stateDoActionScheduler;
+	}
+
 	/**
 	 * Arm triggers.
 	 */
@@ -465,17 +480,39 @@ public abstract class AbstractState<S, E> extends LifecycleObjectSupport impleme
 		return Mono.defer(() -> {
 			final AtomicInteger completionCount = new AtomicInteger(stateActions.size());
 			Long timeout = resolveDoActionTimeout(context);
+			Scheduler scheduler = stateDoActionScheduler != null ? stateDoActionScheduler : Schedulers.parallel();
+			SchedulerLoad load = schedulerLoads.computeIfAbsent(scheduler, s -> new SchedulerLoad());
 			return Flux.fromIterable(stateActions)
 				.doOnNext(stateAction -> {
-					executeAction(stateAction, context)
+					// 0 queued, 1 running, 2 done
+					AtomicInteger phase = new AtomicInteger();
+					Mono.defer(() -> {
+							if (phase.compareAndSet(0, 1)) {
+								load.queued.decrementAndGet();
+								load.active.incrementAndGet();
+								notifySchedulerLoad(context, scheduler, load);
+							}
+							return executeAction(stateAction, context);
+						})
 						.onErrorResume(t -> Mono.empty())
-						.subscribeOn(Schedulers.parallel())
+						.subscribeOn(scheduler)
 						.doOnSubscribe(subscription -> {
 							if (log.isDebugEnabled()) {
 								log.debug("Adding new scheduled action with subscription=" + subscription);
 							}
+							load.queued.incrementAndGet();
+							notifySchedulerLoad(context, scheduler, load);
 							scheduledActions.add(new ScheduledAction(subscription, timeout, System.currentTimeMillis()));
 						})
+						.doFinally(signal -> {
+							int previous = phase.getAndSet(2);
+							if (previous == 0) {
+								load.queued.decrementAndGet();
+							} else if (previous == 1) {
+								load.active.decrementAndGet();
+							}
+							notifySchedulerLoad(context, scheduler, load);
+						})
 						.then(handleCompleteOrEmpty1(context, completionCount))
 						.subscribe();
 				})
@@ -562,6 +599,30 @@ public abstract class AbstractState<S, E> extends LifecycleObjectSupport impleme
 		stateListener.onComplete(context);
 	}
 
+	protected void notifyRegionExecuted(StateContext<S, E> context, Region<S, E> region, long duration) {
+		if (this.actionListener != null) {
+			StateMachine<S, E> stateMachine = context != null ? context.getStateMachine() : null;
+			if (stateMachine == null && region instanceof StateMachine) {
+				stateMachine = (StateMachine<S, E>) region;
+			}
+			try {
+				this.actionListener.onRegion(stateMachine, region, duration);
+			} catch (Exception e) {
+				log.warn("Error with actionListener", e);
+			}
+		}
+	}
+
+	private void notifySchedulerLoad(StateContext<S, E> context, Scheduler scheduler, SchedulerLoad load) {
+		if (this.actionListener != null) {
+			try {
+				this.actionListener.onSchedule(context.getStateMachine(), scheduler, load.active.get(), load.queued.get());
+			} catch (Exception e) {
+				log.warn("Error with actionListener", e);
+			}
+		}
+	}
+
 	private Long resolveDoActionTimeout(StateContext<S, E> context) {
 		Long timeout = null;
 		if (stateDoActionPolicy == StateDoActionPolicy.TIMEOUT_CANCEL) {
@@ -573,6 +634,15 @@ public abstract class AbstractState<S, E> extends LifecycleObjectSupport impleme
 		return timeout;
 	}
 
+	/**
+	 * Counts of do actions queued and running on a scheduler, shared by all
+	 * states using a same scheduler.
+	 */
+	private static class SchedulerLoad {
+		final AtomicInteger active = new AtomicInteger();
+		final AtomicInteger queued = new AtomicInteger();
+	}
+
 	private static class ScheduledAction {
 		Subscription subscription;
 		Long timeout;
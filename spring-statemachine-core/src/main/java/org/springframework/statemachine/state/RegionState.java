@@ -19,6 +19,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.function.Function;
 
+import org.reactivestreams.Publisher;
 import org.springframework.messaging.Message;
 import org.springframework.statemachine.StateContext;
 import org.springframework.statemachine.StateMachineEventResult;
@@ -28,6 +29,7 @@ import org.springframework.statemachine.support.StateMachineUtils;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 import reactor.core.scheduler.Schedulers;
 
 /**
@@ -41,6 +43,8 @@ import reactor.core.scheduler.Schedulers;
 public class RegionState<S, E> extends AbstractState<S, E> {
 
 	private RegionExecutionPolicy regionExecutionPolicy;
+	private Scheduler regionExecutionScheduler = Schedulers.parallel();
+	private Integer regionExecutionParallelism;
 
 	/**
 	 * Instantiates a new region state.
@@ -108,11 +112,7 @@ public class RegionState<S, E> extends AbstractState<S, E> {
 	@Override
 	public Flux<StateMachineEventResult<S, E>> sendEvent(Message<E> event) {
 		if(regionExecutionPolicy == RegionExecutionPolicy.PARALLEL) {
-			return Flux.fromIterable(getRegions())
-				.parallel()
-				.runOn(Schedulers.parallel())
-				.flatMap(r -> r.sendEvent(Mono.just(event)))
-				.sequential();
+			return executeRegions(Flux.fromIterable(getRegions()), r -> r.sendEvent(Mono.just(event)), null);
 		} else {
 			return Flux.fromIterable(getRegions())
 				.flatMap(r -> r.sendEvent(Mono.just(event)));
@@ -142,9 +142,15 @@ public class RegionState<S, E> extends AbstractState<S, E> {
 		Mono<Void> actions = Flux.fromIterable(getExitActions())
 			.flatMap(a -> executeAction(a, context))
 			.then();
-		Mono<Void> regionsThenActions = Flux.fromIterable(getRegions())
-			.flatMap(r -> r.stopReactively())
-			.then(actions);
+		Mono<Void> regions;
+		if (regionExecutionPolicy == RegionExecutionPolicy.PARALLEL) {
+			regions = executeRegions(Flux.fromIterable(getRegions()), r -> r.stopReactively(), context).then();
+		} else {
+			regions = Flux.fromIterable(getRegions())
+				.flatMap(r -> r.stopReactively())
+				.then();
+		}
+		Mono<Void> regionsThenActions = regions.then(actions);
 		return super.exit(context)
 			.then(regionsThenActions);
 	}
@@ -152,12 +158,9 @@ public class RegionState<S, E> extends AbstractState<S, E> {
 	private Mono<Void> startOrEntry(StateContext<S, E> context) {
 		if (getPseudoState() != null && getPseudoState().getKind() == PseudoStateKind.INITIAL) {
 			if (regionExecutionPolicy == RegionExecutionPolicy.PARALLEL) {
-				return Flux.fromIterable(getRegions())
-					.filter(r -> !StateMachineUtils.containsAtleastOne(r.getStates(), context.getTargets()))
-					.parallel()
-					.runOn(Schedulers.parallel())
-					.flatMap(r -> r.startReactively())
-					.sequential()
+				return executeRegions(Flux.fromIterable(getRegions())
+						.filter(r -> !StateMachineUtils.containsAtleastOne(r.getStates(), context.getTargets())),
+						r -> r.startReactively(), context)
 					.then();
 			} else {
 				return Flux.fromIterable(getRegions())
@@ -174,6 +177,25 @@ public class RegionState<S, E> extends AbstractState<S, E> {
 		}
 	}
 
+	/**
+	 * Runs regions on a region execution scheduler. At most
+	 * {@code regionExecutionParallelism} regions are in flight at a time and a
+	 * region is picked up as soon as a previous one completes, which keeps a
+	 * bounded pool busy without creating a task burst for every region.
+	 * Results are joined in region order regardless of completion order.
+	 */
+	private <T> Flux<T> executeRegions(Flux<Region<S, E>> regions, Function<Region<S, E>, Publisher<T>> function,
+			StateContext<S, E> context) {
+		int concurrency = regionExecutionParallelism != null ? regionExecutionParallelism : getRegions().size();
+		return regions
+			.flatMapSequential(r -> Flux.defer(() -> {
+					long now = System.currentTimeMillis();
+					return Flux.from(function.apply(r))
+						.doFinally(signal -> notifyRegionExecuted(context, r, System.currentTimeMillis() - now));
+				})
+				.subscribeOn(regionExecutionScheduler), Math.max(1, concurrency));
+	}
+
 	@Override
 	public Mono<Void> entry(StateContext<S, E> context) {
 		Mono<Void> actions = Flux.fromIterable(getEntryActions())
@@ -220,6 +242,29 @@ public class RegionState<S, E> extends AbstractState<S, E> {
 		this.regionExecutionPolicy = regionExecutionPolicy;
 	}
 
+	/**
+	 * Sets the scheduler regions are run on with
+	 * {@link RegionExecutionPolicy#PARALLEL}. Defaults to
+	 * {@link Schedulers#parallel()}.
+	 *
+	 * @param regionExecutionScheduler the region execution scheduler
+	 */
+	public void setRegionExecutionScheduler(Scheduler regionExecutionScheduler) {
+		this.regionExecutionScheduler = regionExecutionScheduler != null ? regionExecutionScheduler
+				: Schedulers.parallel();
+	}
+
+	/**
+	 * Sets the maximum number of regions run at a time with
+	 * {@link RegionExecutionPolicy#PARALLEL}. By default all regions are run
+	 * at once.
+	 *
+	 * @param regionExecutionParallelism the region execution parallelism
+	 */
+	public void setRegionExecutionParallelism(Integer regionExecutionParallelism) {
+		this.regionExecutionParallelism = regionExecutionParallelism;
+	}
+
 	@Override
 	public String toString() {
 		return "RegionState [getIds()=" + getIds() + ", getClass()=" + getClass() + ", hashCode()=" + hashCode()
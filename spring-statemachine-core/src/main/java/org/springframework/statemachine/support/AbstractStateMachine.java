@@ -15,15 +15,22 @@
  */
 package org.springframework.statemachine.support;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -41,6 +48,7 @@ import org.springframework.statemachine.StateMachine;
 import org.springframework.statemachine.StateMachineContext;
 import org.springframework.statemachine.StateMachineEventResult;
 import org.springframework.statemachine.StateMachineEventResult.ResultType;
+import org.springframework.statemachine.StateMachineTimer;
 import org.springframework.statemachine.access.StateMachineAccess;
 import org.springframework.statemachine.access.StateMachineAccessor;
 import org.springframework.statemachine.action.ActionListener;
@@ -64,14 +72,22 @@ import org.springframework.statemachine.transition.Transition;
 import org.springframework.statemachine.transition.TransitionConflictPolicy;
 import org.springframework.statemachine.transition.TransitionKind;
 import org.springframework.statemachine.trigger.DefaultTriggerContext;
+import org.springframework.statemachine.trigger.ReactorTriggerScheduler;
+import org.springframework.statemachine.trigger.TimerTrigger;
 import org.springframework.statemachine.trigger.Trigger;
 import org.springframework.statemachine.trigger.TriggerContext;
+import org.springframework.statemachine.trigger.TriggerScheduler;
 import org.springframework.util.Assert;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.StringUtils;
 
+import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
 
 /**
  * Base implementation of a {@link StateMachine} loosely modelled from UML state
@@ -85,6 +101,7 @@ import reactor.core.publisher.Mono;
 public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSupport<S, E> implements StateMachine<S, E>, StateMachineAccess<S, E> {
 
 	private static final Log log = LogFactory.getLog(AbstractStateMachine.class);
+	private static final String REACTOR_CONTEXT_HYDRATE = "stateMachineHydrate";
 
 	private final Collection<State<S,E>> states;
 
@@ -100,8 +117,33 @@ public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSuppo
 
 	private TransitionConflictPolicy transitionConflictPolicy;
 
+	private StateMachineExecutorPolicy stateMachineExecutorPolicy;
+
+	private Integer stateMachineExecutorBatchSize;
+
+	private Integer stateMachineExecutorMailboxCapacity;
+
+	private MailboxOverflowPolicy stateMachineExecutorMailboxOverflowPolicy;
+
+	private Supplier<? extends Queue<?>> stateMachineExecutorMailboxQueueSupplier;
+
+	private Integer stateMachineExecutorDeferredCapacity;
+
+	private Duration stateMachineExecutorDeferredTimeToLive;
+
+	private Integer stateMachineExecutorTriggerlessCascadeLimit;
+
 	private volatile State<S,E> currentState;
 
+	private final AtomicLong configurationVersion = new AtomicLong();
+
+	// bumped when this or any nested machine changes its state
+	private final AtomicLong activeStateStamp = new AtomicLong();
+
+	private volatile ActiveStateIds<S> activeStateIds;
+
+	private AbstractStateMachine<S, E> enclosingMachine;
+
 	// using this to log last state when machine stops, as
 	// it's a bit difficult to keep currentState non-null after stop.
 	private volatile State<S,E> lastState;
@@ -114,6 +156,8 @@ public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSuppo
 
 	private final List<Transition<S, E>> triggerlessTransitions = new ArrayList<Transition<S,E>>();
 
+	private TransitionIndex<S, E> transitionIndex;
+
 	private StateMachine<S, E> relay;
 
 	private StateMachineExecutor<S, E> stateMachineExecutor;
@@ -128,6 +172,14 @@ public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSuppo
 
 	private StateMachine<S, E> parentMachine;
 
+	private TriggerScheduler triggerScheduler;
+
+	private final Map<String, DelayedEvent> delayedEvents = new ConcurrentHashMap<>();
+
+	private volatile List<StateMachineTimer<E>> restoredTimers;
+
+	private BlockingExecutionPolicy blockingExecutionPolicy;
+
 	/**
 	 * Instantiates a new abstract state machine.
 	 *
@@ -222,7 +274,7 @@ public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSuppo
 	public boolean sendEvent(Message<E> event) {
 		return sendEvent(Mono.just(event))
 			.switchIfEmpty(Flux.just(StateMachineEventResult.<S, E>from(this, event, ResultType.DENIED)))
-			.reduce(false, (a, r) -> !(a | r.getResultType() == ResultType.DENIED))
+			.reduce(false, (a, r) -> !(a | r.getResultType() == ResultType.DENIED | r.getResultType() == ResultType.REJECTED))
 			.block();
 	}
 
@@ -244,6 +296,14 @@ public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSuppo
 		return events.flatMap(e -> handleEvent(e));
 	}
 
+	@Override
+	public Flux<StateMachineEventResult<S, E>> sendEvents(List<Message<E>> events) {
+		if (isBatchable(events)) {
+			return handleEvents(events);
+		}
+		return Flux.fromIterable(events).concatMap(e -> handleEvent(e));
+	}
+
 	@Override
 	public Flux<StateMachineEventResult<S, E>> sendEvent(Mono<Message<E>> event) {
 		return event.flatMapMany(e -> handleEvent(e));
@@ -254,6 +314,45 @@ public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSuppo
 		return event.flatMapMany(e -> handleEvent(e)).collectList();
 	}
 
+	@Override
+	public Mono<Disposable> sendEventAt(Message<E> event, Instant time) {
+		return Mono.fromSupplier(() -> {
+			DelayedEvent delayedEvent = new DelayedEvent(UUID.randomUUID().toString(), time.toEpochMilli(), event);
+			delayedEvents.put(delayedEvent.id, delayedEvent);
+			if (isRunning()) {
+				delayedEvent.schedule();
+			}
+			return delayedEvent;
+		});
+	}
+
+	/**
+	 * Gets the pending timers of this machine. Timers are collected from
+	 * armed timer triggers with a limited count and from events sent with
+	 * {@link #sendEventAt(Message, Instant)} which have not yet been sent.
+	 * Timers are owned by a top-level machine which collects those from its
+	 * submachines and regions, thus for a nested machine this list is empty.
+	 *
+	 * @return the pending timers
+	 */
+	public List<StateMachineTimer<E>> getTimers() {
+		List<StateMachineTimer<E>> timers = new ArrayList<>();
+		if (parentMachine != null) {
+			return timers;
+		}
+		for (Map.Entry<String, TimerTrigger<S, E>> entry : getTimerTriggers(this).entrySet()) {
+			Long deadline = entry.getValue().getDeadline();
+			if (entry.getValue().getCount() > 0 && deadline != null) {
+				timers.add(new StateMachineTimer<E>(entry.getKey(), deadline, null, null));
+			}
+		}
+		for (DelayedEvent delayedEvent : delayedEvents.values()) {
+			timers.add(new StateMachineTimer<E>(delayedEvent.id, delayedEvent.deadline,
+					delayedEvent.message.getPayload(), delayedEvent.message.getHeaders()));
+		}
+		return timers;
+	}
+
 	@Override
 	protected void onInit() throws Exception {
 		super.onInit();
@@ -265,7 +364,9 @@ public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSuppo
 		extendedState.setExtendedStateChangeListener(new ExtendedStateChangeListener() {
 			@Override
 			public void changed(Object key, Object value) {
-				notifyExtendedStateChanged(key, value, buildStateContext(Stage.EXTENDED_STATE_CHANGED, null, null, getRelayStateMachine()));
+				if (isStageSubscribed(Stage.EXTENDED_STATE_CHANGED)) {
+					notifyExtendedStateChanged(key, value, buildStateContext(Stage.EXTENDED_STATE_CHANGED, null, null, getRelayStateMachine()));
+				}
 			}
 		});
 
@@ -279,6 +380,7 @@ public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSuppo
 				triggerlessTransitions.add(transition);
 			}
 		}
+		transitionIndex = TransitionIndex.of(transitions, transitionConflictPolicy);
 
 		for (final State<S, E> state : states) {
 
@@ -296,10 +398,12 @@ public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSuppo
 			if (state.isSubmachineState()) {
 				StateMachine<S, E> submachine = ((AbstractState<S, E>)state).getSubmachine();
 				submachine.addStateListener(new StateMachineListenerRelay());
+				setEnclosingMachine(submachine);
 			} else if (state.isOrthogonal()) {
 				Collection<Region<S, E>> regions = ((AbstractState<S, E>)state).getRegions();
 				for (Region<S, E> region : regions) {
 					region.addStateListener(new StateMachineListenerRelay());
+					setEnclosingMachine(region);
 				}
 			}
 			if (state.getPseudoState() != null
@@ -309,11 +413,34 @@ public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSuppo
 			}
 		}
 
-		ReactiveStateMachineExecutor<S, E> executor = new ReactiveStateMachineExecutor<S, E>(this, getRelayStateMachine(), transitions,
-				triggerToTransitionMap, triggerlessTransitions, initialTransition, initialEvent, transitionConflictPolicy);
+		ReactiveStateMachineExecutor<S, E> executor;
+		if (stateMachineExecutorPolicy == StateMachineExecutorPolicy.SYNCHRONOUS) {
+			executor = new BlockingStateMachineExecutorAdapter<S, E>(this, getRelayStateMachine(), transitions,
+					triggerToTransitionMap, triggerlessTransitions, initialTransition, initialEvent, transitionConflictPolicy,
+					transitionIndex);
+		} else {
+			executor = new ReactiveStateMachineExecutor<S, E>(this, getRelayStateMachine(), transitions,
+					triggerToTransitionMap, triggerlessTransitions, initialTransition, initialEvent, transitionConflictPolicy,
+					transitionIndex);
+		}
 		if (getBeanFactory() != null) {
 			executor.setBeanFactory(getBeanFactory());
 		}
+		if (stateMachineExecutorBatchSize != null) {
+			executor.setBatchSize(stateMachineExecutorBatchSize);
+		}
+		if (stateMachineExecutorMailboxCapacity != null && stateMachineExecutorMailboxOverflowPolicy != null) {
+			executor.setMailbox(stateMachineExecutorMailboxCapacity, stateMachineExecutorMailboxOverflowPolicy);
+		}
+		executor.setMailboxQueueSupplier(stateMachineExecutorMailboxQueueSupplier);
+		if (stateMachineExecutorDeferredCapacity != null || stateMachineExecutorDeferredTimeToLive != null) {
+			executor.setDeferredEvents(stateMachineExecutorDeferredCapacity != null ? stateMachineExecutorDeferredCapacity
+					: Integer.MAX_VALUE, stateMachineExecutorDeferredTimeToLive);
+		}
+		if (stateMachineExecutorTriggerlessCascadeLimit != null) {
+			executor.setTriggerlessCascadeLimit(stateMachineExecutorTriggerlessCascadeLimit);
+		}
+		executor.setStateMachineMonitor(getStateMachineMonitor());
 		executor.afterPropertiesSet();
 		executor.setStateMachineExecutorTransit(new StateMachineExecutorTransit<S, E>() {
 
@@ -321,14 +448,18 @@ public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSuppo
 			public Mono<Void> transit(Transition<S, E> t, StateContext<S, E> ctx, Message<E> message) {
 				return Mono.fromSupplier(() -> System.currentTimeMillis())
 					.doOnNext(now -> {
-						notifyTransitionStart(buildStateContext(Stage.TRANSITION_START, message, t, getRelayStateMachine()));
+						if (isStageSubscribed(Stage.TRANSITION_START)) {
+							notifyTransitionStart(buildStateContext(Stage.TRANSITION_START, message, t, getRelayStateMachine()));
+						}
 					})
 					.flatMap(now -> {
 						// TODO: REACTOR need to think about error handling as we used to try/catch
 						return t.executeTransitionActions(ctx).then(Mono.just(now));
 					})
 					.doOnNext(now -> {
-						notifyTransition(buildStateContext(Stage.TRANSITION, message, t, getRelayStateMachine()));
+						if (isStageSubscribed(Stage.TRANSITION)) {
+							notifyTransition(buildStateContext(Stage.TRANSITION, message, t, getRelayStateMachine()));
+						}
 					})
 					.flatMap(now -> {
 						Mono<Void> ret = null;
@@ -337,7 +468,9 @@ public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSuppo
 						} else {
 							if (t.getKind() == TransitionKind.INITIAL) {
 								Mono<Void> notify = Mono.fromRunnable(() -> {
-									notifyStateMachineStarted(buildStateContext(Stage.STATEMACHINE_START, message, t, getRelayStateMachine()));
+									if (isStageSubscribed(Stage.STATEMACHINE_START)) {
+										notifyStateMachineStarted(buildStateContext(Stage.STATEMACHINE_START, message, t, getRelayStateMachine()));
+									}
 								});
 								ret = switchToState(t.getTarget(), message, t, getRelayStateMachine()).then(notify);
 							} else if (t.getKind() != TransitionKind.INTERNAL) {
@@ -349,7 +482,9 @@ public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSuppo
 						return ret.then(Mono.just(now));
 					})
 					.doOnNext(now -> {
-						notifyTransitionEnd(buildStateContext(Stage.TRANSITION_END, message, t, getRelayStateMachine()));
+						if (isStageSubscribed(Stage.TRANSITION_END)) {
+							notifyTransitionEnd(buildStateContext(Stage.TRANSITION_END, message, t, getRelayStateMachine()));
+						}
 						notifyTransitionMonitor(getRelayStateMachine(), t, System.currentTimeMillis() - now);
 					})
 					.then()
@@ -374,6 +509,16 @@ public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSuppo
 						long duration) {
 					notifyActionMonitor(stateMachine, action, duration);
 				}
+
+				@Override
+				public void onSchedule(StateMachine<S, E> stateMachine, Scheduler scheduler, int active, int queued) {
+					notifySchedulerMonitor(stateMachine, scheduler, active, queued);
+				}
+
+				@Override
+				public void onRegion(StateMachine<S, E> stateMachine, Region<S, E> region, long duration) {
+					notifyRegionMonitor(stateMachine, region, duration);
+				}
 			});
 		}
 	}
@@ -404,20 +549,15 @@ public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSuppo
 					stateMachineExecutor.setInitialEnabled(false);
 				})
 				.and(stateMachineExecutor.startReactively())
-				.doOnSuccess(x -> {
-					StateContext<S, E> stateContext = buildStateContext(Stage.STATEMACHINE_START, null, null, getRelayStateMachine());
-					notifyStateMachineStarted(stateContext);
-				})
-				.and(Mono.defer(() -> {
-					if (currentState != null && currentState.isSubmachineState()) {
-						StateMachine<S, E> submachine = ((AbstractState<S, E>)currentState).getSubmachine();
-						return submachine.startReactively();
-					} else if (currentState != null && currentState.isOrthogonal()) {
-						Collection<Region<S, E>> regions = ((AbstractState<S, E>)currentState).getRegions();
-						return Flux.fromIterable(regions).flatMap(r -> r.startReactively()).then();
+				.then(Mono.deferContextual(ctx -> {
+					// hydrated machine continues where it was, thus not started again
+					if (!isHydrating(ctx) && isStageSubscribed(Stage.STATEMACHINE_START)) {
+						StateContext<S, E> stateContext = buildStateContext(Stage.STATEMACHINE_START, null, null, getRelayStateMachine());
+						notifyStateMachineStarted(stateContext);
 					}
 					return Mono.empty();
 				}))
+				.and(startNestedReactively())
 				;
 			} else {
 				return Mono.fromRunnable(() -> {
@@ -441,20 +581,27 @@ public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSuppo
 
 	@Override
 	protected Mono<Void> doPostStartReactively() {
-		return isComplete() ? stopReactively() : super.doPostStartReactively();
+		return isComplete() ? stopReactively() : super.doPostStartReactively().then(Mono.fromRunnable(() -> scheduleTimers()));
 	}
 
 	@Override
 	protected Mono<Void> doPreStopReactively() {
-		return Mono.fromRunnable(() -> {
-			notifyStateMachineStopped(buildStateContext(Stage.STATEMACHINE_STOP, null, null, this));
+		return Mono.deferContextual(ctx -> Mono.fromRunnable(() -> {
+			// nested machine left while hydrating is not stopped as such
+			if (!isHydrating(ctx) && isStageSubscribed(Stage.STATEMACHINE_STOP)) {
+				notifyStateMachineStopped(buildStateContext(Stage.STATEMACHINE_STOP, null, null, this));
+			}
 			// stash current state before we null it so that
 			// we can still return where we 'were' when machine is stopped
 			lastState = currentState;
-			currentState = null;
+			updateCurrentState(null);
 			initialEnabled = null;
+			// keep delayed events so that those are part of a persisted context
+			for (DelayedEvent delayedEvent : delayedEvents.values()) {
+				delayedEvent.cancel();
+			}
 			log.debug("Stop complete " + this);
-		})
+		}))
 		.then(stateMachineExecutor.stopReactively())
 		;
 
@@ -488,7 +635,9 @@ public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSuppo
 			currentError = exception;
 		}
 		if (currentError != null) {
-			notifyStateMachineError(buildStateContext(Stage.STATEMACHINE_ERROR, null, null, this, currentError));
+			if (isStageSubscribed(Stage.STATEMACHINE_ERROR)) {
+				notifyStateMachineError(buildStateContext(Stage.STATEMACHINE_ERROR, null, null, this, currentError));
+			}
 		}
 	}
 
@@ -507,6 +656,36 @@ public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSuppo
 		getStateListener().unregister(listener);
 	}
 
+	/**
+	 * Gets the listeners currently registered with this machine.
+	 *
+	 * @return the state machine listeners
+	 */
+	public List<StateMachineListener<S, E>> getStateListeners() {
+		List<StateMachineListener<S, E>> listeners = new ArrayList<>();
+		getStateListener().getListeners().iterator().forEachRemaining(listeners::add);
+		return listeners;
+	}
+
+	/**
+	 * Gets the interceptors currently registered with this machine.
+	 *
+	 * @return the state machine interceptors
+	 */
+	public List<StateMachineInterceptor<S, E>> getStateMachineInterceptorList() {
+		return getStateMachineInterceptors().getInterceptors();
+	}
+
+	/**
+	 * Removes the state machine interceptor.
+	 *
+	 * @param interceptor the interceptor
+	 */
+	public void removeStateMachineInterceptor(StateMachineInterceptor<S, E> interceptor) {
+		getStateMachineInterceptors().remove(interceptor);
+		stateMachineExecutor.removeStateMachineInterceptor(interceptor);
+	}
+
 	@Override
 	public boolean isComplete() {
 		State<S, E> s = currentState;
@@ -618,6 +797,104 @@ public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSuppo
 		this.transitionConflictPolicy = transitionConflictPolicy;
 	}
 
+	/**
+	 * Sets the state machine executor policy. Needs to be set before
+	 * machine is initialised.
+	 *
+	 * @param stateMachineExecutorPolicy the new state machine executor policy
+	 */
+	public void setStateMachineExecutorPolicy(StateMachineExecutorPolicy stateMachineExecutorPolicy) {
+		this.stateMachineExecutorPolicy = stateMachineExecutorPolicy;
+	}
+
+	/**
+	 * Sets the maximum number of queued events an executor handles together
+	 * in one pass. Needs to be set before machine is initialised.
+	 *
+	 * @param stateMachineExecutorBatchSize the new state machine executor batch size
+	 * @see ReactiveStateMachineExecutor#setBatchSize(int)
+	 */
+	public void setStateMachineExecutorBatchSize(Integer stateMachineExecutorBatchSize) {
+		this.stateMachineExecutorBatchSize = stateMachineExecutorBatchSize;
+	}
+
+	/**
+	 * Sets the capacity and overflow policy of an executor mailbox. Needs to
+	 * be set before machine is initialised.
+	 *
+	 * @param capacity the mailbox capacity
+	 * @param overflowPolicy the mailbox overflow policy
+	 * @see ReactiveStateMachineExecutor#setMailbox(int, MailboxOverflowPolicy)
+	 */
+	public void setStateMachineExecutorMailbox(Integer capacity, MailboxOverflowPolicy overflowPolicy) {
+		this.stateMachineExecutorMailboxCapacity = capacity;
+		this.stateMachineExecutorMailboxOverflowPolicy = overflowPolicy;
+	}
+
+	/**
+	 * Sets the supplier for a queue backing an executor mailbox. Needs to be
+	 * set before machine is initialised.
+	 *
+	 * @param queueSupplier the mailbox queue supplier
+	 * @see ReactiveStateMachineExecutor#setMailboxQueueSupplier(Supplier)
+	 */
+	public void setStateMachineExecutorMailboxQueueSupplier(Supplier<? extends Queue<?>> queueSupplier) {
+		this.stateMachineExecutorMailboxQueueSupplier = queueSupplier;
+	}
+
+	/**
+	 * Sets the capacity and time to live of deferred events kept by an
+	 * executor. Needs to be set before machine is initialised.
+	 *
+	 * @param capacity the deferred event capacity
+	 * @param timeToLive the deferred event time to live
+	 * @see ReactiveStateMachineExecutor#setDeferredEvents(int, Duration)
+	 */
+	public void setStateMachineExecutorDeferredEvents(Integer capacity, Duration timeToLive) {
+		this.stateMachineExecutorDeferredCapacity = capacity;
+		this.stateMachineExecutorDeferredTimeToLive = timeToLive;
+	}
+
+	/**
+	 * Sets the maximum number of triggerless transitions an executor fires
+	 * in a row. Needs to be set before machine is initialised.
+	 *
+	 * @param stateMachineExecutorTriggerlessCascadeLimit the triggerless cascade limit
+	 * @see ReactiveStateMachineExecutor#setTriggerlessCascadeLimit(int)
+	 */
+	public void setStateMachineExecutorTriggerlessCascadeLimit(Integer stateMachineExecutorTriggerlessCascadeLimit) {
+		this.stateMachineExecutorTriggerlessCascadeLimit = stateMachineExecutorTriggerlessCascadeLimit;
+	}
+
+	/**
+	 * Sets the trigger scheduler used to send delayed events. If not set,
+	 * delayed events are scheduled with {@link Schedulers#parallel()}.
+	 *
+	 * @param triggerScheduler the trigger scheduler
+	 */
+	public void setTriggerScheduler(TriggerScheduler triggerScheduler) {
+		this.triggerScheduler = triggerScheduler;
+	}
+
+	/**
+	 * Sets the blocking execution policy deciding which actions and guards
+	 * are offloaded to a blocking scheduler.
+	 *
+	 * @param blockingExecutionPolicy the blocking execution policy
+	 */
+	public void setBlockingExecutionPolicy(BlockingExecutionPolicy blockingExecutionPolicy) {
+		this.blockingExecutionPolicy = blockingExecutionPolicy;
+	}
+
+	/**
+	 * Gets the blocking execution policy.
+	 *
+	 * @return the blocking execution policy, {@code null} if not set
+	 */
+	public BlockingExecutionPolicy getBlockingExecutionPolicy() {
+		return blockingExecutionPolicy;
+	}
+
 	private Flux<StateMachineEventResult<S, E>> handleEvent(Message<E> message) {
 		if (hasStateMachineError()) {
 			return Flux.just(StateMachineEventResult.<S, E>from(this, message, ResultType.DENIED));
@@ -629,9 +906,55 @@ public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSuppo
 			.doOnNext(notifyOnDenied());
 	}
 
+	private boolean isBatchable(List<Message<E>> events) {
+		// events are handed to an executor as one batch only if a flat
+		// machine would be able to resolve them without nested machines
+		if (events.size() < 2 || stateMachineExecutorBatchSize == null || stateMachineExecutorBatchSize < 2
+				|| stateMachineExecutorPolicy == StateMachineExecutorPolicy.SYNCHRONOUS
+				|| !(stateMachineExecutor instanceof ReactiveStateMachineExecutor)) {
+			return false;
+		}
+		for (State<S, E> state : states) {
+			if (!state.isSimple()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private Flux<StateMachineEventResult<S, E>> handleEvents(List<Message<E>> events) {
+		return Flux.defer(() -> {
+			if (hasStateMachineError()) {
+				return Flux.fromIterable(events)
+					.map(m -> StateMachineEventResult.<S, E>from(this, m, ResultType.DENIED));
+			}
+			List<Message<E>> queued = new ArrayList<>(events.size());
+			List<StateMachineEventResult<S, E>> denied = new ArrayList<>(events.size());
+			for (Message<E> event : events) {
+				try {
+					queued.add(getStateMachineInterceptors().preEvent(event, this));
+					denied.add(null);
+				} catch (Exception e) {
+					denied.add(StateMachineEventResult.<S, E>from(this, event, ResultType.DENIED));
+				}
+			}
+			return ((ReactiveStateMachineExecutor<S, E>) stateMachineExecutor).queueEvents(queued)
+				.flatMapIterable(results -> {
+					// put results back in place of events denied by interceptors
+					List<StateMachineEventResult<S, E>> all = new ArrayList<>(events.size());
+					int i = 0;
+					for (StateMachineEventResult<S, E> result : denied) {
+						all.add(result != null ? result : results.get(i++));
+					}
+					return all;
+				})
+				.doOnNext(notifyOnDenied());
+		});
+	}
+
 	private Consumer<StateMachineEventResult<S, E>> notifyOnDenied() {
 		return r -> {
-			if (r.getResultType() == ResultType.DENIED) {
+			if (r.getResultType() == ResultType.DENIED && isStageSubscribed(Stage.EVENT_NOT_ACCEPTED)) {
 				notifyEventNotAccepted(buildStateContext(Stage.EVENT_NOT_ACCEPTED, r.getMessage(), null,
 				getRelayStateMachine(), getState(), null));
 			}
@@ -653,30 +976,47 @@ public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSuppo
 					.flatMapMany(l -> {
 						Flux<StateMachineEventResult<S, E>> ret = Flux.fromIterable(l);
 						if (!l.stream().anyMatch(er -> er.getResultType() == ResultType.ACCEPTED)) {
-							Mono<StateMachineEventResult<S, E>> result = Flux.fromIterable(transitions)
-								.filter(transition -> cs != null && transition.getTrigger() != null)
-								.filter(transition -> StateMachineUtils.containsAtleastOne(transition.getSource().getIds(), cs.getIds()))
+							long version = getConfigurationVersion();
+							Collection<S> ids = getActiveStateIds(cs);
+							List<Transition<S, E>> candidates = transitionIndex.getCandidates(ids, message.getPayload());
+							List<Transition<S, E>> unindexed = transitionIndex.getUnindexedCandidates(ids);
+							if (candidates.isEmpty() && unindexed.isEmpty()) {
+								// nothing in this machine could ever match an event
+								return ret.concatWith(Mono.just(StateMachineEventResult.<S, E>from(this, message, ResultType.DENIED)));
+							}
+							Mono<Transition<S, E>> fired;
+							if (stateMachineExecutorPolicy == StateMachineExecutorPolicy.SYNCHRONOUS) {
+								fired = Mono.justOrEmpty(TransitionIndex.findFiredSynchronously(candidates, unindexed, triggerContext));
+							} else {
+								fired = Flux.concat(
+										Flux.fromIterable(candidates)
+											.filterWhen(transition -> TransitionIndex.evaluateCandidate(transition, triggerContext)),
+										Flux.fromIterable(unindexed)
+											.filterWhen(transition -> transition.getTrigger().evaluate(triggerContext)))
+									.next();
+							}
+							Mono<StateMachineEventResult<S, E>> result = fired
 								.flatMap(transition -> {
-									return Mono.from(transition.getTrigger().evaluate(triggerContext))
-										.flatMap(e -> {
-											if (e) {
-												MonoSinkStateMachineExecutorCallback callback = new MonoSinkStateMachineExecutorCallback();
-												Mono<Void> sink = Mono.create(callback);
-												return stateMachineExecutor.queueEvent(Mono.just(message), callback)
-													.then(Mono.defer(() -> {
-														return Mono.just(StateMachineEventResult.<S, E>from(this, message, ResultType.ACCEPTED, sink));
-													}))
-													.onErrorResume(t -> {
-														return Mono.defer(() -> {
-															return Mono.just(StateMachineEventResult.<S, E>from(this, message, ResultType.DENIED));
-														});
-													});
-											} else {
-												return Mono.empty();
-											}
+									MonoSinkStateMachineExecutorCallback callback = new MonoSinkStateMachineExecutorCallback();
+									Mono<Void> sink = Mono.create(callback);
+									// pass resolved transitions so that executor don't need
+									// to evaluate triggers again if state is not changed
+									List<Transition<S, E>> trans = TransitionIndex.mergeFired(candidates, transition);
+									return stateMachineExecutor.queueEvent(Mono.just(message), callback, trans, version)
+										.then(Mono.defer(() -> {
+											return Mono.just(StateMachineEventResult.<S, E>from(this, message, ResultType.ACCEPTED, sink));
+										}))
+										.onErrorResume(t -> {
+											return Mono.defer(() -> {
+												ResultType resultType = ResultType.DENIED;
+												if (t instanceof MailboxOverflowException
+														&& ((MailboxOverflowException) t).isRejected()) {
+													resultType = ResultType.REJECTED;
+												}
+												return Mono.just(StateMachineEventResult.<S, E>from(this, message, resultType));
+											});
 										});
 								})
-								.next()
 								.switchIfEmpty(Mono.defer(() -> {
 									return Mono.just(StateMachineEventResult.<S, E>from(this, message, ResultType.DENIED));
 								}));
@@ -693,6 +1033,58 @@ public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSuppo
 		return relay != null ? relay : this;
 	}
 
+	/**
+	 * Gets a version of an active state configuration. Version is shared
+	 * with a relay machine and changes every time a current state of any
+	 * machine in a hierarchy changes, thus anything resolved from a state
+	 * configuration can be trusted as long as version stays the same.
+	 *
+	 * @return the configuration version
+	 */
+	public long getConfigurationVersion() {
+		return getConfigurationVersionCounter().get();
+	}
+
+	private AtomicLong getConfigurationVersionCounter() {
+		StateMachine<S, E> relayMachine = getRelayStateMachine();
+		if (relayMachine != this && relayMachine instanceof AbstractStateMachine) {
+			return ((AbstractStateMachine<S, E>) relayMachine).getConfigurationVersionCounter();
+		}
+		return configurationVersion;
+	}
+
+	private void updateCurrentState(State<S, E> state) {
+		currentState = state;
+		getConfigurationVersionCounter().incrementAndGet();
+		for (AbstractStateMachine<S, E> machine = this; machine != null; machine = machine.enclosingMachine) {
+			machine.activeStateStamp.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Gets active state ids of a given state, which usually is a current state
+	 * of this machine. Ids are collected once and kept until state of this
+	 * machine or any of its nested machines is changed.
+	 *
+	 * @param state the state
+	 * @return the active state ids
+	 */
+	List<S> getActiveStateIds(State<S, E> state) {
+		long stamp = activeStateStamp.get();
+		ActiveStateIds<S> ids = activeStateIds;
+		if (ids == null || !ids.isValid(state, stamp)) {
+			ids = new ActiveStateIds<S>(state, state.getIds(), stamp);
+			activeStateIds = ids;
+		}
+		return ids;
+	}
+
+	private void setEnclosingMachine(Region<S, E> region) {
+		if (region instanceof AbstractStateMachine) {
+			((AbstractStateMachine<S, E>) region).enclosingMachine = this;
+		}
+	}
+
 	@Override
 	public String toString() {
 		ArrayList<State<S, E>> all = new ArrayList<State<S,E>>();
@@ -723,10 +1115,12 @@ public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSuppo
 	@Override
 	public Mono<Void> resetStateMachineReactively(StateMachineContext<S, E> stateMachineContext) {
 		return Mono.defer(() -> {
+			cancelDelayedEvents();
 			if (stateMachineContext == null) {
-				log.info("Got null context, resetting to initial state, clearing extended state and machine id");
-				currentState = initialState;
+				log.info("Got null context, resetting to initial state, clearing extended state, deferred events and machine id");
+				updateCurrentState(initialState);
 				extendedState.getVariables().clear();
+				stateMachineExecutor.clearDeferredEvents();
 				setId(null);
 				return Mono.empty();
 			}
@@ -750,7 +1144,7 @@ public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSuppo
 					if (state != null && (ss.getIds().contains(state) || enumMatch) ) {
 
 						Mono<Void> mono = Mono.fromRunnable(() -> {
-							currentState = s;
+							updateCurrentState(s);
 							// setting lastState here is needed for restore
 							lastState = currentState;
 						});
@@ -811,7 +1205,7 @@ public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSuppo
 
 								if (state2 != null && (ss.getIds().contains(state2) || enumMatch2) ) {
 									mono = Mono.fromRunnable(() -> {
-										currentState = s;
+										updateCurrentState(s);
 										lastState = currentState;
 									});
 									stateSet = true;
@@ -848,7 +1242,7 @@ public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSuppo
 				Mono<Void> mono = Mono.fromRunnable(() -> {
 					if (StateMachineUtils.isPseudoState(s, PseudoStateKind.JOIN)) {
 						JoinPseudoState<S, E> jps = (JoinPseudoState<S, E>) s.getPseudoState();
-						Collection<S> ids = currentState.getIds();
+						Collection<S> ids = getActiveStateIds(currentState);
 						jps.reset(ids);
 					}
 
@@ -889,9 +1283,37 @@ public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSuppo
 				return ((StateMachineReactiveLifecycle) currentState).startReactively();
 			}
 			return Mono.empty();
+		}))
+		.then(Mono.fromRunnable(() -> {
+			// nested machines get a context of its parent, timers are re-armed by a top-level machine
+			if (parentMachine == null && stateMachineContext != null && !stateMachineContext.getTimers().isEmpty()) {
+				restoredTimers = stateMachineContext.getTimers();
+				if (isRunning()) {
+					scheduleTimers();
+				}
+			}
 		}));
 	}
 
+	@Override
+	public Mono<Void> hydrateStateMachineReactively(StateMachineContext<S, E> stateMachineContext) {
+		return Mono.defer(() -> {
+			List<Mono<Void>> resets = new ArrayList<>();
+			getStateMachineAccessor().doWithAllRegions(
+					function -> resets.add(function.resetStateMachineReactively(stateMachineContext)));
+			if (!isRunning()) {
+				return Flux.concat(resets).then()
+					.then(startReactively());
+			}
+			// running machine is hydrated in place, its executor keeps running
+			// and only states are swapped while a reset arms timers
+			return leaveStatesReactively(this)
+				.then(Flux.concat(resets).then())
+				.then(startNestedReactively());
+		})
+		.contextWrite(Context.of(REACTOR_CONTEXT_HYDRATE, true));
+	}
+
 	@Override
 	public void addStateMachineInterceptor(StateMachineInterceptor<S, E> interceptor) {
 		getStateMachineInterceptors().add(interceptor);
@@ -1076,26 +1498,22 @@ public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSuppo
 	}
 
 	private StateContext<S, E> buildStateContext(Stage stage, Message<E> message, Transition<S,E> transition, StateMachine<S, E> stateMachine) {
-		MessageHeaders messageHeaders = message != null ? message.getHeaders() : new MessageHeaders(
-				new HashMap<String, Object>());
+		MessageHeaders messageHeaders = message != null ? message.getHeaders() : StateContextMessageHeaders.EMPTY;
 		return new DefaultStateContext<S, E>(stage, message, messageHeaders, extendedState, transition, stateMachine, null, null, null);
 	}
 
 	private StateContext<S, E> buildStateContext(Stage stage, Message<E> message, Transition<S,E> transition, StateMachine<S, E> stateMachine, Exception exception) {
-		MessageHeaders messageHeaders = message != null ? message.getHeaders() : new MessageHeaders(
-				new HashMap<String, Object>());
+		MessageHeaders messageHeaders = message != null ? message.getHeaders() : StateContextMessageHeaders.EMPTY;
 		return new DefaultStateContext<S, E>(stage, message, messageHeaders, extendedState, transition, stateMachine, null, null, exception);
 	}
 
 	private StateContext<S, E> buildStateContext(Stage stage, Message<E> message, Transition<S,E> transition, StateMachine<S, E> stateMachine, State<S, E> source, State<S, E> target) {
-		MessageHeaders messageHeaders = message != null ? message.getHeaders() : new MessageHeaders(
-				new HashMap<String, Object>());
+		MessageHeaders messageHeaders = message != null ? message.getHeaders() : StateContextMessageHeaders.EMPTY;
 		return new DefaultStateContext<S, E>(stage, message, messageHeaders, extendedState, transition, stateMachine, source, target, null);
 	}
 
 	private StateContext<S, E> buildStateContext(Stage stage, Message<E> message, Transition<S,E> transition, StateMachine<S, E> stateMachine, Collection<State<S, E>> sources, Collection<State<S, E>> targets) {
-		MessageHeaders messageHeaders = message != null ? message.getHeaders() : new MessageHeaders(
-				new HashMap<String, Object>());
+		MessageHeaders messageHeaders = message != null ? message.getHeaders() : StateContextMessageHeaders.EMPTY;
 		return new DefaultStateContext<S, E>(stage, message, messageHeaders, extendedState, transition, stateMachine, null, null, sources, targets, null);
 	}
 
@@ -1148,12 +1566,14 @@ public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSuppo
 
 		Function<State<S, E>, ? extends Mono<State<S, E>>> handleEntry1 = in -> {
 			State<S, E> notifyFrom = currentState;
-			currentState = in;
+			updateCurrentState(in);
 			return entryToState(in, message, transition, stateMachine)
 				.then(Mono.just(in))
 				.doOnNext(s -> {
 					if (!StateMachineUtils.isPseudoState(s, PseudoStateKind.JOIN)) {
-						notifyStateChanged(buildStateContext(Stage.STATE_CHANGED, message, null, getRelayStateMachine(), notifyFrom, s));
+						if (isStageSubscribed(Stage.STATE_CHANGED)) {
+							notifyStateChanged(buildStateContext(Stage.STATE_CHANGED, message, null, getRelayStateMachine(), notifyFrom, s));
+						}
 					}
 				});
 		};
@@ -1161,12 +1581,14 @@ public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSuppo
 		Function<State<S, E>, ? extends Mono<State<S, E>>> handleEntry2 = in -> {
 			State<S, E> notifyFrom = currentState;
 			State<S, E> findDeep = findDeepParent(in);
-			currentState = findDeep;
+			updateCurrentState(findDeep);
 			return entryToState(findDeep, message, transition, stateMachine)
 				.then(Mono.just(in))
 				.doOnNext(s -> {
 					if (!StateMachineUtils.isPseudoState(s, PseudoStateKind.JOIN)) {
-						notifyStateChanged(buildStateContext(Stage.STATE_CHANGED, message, null, getRelayStateMachine(), notifyFrom, findDeep));
+						if (isStageSubscribed(Stage.STATE_CHANGED)) {
+							notifyStateChanged(buildStateContext(Stage.STATE_CHANGED, message, null, getRelayStateMachine(), notifyFrom, findDeep));
+						}
 					}
 				});
 		};
@@ -1193,7 +1615,7 @@ public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSuppo
 									if (isTargetSubOf) {
 										mono = mono.flatMap(ss -> entryToState(currentState, message, transition, stateMachine).then(Mono.just(ss)));
 									}
-									currentState = findDeep;
+									updateCurrentState(findDeep);
 									mono = mono.flatMap(ss -> ((AbstractStateMachine<S, E>)submachine).setCurrentState(ss, message, transition, false, stateMachine)).then(Mono.empty());
 									return mono;
 								}
@@ -1208,7 +1630,7 @@ public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSuppo
 										if (isTargetSubOf) {
 											mono = mono.flatMap(ss -> entryToState(currentState, message, transition, stateMachine).then(Mono.just(ss)));
 										}
-										currentState = findDeep;
+										updateCurrentState(findDeep);
 										mono = mono.flatMap(ss -> ((AbstractStateMachine<S, E>)region).setCurrentState(s, message, transition, false, stateMachine)).then(Mono.empty());
 										return mono;
 									}
@@ -1224,7 +1646,7 @@ public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSuppo
 					if (!shouldTryEntry && (transition.getSource() == currentState && StateMachineUtils.isSubstate(currentState, transition.getTarget()))) {
 						shouldTryEntry = true;
 					}
-					currentState = findDeepParent(s);
+					updateCurrentState(findDeepParent(s));
 					if (shouldTryEntry) {
 						mono = mono.flatMap(ss -> entryToState(currentState, message, transition, stateMachine, sources, targets)).then(Mono.just(s));
 					}
@@ -1390,7 +1812,9 @@ public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSuppo
 		if (log.isDebugEnabled()) {
 			log.debug("Exit state=[" + state + "]");
 		}
-		notifyStateExited(buildStateContext(Stage.STATE_EXIT, message, null, getRelayStateMachine(), state, null));
+		if (isStageSubscribed(Stage.STATE_EXIT)) {
+			notifyStateExited(buildStateContext(Stage.STATE_EXIT, message, null, getRelayStateMachine(), state, null));
+		}
 		return state.exit(stateContext);
 	}
 
@@ -1463,7 +1887,9 @@ public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSuppo
 		// with linked joins, we need to enter state but should not notify.
 		// state entries are needed to track join logic.
 		if (!StateMachineUtils.isPseudoState(state, PseudoStateKind.JOIN)) {
-			notifyStateEntered(buildStateContext(Stage.STATE_ENTRY, message, transition, getRelayStateMachine(), null, state));
+			if (isStageSubscribed(Stage.STATE_ENTRY)) {
+				notifyStateEntered(buildStateContext(Stage.STATE_ENTRY, message, transition, getRelayStateMachine(), null, state));
+			}
 		}
 		if (log.isDebugEnabled()) {
 			log.debug("Enter state=[" + state + "]");
@@ -1471,6 +1897,108 @@ public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSuppo
 		return state.entry(stateContext);
 	}
 
+	private Mono<Void> startNestedReactively() {
+		return Mono.defer(() -> {
+			if (currentState != null && currentState.isSubmachineState()) {
+				StateMachine<S, E> submachine = ((AbstractState<S, E>)currentState).getSubmachine();
+				return submachine.startReactively();
+			} else if (currentState != null && currentState.isOrthogonal()) {
+				Collection<Region<S, E>> regions = ((AbstractState<S, E>)currentState).getRegions();
+				return Flux.fromIterable(regions).flatMap(r -> r.startReactively()).then();
+			}
+			return Mono.empty();
+		});
+	}
+
+	private static <S, E> Mono<Void> leaveStatesReactively(StateMachine<S, E> stateMachine) {
+		// disposes triggers of states without exiting those, state lifecycles
+		// are stopped so that a reset arms restored states again, and nested
+		// machines are stopped which is silent as done within a hydrate
+		return Flux.fromIterable(stateMachine.getStates())
+			.filter(state -> state instanceof AbstractState)
+			.concatMap(state -> {
+				for (Trigger<S, E> trigger : ((AbstractState<S, E>) state).getTriggers()) {
+					trigger.disarm();
+				}
+				Mono<Void> mono = ((AbstractState<S, E>) state).stopReactively();
+				if (state.isSubmachineState()) {
+					StateMachine<S, E> submachine = ((AbstractState<S, E>) state).getSubmachine();
+					mono = mono.then(leaveStatesReactively(submachine)).then(submachine.stopReactively());
+				} else if (state.isOrthogonal()) {
+					Collection<Region<S, E>> regions = ((AbstractState<S, E>) state).getRegions();
+					mono = mono.then(Flux.fromIterable(regions)
+							.filter(region -> region instanceof StateMachine)
+							.concatMap(region -> leaveStatesReactively((StateMachine<S, E>) region)
+									.then(region.stopReactively()))
+							.then());
+				}
+				return mono;
+			})
+			.then();
+	}
+
+	private static boolean isHydrating(ContextView ctx) {
+		return ctx.getOrDefault(REACTOR_CONTEXT_HYDRATE, false);
+	}
+
+	private void cancelDelayedEvents() {
+		for (DelayedEvent delayedEvent : delayedEvents.values()) {
+			delayedEvent.cancel();
+		}
+		delayedEvents.clear();
+		restoredTimers = null;
+	}
+
+	private void scheduleTimers() {
+		List<StateMachineTimer<E>> timers = restoredTimers;
+		restoredTimers = null;
+		if (timers != null) {
+			Map<String, TimerTrigger<S, E>> triggers = getTimerTriggers(this);
+			for (StateMachineTimer<E> timer : timers) {
+				if (timer.getEvent() == null) {
+					// only re-arm triggers of states entered during a reset
+					TimerTrigger<S, E> trigger = triggers.get(timer.getId());
+					if (trigger != null && trigger.getDeadline() != null) {
+						trigger.armAt(timer.getDeadline());
+					}
+				} else {
+					Message<E> message = MessageBuilder.withPayload(timer.getEvent())
+							.copyHeaders(timer.getEventHeaders()).build();
+					delayedEvents.put(timer.getId(), new DelayedEvent(timer.getId(), timer.getDeadline(), message));
+				}
+			}
+		}
+		for (DelayedEvent delayedEvent : delayedEvents.values()) {
+			delayedEvent.schedule();
+		}
+	}
+
+	private static <S, E> Map<String, TimerTrigger<S, E>> getTimerTriggers(StateMachine<S, E> stateMachine) {
+		// trigger is identified by its state and position within timer triggers of a state
+		Map<String, TimerTrigger<S, E>> triggers = new LinkedHashMap<>();
+		for (State<S, E> state : stateMachine.getStates()) {
+			if (!(state instanceof AbstractState)) {
+				continue;
+			}
+			int index = 0;
+			for (Trigger<S, E> trigger : ((AbstractState<S, E>) state).getTriggers()) {
+				if (trigger instanceof TimerTrigger) {
+					triggers.put(state.getId() + "#" + index++, (TimerTrigger<S, E>) trigger);
+				}
+			}
+			if (state.isSubmachineState()) {
+				triggers.putAll(getTimerTriggers(((AbstractState<S, E>) state).getSubmachine()));
+			} else if (state.isOrthogonal()) {
+				for (Region<S, E> region : ((AbstractState<S, E>) state).getRegions()) {
+					if (region instanceof StateMachine) {
+						triggers.putAll(getTimerTriggers((StateMachine<S, E>) region));
+					}
+				}
+			}
+		}
+		return triggers;
+	}
+
 	private static <S, E> boolean isInitial(State<S, E> state) {
 		return state.getPseudoState() != null && state.getPseudoState().getKind() == PseudoStateKind.INITIAL;
 	}
@@ -1484,4 +2012,52 @@ public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSuppo
 			return false;
 		}
 	}
+
+	private class DelayedEvent implements Runnable, Disposable {
+
+		final String id;
+		final long deadline;
+		final Message<E> message;
+		Disposable disposable;
+
+		DelayedEvent(String id, long deadline, Message<E> message) {
+			this.id = id;
+			this.deadline = deadline;
+			this.message = message;
+		}
+
+		synchronized void schedule() {
+			if (disposable != null) {
+				return;
+			}
+			TriggerScheduler scheduler = triggerScheduler != null ? triggerScheduler
+					: new ReactorTriggerScheduler(Schedulers.parallel());
+			disposable = scheduler.schedule(this, Duration.ofMillis(Math.max(deadline - System.currentTimeMillis(), 0)));
+		}
+
+		synchronized void cancel() {
+			if (disposable != null) {
+				disposable.dispose();
+				disposable = null;
+			}
+		}
+
+		@Override
+		public void dispose() {
+			delayedEvents.remove(id, this);
+			cancel();
+		}
+
+		@Override
+		public boolean isDisposed() {
+			return delayedEvents.get(id) != this;
+		}
+
+		@Override
+		public void run() {
+			if (delayedEvents.remove(id, this)) {
+				sendEvent(Mono.just(message)).subscribe();
+			}
+		}
+	}
 }
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.support;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.RandomAccess;
+import java.util.Set;
+
+import org.springframework.statemachine.state.State;
+
+/**
+ * Immutable snapshot of active state ids of a state machine configuration in
+ * an order returned from {@link State#getIds()}. A snapshot is kept by a state
+ * machine until its configuration changes so that ids are not collected again
+ * for every check made against them. Larger configurations are backed by a
+ * hash set for fast {@link #contains(Object)} lookups. If ids are enums, a
+ * configuration is also kept as a {@code long} bitset over their ordinals
+ * which an enum based {@link TransitionIndex} matches against directly.
+ *
+ * @author Janne Valkealahti
+ *
+ * @param <S> the type of state
+ */
+final class ActiveStateIds<S> extends AbstractList<S> implements RandomAccess {
+
+	private final static int LOOKUP_THRESHOLD = 8;
+	private final State<S, ?> state;
+	private final long stamp;
+	private final Object[] ids;
+	private final Set<Object> lookup;
+	private final Class<?> enumType;
+	private final long[] ordinals;
+
+	/**
+	 * Instantiates a new active state ids.
+	 *
+	 * @param state the state ids were collected from
+	 * @param ids the state ids
+	 * @param stamp the configuration stamp
+	 */
+	ActiveStateIds(State<S, ?> state, Collection<S> ids, long stamp) {
+		this.state = state;
+		this.stamp = stamp;
+		this.ids = ids.toArray();
+		if (this.ids.length > LOOKUP_THRESHOLD) {
+			this.lookup = new HashSet<>(ids);
+		} else {
+			this.lookup = null;
+		}
+		Class<?> enumType = null;
+		int max = -1;
+		for (Object id : this.ids) {
+			if (id instanceof Enum) {
+				if (enumType == null) {
+					enumType = ((Enum<?>) id).getDeclaringClass();
+				}
+				if (enumType.isInstance(id)) {
+					max = Math.max(max, ((Enum<?>) id).ordinal());
+				}
+			}
+		}
+		this.enumType = enumType;
+		if (enumType != null) {
+			this.ordinals = new long[(max >>> 6) + 1];
+			for (Object id : this.ids) {
+				if (enumType.isInstance(id)) {
+					int o = ((Enum<?>) id).ordinal();
+					this.ordinals[o >>> 6] |= 1L << o;
+				}
+			}
+		} else {
+			this.ordinals = null;
+		}
+	}
+
+	/**
+	 * Checks if this snapshot was collected from a given state with a given
+	 * configuration stamp.
+	 *
+	 * @param state the state
+	 * @param stamp the configuration stamp
+	 * @return true, if snapshot is still valid
+	 */
+	boolean isValid(State<S, ?> state, long stamp) {
+		return this.state == state && this.stamp == stamp;
+	}
+
+	/**
+	 * Gets a bitset of ordinals of active state ids which are constants of a
+	 * given enum type. Returned array may be shorter than needed to cover all
+	 * constants of an enum, missing words are treated as empty.
+	 *
+	 * @param type the enum type
+	 * @return the ordinal bitset or {@code NULL} if ids are not of a given type
+	 */
+	long[] getOrdinals(Class<?> type) {
+		return enumType == type ? ordinals : null;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public S get(int index) {
+		return (S) ids[index];
+	}
+
+	@Override
+	public int size() {
+		return ids.length;
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		if (lookup != null) {
+			return lookup.contains(o);
+		}
+		for (Object id : ids) {
+			if (o == null ? id == null : o.equals(id)) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.support;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.springframework.statemachine.action.Action;
+import org.springframework.statemachine.action.Actions;
+import org.springframework.statemachine.guard.Guard;
+import org.springframework.statemachine.guard.Guards;
+
+/**
+ * Marks an {@link Action} or a {@link Guard} implementation as blocking.
+ * Blocking actions and guards are run on a
+ * {@link BlockingExecution#getScheduler() blocking scheduler} instead of
+ * a thread handling events. Lambdas can be marked with
+ * {@link Actions#blocking(Action)} and {@link Guards#blocking(Guard)}.
+ *
+ * @author Janne Valkealahti
+ * @see BlockingExecutionPolicy
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Blocking {
+}
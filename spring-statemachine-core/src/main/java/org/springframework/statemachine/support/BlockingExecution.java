@@ -0,0 +1,150 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.support;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.statemachine.StateContext;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Support for running blocking actions and guards outside of threads handling
+ * events. On a runtime supporting virtual threads blocking calls are run on a
+ * virtual thread per call, otherwise on {@link Schedulers#boundedElastic()}.
+ *
+ * @author Janne Valkealahti
+ * @see Blocking
+ * @see BlockingExecutionPolicy
+ */
+public final class BlockingExecution {
+
+	private static final Log log = LogFactory.getLog(BlockingExecution.class);
+	private static final String BLOCKING_OPERATION_ERROR = "reactor.blockhound.BlockingOperationError";
+	private static final Set<Object> DETECTED = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+	private BlockingExecution() {
+		// This helper class should not be instantiated.
+	}
+
+	/**
+	 * Gets the scheduler blocking actions and guards are run on.
+	 *
+	 * @return the blocking scheduler
+	 */
+	public static Scheduler getScheduler() {
+		return SchedulerHolder.SCHEDULER;
+	}
+
+	/**
+	 * Checks if a given action or guard is marked as {@link Blocking} or has
+	 * been detected to block with {@link BlockingExecutionPolicy#DETECT}.
+	 *
+	 * @param target the action or guard
+	 * @return true, if target is blocking
+	 */
+	public static boolean isBlocking(Object target) {
+		return target != null && (target.getClass().isAnnotationPresent(Blocking.class) || DETECTED.contains(target));
+	}
+
+	/**
+	 * Execute a call of a given action or guard with a blocking execution
+	 * policy of a machine a context belongs to. With
+	 * {@link BlockingExecutionPolicy#DETECT} a call which fails to a detected
+	 * blocking call is not retried as that would run user code twice, instead
+	 * its error is passed on and further calls are offloaded.
+	 *
+	 * @param <T> the type of a result
+	 * @param target the action or guard
+	 * @param call the call of a target
+	 * @param context the state context
+	 * @return the call with a blocking execution policy applied
+	 */
+	public static <T> Mono<T> execute(Object target, Mono<T> call, StateContext<?, ?> context) {
+		BlockingExecutionPolicy policy = resolvePolicy(context);
+		if (policy == BlockingExecutionPolicy.ALL || isBlocking(target)) {
+			// continue on a scheduler events are handled instead of a blocking thread
+			return call.subscribeOn(getScheduler()).publishOn(Schedulers.parallel());
+		} else if (policy == BlockingExecutionPolicy.DETECT) {
+			return call.doOnError(BlockingExecution::isBlockingCallError, e -> {
+				if (DETECTED.add(target)) {
+					log.warn("Detected blocking call in " + target + ", further calls are offloaded", e);
+				}
+			});
+		}
+		return call;
+	}
+
+	/**
+	 * Resolve a blocking execution policy of a machine a context belongs to.
+	 *
+	 * @param context the state context
+	 * @return the blocking execution policy
+	 */
+	public static BlockingExecutionPolicy resolvePolicy(StateContext<?, ?> context) {
+		if (context != null && context.getStateMachine() instanceof AbstractStateMachine) {
+			BlockingExecutionPolicy policy = ((AbstractStateMachine<?, ?>) context.getStateMachine())
+					.getBlockingExecutionPolicy();
+			if (policy != null) {
+				return policy;
+			}
+		}
+		return BlockingExecutionPolicy.MARKED;
+	}
+
+	/**
+	 * Checks if an error, or any of its causes, is a blocking call detected
+	 * by BlockHound.
+	 *
+	 * @param error the error
+	 * @return true, if error is a detected blocking call
+	 */
+	public static boolean isBlockingCallError(Throwable error) {
+		Throwable t = error;
+		while (t != null) {
+			if (BLOCKING_OPERATION_ERROR.equals(t.getClass().getName())) {
+				return true;
+			}
+			t = t.getCause() != t ? t.getCause() : null;
+		}
+		return false;
+	}
+
+	private static Scheduler createScheduler() {
+		try {
+			Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			ExecutorService executor = (ExecutorService) method.invoke(null);
+			log.debug("Using virtual threads for blocking actions and guards");
+			return Schedulers.fromExecutorService(executor, "statemachine-blocking");
+		} catch (Exception e) {
+			log.debug("Virtual threads not available, using bounded elastic scheduler for blocking actions and guards");
+			return Schedulers.boundedElastic();
+		}
+	}
+
+	private static class SchedulerHolder {
+		static final Scheduler SCHEDULER = createScheduler();
+	}
+}
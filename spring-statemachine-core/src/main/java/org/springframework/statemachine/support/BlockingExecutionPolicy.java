@@ -0,0 +1,46 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.support;
+
+/**
+ * Enumerations for possible policies of running blocking actions and guards.
+ * {@code MARKED} is a default setting.
+ *
+ * @author Janne Valkealahti
+ * @see Blocking
+ */
+public enum BlockingExecutionPolicy {
+
+	/**
+	 * Policy running only actions and guards marked as {@link Blocking} on a
+	 * blocking scheduler.
+	 */
+	MARKED,
+
+	/**
+	 * Policy running all plain actions and guards on a blocking scheduler.
+	 */
+	ALL,
+
+	/**
+	 * Policy running marked actions and guards on a blocking scheduler and
+	 * moving others there after a blocking call has been detected with
+	 * BlockHound. Action or guard failing with a detected blocking call is
+	 * not retried, its error is handled as any other error and further calls
+	 * of it are run on a blocking scheduler.
+	 */
+	DETECT;
+}
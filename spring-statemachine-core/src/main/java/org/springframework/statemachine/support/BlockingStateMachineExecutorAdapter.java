@@ -0,0 +1,277 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.support;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.messaging.Message;
+import org.springframework.statemachine.StateContext;
+import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.StateMachineException;
+import org.springframework.statemachine.StateMachineSystemConstants;
+import org.springframework.statemachine.state.PseudoStateKind;
+import org.springframework.statemachine.state.State;
+import org.springframework.statemachine.transition.Transition;
+import org.springframework.statemachine.transition.TransitionConflictPolicy;
+import org.springframework.statemachine.trigger.DefaultTriggerContext;
+import org.springframework.statemachine.trigger.Trigger;
+
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+/**
+ * Adapter running a {@link ReactiveStateMachineExecutor} on a calling thread
+ * without an intermediate trigger queue. This is not a reactor free executor,
+ * it only removes a trigger sink and its scheduling. Triggers and guards are
+ * evaluated with their synchronous variants, which by default block on their
+ * reactive counterparts, and a transit of a transition, still composed of
+ * {@link Mono}s by a state machine, is blocked on before an event is
+ * considered to be handled. Thus this adapter is meant for machines where all
+ * actions and guards are synchronous and must not be used from non-blocking
+ * threads.
+ * <p>
+ * Only one event is handled at a time. Events sent from a thread already
+ * handling an event, for example from an action, are queued and handled after
+ * a current event has run to completion. Events sent from other threads while
+ * an event is handled, for example from an offloaded blocking action or from
+ * a parallel region, are queued without waiting for a handling thread and
+ * are handled by it, thus a caller is not blocked until those are handled and
+ * sees possible errors only through an event result. As there is no trigger
+ * queue, a {@link #setBatchSize(int) batch size} and
+ * {@link #setMailbox(int, MailboxOverflowPolicy) mailbox} settings have no
+ * effect.
+ *
+ * @author Janne Valkealahti
+ *
+ * @param <S> the type of state
+ * @param <E> the type of event
+ */
+final class BlockingStateMachineExecutorAdapter<S, E> extends ReactiveStateMachineExecutor<S, E> {
+
+	private static final Log log = LogFactory.getLog(BlockingStateMachineExecutorAdapter.class);
+	private final StateMachine<S, E> stateMachine;
+	private final StateMachine<S, E> relayStateMachine;
+	private final TransitionIndex<S, E> transitionIndex;
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Queue<EventItem> eventQueue = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * Instantiates a new blocking state machine executor adapter.
+	 *
+	 * @param stateMachine the state machine
+	 * @param relayStateMachine the relay state machine
+	 * @param transitions the transitions
+	 * @param triggerToTransitionMap the trigger to transition map
+	 * @param triggerlessTransitions the triggerless transitions
+	 * @param initialTransition the initial transition
+	 * @param initialEvent the initial event
+	 * @param transitionConflictPolicy the transition conflict policy
+	 * @param transitionIndex the transition index
+	 */
+	BlockingStateMachineExecutorAdapter(StateMachine<S, E> stateMachine, StateMachine<S, E> relayStateMachine,
+			Collection<Transition<S, E>> transitions, Map<Trigger<S, E>, Transition<S, E>> triggerToTransitionMap,
+			List<Transition<S, E>> triggerlessTransitions, Transition<S, E> initialTransition, Message<E> initialEvent,
+			TransitionConflictPolicy transitionConflictPolicy, TransitionIndex<S, E> transitionIndex) {
+		super(stateMachine, relayStateMachine, transitions, triggerToTransitionMap, triggerlessTransitions,
+				initialTransition, initialEvent, transitionConflictPolicy, transitionIndex);
+		this.stateMachine = stateMachine;
+		this.relayStateMachine = relayStateMachine;
+		this.transitionIndex = transitionIndex;
+	}
+
+	@Override
+	protected void onInit() throws Exception {
+		// no trigger queue as events are handled on a calling thread
+	}
+
+	@Override
+	public Mono<Void> queueEvent(Mono<Message<E>> message, StateMachineExecutorCallback callback) {
+		return queueEvent(message, callback, null, 0);
+	}
+
+	@Override
+	public Mono<Void> queueEvent(Mono<Message<E>> message, StateMachineExecutorCallback callback,
+			List<Transition<S, E>> transitions, long configurationVersion) {
+		return message
+			.doOnNext(m -> execute(new EventItem(m, null, callback, transitions, configurationVersion)))
+			.then();
+	}
+
+	@Override
+	void onTimerTriggered(Trigger<S, E> trigger) {
+		if (log.isDebugEnabled()) {
+			log.debug("Handling timer trigger " + trigger);
+		}
+		try {
+			execute(new EventItem(null, trigger, null, null, 0));
+		} catch (Exception e) {
+			log.warn("Error handling timer trigger " + trigger, e);
+		}
+	}
+
+	private void execute(EventItem item) {
+		eventQueue.add(item);
+		if (lock.isHeldByCurrentThread()) {
+			// we're called from a transition on this thread, event is
+			// handled when current event has run to completion.
+			return;
+		}
+		// a lock owner may be waiting for an offloaded action which sends
+		// this event, thus never wait for a lock but leave it to an owner
+		// which checks a queue again after releasing a lock.
+		while (!eventQueue.isEmpty() && lock.tryLock()) {
+			try {
+				EventItem next;
+				while ((next = eventQueue.poll()) != null) {
+					handle(next);
+					if (next.message != null && !getDeferList().isEmpty()) {
+						// state may have changed, give events no longer deferred a chance
+						for (Message<E> deferred : getDeferList().getReleasable(stateMachine.getState())) {
+							handle(new EventItem(deferred, null, null, null, 0));
+						}
+					}
+				}
+			} finally {
+				lock.unlock();
+			}
+		}
+		if (item.error != null) {
+			throw item.error;
+		}
+	}
+
+	private void handle(EventItem item) {
+		State<S, E> currentState = stateMachine.getState();
+		if (currentState == null) {
+			return;
+		}
+		E event = null;
+		List<Transition<S, E>> trans = null;
+		if (item.message != null) {
+			if (log.isDebugEnabled()) {
+				log.debug("Handling message " + item.message);
+			}
+			event = item.message.getPayload();
+			if (currentState.shouldDefer(item.message)) {
+				log.info("Current state " + currentState + " deferred event " + item.message);
+			} else if (item.transitions != null && !item.transitions.isEmpty()
+					&& isCurrentConfiguration(item.configurationVersion)) {
+				// state is not changed after triggers were evaluated for this event
+				trans = item.transitions;
+			} else {
+				Collection<S> ids = getActiveStateIds(currentState);
+				List<Transition<S, E>> candidates = transitionIndex.getCandidates(ids, event);
+				Transition<S, E> fired = TransitionIndex.findFiredSynchronously(candidates,
+						transitionIndex.getUnindexedCandidates(ids), new DefaultTriggerContext<S, E>(event));
+				if (fired == null) {
+					return;
+				}
+				if (getDeferList().remove(item.message)) {
+					notifyDeferredMonitor();
+				}
+				trans = TransitionIndex.mergeFired(candidates, fired);
+			}
+		}
+		ExecutorExceptionHolder holder = new ExecutorExceptionHolder();
+		try {
+			if (trans == null) {
+				trans = getTriggerTransitions(currentState, item.trigger, event);
+			}
+			handleTransitions(trans, item.message, holder);
+		} catch (StateMachineException e) {
+			item.error = e;
+			log.warn("Error handling " + item, e);
+		} catch (Exception e) {
+			item.error = new StateMachineException("Execution error", e);
+			log.warn("Error handling " + item, e);
+		}
+		if (item.callback != null) {
+			if (item.error != null) {
+				item.callback.error(item.error);
+			} else if (holder.getError() != null) {
+				item.callback.error(new StateMachineException("Execution error", holder.getError()));
+			} else {
+				item.callback.complete();
+			}
+		}
+	}
+
+	private void handleTransitions(List<Transition<S, E>> trans, Message<E> message, ExecutorExceptionHolder holder) {
+		for (Transition<S, E> t : trans) {
+			if (!isTransitionEnabled(t, null)) {
+				continue;
+			}
+			if (StateMachineUtils.isPseudoState(t.getTarget(), PseudoStateKind.JOIN)) {
+				// join needs to track its incoming transitions
+				if (Boolean.TRUE.equals(await(handleTriggerTrans(Collections.singletonList(t), message), holder))) {
+					return;
+				}
+				continue;
+			}
+			StateContext<S, E> stateContext = buildStateContext(message, t, relayStateMachine);
+			getInterceptors().preTransition(stateContext);
+			if (t.transitSynchronously(stateContext)) {
+				await(getStateMachineExecutorTransit().transit(t, stateContext, message), holder);
+				getInterceptors().postTransition(stateContext);
+				return;
+			}
+		}
+	}
+
+	private static <T> T await(Mono<T> mono, ExecutorExceptionHolder holder) {
+		// synchronous actions complete the future immediately
+		try {
+			return mono
+				.contextWrite(Context.of(StateMachineSystemConstants.REACTOR_CONTEXT_ERRORS, holder))
+				.toFuture()
+				.join();
+		} catch (CompletionException e) {
+			throw new StateMachineException("Execution error", e.getCause());
+		}
+	}
+
+	private class EventItem {
+		final Message<E> message;
+		final Trigger<S, E> trigger;
+		final StateMachineExecutorCallback callback;
+		final List<Transition<S, E>> transitions;
+		final long configurationVersion;
+		volatile StateMachineException error;
+
+		EventItem(Message<E> message, Trigger<S, E> trigger, StateMachineExecutorCallback callback,
+				List<Transition<S, E>> transitions, long configurationVersion) {
+			this.message = message;
+			this.trigger = trigger;
+			this.callback = callback;
+			this.transitions = transitions;
+			this.configurationVersion = configurationVersion;
+		}
+
+		@Override
+		public String toString() {
+			return "EventItem [message=" + message + ", trigger=" + trigger + "]";
+		}
+	}
+}
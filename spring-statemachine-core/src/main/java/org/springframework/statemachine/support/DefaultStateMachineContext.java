@@ -16,12 +16,14 @@
 package org.springframework.statemachine.support;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.springframework.statemachine.ExtendedState;
 import org.springframework.statemachine.StateMachineContext;
+import org.springframework.statemachine.StateMachineTimer;
 
 /**
  * Default implementation of a {@link StateMachineContext}.
@@ -41,6 +43,7 @@ public class DefaultStateMachineContext<S, E> implements StateMachineContext<S,
 	private final E event;
 	private final Map<String, Object> eventHeaders;
 	private final ExtendedState extendedState;
+	private final List<StateMachineTimer<E>> timers;
 
 	/**
 	 * Instantiates a new default state machine context.
@@ -133,6 +136,7 @@ public class DefaultStateMachineContext<S, E> implements StateMachineContext<S,
 		this.extendedState = extendedState;
 		this.historyStates = historyStates != null ? historyStates : new HashMap<S, S>();
 		this.id = id;
+		this.timers = Collections.emptyList();
 	}
 
 	/**
@@ -149,6 +153,25 @@ public class DefaultStateMachineContext<S, E> implements StateMachineContext<S,
 	 */
 	public DefaultStateMachineContext(List<String> childRefs, List<StateMachineContext<S, E>> childs, S state, E event,
 			Map<String, Object> eventHeaders, ExtendedState extendedState, Map<S, S> historyStates, String id) {
+		this(childRefs, childs, state, event, eventHeaders, extendedState, historyStates, id, null);
+	}
+
+	/**
+	 * Instantiates a new default state machine context.
+	 *
+	 * @param childRefs the child state machine context refs
+	 * @param childs the child state machine contexts
+	 * @param state the state
+	 * @param event the event
+	 * @param eventHeaders the event headers
+	 * @param extendedState the extended state
+	 * @param historyStates the history state mappings
+	 * @param id the machine id
+	 * @param timers the pending timers
+	 */
+	public DefaultStateMachineContext(List<String> childRefs, List<StateMachineContext<S, E>> childs, S state, E event,
+			Map<String, Object> eventHeaders, ExtendedState extendedState, Map<S, S> historyStates, String id,
+			List<StateMachineTimer<E>> timers) {
 		this.childs = childs;
 		this.childRefs = childRefs;
 		this.state = state;
@@ -157,6 +180,7 @@ public class DefaultStateMachineContext<S, E> implements StateMachineContext<S,
 		this.extendedState = extendedState;
 		this.historyStates = historyStates != null ? historyStates : new HashMap<S, S>();
 		this.id = id;
+		this.timers = timers != null ? timers : Collections.emptyList();
 	}
 
 	@Override
@@ -199,6 +223,11 @@ public class DefaultStateMachineContext<S, E> implements StateMachineContext<S,
 		return extendedState;
 	}
 
+	@Override
+	public List<StateMachineTimer<E>> getTimers() {
+		return timers;
+	}
+
 	@Override
 	public int hashCode() {
 		final int prime = 31;
@@ -211,6 +240,7 @@ public class DefaultStateMachineContext<S, E> implements StateMachineContext<S,
 		result = prime * result + ((historyStates == null) ? 0 : historyStates.hashCode());
 		result = prime * result + ((id == null) ? 0 : id.hashCode());
 		result = prime * result + ((state == null) ? 0 : state.hashCode());
+		result = prime * result + timers.hashCode();
 		return result;
 	}
 
@@ -282,6 +312,9 @@ public class DefaultStateMachineContext<S, E> implements StateMachineContext<S,
 		} else if (!state.equals(other.state)) {
 			return false;
 		}
+		if (!timers.equals(other.timers)) {
+			return false;
+		}
 		return true;
 	}
 
@@ -289,6 +322,6 @@ public class DefaultStateMachineContext<S, E> implements StateMachineContext<S,
 	public String toString() {
 		return "DefaultStateMachineContext [id=" + id + ", childs=" + childs + ", childRefs=" + childRefs + ", state="
 				+ state + ", historyStates=" + historyStates + ", event=" + event + ", eventHeaders=" + eventHeaders
-				+ ", extendedState=" + extendedState + "]";
+				+ ", extendedState=" + extendedState + ", timers=" + timers + "]";
 	}
 }
@@ -0,0 +1,257 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.support;
+
+import java.time.Duration;
+import java.util.AbstractCollection;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.messaging.Message;
+import org.springframework.statemachine.state.State;
+import org.springframework.util.Assert;
+
+/**
+ * Store for events deferred by a state. Events are indexed by their payload,
+ * which is what a {@link State} defers, so that when a state configuration
+ * changes only events no longer deferred need to be offered again instead of
+ * every stored event.
+ * <p>
+ * Store can be bounded with a capacity in which case an oldest event is
+ * dropped when a new one is added into a full store. Events can also be
+ * expired after a given time to live. Store is thread safe and keeps events in
+ * an order they were deferred.
+ *
+ * @author Janne Valkealahti
+ *
+ * @param <E> the type of event
+ */
+public class DeferredEventStore<E> extends AbstractCollection<Message<E>> {
+
+	private final Map<E, Deque<Entry<E>>> index = new HashMap<>();
+	private final int capacity;
+	private final long timeToLive;
+	private Entry<E> head;
+	private Entry<E> tail;
+	private int size;
+	private long sequence;
+	private long droppedCount;
+
+	/**
+	 * Instantiates a new unbounded deferred event store without expiration.
+	 */
+	public DeferredEventStore() {
+		this(Integer.MAX_VALUE, null);
+	}
+
+	/**
+	 * Instantiates a new deferred event store.
+	 *
+	 * @param capacity the maximum number of stored events
+	 * @param timeToLive the time to live of a deferred event, {@code NULL} to never expire
+	 */
+	public DeferredEventStore(int capacity, Duration timeToLive) {
+		Assert.isTrue(capacity > 0, "Capacity must be greater than zero");
+		Assert.isTrue(timeToLive == null || !timeToLive.isNegative(), "Time to live cannot be negative");
+		this.capacity = capacity;
+		this.timeToLive = timeToLive != null ? timeToLive.toNanos() : -1;
+	}
+
+	/**
+	 * Adds a deferred event. If store is full an oldest event is dropped.
+	 *
+	 * @param message the event message
+	 * @return always true
+	 */
+	@Override
+	public synchronized boolean add(Message<E> message) {
+		Assert.notNull(message, "Message must be set");
+		long now = System.nanoTime();
+		expire(now);
+		if (size >= capacity) {
+			unlink(head);
+			droppedCount++;
+		}
+		Entry<E> entry = new Entry<E>(message, timeToLive < 0 ? Long.MAX_VALUE : now + timeToLive, sequence++);
+		if (tail == null) {
+			head = entry;
+		} else {
+			tail.next = entry;
+			entry.prev = tail;
+		}
+		tail = entry;
+		index.computeIfAbsent(message.getPayload(), key -> new ArrayDeque<>()).add(entry);
+		size++;
+		return true;
+	}
+
+	@Override
+	public synchronized boolean remove(Object o) {
+		if (!(o instanceof Message)) {
+			return false;
+		}
+		Deque<Entry<E>> entries = index.get(((Message<?>) o).getPayload());
+		if (entries != null) {
+			for (Entry<E> entry : entries) {
+				if (entry.message.equals(o)) {
+					unlink(entry);
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Gets events which a given state doesn't defer and thus may be handled
+	 * now, in an order they were deferred. Events are not removed from a store.
+	 * Expired events are dropped before events are resolved.
+	 *
+	 * @param state the current state
+	 * @return the releasable events, empty if none found
+	 */
+	public synchronized List<Message<E>> getReleasable(State<?, E> state) {
+		expire(System.nanoTime());
+		if (size == 0) {
+			return Collections.emptyList();
+		}
+		List<Entry<E>> released = null;
+		for (Deque<Entry<E>> entries : index.values()) {
+			// all entries share a payload, so one tells if all are deferred
+			if (state != null && state.shouldDefer(entries.peekFirst().message)) {
+				continue;
+			}
+			if (released == null) {
+				released = new ArrayList<>(entries);
+			} else {
+				released.addAll(entries);
+			}
+		}
+		if (released == null) {
+			return Collections.emptyList();
+		}
+		if (released.size() > 1) {
+			released.sort((e1, e2) -> Long.compare(e1.sequence, e2.sequence));
+		}
+		List<Message<E>> messages = new ArrayList<>(released.size());
+		for (Entry<E> entry : released) {
+			messages.add(entry.message);
+		}
+		return messages;
+	}
+
+	@Override
+	public synchronized Iterator<Message<E>> iterator() {
+		List<Message<E>> messages = new ArrayList<>(size);
+		for (Entry<E> entry = head; entry != null; entry = entry.next) {
+			messages.add(entry.message);
+		}
+		return Collections.unmodifiableList(messages).iterator();
+	}
+
+	@Override
+	public synchronized int size() {
+		return size;
+	}
+
+	@Override
+	public synchronized void clear() {
+		index.clear();
+		head = null;
+		tail = null;
+		size = 0;
+	}
+
+	/**
+	 * Gets the capacity.
+	 *
+	 * @return the capacity
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Gets a total count of events dropped because store was full or because
+	 * events expired.
+	 *
+	 * @return the dropped count
+	 */
+	public synchronized long getDroppedCount() {
+		return droppedCount;
+	}
+
+	private void expire(long now) {
+		if (timeToLive < 0) {
+			return;
+		}
+		// same time to live for all, so oldest expires first
+		while (head != null && head.deadline - now <= 0) {
+			unlink(head);
+			droppedCount++;
+		}
+	}
+
+	private void unlink(Entry<E> entry) {
+		if (entry.prev == null) {
+			head = entry.next;
+		} else {
+			entry.prev.next = entry.next;
+		}
+		if (entry.next == null) {
+			tail = entry.prev;
+		} else {
+			entry.next.prev = entry.prev;
+		}
+		entry.prev = null;
+		entry.next = null;
+		E payload = entry.message.getPayload();
+		Deque<Entry<E>> entries = index.get(payload);
+		if (entries != null) {
+			entries.remove(entry);
+			if (entries.isEmpty()) {
+				index.remove(payload);
+			}
+		}
+		size--;
+	}
+
+	@Override
+	public String toString() {
+		return "DeferredEventStore [size=" + size() + ", capacity=" + capacity + ", droppedCount="
+				+ getDroppedCount() + "]";
+	}
+
+	private static class Entry<E> {
+		final Message<E> message;
+		final long deadline;
+		final long sequence;
+		Entry<E> prev;
+		Entry<E> next;
+
+		Entry(Message<E> message, long deadline, long sequence) {
+			this.message = message;
+			this.deadline = deadline;
+			this.sequence = sequence;
+		}
+	}
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.support;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.springframework.statemachine.transition.Transition;
+
+/**
+ * {@link TransitionIndex} for machines where both states and events are enums.
+ * Candidate lookup is done with arrays indexed by enum ordinals and an active
+ * state configuration, kept by {@link ActiveStateIds} as a {@code long} bitset
+ * over state ordinals, is intersected with a per event bitset, which avoids
+ * hashing and {@code equals} calls on a dispatch path.
+ *
+ * @author Janne Valkealahti
+ *
+ * @param <S> the type of state
+ * @param <E> the type of event
+ */
+class EnumTransitionIndex<S, E> extends TransitionIndex<S, E> {
+
+	private final Class<?> stateType;
+	private final Class<?> eventType;
+	// [event ordinal][state ordinal] -> candidates
+	private final List<Transition<S, E>>[][] table;
+	// [event ordinal] -> bitset of state ordinals having candidates
+	private final long[][] stateMasks;
+	private final int wordCount;
+
+	/**
+	 * Instantiates a new enum transition index.
+	 *
+	 * @param index the event to state id to transitions mappings
+	 * @param unindexed the transitions which cannot be indexed by an event
+	 * @param triggerless the state id to triggerless transitions mappings
+	 * @param transitionComparator the transition comparator
+	 */
+	@SuppressWarnings("unchecked")
+	EnumTransitionIndex(Map<E, Map<S, List<Transition<S, E>>>> index, List<Transition<S, E>> unindexed,
+			Map<S, List<Transition<S, E>>> triggerless, TransitionComparator<S, E> transitionComparator) {
+		super(index, unindexed, triggerless, transitionComparator);
+		Entry<E, Map<S, List<Transition<S, E>>>> first = index.entrySet().iterator().next();
+		this.eventType = ((Enum<?>) first.getKey()).getDeclaringClass();
+		this.stateType = ((Enum<?>) first.getValue().keySet().iterator().next()).getDeclaringClass();
+		int stateCount = stateType.getEnumConstants().length;
+		int eventCount = eventType.getEnumConstants().length;
+		this.table = new List[eventCount][];
+		this.stateMasks = new long[eventCount][];
+		this.wordCount = (stateCount + 63) >>> 6;
+		for (Entry<E, Map<S, List<Transition<S, E>>>> byEvent : index.entrySet()) {
+			int e = ((Enum<?>) byEvent.getKey()).ordinal();
+			List<Transition<S, E>>[] row = new List[stateCount];
+			long[] mask = new long[wordCount];
+			for (Entry<S, List<Transition<S, E>>> bySource : byEvent.getValue().entrySet()) {
+				int s = ((Enum<?>) bySource.getKey()).ordinal();
+				row[s] = bySource.getValue();
+				mask[s >>> 6] |= 1L << s;
+			}
+			table[e] = row;
+			stateMasks[e] = mask;
+		}
+	}
+
+	/**
+	 * Checks if all indexed state ids and events are constants of a
+	 * single state enum and a single event enum.
+	 *
+	 * @param <S> the type of state
+	 * @param <E> the type of event
+	 * @param index the event to state id to transitions mappings
+	 * @return true, if an enum index can be built
+	 */
+	static <S, E> boolean supports(Map<E, Map<S, List<Transition<S, E>>>> index) {
+		if (index.isEmpty()) {
+			return false;
+		}
+		Class<?> eventType = null;
+		Class<?> stateType = null;
+		for (Entry<E, Map<S, List<Transition<S, E>>>> byEvent : index.entrySet()) {
+			if (!(byEvent.getKey() instanceof Enum)) {
+				return false;
+			}
+			Class<?> et = ((Enum<?>) byEvent.getKey()).getDeclaringClass();
+			if (eventType == null) {
+				eventType = et;
+			} else if (eventType != et) {
+				return false;
+			}
+			for (S id : byEvent.getValue().keySet()) {
+				if (!(id instanceof Enum)) {
+					return false;
+				}
+				Class<?> st = ((Enum<?>) id).getDeclaringClass();
+				if (stateType == null) {
+					stateType = st;
+				} else if (stateType != st) {
+					return false;
+				}
+			}
+		}
+		return stateType != null;
+	}
+
+	@Override
+	public boolean hasCandidates(Collection<S> stateIds, E event) {
+		if (event == null || stateIds == null || !hasEvent(event)) {
+			return false;
+		}
+		long[] mask = stateMasks[((Enum<?>) event).ordinal()];
+		long[] active = getActiveOrdinals(stateIds);
+		for (int i = 0, n = Math.min(mask.length, active.length); i < n; i++) {
+			if ((mask[i] & active[i]) != 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public List<Transition<S, E>> getCandidates(Collection<S> stateIds, E event) {
+		if (event == null || stateIds == null || !hasEvent(event)) {
+			return Collections.emptyList();
+		}
+		int e = ((Enum<?>) event).ordinal();
+		long[] mask = stateMasks[e];
+		long[] active = getActiveOrdinals(stateIds);
+		int matched = -1;
+		for (int i = 0, n = Math.min(mask.length, active.length); i < n; i++) {
+			long bits = mask[i] & active[i];
+			if (bits == 0) {
+				continue;
+			}
+			if (matched >= 0 || Long.bitCount(bits) > 1) {
+				// candidates from multiple levels needs to be merged and sorted
+				return super.getCandidates(stateIds, event);
+			}
+			matched = (i << 6) + Long.numberOfTrailingZeros(bits);
+		}
+		return matched < 0 ? Collections.emptyList() : table[e][matched];
+	}
+
+	@Override
+	protected boolean hasEvent(E event) {
+		return eventType.isInstance(event) && table[((Enum<?>) event).ordinal()] != null;
+	}
+
+	@Override
+	protected List<Transition<S, E>> getStateCandidates(S stateId, E event) {
+		if (!stateType.isInstance(stateId) || !eventType.isInstance(event)) {
+			return null;
+		}
+		List<Transition<S, E>>[] row = table[((Enum<?>) event).ordinal()];
+		return row != null ? row[((Enum<?>) stateId).ordinal()] : null;
+	}
+
+	@SuppressWarnings("unchecked")
+	private long[] getActiveOrdinals(Collection<S> stateIds) {
+		if (stateIds instanceof ActiveStateIds) {
+			long[] active = ((ActiveStateIds<S>) stateIds).getOrdinals(stateType);
+			if (active != null) {
+				return active;
+			}
+		}
+		long[] active = new long[wordCount];
+		for (S id : stateIds) {
+			if (stateType.isInstance(id)) {
+				int s = ((Enum<?>) id).ordinal();
+				active[s >>> 6] |= 1L << s;
+			}
+		}
+		return active;
+	}
+
+	@Override
+	public String toString() {
+		return "EnumTransitionIndex [stateType=" + stateType.getName() + ", eventType=" + eventType.getName() + "]";
+	}
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.support;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+
+import org.springframework.statemachine.state.JoinPseudoState;
+import org.springframework.statemachine.state.State;
+import org.springframework.statemachine.transition.Transition;
+
+/**
+ * Tracks transitions arriving into a single {@link JoinPseudoState}. Each list
+ * of states returned from {@link JoinPseudoState#getJoins()} is a branch of a
+ * join which is satisfied when a transition from any of its states arrive. A
+ * branch without states, i.e. a region without end states, never has a
+ * transition arriving and is considered to be arrived from the start.
+ * <p>
+ * Progress of a join is kept in an immutable round replaced atomically for
+ * every arrival so that concurrently completing regions don't need a lock.
+ * Completing a join replaces the round with a new one in a same step, thus an
+ * arrival for a next round is never lost and a same join can be used
+ * repeatedly. Arrivals from regions which have been left before a join
+ * completed are dropped when a last branch arrives.
+ *
+ * @author Janne Valkealahti
+ *
+ * @param <S> the type of state
+ * @param <E> the type of event
+ */
+class JoinTransitionTracker<S, E> {
+
+	private final Map<State<S, E>, int[]> branchIndex = new IdentityHashMap<>();
+	private final Round<S, E> initial;
+	private final AtomicReference<Round<S, E>> round;
+
+	/**
+	 * Instantiates a new join transition tracker.
+	 *
+	 * @param join the join pseudo state
+	 */
+	JoinTransitionTracker(JoinPseudoState<S, E> join) {
+		List<List<State<S, E>>> joins = join.getJoins();
+		int branchCount = joins.size();
+		long[] arrived = new long[(branchCount + 63) >>> 6];
+		int remaining = branchCount;
+		for (int i = 0; i < branchCount; i++) {
+			if (joins.get(i).isEmpty()) {
+				arrived[i >>> 6] |= 1L << i;
+				remaining--;
+			}
+			for (State<S, E> state : joins.get(i)) {
+				int[] branches = branchIndex.get(state);
+				if (branches == null) {
+					branches = new int[] { i };
+				} else {
+					branches = Arrays.copyOf(branches, branches.length + 1);
+					branches[branches.length - 1] = i;
+				}
+				branchIndex.put(state, branches);
+			}
+		}
+		this.initial = new Round<>(arrived, new Object[branchCount], remaining);
+		this.round = new AtomicReference<>(initial);
+	}
+
+	/**
+	 * Marks a transition from one of the join states as arrived.
+	 *
+	 * @param transition the transition into a join
+	 * @return transitions which completed a join in branch order, empty if join
+	 *         is not yet complete
+	 */
+	List<Transition<S, E>> arrive(Transition<S, E> transition) {
+		return arrive(transition, t -> true);
+	}
+
+	/**
+	 * Marks a transition from one of the join states as arrived. Before a join
+	 * completes, earlier arrivals are checked with a given predicate and those
+	 * no longer valid, i.e. a region was left and entered again, are dropped.
+	 *
+	 * @param transition the transition into a join
+	 * @param valid the predicate telling if an earlier arrival is still valid
+	 * @return transitions which completed a join in branch order, empty if join
+	 *         is not yet complete
+	 */
+	List<Transition<S, E>> arrive(Transition<S, E> transition, Predicate<Transition<S, E>> valid) {
+		int[] branches = branchIndex.get(transition.getSource());
+		if (branches == null) {
+			return Collections.emptyList();
+		}
+		while (true) {
+			Round<S, E> current = round.get();
+			Round<S, E> next = current.arrive(branches, transition);
+			if (next == current) {
+				// branches already arrived
+				return Collections.emptyList();
+			}
+			if (next.remaining == 0) {
+				Round<S, E> retained = next.retain(transition, valid);
+				if (retained != next) {
+					if (round.compareAndSet(current, retained)) {
+						return Collections.emptyList();
+					}
+				} else if (round.compareAndSet(current, initial)) {
+					return next.joined();
+				}
+			} else if (round.compareAndSet(current, next)) {
+				return Collections.emptyList();
+			}
+		}
+	}
+
+	/**
+	 * Resets all arrived branches.
+	 */
+	void reset() {
+		round.set(initial);
+	}
+
+	/**
+	 * Gets the count of branches not yet arrived.
+	 *
+	 * @return the remaining count
+	 */
+	int getRemaining() {
+		return round.get().remaining;
+	}
+
+	private static class Round<S, E> {
+
+		final long[] arrived;
+		final Object[] transitions;
+		final int remaining;
+
+		Round(long[] arrived, Object[] transitions, int remaining) {
+			this.arrived = arrived;
+			this.transitions = transitions;
+			this.remaining = remaining;
+		}
+
+		Round<S, E> arrive(int[] branches, Transition<S, E> transition) {
+			long[] nextArrived = null;
+			Object[] nextTransitions = null;
+			int nextRemaining = remaining;
+			for (int branch : branches) {
+				int word = branch >>> 6;
+				long bit = 1L << branch;
+				if ((arrived[word] & bit) != 0) {
+					continue;
+				}
+				if (nextArrived == null) {
+					nextArrived = arrived.clone();
+					nextTransitions = transitions.clone();
+				}
+				nextArrived[word] |= bit;
+				nextTransitions[branch] = transition;
+				nextRemaining--;
+			}
+			return nextArrived == null ? this : new Round<>(nextArrived, nextTransitions, nextRemaining);
+		}
+
+		@SuppressWarnings("unchecked")
+		Round<S, E> retain(Transition<S, E> transition, Predicate<Transition<S, E>> valid) {
+			long[] nextArrived = null;
+			Object[] nextTransitions = null;
+			int nextRemaining = remaining;
+			for (int i = 0; i < transitions.length; i++) {
+				Object t = transitions[i];
+				if (t == null || t == transition || valid.test((Transition<S, E>) t)) {
+					continue;
+				}
+				if (nextArrived == null) {
+					nextArrived = arrived.clone();
+					nextTransitions = transitions.clone();
+				}
+				nextArrived[i >>> 6] &= ~(1L << i);
+				nextTransitions[i] = null;
+				nextRemaining++;
+			}
+			return nextArrived == null ? this : new Round<>(nextArrived, nextTransitions, nextRemaining);
+		}
+
+		@SuppressWarnings("unchecked")
+		List<Transition<S, E>> joined() {
+			List<Transition<S, E>> joined = new ArrayList<>(transitions.length);
+			for (Object t : transitions) {
+				if (t != null && !joined.contains(t)) {
+					joined.add((Transition<S, E>) t);
+				}
+			}
+			return joined;
+		}
+	}
+}
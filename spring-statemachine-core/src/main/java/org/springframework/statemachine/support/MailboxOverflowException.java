@@ -0,0 +1,62 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.support;
+
+import org.springframework.statemachine.StateMachineException;
+
+/**
+ * Exception indicating that an item didn't fit into a {@link StateMachineMailbox}.
+ *
+ * @author Janne Valkealahti
+ *
+ */
+public class MailboxOverflowException extends StateMachineException {
+
+	private static final long serialVersionUID = -2404563386424155315L;
+	private final MailboxOverflowPolicy overflowPolicy;
+
+	/**
+	 * Instantiates a new mailbox overflow exception.
+	 *
+	 * @param message the message
+	 * @param overflowPolicy the overflow policy which was applied
+	 */
+	public MailboxOverflowException(String message, MailboxOverflowPolicy overflowPolicy) {
+		super(message);
+		this.overflowPolicy = overflowPolicy;
+	}
+
+	/**
+	 * Gets the overflow policy which was applied.
+	 *
+	 * @return the overflow policy
+	 */
+	public MailboxOverflowPolicy getOverflowPolicy() {
+		return overflowPolicy;
+	}
+
+	/**
+	 * Checks if an item was rejected as opposed to being silently dropped or
+	 * evicted, which is a case with {@link MailboxOverflowPolicy#REJECT} and
+	 * with {@link MailboxOverflowPolicy#BLOCK} when offering thread is not
+	 * allowed to wait.
+	 *
+	 * @return true, if item was rejected
+	 */
+	public boolean isRejected() {
+		return overflowPolicy == MailboxOverflowPolicy.REJECT || overflowPolicy == MailboxOverflowPolicy.BLOCK;
+	}
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.support;
+
+/**
+ * Enumerations for possible {@link StateMachineMailbox} overflow policies
+ * applied when an item is offered to a full mailbox.
+ *
+ * @author Janne Valkealahti
+ *
+ */
+public enum MailboxOverflowPolicy {
+
+	/**
+	 * Policy waiting without blocking a thread until there is space in a
+	 * mailbox. Items offered from a thread handling a mailbox are rejected as
+	 * waiting would never complete.
+	 */
+	BLOCK,
+
+	/**
+	 * Policy evicting the oldest queued item to make space for a new one.
+	 */
+	DROP_OLDEST,
+
+	/**
+	 * Policy silently dropping a new item.
+	 */
+	DROP_NEWEST,
+
+	/**
+	 * Policy rejecting a new item with a typed result.
+	 */
+	REJECT
+}
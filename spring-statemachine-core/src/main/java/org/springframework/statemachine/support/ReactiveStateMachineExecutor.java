@@ -19,17 +19,16 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Map.Entry;
 import java.util.Queue;
-import java.util.Set;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.apache.commons.logging.Log;
@@ -39,12 +38,14 @@ import org.springframework.messaging.MessageHeaders;
 import org.springframework.statemachine.StateContext;
 import org.springframework.statemachine.StateContext.Stage;
 import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.StateMachineEventResult;
+import org.springframework.statemachine.StateMachineEventResult.ResultType;
 import org.springframework.statemachine.StateMachineException;
 import org.springframework.statemachine.StateMachineSystemConstants;
+import org.springframework.statemachine.monitor.StateMachineMonitor;
 import org.springframework.statemachine.state.JoinPseudoState;
 import org.springframework.statemachine.state.PseudoStateKind;
 import org.springframework.statemachine.state.State;
-import org.springframework.statemachine.transition.AbstractTransition;
 import org.springframework.statemachine.transition.Transition;
 import org.springframework.statemachine.transition.TransitionConflictPolicy;
 import org.springframework.statemachine.trigger.DefaultTriggerContext;
@@ -52,6 +53,7 @@ import org.springframework.statemachine.trigger.TriggerContext;
 import org.springframework.statemachine.trigger.TimerTrigger;
 import org.springframework.statemachine.trigger.Trigger;
 import org.springframework.statemachine.trigger.TriggerListener;
+import org.springframework.util.Assert;
 
 import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
@@ -59,6 +61,7 @@ import reactor.core.publisher.Mono;
 import reactor.core.publisher.Sinks;
 import reactor.core.publisher.Sinks.EmitFailureHandler;
 import reactor.core.publisher.Sinks.Many;
+import reactor.core.scheduler.Schedulers;
 import reactor.util.concurrent.Queues;
 import reactor.util.context.Context;
 import reactor.util.retry.Retry;
@@ -75,48 +78,159 @@ public class ReactiveStateMachineExecutor<S, E> extends LifecycleObjectSupport i
 
 	private static final Log log = LogFactory.getLog(ReactiveStateMachineExecutor.class);
 	private static final String REACTOR_CONTEXT_TRIGGER_ERRORS = "stateMachineTriggerErrors";
+	private static final String REACTOR_CONTEXT_TRIGGERLESS_CASCADE = "stateMachineTriggerlessCascade";
+	private static final int DEFAULT_TRIGGERLESS_CASCADE_LIMIT = 100;
+	private static final int DRAIN_RETRIES = 1000;
 	private final StateMachine<S, E> stateMachine;
 	private final StateMachine<S, E> relayStateMachine;
 	private final Map<Trigger<S, E>, Transition<S, E>> triggerToTransitionMap;
 	private final List<Transition<S, E>> triggerlessTransitions;
-	private final Collection<Transition<S, E>> transitions;
 	private final Transition<S, E> initialTransition;
 	private final Message<E> initialEvent;
-	private final TransitionComparator<S, E> transitionComparator;
 	private final TransitionConflictPolicy transitionConflictPolicy;
-	private final Queue<Message<E>> deferList = new ConcurrentLinkedQueue<Message<E>>();
+	private final TransitionIndex<S, E> transitionIndex;
+	private DeferredEventStore<E> deferList = new DeferredEventStore<E>();
 	private final AtomicBoolean initialHandled = new AtomicBoolean(false);
+	private final AtomicBoolean drainRequested = new AtomicBoolean(false);
+	private volatile Thread drainThread;
 	private final StateMachineInterceptorList<S, E> interceptors = new StateMachineInterceptorList<S, E>();
 	private volatile Message<E> forwardedInitialEvent;
 	private volatile Message<E> queuedMessage = null;
 	private StateMachineExecutorTransit<S, E> stateMachineExecutorTransit;
-	private Many<TriggerQueueItem> triggerSink;
+	private Many<Boolean> triggerSink;
 	private Flux<Void> triggerFlux;
 	private Disposable triggerDisposable;
+	private StateMachineMailbox<TriggerQueueItem> mailbox;
+	private int mailboxCapacity = Queues.SMALL_BUFFER_SIZE;
+	private MailboxOverflowPolicy mailboxOverflowPolicy = MailboxOverflowPolicy.BLOCK;
+	private Supplier<? extends Queue<?>> mailboxQueueSupplier;
+	private StateMachineMonitor<S, E> stateMachineMonitor;
+	private int batchSize = 1;
+	private int triggerlessCascadeLimit = DEFAULT_TRIGGERLESS_CASCADE_LIMIT;
+	private final Map<JoinPseudoState<S, E>, JoinTransitionTracker<S, E>> joinTrackers = new ConcurrentHashMap<>();
 
 	public ReactiveStateMachineExecutor(StateMachine<S, E> stateMachine, StateMachine<S, E> relayStateMachine,
 			Collection<Transition<S, E>> transitions, Map<Trigger<S, E>, Transition<S, E>> triggerToTransitionMap,
 			List<Transition<S, E>> triggerlessTransitions, Transition<S, E> initialTransition, Message<E> initialEvent,
 			TransitionConflictPolicy transitionConflictPolicy) {
+		this(stateMachine, relayStateMachine, transitions, triggerToTransitionMap, triggerlessTransitions,
+				initialTransition, initialEvent, transitionConflictPolicy,
+				TransitionIndex.of(transitions, transitionConflictPolicy));
+	}
+
+	public ReactiveStateMachineExecutor(StateMachine<S, E> stateMachine, StateMachine<S, E> relayStateMachine,
+			Collection<Transition<S, E>> transitions, Map<Trigger<S, E>, Transition<S, E>> triggerToTransitionMap,
+			List<Transition<S, E>> triggerlessTransitions, Transition<S, E> initialTransition, Message<E> initialEvent,
+			TransitionConflictPolicy transitionConflictPolicy, TransitionIndex<S, E> transitionIndex) {
 		this.stateMachine = stateMachine;
 		this.relayStateMachine = relayStateMachine;
 		this.triggerToTransitionMap = triggerToTransitionMap;
 		this.triggerlessTransitions = triggerlessTransitions;
-		this.transitions = transitions;
 		this.initialTransition = initialTransition;
 		this.initialEvent = initialEvent;
-		this.transitionComparator = new TransitionComparator<S, E>(transitionConflictPolicy);
 		this.transitionConflictPolicy = transitionConflictPolicy;
-		// anonymous transitions are fixed, sort those now
-		this.triggerlessTransitions.sort(transitionComparator);
+		this.transitionIndex = transitionIndex;
+		for (Transition<S, E> transition : transitions) {
+			if (StateMachineUtils.isPseudoState(transition.getTarget(), PseudoStateKind.JOIN)) {
+				getJoinTracker((JoinPseudoState<S, E>) transition.getTarget().getPseudoState());
+			}
+		}
 		registerTriggerListener();
 	}
 
+	@SuppressWarnings("unchecked")
 	@Override
 	protected void onInit() throws Exception {
+		if (mailboxQueueSupplier != null) {
+			mailbox = new StateMachineMailbox<TriggerQueueItem>(mailboxCapacity, mailboxOverflowPolicy,
+					(Queue<TriggerQueueItem>) mailboxQueueSupplier.get());
+		} else {
+			mailbox = new StateMachineMailbox<TriggerQueueItem>(mailboxCapacity, mailboxOverflowPolicy);
+		}
+		// sink is only used to signal a drain, items are taken from
+		// a mailbox in order they were queued. signals are coalesced
+		// so sink never holds more than few of those.
 		triggerSink = Sinks.many().multicast().onBackpressureBuffer(Queues.SMALL_BUFFER_SIZE, false);
 		// limit concurrency so that we get one by one handling
-		triggerFlux = triggerSink.asFlux().flatMap(trigger -> handleTrigger(trigger), 1);
+		triggerFlux = triggerSink.asFlux().flatMap(signal -> drainMailbox(), 1);
+	}
+
+	/**
+	 * Sets the maximum number of queued events handled together in one pass.
+	 * With a size larger than one, events queued while executor is busy are
+	 * handled back-to-back and their callbacks are completed together after
+	 * whole batch has been handled. Needs to be set before executor is
+	 * initialised, defaults to {@code 1}.
+	 *
+	 * @param batchSize the batch size
+	 */
+	public void setBatchSize(int batchSize) {
+		Assert.isTrue(batchSize > 0, "Batch size must be greater than zero");
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Sets the capacity of a mailbox queuing events and triggers and a policy
+	 * applied when it's full. Needs to be set before executor is initialised,
+	 * defaults to capacity of {@code 256} with {@link MailboxOverflowPolicy#BLOCK}
+	 * so that a sender waits for a space without blocking a thread.
+	 *
+	 * @param capacity the mailbox capacity
+	 * @param overflowPolicy the mailbox overflow policy
+	 */
+	public void setMailbox(int capacity, MailboxOverflowPolicy overflowPolicy) {
+		Assert.isTrue(capacity > 0, "Mailbox capacity must be greater than zero");
+		Assert.notNull(overflowPolicy, "Mailbox overflow policy must be set");
+		this.mailboxCapacity = capacity;
+		this.mailboxOverflowPolicy = overflowPolicy;
+	}
+
+	/**
+	 * Sets the supplier for a queue backing a mailbox. Queue needs to be safe
+	 * for concurrent producers and a single consumer, for example a lock-free
+	 * MPSC queue. Needs to be set before executor is initialised.
+	 *
+	 * @param mailboxQueueSupplier the mailbox queue supplier
+	 */
+	public void setMailboxQueueSupplier(Supplier<? extends Queue<?>> mailboxQueueSupplier) {
+		this.mailboxQueueSupplier = mailboxQueueSupplier;
+	}
+
+	/**
+	 * Sets the capacity of a store keeping deferred events and a time to live
+	 * of a deferred event. When store is full an oldest deferred event is
+	 * dropped. Needs to be set before executor is initialised, by default
+	 * store is unbounded and events never expire.
+	 *
+	 * @param capacity the deferred event capacity
+	 * @param timeToLive the deferred event time to live, {@code NULL} to never expire
+	 */
+	public void setDeferredEvents(int capacity, Duration timeToLive) {
+		this.deferList = new DeferredEventStore<E>(capacity, timeToLive);
+	}
+
+	/**
+	 * Sets a maximum number of triggerless transitions fired in a row after a
+	 * state completes. Guards of triggerless transitions may form a cycle
+	 * which would otherwise keep an executor transiting forever, thus an error
+	 * is raised and set as a state machine error when limit is exceeded.
+	 * Defaults to {@code 100}.
+	 *
+	 * @param triggerlessCascadeLimit the triggerless cascade limit
+	 */
+	public void setTriggerlessCascadeLimit(int triggerlessCascadeLimit) {
+		Assert.isTrue(triggerlessCascadeLimit > 0, "Triggerless cascade limit must be greater than zero");
+		this.triggerlessCascadeLimit = triggerlessCascadeLimit;
+	}
+
+	/**
+	 * Sets the state machine monitor notified about a mailbox depth and
+	 * overflows and a depth of deferred events.
+	 *
+	 * @param stateMachineMonitor the state machine monitor
+	 */
+	public void setStateMachineMonitor(StateMachineMonitor<S, E> stateMachineMonitor) {
+		this.stateMachineMonitor = stateMachineMonitor;
 	}
 
 	@Override
@@ -124,8 +238,13 @@ public class ReactiveStateMachineExecutor<S, E> extends LifecycleObjectSupport i
 		return Mono.defer(() -> {
 			Mono<Void> mono = startTriggers();
 
-			if (triggerDisposable == null) {
+			if (triggerFlux != null && triggerDisposable == null) {
 				triggerDisposable = triggerFlux.subscribe();
+				if (!mailbox.isEmpty()) {
+					// drain signal may have been lost with previous subscription
+					drainRequested.set(false);
+					requestDrain();
+				}
 			}
 
 			if (!initialHandled.getAndSet(true)) {
@@ -151,6 +270,9 @@ public class ReactiveStateMachineExecutor<S, E> extends LifecycleObjectSupport i
 				triggerDisposable = null;
 			}
 			initialHandled.set(false);
+			for (JoinTransitionTracker<S, E> tracker : joinTrackers.values()) {
+				tracker.reset();
+			}
 		});
 		return stopTriggers().and(mono);
 	}
@@ -161,6 +283,13 @@ public class ReactiveStateMachineExecutor<S, E> extends LifecycleObjectSupport i
 			log.debug("Deferring message " + message);
 		}
 		deferList.add(message);
+		notifyDeferredMonitor();
+	}
+
+	@Override
+	public void clearDeferredEvents() {
+		deferList.clear();
+		notifyDeferredMonitor();
 	}
 
 	@Override
@@ -194,24 +323,156 @@ public class ReactiveStateMachineExecutor<S, E> extends LifecycleObjectSupport i
 		interceptors.add(interceptor);
 	}
 
+	@Override
+	public void removeStateMachineInterceptor(StateMachineInterceptor<S, E> interceptor) {
+		interceptors.remove(interceptor);
+	}
+
 	@Override
 	public Mono<Void> queueEvent(Mono<Message<E>> message, StateMachineExecutorCallback callback) {
-		Flux<Message<E>> messages = Flux.merge(message, Flux.fromIterable(deferList));
+		return queueEvent(message, callback, null, 0);
+	}
 
+	@Override
+	public Mono<Void> queueEvent(Mono<Message<E>> message, StateMachineExecutorCallback callback,
+			List<Transition<S, E>> transitions, long configurationVersion) {
 		MonoSinkStateMachineExecutorCallback triggerCallback = new MonoSinkStateMachineExecutorCallback();
 		Mono<Void> triggerCallbackSink = Mono.create(triggerCallback);
 
-		return messages
-			.flatMap(m -> handleEvent(m, callback, triggerCallback))
-			.flatMap(tqi -> Mono.fromRunnable(() -> {
-					triggerSink.emitNext(tqi, EmitFailureHandler.FAIL_FAST);
-				})
-				.retryWhen(Retry.fixedDelay(10, Duration.ofMillis(10))))
+		Flux<TriggerQueueItem> items = Flux.merge(
+				message.flatMap(m -> handleEvent(m, callback, triggerCallback, transitions, configurationVersion)),
+				// only offer events which current state no longer defers
+				Flux.defer(() -> Flux.fromIterable(deferList.getReleasable(stateMachine.getState())))
+					.flatMap(m -> handleEvent(m, callback, triggerCallback, null, 0)));
+
+		return items
+			.concatMap(tqi -> offerTriggerWhenAvailable(tqi, true).flatMap(queued -> {
+				if (queued) {
+					return Mono.empty();
+				}
+				return Mono.error(new MailboxOverflowException("Mailbox overflow for " + tqi, mailboxOverflowPolicy));
+			}))
 			.then()
 			.and(triggerCallbackSink);
 	}
 
-	private Mono<TriggerQueueItem> handleEvent(Message<E> queuedEvent, StateMachineExecutorCallback callback, StateMachineExecutorCallback triggerCallback) {
+	private boolean offerTrigger(TriggerQueueItem tqi, boolean drain) {
+		if (mailbox.offer(tqi, evicted -> {
+				completeCallbacks(evicted, new MailboxOverflowException("Evicted from mailbox", mailboxOverflowPolicy));
+			})) {
+			if (drain) {
+				requestDrain();
+			}
+			return true;
+		}
+		mailboxOverflow(tqi);
+		return false;
+	}
+
+	private Mono<Boolean> offerTriggerWhenAvailable(TriggerQueueItem tqi, boolean drain) {
+		return Mono.defer(() -> {
+			if (mailboxOverflowPolicy != MailboxOverflowPolicy.BLOCK || Thread.currentThread() == drainThread) {
+				// a thread handling a mailbox would wait for itself
+				return Mono.just(offerTrigger(tqi, drain));
+			}
+			if (mailbox.getDepth() >= mailbox.getCapacity()) {
+				// queued items need to get handled for a space to free up
+				requestDrain();
+			}
+			return mailbox.offerWhenAvailable(tqi, evicted -> {})
+				.doOnNext(queued -> {
+					if (!queued) {
+						mailboxOverflow(tqi);
+					} else if (drain) {
+						requestDrain();
+					}
+				})
+				// released by a mailbox drain, don't continue on its thread
+				.flatMap(queued -> Thread.currentThread() == drainThread
+						? Mono.just(queued).publishOn(Schedulers.parallel())
+						: Mono.just(queued));
+		});
+	}
+
+	private void mailboxOverflow(TriggerQueueItem tqi) {
+		if (log.isDebugEnabled()) {
+			log.debug("Mailbox overflow for " + tqi + " with " + mailbox);
+		}
+		completeCallbacks(tqi, new MailboxOverflowException("Mailbox overflow", mailboxOverflowPolicy));
+		notifyMailboxMonitor();
+	}
+
+	private void requestDrain() {
+		if (drainRequested.compareAndSet(false, true) && triggerSink.tryEmitNext(Boolean.TRUE).isFailure()) {
+			// sink is busy emitting, possibly on this thread if event is
+			// sent from an action, so retry asynchronously. extra signal
+			// only causes a drain of an empty mailbox.
+			Mono.fromRunnable(() -> {
+					triggerSink.emitNext(Boolean.TRUE, EmitFailureHandler.FAIL_FAST);
+				})
+				.retryWhen(Retry.fixedDelay(DRAIN_RETRIES, Duration.ofMillis(1)))
+				.subscribe(null, e -> {
+					// let a next offer try again, items stay in a mailbox
+					drainRequested.set(false);
+					log.warn("Unable to request a mailbox drain with " + mailbox, e);
+				});
+		}
+	}
+
+	private Mono<Void> drainMailbox() {
+		return Mono.defer(() -> {
+			// items queued after this will request a new drain
+			drainRequested.set(false);
+			return Mono.fromSupplier(() -> pollBatch())
+				.repeat()
+				.takeWhile(batch -> !batch.isEmpty())
+				// no prefetch as items need to stay in a mailbox until handled
+				.concatMap(batch -> Mono.defer(() -> {
+						drainThread = Thread.currentThread();
+						return handleTriggers(batch);
+					})
+					.doFinally(signal -> {
+						drainThread = null;
+						notifyMailboxMonitor();
+					}), 0)
+				.then();
+		});
+	}
+
+	private List<TriggerQueueItem> pollBatch() {
+		List<TriggerQueueItem> batch = new ArrayList<>(Math.min(batchSize, 16));
+		TriggerQueueItem item;
+		while (batch.size() < batchSize && (item = mailbox.poll()) != null) {
+			batch.add(item);
+		}
+		return batch;
+	}
+
+	private void notifyMailboxMonitor() {
+		if (stateMachineMonitor != null) {
+			try {
+				stateMachineMonitor.mailbox(relayStateMachine, mailbox.getDepth(), mailbox.getOverflowCount());
+			} catch (Exception e) {
+				log.warn("Error during notifyMailboxMonitor", e);
+			}
+		}
+	}
+
+	/**
+	 * Notifies a state machine monitor about a depth of deferred events.
+	 */
+	void notifyDeferredMonitor() {
+		if (stateMachineMonitor != null) {
+			try {
+				stateMachineMonitor.deferred(relayStateMachine, deferList.size(), deferList.getDroppedCount());
+			} catch (Exception e) {
+				log.warn("Error during notifyDeferredMonitor", e);
+			}
+		}
+	}
+
+	private Mono<TriggerQueueItem> handleEvent(Message<E> queuedEvent, StateMachineExecutorCallback callback,
+			StateMachineExecutorCallback triggerCallback, List<Transition<S, E>> transitions, long configurationVersion) {
 		if (log.isDebugEnabled()) {
 			log.debug("Handling message " + queuedEvent);
 		}
@@ -221,28 +482,93 @@ public class ReactiveStateMachineExecutor<S, E> extends LifecycleObjectSupport i
 				log.info("Current state " + currentState + " deferred event " + queuedEvent);
 				return Mono.just(new TriggerQueueItem(null, queuedEvent, callback, triggerCallback));
 			}
-			TriggerContext<S, E> triggerContext = new DefaultTriggerContext<S, E>(queuedEvent.getPayload());
-			return Flux.fromIterable(transitions)
-				.filter(transition -> transition.getTrigger() != null)
-				.filter(transition -> StateMachineUtils.containsAtleastOne(transition.getSource().getIds(),
-						currentState.getIds()))
-				.flatMap(transition -> {
-					return Mono.from(transition.getTrigger().evaluate(triggerContext))
-						.flatMap(e -> {
-							if (e) {
-								return Mono.just(transition.getTrigger());
-							} else {
-								return Mono.empty();
-							}
-						});
+			if (currentState == null) {
+				return Mono.empty();
+			}
+			if (transitions != null && !transitions.isEmpty() && isCurrentConfiguration(configurationVersion)) {
+				// state is not changed after triggers were evaluated for this event
+				return Mono.just(new TriggerQueueItem(transitions.get(0).getTrigger(), queuedEvent, callback,
+						triggerCallback, transitions, configurationVersion));
+			}
+			long version = getConfigurationVersion();
+			Collection<S> ids = getActiveStateIds(currentState);
+			List<Transition<S, E>> candidates = transitionIndex.getCandidates(ids, queuedEvent.getPayload());
+			List<Transition<S, E>> unindexed = transitionIndex.getUnindexedCandidates(ids);
+			if (candidates.isEmpty() && unindexed.isEmpty()) {
+				return Mono.empty();
+			}
+			return findFired(candidates, unindexed, queuedEvent)
+				.doOnNext(transition -> {
+					if (deferList.remove(queuedEvent)) {
+						notifyDeferredMonitor();
+					}
 				})
-				.next()
-				.doOnNext(trigger -> deferList.remove(queuedEvent))
-				.map(trigger -> new TriggerQueueItem(trigger, queuedEvent, callback, triggerCallback));
+				.map(transition -> new TriggerQueueItem(transition.getTrigger(), queuedEvent, callback, triggerCallback,
+						TransitionIndex.mergeFired(candidates, transition), version));
 		});
 	}
 
-	private Mono<Void> handleTrigger(TriggerQueueItem queueItem) {
+	private Mono<Void> handleTriggers(List<TriggerQueueItem> queueItems) {
+		if (queueItems.isEmpty()) {
+			// already handled with an earlier batch
+			return Mono.empty();
+		}
+		if (log.isDebugEnabled()) {
+			log.debug("Process trigger batch of size " + queueItems.size());
+		}
+		return Flux.fromIterable(queueItems)
+			.concatMap(queueItem -> handleTriggerItem(queueItem)
+				.onErrorResume(resumeTriggerErrorToContext())
+				.contextWrite(Context.of(
+						StateMachineSystemConstants.REACTOR_CONTEXT_ERRORS, queueItem.errors,
+						REACTOR_CONTEXT_TRIGGER_ERRORS, queueItem.triggerErrors)))
+			.then(Mono.fromRunnable(() -> {
+				for (TriggerQueueItem queueItem : queueItems) {
+					completeCallbacks(queueItem);
+				}
+			}));
+	}
+
+	private void completeCallbacks(TriggerQueueItem queueItem) {
+		if (queueItem.result != null) {
+			Throwable error = queueItem.errors.getError();
+			queueItem.result.complete(StateMachineEventResult.<S, E>from(stateMachine, queueItem.message,
+					queueItem.resultType, error != null ? Mono.error(new StateMachineException("Execution error", error))
+							: Mono.empty()));
+		}
+		if (queueItem.callback != null) {
+			if (queueItem.errors.getError() != null) {
+				queueItem.callback.error(new StateMachineException("Execution error", queueItem.errors.getError()));
+			} else {
+				queueItem.callback.complete();
+			}
+		}
+		if (queueItem.triggerCallback != null) {
+			if (queueItem.triggerErrors.getError() != null) {
+				queueItem.triggerCallback.error(new StateMachineException("Execution error", queueItem.triggerErrors.getError()));
+			} else {
+				queueItem.triggerCallback.complete();
+			}
+		}
+	}
+
+	private void completeCallbacks(TriggerQueueItem queueItem, StateMachineException error) {
+		if (queueItem.result != null) {
+			ResultType resultType = ResultType.DENIED;
+			if (error instanceof MailboxOverflowException && ((MailboxOverflowException) error).isRejected()) {
+				resultType = ResultType.REJECTED;
+			}
+			queueItem.result.complete(StateMachineEventResult.<S, E>from(stateMachine, queueItem.message, resultType));
+		}
+		if (queueItem.callback != null) {
+			queueItem.callback.error(error);
+		}
+		if (queueItem.triggerCallback != null) {
+			queueItem.triggerCallback.error(error);
+		}
+	}
+
+	private Mono<Void> handleTriggerItem(TriggerQueueItem queueItem) {
 		return Mono.defer(() -> {
 			Mono<Void> ret = null;
 			State<S,E> currentState = stateMachine.getState();
@@ -254,88 +580,121 @@ public class ReactiveStateMachineExecutor<S, E> extends LifecycleObjectSupport i
 				// triggerless transition to receive this message if it doesn't
 				// kick in in this poll loop.
 				queuedMessage = queueItem.message;
-				E event = queuedMessage != null ? queuedMessage.getPayload() : null;
-
-				// need all transitions trigger could match, event trigger may match
-				// multiple
-				// need to go up from substates and ask if trigger transit, if not
-				// check super
-				ArrayList<Transition<S, E>> trans = new ArrayList<Transition<S, E>>();
-
-				if (event != null) {
-					ArrayList<S> ids = new ArrayList<S>(currentState.getIds());
-					Collections.reverse(ids);
-					for (S id : ids) {
-						for (Entry<Trigger<S, E>, Transition<S, E>> e : triggerToTransitionMap.entrySet()) {
-							Trigger<S, E> tri = e.getKey();
-							E ee = tri.getEvent();
-							Transition<S, E> tra = e.getValue();
-							if (event.equals(ee)) {
-								if (tra.getSource().getId().equals(id) && !trans.contains(tra)) {
-									trans.add(tra);
-									continue;
-								}
-							}
-						}
-					}
+				if (queueItem.result != null) {
+					// resolved when handled as state may have changed by events before it
+					return handleBatchedEvent(queueItem, currentState);
 				}
+				E event = queuedMessage != null ? queuedMessage.getPayload() : null;
 
-				// most likely timer
-				if (trans.isEmpty()) {
-					Transition<S, E> t = triggerToTransitionMap.get(queueItem.trigger);
-					if (t != null) {
-						trans.add(t);
-					}
+				// use transitions resolved with an event unless state has
+				// changed since
+				List<Transition<S, E>> trans = queueItem.transitions;
+				if (trans == null || !isCurrentConfiguration(queueItem.configurationVersion)) {
+					trans = getTriggerTransitions(currentState, queueItem.trigger, event);
 				}
 
-				// go through candidates and transit max one, sort before handling
-				trans.sort(transitionComparator);
+				// go through candidates and transit max one
 				ret = handleTriggerTrans(trans, queuedMessage).then();
 			}
 
-			List<Transition<S, E>> transWithGuards = new ArrayList<>();
-			for (Transition<S, E> t : triggerlessTransitions) {
-				if (((AbstractTransition<S, E>)t).getGuard() != null) {
-					transWithGuards.add(t);
-				}
-			}
-
 			if (ret == null) {
 				ret = Mono.empty();
 			}
 			return ret;
-		})
-		.onErrorResume(resumeTriggerErrorToContext())
-		.and(Mono.deferContextual(Mono::just)
-			.doOnNext(ctx -> {
-				if (queueItem.callback != null) {
-					Optional<ExecutorExceptionHolder> holder = ctx.getOrEmpty(StateMachineSystemConstants.REACTOR_CONTEXT_ERRORS);
-					holder.ifPresent(h -> {
-						if (h.getError() != null) {
-							queueItem.callback.error(new StateMachineException("Execution error", h.getError()));
-						} else {
-							queueItem.callback.complete();
-						}
-					});
-				}
+		});
+	}
 
-				if (queueItem.triggerCallback != null) {
-					Optional<ExecutorExceptionHolder> holder = ctx.getOrEmpty(REACTOR_CONTEXT_TRIGGER_ERRORS);
-					holder.ifPresent(h -> {
-						if (h.getError() != null) {
-							queueItem.triggerCallback.error(new StateMachineException("Execution error", h.getError()));
-						} else {
-							queueItem.triggerCallback.complete();
-						}
-					});
+
+	private static <S, E> Mono<Transition<S, E>> findFired(List<Transition<S, E>> candidates,
+			List<Transition<S, E>> unindexed, Message<E> message) {
+		TriggerContext<S, E> triggerContext = new DefaultTriggerContext<S, E>(message.getPayload());
+		return Flux.concat(
+				Flux.fromIterable(candidates)
+					.filterWhen(transition -> TransitionIndex.evaluateCandidate(transition, triggerContext)),
+				Flux.fromIterable(unindexed)
+					.filterWhen(transition -> transition.getTrigger().evaluate(triggerContext)))
+			.next();
+	}
+
+	/**
+	 * Queues events to be handled in one pass of a mailbox drain. Unlike
+	 * {@link #queueEvent(Mono, StateMachineExecutorCallback)}, transitions are
+	 * not resolved when an event is queued but when it's handled, thus an event
+	 * can be accepted by a state entered with an earlier event of a same list.
+	 * All events are offered before a drain is requested so that they are
+	 * polled together up to a {@link #setBatchSize(int) batch size}.
+	 *
+	 * @param messages the messages
+	 * @return Mono emitting event results in an order of messages
+	 */
+	Mono<List<StateMachineEventResult<S, E>>> queueEvents(List<Message<E>> messages) {
+		return Flux.fromIterable(messages)
+			.concatMap(message -> offerBatched(message))
+			.collectList()
+			// deferred events no longer deferred are given a chance after the list
+			.flatMap(results -> Flux.defer(() -> Flux.fromIterable(deferList.getReleasable(stateMachine.getState())))
+				.concatMap(message -> offerBatched(message))
+				.then(Mono.fromRunnable(() -> requestDrain()))
+				.thenMany(Flux.fromIterable(results))
+				.concatMap(result -> Mono.fromFuture(result, true))
+				.collectList());
+	}
+
+	private Mono<CompletableFuture<StateMachineEventResult<S, E>>> offerBatched(Message<E> message) {
+		TriggerQueueItem tqi = new TriggerQueueItem(null, message, null, null);
+		tqi.result = new CompletableFuture<>();
+		return offerTriggerWhenAvailable(tqi, false).thenReturn(tqi.result);
+	}
+
+	private Mono<Void> handleBatchedEvent(TriggerQueueItem queueItem, State<S, E> currentState) {
+		Message<E> message = queueItem.message;
+		if (currentState.shouldDefer(message)) {
+			log.info("Current state " + currentState + " deferred event " + message);
+			if (!deferList.contains(message)) {
+				queueDeferredEvent(message);
+			}
+			queueItem.resultType = ResultType.DEFERRED;
+			return Mono.empty();
+		}
+		Collection<S> ids = getActiveStateIds(currentState);
+		List<Transition<S, E>> candidates = transitionIndex.getCandidates(ids, message.getPayload());
+		List<Transition<S, E>> unindexed = transitionIndex.getUnindexedCandidates(ids);
+		if (candidates.isEmpty() && unindexed.isEmpty()) {
+			return Mono.empty();
+		}
+		return findFired(candidates, unindexed, message)
+			.flatMap(transition -> {
+				queueItem.resultType = ResultType.ACCEPTED;
+				if (deferList.remove(message)) {
+					notifyDeferredMonitor();
 				}
+				return handleTriggerTrans(TransitionIndex.mergeFired(candidates, transition), message);
 			})
-		)
-		.contextWrite(Context.of(
-				StateMachineSystemConstants.REACTOR_CONTEXT_ERRORS, new ExecutorExceptionHolder(),
-				REACTOR_CONTEXT_TRIGGER_ERRORS, new ExecutorExceptionHolder()));
+			.then();
 	}
 
+	/**
+	 * Gets transitions which may be fired from a given state either by an event
+	 * or a trigger. All transitions an event could match are returned from
+	 * substates up to super states already sorted and if there are none,
+	 * transition associated with a trigger itself is used, which most likely
+	 * is a timer.
+	 *
+	 * @param currentState the current state
+	 * @param trigger the trigger
+	 * @param event the event
+	 * @return the transitions
+	 */
+	List<Transition<S, E>> getTriggerTransitions(State<S, E> currentState, Trigger<S, E> trigger, E event) {
+		List<Transition<S, E>> trans = transitionIndex.getCandidates(getActiveStateIds(currentState), event);
+		if (trans.isEmpty() && trigger != null) {
+			Transition<S, E> t = triggerToTransitionMap.get(trigger);
+			if (t != null) {
+				trans = Collections.singletonList(t);
+			}
+		}
+		return trans;
+	}
 
 	private Mono<Void> handleInitialTrans(Transition<S, E> tran, Message<E> queuedMessage) {
 		return Mono.defer(() -> {
@@ -345,64 +704,73 @@ public class ReactiveStateMachineExecutor<S, E> extends LifecycleObjectSupport i
 	}
 
 	private Mono<Void> handleTriggerlessTransitions(StateContext<S, E> context, State<S, E> state) {
-		Flux<Mono<Boolean>> monoFlux = Flux.generate((sink) -> {
-			sink.next(handleTriggerTrans(triggerlessTransitions, context != null ? context.getMessage() : null, state));
+		if (triggerlessTransitions.isEmpty()) {
+			return Mono.empty();
+		}
+		Message<E> message = context != null ? context.getMessage() : null;
+		// entering a state from a triggerless transition completes it which
+		// cascades back here, depth is tracked in reactor context
+		return Mono.deferContextual(ctx -> {
+			int depth = ctx.getOrDefault(REACTOR_CONTEXT_TRIGGERLESS_CASCADE, 0);
+			AtomicInteger fired = new AtomicInteger();
+			Flux<Mono<Boolean>> monoFlux = Flux.generate((sink) -> {
+				sink.next(Mono.defer(() -> {
+					// candidates are resolved when evaluated as every fired
+					// transition changes active states
+					State<S, E> currentState = stateMachine.getState();
+					if (currentState == null) {
+						return Mono.just(false);
+					}
+					List<Transition<S, E>> trans = transitionIndex
+							.getTriggerlessCandidates(getActiveStateIds(currentState));
+					if (trans.isEmpty()) {
+						return Mono.just(false);
+					}
+					int cascade = depth + fired.get() + 1;
+					return handleTriggerTrans(trans, message, state)
+						.flatMap(f -> {
+							if (f && fired.incrementAndGet() + depth > triggerlessCascadeLimit) {
+								StateMachineException e = new StateMachineException(
+										"Triggerless transitions exceeded cascade limit of " + triggerlessCascadeLimit);
+								// machine is left in a state of a cycle, make it visible
+								// as error may not reach a sender of an event
+								relayStateMachine.setStateMachineError(e);
+								return Mono.error(e);
+							}
+							return Mono.just(f);
+						})
+						.contextWrite(Context.of(REACTOR_CONTEXT_TRIGGERLESS_CASCADE, cascade));
+				}));
+			});
+			Flux<Boolean> flux = Flux.concat(monoFlux);
+			return flux.takeUntil(b -> !b).then();
 		});
-		Flux<Boolean> flux = Flux.concat(monoFlux);
-		return flux.takeUntil(b -> !b).then();
 	}
 
-	private final Set<Transition<S, E>> joinSyncTransitions = new HashSet<>();
-	private final Set<State<S, E>> joinSyncStates = new HashSet<>();
-
-	private Mono<Boolean> handleTriggerTrans(List<Transition<S, E>> trans, Message<E> queuedMessage) {
+	/**
+	 * Handle candidate transitions and transit max one of those.
+	 *
+	 * @param trans the candidate transitions
+	 * @param queuedMessage the message
+	 * @return Mono for completion with true, if transition happened, false otherwise
+	 */
+	Mono<Boolean> handleTriggerTrans(List<Transition<S, E>> trans, Message<E> queuedMessage) {
 		return handleTriggerTrans(trans, queuedMessage, null);
 	}
 
 	private Mono<Boolean> handleTriggerTrans(List<Transition<S, E>> trans, Message<E> queuedMessage, State<S, E> completion) {
 		return Flux.fromIterable(trans)
-			.filter(t -> {
-				State<S,E> source = t.getSource();
-				if (source == null) {
-					return false;
-				}
-				State<S,E> currentState = stateMachine.getState();
-				if (currentState == null) {
-					return false;
-				}
-				if (!StateMachineUtils.containsAtleastOne(source.getIds(), currentState.getIds())) {
-					return false;
-				}
-				if (transitionConflictPolicy != TransitionConflictPolicy.PARENT && completion != null
-							&& !source.getId().equals(completion.getId())) {
-					if (source.isOrthogonal()) {
-						return false;
-					} else if (!StateMachineUtils.isSubstate(source, completion)) {
-						return false;
-					}
-				}
-				return true;
-			})
+			.filter(t -> isTransitionEnabled(t, completion))
 			.flatMap(t -> {
 				if (StateMachineUtils.isPseudoState(t.getTarget(), PseudoStateKind.JOIN)) {
-					if (joinSyncStates.isEmpty()) {
-						List<List<State<S,E>>> joins = ((JoinPseudoState<S, E>)t.getTarget().getPseudoState()).getJoins();
-						for (List<State<S,E>> j : joins) {
-							joinSyncStates.addAll(j);
-						}
-					}
-					joinSyncTransitions.add(t);
-					boolean removed = joinSyncStates.remove(t.getSource());
-					boolean joincomplete = removed & joinSyncStates.isEmpty();
-					if (joincomplete) {
-						return Flux.fromIterable(joinSyncTransitions)
+					List<Transition<S, E>> joined = getJoinTracker((JoinPseudoState<S, E>) t.getTarget().getPseudoState())
+							.arrive(t, tt -> isTransitionEnabled(tt, null));
+					if (!joined.isEmpty()) {
+						return Flux.fromIterable(joined)
 							.flatMap(tt -> {
 								StateContext<S, E> stateContext = buildStateContext(queuedMessage, tt, relayStateMachine);
 								return tt.transit(stateContext).then(stateMachineExecutorTransit.transit(tt, stateContext, queuedMessage));
 							})
-							.doFinally(s -> {
-								joinSyncTransitions.clear();
-							})
 							.then(Mono.just(true));
 					} else {
 						return Mono.just(false);
@@ -430,21 +798,54 @@ public class ReactiveStateMachineExecutor<S, E> extends LifecycleObjectSupport i
 			.last(false);
 	}
 
-	private StateContext<S, E> buildStateContext(Message<E> message, Transition<S,E> transition, StateMachine<S, E> stateMachine) {
+	private JoinTransitionTracker<S, E> getJoinTracker(JoinPseudoState<S, E> join) {
+		return joinTrackers.computeIfAbsent(join, key -> new JoinTransitionTracker<S, E>(key));
+	}
+
+	/**
+	 * Checks if a transition can be taken from a current state of a machine.
+	 *
+	 * @param t the transition
+	 * @param completion the state which completed or {@code NULL}
+	 * @return true, if transition is enabled
+	 */
+	boolean isTransitionEnabled(Transition<S, E> t, State<S, E> completion) {
+		State<S,E> source = t.getSource();
+		if (source == null) {
+			return false;
+		}
+		State<S,E> currentState = stateMachine.getState();
+		if (currentState == null) {
+			return false;
+		}
+		Collection<S> activeIds = getActiveStateIds(currentState);
+		if (!activeIds.contains(source.getId()) && !StateMachineUtils.containsAtleastOne(source.getIds(), activeIds)) {
+			return false;
+		}
+		if (transitionConflictPolicy != TransitionConflictPolicy.PARENT && completion != null
+					&& !source.getId().equals(completion.getId())) {
+			if (source.isOrthogonal()) {
+				return false;
+			} else if (!StateMachineUtils.isSubstate(source, completion)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	StateContext<S, E> buildStateContext(Message<E> message, Transition<S,E> transition, StateMachine<S, E> stateMachine) {
 		// TODO: maybe a direct use of MessageHeaders is wring, combine
 		//       payload and headers as a message?
 
 		// add sm id to headers so that user of a StateContext can
 		// see who initiated this transition
-		MessageHeaders messageHeaders = message != null ? message.getHeaders() : new MessageHeaders(
-				new HashMap<String, Object>());
-		Map<String, Object> map = new HashMap<String, Object>(messageHeaders);
-		if (!map.containsKey(StateMachineSystemConstants.STATEMACHINE_IDENTIFIER)) {
-			// don't set sm id if it's already present because
-			// we want to keep the originating sm id
-			map.put(StateMachineSystemConstants.STATEMACHINE_IDENTIFIER, stateMachine.getUuid());
-		}
-		return new DefaultStateContext<S, E>(Stage.TRANSITION, message, new MessageHeaders(map), stateMachine.getExtendedState(), transition, stateMachine, null, null, null);
+		// don't set sm id if it's already present because
+		// we want to keep the originating sm id. headers are
+		// not copied, id is overlaid on top of existing ones.
+		MessageHeaders messageHeaders = StateContextMessageHeaders.withHeader(
+				message != null ? message.getHeaders() : null, StateMachineSystemConstants.STATEMACHINE_IDENTIFIER,
+				stateMachine.getUuid());
+		return new DefaultStateContext<S, E>(Stage.TRANSITION, message, messageHeaders, stateMachine.getExtendedState(), transition, stateMachine, null, null, null);
 	}
 
 	private void registerTriggerListener() {
@@ -456,19 +857,96 @@ public class ReactiveStateMachineExecutor<S, E> extends LifecycleObjectSupport i
 						if (log.isDebugEnabled()) {
 							log.debug("TimedTrigger triggered " + trigger);
 						}
-						Mono.just(new TriggerQueueItem(trigger, null, null, null))
-							.flatMap(tqi -> Mono.fromCallable(() -> {
-									triggerSink.emitNext(tqi, EmitFailureHandler.FAIL_FAST);
-									return null;
-								})
-								.retryWhen(Retry.fixedDelay(10, Duration.ofNanos(10))))
-							.subscribe();
+						onTimerTriggered(trigger);
 					}
 				});
 			}
 		}
 	}
 
+	/**
+	 * Called when a {@link TimerTrigger} has been triggered.
+	 *
+	 * @param trigger the trigger
+	 */
+	void onTimerTriggered(Trigger<S, E> trigger) {
+		TriggerQueueItem tqi = new TriggerQueueItem(trigger, null, null, null);
+		offerTriggerWhenAvailable(tqi, true).subscribe(queued -> {
+			if (!queued) {
+				log.warn("Dropping timer trigger " + trigger + " as mailbox is full");
+			}
+		});
+	}
+
+	/**
+	 * Gets a configuration version of a state machine this executor is working
+	 * for.
+	 *
+	 * @return the configuration version
+	 * @see AbstractStateMachine#getConfigurationVersion()
+	 */
+	long getConfigurationVersion() {
+		if (stateMachine instanceof AbstractStateMachine) {
+			return ((AbstractStateMachine<S, E>) stateMachine).getConfigurationVersion();
+		}
+		return 0;
+	}
+
+	/**
+	 * Gets active state ids of a given current state. Uses a snapshot
+	 * maintained by a state machine if supported, otherwise ids are collected
+	 * from a state.
+	 *
+	 * @param currentState the current state
+	 * @return the active state ids
+	 */
+	Collection<S> getActiveStateIds(State<S, E> currentState) {
+		if (stateMachine instanceof AbstractStateMachine) {
+			return ((AbstractStateMachine<S, E>) stateMachine).getActiveStateIds(currentState);
+		}
+		return currentState.getIds();
+	}
+
+	/**
+	 * Checks if a given configuration version is still a current one meaning
+	 * that transitions resolved with it are still valid. Always false if
+	 * versioning is not supported by a state machine.
+	 *
+	 * @param configurationVersion the configuration version
+	 * @return true, if configuration has not changed
+	 */
+	boolean isCurrentConfiguration(long configurationVersion) {
+		return stateMachine instanceof AbstractStateMachine
+				&& ((AbstractStateMachine<S, E>) stateMachine).getConfigurationVersion() == configurationVersion;
+	}
+
+	/**
+	 * Gets the deferred events.
+	 *
+	 * @return the deferred events
+	 */
+	DeferredEventStore<E> getDeferList() {
+		return deferList;
+	}
+
+	/**
+	 * Gets the state machine interceptors.
+	 *
+	 * @return the state machine interceptors
+	 */
+	StateMachineInterceptorList<S, E> getInterceptors() {
+		return interceptors;
+	}
+
+	/**
+	 * Gets the state machine executor transit.
+	 *
+	 * @return the state machine executor transit
+	 */
+	StateMachineExecutorTransit<S, E> getStateMachineExecutorTransit() {
+		return stateMachineExecutorTransit;
+	}
+
 	private Mono<Void> startTriggers() {
 		List<StateMachineReactiveLifecycle> smrl = triggerToTransitionMap.keySet().stream()
 			.filter(StateMachineReactiveLifecycle.class::isInstance)
@@ -505,12 +983,26 @@ public class ReactiveStateMachineExecutor<S, E> extends LifecycleObjectSupport i
 		Message<E> message;
 		StateMachineExecutorCallback callback;
 		StateMachineExecutorCallback triggerCallback;
+		List<Transition<S, E>> transitions;
+		long configurationVersion;
+		final ExecutorExceptionHolder errors = new ExecutorExceptionHolder();
+		final ExecutorExceptionHolder triggerErrors = new ExecutorExceptionHolder();
+		// only set for events queued as a batch
+		CompletableFuture<StateMachineEventResult<S, E>> result;
+		ResultType resultType = ResultType.DENIED;
 
 		public TriggerQueueItem(Trigger<S, E> trigger, Message<E> message, StateMachineExecutorCallback callback, StateMachineExecutorCallback triggerCallback) {
+			this(trigger, message, callback, triggerCallback, null, 0);
+		}
+
+		public TriggerQueueItem(Trigger<S, E> trigger, Message<E> message, StateMachineExecutorCallback callback,
+				StateMachineExecutorCallback triggerCallback, List<Transition<S, E>> transitions, long configurationVersion) {
 			this.trigger = trigger;
 			this.message = message;
 			this.callback = callback;
 			this.triggerCallback = triggerCallback;
+			this.transitions = transitions;
+			this.configurationVersion = configurationVersion;
 		}
 
 		@Override
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.support;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.statemachine.StateContext;
+
+/**
+ * {@link MessageHeaders} used with a {@link StateContext} which never generate
+ * an id or a timestamp and never copy existing headers. Instance either
+ * represents empty headers or a read-only view of existing headers overlaid
+ * with one extra header. Merged map is only created if headers are iterated.
+ *
+ * @author Janne Valkealahti
+ *
+ */
+@SuppressWarnings("serial")
+final class StateContextMessageHeaders extends MessageHeaders {
+
+	/**
+	 * Shared immutable empty headers.
+	 */
+	static final MessageHeaders EMPTY = new StateContextMessageHeaders(null, null, null);
+
+	private final MessageHeaders headers;
+	private final String key;
+	private final Object value;
+	private volatile Map<String, Object> merged;
+
+	private StateContextMessageHeaders(MessageHeaders headers, String key, Object value) {
+		super(null, ID_VALUE_NONE, -1L);
+		this.headers = headers;
+		this.key = key;
+		this.value = value;
+	}
+
+	/**
+	 * Get headers having a given header. Given headers are returned as is if
+	 * header already exists, otherwise a view adding the header is returned.
+	 *
+	 * @param headers the headers, may be null
+	 * @param key the header key
+	 * @param value the header value
+	 * @return the headers having a given header
+	 */
+	static MessageHeaders withHeader(MessageHeaders headers, String key, Object value) {
+		if (headers != null && headers.containsKey(key)) {
+			return headers;
+		}
+		return new StateContextMessageHeaders(headers, key, value);
+	}
+
+	@Override
+	public Object get(Object key) {
+		if (this.key != null && this.key.equals(key)) {
+			return value;
+		}
+		return headers != null ? headers.get(key) : null;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T get(Object key, Class<T> type) {
+		Object value = get(key);
+		if (value == null) {
+			return null;
+		}
+		if (!type.isAssignableFrom(value.getClass())) {
+			throw new IllegalArgumentException("Incorrect type specified for header '" + key + "'. Expected [" + type
+					+ "] but actual type is [" + value.getClass() + "]");
+		}
+		return (T) value;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return (this.key != null && this.key.equals(key)) || (headers != null && headers.containsKey(key));
+	}
+
+	@Override
+	public boolean containsValue(Object value) {
+		return getMerged().containsValue(value);
+	}
+
+	@Override
+	public int size() {
+		return (headers != null ? headers.size() : 0) + (key != null ? 1 : 0);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	@Override
+	public Set<String> keySet() {
+		return getMerged().keySet();
+	}
+
+	@Override
+	public Collection<Object> values() {
+		return getMerged().values();
+	}
+
+	@Override
+	public Set<Map.Entry<String, Object>> entrySet() {
+		return getMerged().entrySet();
+	}
+
+	@Override
+	protected Map<String, Object> getRawHeaders() {
+		return getMerged();
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		return this == other || (other instanceof MessageHeaders && getMerged().equals(other));
+	}
+
+	@Override
+	public int hashCode() {
+		return getMerged().hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return getMerged().toString();
+	}
+
+	private Map<String, Object> getMerged() {
+		Map<String, Object> map = merged;
+		if (map == null) {
+			if (headers == null && key == null) {
+				map = Collections.emptyMap();
+			} else {
+				map = new HashMap<String, Object>(size());
+				if (headers != null) {
+					map.putAll(headers);
+				}
+				if (key != null) {
+					map.put(key, value);
+				}
+				map = Collections.unmodifiableMap(map);
+			}
+			merged = map;
+		}
+		return map;
+	}
+
+	private Object writeReplace() {
+		// serialise as plain headers as this is only a view
+		return new MessageHeaders(getMerged());
+	}
+}
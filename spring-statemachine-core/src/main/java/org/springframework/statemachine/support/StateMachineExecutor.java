@@ -15,6 +15,7 @@
  */
 package org.springframework.statemachine.support;
 
+import java.util.List;
 import java.util.function.Consumer;
 
 import org.springframework.messaging.Message;
@@ -46,6 +47,24 @@ public interface StateMachineExecutor<S, E> extends StateMachineReactiveLifecycl
 	 */
 	Mono<Void> queueEvent(Mono<Message<E>> message, StateMachineExecutorCallback callback);
 
+	/**
+	 * Queue event with transitions already resolved for it. Resolved
+	 * transitions can be used as is if configuration version is still
+	 * the same when event is executed, otherwise transitions are resolved
+	 * again. Default implementation ignores resolved transitions.
+	 *
+	 * @param message the message
+	 * @param callback the executor callback
+	 * @param transitions the resolved transitions
+	 * @param configurationVersion the configuration version transitions were resolved with
+	 * @return completion when event is queued
+	 * @see AbstractStateMachine#getConfigurationVersion()
+	 */
+	default Mono<Void> queueEvent(Mono<Message<E>> message, StateMachineExecutorCallback callback,
+			List<Transition<S, E>> transitions, long configurationVersion) {
+		return queueEvent(message, callback);
+	}
+
 	/**
 	 * Queue deferred event.
 	 *
@@ -53,6 +72,12 @@ public interface StateMachineExecutor<S, E> extends StateMachineReactiveLifecycl
 	 */
 	void queueDeferredEvent(Message<E> message);
 
+	/**
+	 * Clear all deferred events.
+	 */
+	default void clearDeferredEvents() {
+	}
+
 	/**
 	 * Execute and check all triggerless transitions.
 	 *
@@ -91,6 +116,14 @@ public interface StateMachineExecutor<S, E> extends StateMachineReactiveLifecycl
 	 */
 	void addStateMachineInterceptor(StateMachineInterceptor<S, E> interceptor);
 
+	/**
+	 * Removes the state machine interceptor.
+	 *
+	 * @param interceptor the interceptor
+	 */
+	default void removeStateMachineInterceptor(StateMachineInterceptor<S, E> interceptor) {
+	}
+
 	/**
 	 * Callback interface when executor wants to handle transit.
 	 */
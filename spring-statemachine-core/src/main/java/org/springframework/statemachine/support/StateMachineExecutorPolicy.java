@@ -0,0 +1,37 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.support;
+
+/**
+ * Enumerations for possible {@link StateMachineExecutor} policies.
+ *
+ * @author Janne Valkealahti
+ *
+ */
+public enum StateMachineExecutorPolicy {
+
+	/**
+	 * Policy executing events with a {@link ReactiveStateMachineExecutor}.
+	 */
+	REACTIVE,
+
+	/**
+	 * Policy executing events on a calling thread by blocking on a reactive
+	 * execution of a transition, meant for machines having only synchronous
+	 * actions and guards.
+	 */
+	SYNCHRONOUS
+}
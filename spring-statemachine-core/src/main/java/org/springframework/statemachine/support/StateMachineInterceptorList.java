@@ -15,6 +15,7 @@
  */
 package org.springframework.statemachine.support;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -61,6 +62,15 @@ public class StateMachineInterceptorList<S, E> {
 		return interceptors.add(interceptor);
 	}
 
+	/**
+	 * Gets a copy of the interceptors in the list.
+	 *
+	 * @return the interceptors
+	 */
+	public List<StateMachineInterceptor<S, E>> getInterceptors() {
+		return new ArrayList<>(interceptors);
+	}
+
 	/**
 	 * Removes interceptor from the list.
 	 *
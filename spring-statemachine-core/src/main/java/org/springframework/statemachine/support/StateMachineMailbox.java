@@ -0,0 +1,278 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.support;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.springframework.util.Assert;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.util.concurrent.Queues;
+
+/**
+ * Bounded multi-producer single-consumer mailbox used by a
+ * {@link StateMachineExecutor} to queue items for a processing. Capacity is
+ * enforced independently of a backing {@link Queue} so that an unbounded
+ * lock-free queue can be plugged in, by default a Reactor's
+ * {@link Queues#unboundedMultiproducer() multi-producer queue} is used. What
+ * happens when a mailbox is full is defined by a
+ * {@link MailboxOverflowPolicy}.
+ * <p>
+ * No method blocks a calling thread. With {@link MailboxOverflowPolicy#BLOCK}
+ * {@link #offer(Object, Consumer)} rejects an item if mailbox is full and
+ * {@link #offerWhenAvailable(Object, Consumer)} should be used to wait for a
+ * space. With {@link MailboxOverflowPolicy#DROP_OLDEST} items are evicted by
+ * producers, thus a default queue supports concurrent consumers and a plugged
+ * in queue needs to do the same.
+ *
+ * @author Janne Valkealahti
+ *
+ * @param <T> the type of item
+ */
+public class StateMachineMailbox<T> {
+
+	private final Queue<T> queue;
+	private final int capacity;
+	private final MailboxOverflowPolicy overflowPolicy;
+	private final AtomicInteger depth = new AtomicInteger();
+	private final AtomicLong overflowCount = new AtomicLong();
+	private final Queue<Waiter<T>> waiters = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * Instantiates a new state machine mailbox with a default queue.
+	 *
+	 * @param capacity the capacity
+	 * @param overflowPolicy the overflow policy
+	 */
+	public StateMachineMailbox(int capacity, MailboxOverflowPolicy overflowPolicy) {
+		this(capacity, overflowPolicy, overflowPolicy == MailboxOverflowPolicy.DROP_OLDEST
+				? new ConcurrentLinkedQueue<T>() : Queues.<T>unboundedMultiproducer().get());
+	}
+
+	/**
+	 * Instantiates a new state machine mailbox. Given queue needs to be safe for
+	 * concurrent producers and a single consumer, and for concurrent consumers
+	 * with {@link MailboxOverflowPolicy#DROP_OLDEST}.
+	 *
+	 * @param capacity the capacity
+	 * @param overflowPolicy the overflow policy
+	 * @param queue the backing queue
+	 */
+	public StateMachineMailbox(int capacity, MailboxOverflowPolicy overflowPolicy, Queue<T> queue) {
+		Assert.isTrue(capacity > 0, "Capacity must be greater than zero");
+		Assert.notNull(overflowPolicy, "Overflow policy must be set");
+		Assert.notNull(queue, "Queue must be set");
+		this.capacity = capacity;
+		this.overflowPolicy = overflowPolicy;
+		this.queue = queue;
+	}
+
+	/**
+	 * Offer an item into a mailbox without blocking. If mailbox is full,
+	 * outcome depends on {@link MailboxOverflowPolicy}. With
+	 * {@link MailboxOverflowPolicy#DROP_OLDEST} an evicted item is passed to a
+	 * given consumer and with {@link MailboxOverflowPolicy#BLOCK} an item is
+	 * rejected.
+	 *
+	 * @param item the item
+	 * @param evicted the consumer for evicted items
+	 * @return true, if item was queued
+	 */
+	public boolean offer(T item, Consumer<? super T> evicted) {
+		if (!acquire(evicted)) {
+			overflowCount.incrementAndGet();
+			return false;
+		}
+		return enqueue(item);
+	}
+
+	/**
+	 * Offer an item into a mailbox waiting for a space without blocking a
+	 * thread. Items waiting for a space are queued in an order they were
+	 * offered. Waiting only happens with {@link MailboxOverflowPolicy#BLOCK},
+	 * with other policies this is same as {@link #offer(Object, Consumer)}.
+	 *
+	 * @param item the item
+	 * @param evicted the consumer for evicted items
+	 * @return Mono completing with true when item was queued, false if it was
+	 *         rejected
+	 */
+	public Mono<Boolean> offerWhenAvailable(T item, Consumer<? super T> evicted) {
+		if (overflowPolicy != MailboxOverflowPolicy.BLOCK) {
+			return Mono.fromSupplier(() -> offer(item, evicted));
+		}
+		return Mono.create(sink -> {
+			Waiter<T> waiter = new Waiter<>(item, sink);
+			sink.onCancel(() -> {
+				if (waiter.claimed.compareAndSet(false, true)) {
+					waiters.remove(waiter);
+				}
+			});
+			waiters.offer(waiter);
+			releaseWaiters();
+		});
+	}
+
+	/**
+	 * Poll the oldest item from a mailbox.
+	 *
+	 * @return the item or null if mailbox is empty
+	 */
+	public T poll() {
+		T item = queue.poll();
+		if (item != null) {
+			depth.decrementAndGet();
+			if (!waiters.isEmpty()) {
+				releaseWaiters();
+			}
+		}
+		return item;
+	}
+
+	/**
+	 * Checks if mailbox is empty.
+	 *
+	 * @return true, if mailbox is empty
+	 */
+	public boolean isEmpty() {
+		return queue.isEmpty();
+	}
+
+	/**
+	 * Gets the current depth of a mailbox.
+	 *
+	 * @return the depth
+	 */
+	public int getDepth() {
+		return depth.get();
+	}
+
+	/**
+	 * Gets the capacity.
+	 *
+	 * @return the capacity
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Gets the overflow policy.
+	 *
+	 * @return the overflow policy
+	 */
+	public MailboxOverflowPolicy getOverflowPolicy() {
+		return overflowPolicy;
+	}
+
+	/**
+	 * Gets the total count of items which have overflowed a mailbox, either
+	 * by being evicted, dropped or rejected.
+	 *
+	 * @return the overflow count
+	 */
+	public long getOverflowCount() {
+		return overflowCount.get();
+	}
+
+	private boolean tryAcquire() {
+		for (;;) {
+			int current = depth.get();
+			if (current >= capacity) {
+				return false;
+			}
+			if (depth.compareAndSet(current, current + 1)) {
+				return true;
+			}
+		}
+	}
+
+	private boolean acquire(Consumer<? super T> evicted) {
+		if (overflowPolicy == MailboxOverflowPolicy.BLOCK && !waiters.isEmpty()) {
+			// don't overtake items already waiting for a space
+			return false;
+		}
+		if (tryAcquire()) {
+			return true;
+		}
+		if (overflowPolicy == MailboxOverflowPolicy.DROP_OLDEST) {
+			T oldest = queue.poll();
+			if (oldest != null) {
+				// new item takes over a space of an evicted one
+				overflowCount.incrementAndGet();
+				evicted.accept(oldest);
+				return true;
+			}
+			// space is taken by items not yet in a queue
+			return tryAcquire();
+		}
+		return false;
+	}
+
+	private boolean enqueue(T item) {
+		if (!queue.offer(item)) {
+			// plugged in queue was bounded below our capacity
+			depth.decrementAndGet();
+			overflowCount.incrementAndGet();
+			return false;
+		}
+		return true;
+	}
+
+	private void releaseWaiters() {
+		// called both by a waiter and a consumer so a space freed while
+		// a waiter was being added is never missed
+		Waiter<T> waiter;
+		while ((waiter = waiters.peek()) != null) {
+			if (waiter.claimed.get()) {
+				waiters.remove(waiter);
+				continue;
+			}
+			if (!tryAcquire()) {
+				return;
+			}
+			if (!waiters.remove(waiter) || !waiter.claimed.compareAndSet(false, true)) {
+				// taken by a concurrent release or cancelled
+				depth.decrementAndGet();
+				continue;
+			}
+			waiter.sink.success(enqueue(waiter.item));
+		}
+	}
+
+	private static class Waiter<T> {
+		final T item;
+		final MonoSink<Boolean> sink;
+		final AtomicBoolean claimed = new AtomicBoolean();
+
+		Waiter(T item, MonoSink<Boolean> sink) {
+			this.item = item;
+			this.sink = sink;
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "StateMachineMailbox [capacity=" + capacity + ", overflowPolicy=" + overflowPolicy + ", depth="
+				+ getDepth() + "]";
+	}
+}
@@ -25,17 +25,21 @@ import org.springframework.beans.factory.BeanNameAware;
 import org.springframework.core.OrderComparator;
 import org.springframework.messaging.Message;
 import org.springframework.statemachine.StateContext;
+import org.springframework.statemachine.StateContext.Stage;
 import org.springframework.statemachine.StateMachine;
 import org.springframework.statemachine.event.StateMachineEventPublisher;
 import org.springframework.statemachine.listener.CompositeStateMachineListener;
+import org.springframework.statemachine.listener.StageSubscription;
 import org.springframework.statemachine.listener.StateMachineListener;
 import org.springframework.statemachine.monitor.CompositeStateMachineMonitor;
 import org.springframework.statemachine.processor.StateMachineHandlerCallHelper;
+import org.springframework.statemachine.region.Region;
 import org.springframework.statemachine.state.State;
 import org.springframework.statemachine.transition.Transition;
 import org.springframework.util.Assert;
 
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 /**
  * Support and helper class for base state machine implementation.
@@ -135,6 +139,22 @@ public abstract class StateMachineObjectSupport<S, E> extends LifecycleObjectSup
 		return stateMachineMonitor;
 	}
 
+	/**
+	 * Checks if anyone is subscribed to a given notification {@link Stage}, thus
+	 * if it's worth building a {@link StateContext} for it. Stage is subscribed if
+	 * there are listeners or annotated handlers for it or if application context
+	 * events are enabled and published.
+	 *
+	 * @param stage the stage
+	 * @return true, if stage is subscribed
+	 */
+	protected boolean isStageSubscribed(Stage stage) {
+		if (stateListener.isSubscribed(stage) || stateMachineHandlerCallHelper.hasHandlers(stage)) {
+			return true;
+		}
+		return contextEventsEnabled && getStateMachineEventPublisher() != null;
+	}
+
 	protected void notifyStateChanged(StateContext<S, E> stateContext) {
 		try {
 			stateMachineHandlerCallHelper.callOnStateChanged(getBeanName(), stateContext);
@@ -339,6 +359,22 @@ public abstract class StateMachineObjectSupport<S, E> extends LifecycleObjectSup
 		}
 	}
 
+	protected void notifySchedulerMonitor(StateMachine<S, E> stateMachine, Scheduler scheduler, int active, int queued) {
+		try {
+			stateMachineMonitor.scheduler(stateMachine, scheduler, active, queued);
+		} catch (Exception e) {
+			log.warn("Error during notifySchedulerMonitor", e);
+		}
+	}
+
+	protected void notifyRegionMonitor(StateMachine<S, E> stateMachine, Region<S, E> region, long duration) {
+		try {
+			stateMachineMonitor.region(stateMachine, region, duration);
+		} catch (Exception e) {
+			log.warn("Error during notifyRegionMonitor", e);
+		}
+	}
+
 	protected StateMachineInterceptorList<S, E> getStateMachineInterceptors() {
 		return interceptors;
 	}
@@ -353,7 +389,12 @@ public abstract class StateMachineObjectSupport<S, E> extends LifecycleObjectSup
 	 * as its own listener context. User only connects to main root machine and
 	 * expects to get events for all machines from there.
 	 */
-	protected class StateMachineListenerRelay implements StateMachineListener<S,E> {
+	protected class StateMachineListenerRelay implements StateMachineListener<S,E>, StageSubscription {
+
+		@Override
+		public boolean isSubscribed(Stage stage) {
+			return stateListener.isSubscribed(stage);
+		}
 
 		@Override
 		public void stateChanged(State<S, E> from, State<S, E> to) {
@@ -17,15 +17,21 @@ package org.springframework.statemachine.support;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 
 import org.springframework.statemachine.StateContext;
 import org.springframework.statemachine.StateMachineMessageHeaders;
 import org.springframework.statemachine.StateMachineSystemConstants;
+import org.springframework.statemachine.region.Region;
+import org.springframework.statemachine.state.AbstractSimpleState;
 import org.springframework.statemachine.state.PseudoState;
 import org.springframework.statemachine.state.PseudoStateKind;
+import org.springframework.statemachine.state.RegionState;
 import org.springframework.statemachine.state.State;
+import org.springframework.statemachine.state.StateMachineState;
 import org.springframework.statemachine.support.StateMachineExecutor.ExecutorExceptionHolder;
 import org.springframework.util.ObjectUtils;
 
@@ -49,12 +55,78 @@ public abstract class StateMachineUtils {
 	 * @return if sub is child of super
 	 */
 	public static <S, E> boolean isSubstate(State<S, E> left, State<S, E> right) {
-		if (left == null) {
+		if (left == null || right == null || left == right) {
 			return false;
 		}
-		Collection<State<S, E>> c = left.getStates();
-		c.remove(left);
-		return c.contains(right);
+		return containsSubstate(left, right);
+	}
+
+	private static <S, E> boolean containsSubstate(State<S, E> parent, State<S, E> state) {
+		// walk known state types directly instead of collecting
+		// all nested states via State#getStates()
+		if (parent instanceof AbstractSimpleState) {
+			return false;
+		} else if (parent instanceof StateMachineState) {
+			return containsSubstate(((StateMachineState<S, E>) parent).getSubmachine().getStates(), state);
+		} else if (parent instanceof RegionState) {
+			for (Region<S, E> region : ((RegionState<S, E>) parent).getRegions()) {
+				if (containsSubstate(region.getStates(), state)) {
+					return true;
+				}
+			}
+			return false;
+		}
+		Collection<State<S, E>> c = parent.getStates();
+		c.remove(parent);
+		return c.contains(state);
+	}
+
+	private static <S, E> boolean containsSubstate(Collection<State<S, E>> states, State<S, E> state) {
+		for (State<S, E> s : states) {
+			if (state.equals(s) || containsSubstate(s, state)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Collects all states nested within a given state, meaning every state
+	 * for which {@link #isSubstate(State, State)} is true when a given state
+	 * is a super state.
+	 *
+	 * @param <S> the type of state
+	 * @param <E> the type of event
+	 * @param state the super state
+	 * @return the nested states
+	 */
+	static <S, E> Set<State<S, E>> getSubstates(State<S, E> state) {
+		Set<State<S, E>> substates = new HashSet<>();
+		collectSubstates(state, substates);
+		substates.remove(state);
+		return substates;
+	}
+
+	private static <S, E> void collectSubstates(State<S, E> parent, Set<State<S, E>> substates) {
+		if (parent instanceof AbstractSimpleState) {
+			return;
+		} else if (parent instanceof StateMachineState) {
+			collectSubstates(((StateMachineState<S, E>) parent).getSubmachine().getStates(), substates);
+		} else if (parent instanceof RegionState) {
+			for (Region<S, E> region : ((RegionState<S, E>) parent).getRegions()) {
+				collectSubstates(region.getStates(), substates);
+			}
+		} else {
+			substates.addAll(parent.getStates());
+		}
+	}
+
+	private static <S, E> void collectSubstates(Collection<State<S, E>> states, Set<State<S, E>> substates) {
+		for (State<S, E> s : states) {
+			if (substates.add(s)) {
+				collectSubstates(s, substates);
+			}
+		}
 	}
 
 	/**
@@ -16,9 +16,13 @@
 package org.springframework.statemachine.support;
 
 import java.util.Comparator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.springframework.statemachine.state.State;
 import org.springframework.statemachine.transition.Transition;
 import org.springframework.statemachine.transition.TransitionConflictPolicy;
 
@@ -35,6 +39,9 @@ class TransitionComparator<S, E> implements Comparator<Transition<S, E>> {
 
 	private final static Log log = LogFactory.getLog(TransitionComparator.class);
 	private final TransitionConflictPolicy transitionConflictPolicy;
+	// machine structure doesn't change, thus nested states of a transition
+	// source are collected once instead of walking them on every compare
+	private final Map<State<S, E>, Set<State<S, E>>> substates = new ConcurrentHashMap<>();
 
 	/**
 	 * Instantiates a new transition comparator.
@@ -53,7 +60,7 @@ class TransitionComparator<S, E> implements Comparator<Transition<S, E>> {
 		if (left == right) {
 			return 0;
 		} else {
-			boolean substate = StateMachineUtils.isSubstate(left.getSource(), right.getSource());
+			boolean substate = isSubstate(left.getSource(), right.getSource());
 			if (transitionConflictPolicy == TransitionConflictPolicy.CHILD) {
 				return substate ? 1 : -1;
 			} else {
@@ -62,6 +69,13 @@ class TransitionComparator<S, E> implements Comparator<Transition<S, E>> {
 		}
 	}
 
+	private boolean isSubstate(State<S, E> left, State<S, E> right) {
+		if (left == null || right == null || left == right) {
+			return false;
+		}
+		return substates.computeIfAbsent(left, StateMachineUtils::getSubstates).contains(right);
+	}
+
 	@Override
 	public String toString() {
 		return "TransitionComparator [transitionConflightPolicy=" + transitionConflictPolicy + "]";
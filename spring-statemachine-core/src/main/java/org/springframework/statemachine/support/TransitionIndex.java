@@ -0,0 +1,362 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.support;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.springframework.statemachine.state.State;
+import org.springframework.statemachine.transition.Transition;
+import org.springframework.statemachine.transition.TransitionConflictPolicy;
+import org.springframework.statemachine.trigger.EventTrigger;
+import org.springframework.statemachine.trigger.TimerTrigger;
+import org.springframework.statemachine.trigger.Trigger;
+import org.springframework.statemachine.trigger.TriggerContext;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Immutable dispatch index of a machine's {@link Transition}s keyed by an event
+ * and a source state id. Index is built once when machine is initialised so
+ * that resolving candidate transitions for an event only depends on a depth of
+ * an active state and not on a number of transitions in a machine. Candidates
+ * for a single source state are kept in their definition order and only
+ * candidates from multiple levels of a state hierarchy are sorted with a
+ * {@link TransitionComparator}.
+ * <p>
+ * Triggerless transitions are grouped by their source state id so that only
+ * transitions leaving an active state are evaluated when a state completes.
+ * <p>
+ * If all indexed states and events are enums, an index using ordinal based
+ * lookup tables is returned from {@link #of(Collection, TransitionConflictPolicy)}.
+ *
+ * @author Janne Valkealahti
+ *
+ * @param <S> the type of state
+ * @param <E> the type of event
+ */
+public class TransitionIndex<S, E> {
+
+	private static final Mono<Boolean> MATCHED = Mono.just(true);
+	private final Map<E, Map<S, List<Transition<S, E>>>> index;
+	private final List<Transition<S, E>> unindexed;
+	private final Map<S, List<Transition<S, E>>> triggerless;
+	private final TransitionComparator<S, E> transitionComparator;
+
+	/**
+	 * Instantiates a new transition index.
+	 *
+	 * @param index the event to state id to transitions mappings
+	 * @param unindexed the transitions which cannot be indexed by an event
+	 * @param triggerless the state id to triggerless transitions mappings
+	 * @param transitionComparator the transition comparator
+	 */
+	TransitionIndex(Map<E, Map<S, List<Transition<S, E>>>> index, List<Transition<S, E>> unindexed,
+			Map<S, List<Transition<S, E>>> triggerless, TransitionComparator<S, E> transitionComparator) {
+		this.index = index;
+		this.unindexed = unindexed;
+		this.triggerless = triggerless;
+		this.transitionComparator = transitionComparator;
+	}
+
+	/**
+	 * Builds a {@link TransitionIndex} from a given transitions.
+	 *
+	 * @param <S> the type of state
+	 * @param <E> the type of event
+	 * @param transitions the transitions
+	 * @param transitionConflictPolicy the transition conflict policy
+	 * @return the transition index
+	 */
+	public static <S, E> TransitionIndex<S, E> of(Collection<Transition<S, E>> transitions,
+			TransitionConflictPolicy transitionConflictPolicy) {
+		TransitionComparator<S, E> transitionComparator = new TransitionComparator<S, E>(transitionConflictPolicy);
+		Map<E, Map<S, List<Transition<S, E>>>> index = new HashMap<>();
+		List<Transition<S, E>> unindexed = new ArrayList<>();
+		Map<S, List<Transition<S, E>>> triggerless = new HashMap<>();
+		if (transitions != null) {
+			for (Transition<S, E> transition : transitions) {
+				Trigger<S, E> trigger = transition.getTrigger();
+				State<S, E> source = transition.getSource();
+				if (source == null) {
+					continue;
+				}
+				if (trigger == null) {
+					triggerless.computeIfAbsent(source.getId(), s -> new ArrayList<>()).add(transition);
+					continue;
+				}
+				E event = trigger.getEvent();
+				if (event != null) {
+					index.computeIfAbsent(event, e -> new HashMap<>())
+						.computeIfAbsent(source.getId(), s -> new ArrayList<>())
+						.add(transition);
+				} else if (!(trigger instanceof TimerTrigger)) {
+					// timer triggers never match an event, other custom
+					// triggers without event needs to be evaluated as is.
+					unindexed.add(transition);
+				}
+			}
+		}
+		for (Map<S, List<Transition<S, E>>> bySource : index.values()) {
+			for (Entry<S, List<Transition<S, E>>> entry : bySource.entrySet()) {
+				entry.setValue(Collections.unmodifiableList(entry.getValue()));
+			}
+		}
+		for (Entry<S, List<Transition<S, E>>> entry : triggerless.entrySet()) {
+			entry.setValue(Collections.unmodifiableList(entry.getValue()));
+		}
+		if (EnumTransitionIndex.supports(index)) {
+			return new EnumTransitionIndex<S, E>(index, Collections.unmodifiableList(unindexed), triggerless,
+					transitionComparator);
+		}
+		return new TransitionIndex<S, E>(index, Collections.unmodifiableList(unindexed), triggerless,
+				transitionComparator);
+	}
+
+	/**
+	 * Evaluates a trigger of a candidate returned from
+	 * {@link #getCandidates(Collection, Object)}. As candidates are resolved by
+	 * an event, plain {@link EventTrigger}s are already known to match and
+	 * evaluation is skipped.
+	 *
+	 * @param <S> the type of state
+	 * @param <E> the type of event
+	 * @param transition the candidate transition
+	 * @param triggerContext the trigger context
+	 * @return Mono for completion with true, if trigger is fired, false otherwise
+	 */
+	public static <S, E> Mono<Boolean> evaluateCandidate(Transition<S, E> transition, TriggerContext<S, E> triggerContext) {
+		Trigger<S, E> trigger = transition.getTrigger();
+		if (trigger.getClass() == EventTrigger.class) {
+			return MATCHED;
+		}
+		return Mono.from(trigger.evaluate(triggerContext));
+	}
+
+	/**
+	 * Synchronous variant of {@link #evaluateCandidate(Transition, TriggerContext)}.
+	 *
+	 * @param <S> the type of state
+	 * @param <E> the type of event
+	 * @param transition the candidate transition
+	 * @param triggerContext the trigger context
+	 * @return true, if trigger is fired, false otherwise
+	 */
+	public static <S, E> boolean evaluateCandidateSynchronously(Transition<S, E> transition,
+			TriggerContext<S, E> triggerContext) {
+		Trigger<S, E> trigger = transition.getTrigger();
+		if (trigger.getClass() == EventTrigger.class) {
+			return true;
+		}
+		return trigger.evaluateSynchronously(triggerContext);
+	}
+
+	/**
+	 * Finds a first transition which trigger is fired by evaluating triggers
+	 * synchronously. Indexed candidates are evaluated before unindexed ones.
+	 *
+	 * @param <S> the type of state
+	 * @param <E> the type of event
+	 * @param candidates the candidate transitions
+	 * @param unindexed the unindexed candidate transitions
+	 * @param triggerContext the trigger context
+	 * @return the transition or {@code NULL} if no trigger fired
+	 */
+	public static <S, E> Transition<S, E> findFiredSynchronously(List<Transition<S, E>> candidates,
+			List<Transition<S, E>> unindexed, TriggerContext<S, E> triggerContext) {
+		for (Transition<S, E> transition : candidates) {
+			if (evaluateCandidateSynchronously(transition, triggerContext)) {
+				return transition;
+			}
+		}
+		for (Transition<S, E> transition : unindexed) {
+			if (transition.getTrigger().evaluateSynchronously(triggerContext)) {
+				return transition;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Merges a fired transition into candidates resolved for an event. A fired
+	 * transition is not among candidates if it came from
+	 * {@link #getUnindexedCandidates(Collection)} and it's then added after
+	 * candidates as unindexed transitions are evaluated last.
+	 *
+	 * @param <S> the type of state
+	 * @param <E> the type of event
+	 * @param candidates the candidate transitions
+	 * @param fired the fired transition
+	 * @return the transitions to handle
+	 */
+	public static <S, E> List<Transition<S, E>> mergeFired(List<Transition<S, E>> candidates, Transition<S, E> fired) {
+		if (candidates.isEmpty()) {
+			return Collections.singletonList(fired);
+		}
+		if (candidates.contains(fired)) {
+			return candidates;
+		}
+		List<Transition<S, E>> merged = new ArrayList<>(candidates.size() + 1);
+		merged.addAll(candidates);
+		merged.add(fired);
+		return merged;
+	}
+
+	/**
+	 * Gets sorted candidate transitions for an event with given active state
+	 * ids. State ids are expected to be in an order returned from
+	 * {@link State#getIds()} meaning deepest state is last.
+	 *
+	 * @param stateIds the active state ids
+	 * @param event the event
+	 * @return the candidate transitions, empty if none found
+	 */
+	public List<Transition<S, E>> getCandidates(Collection<S> stateIds, E event) {
+		if (event == null || stateIds == null || !hasEvent(event)) {
+			return Collections.emptyList();
+		}
+		return mergeCandidates(stateIds, event);
+	}
+
+	/**
+	 * Gets sorted triggerless transitions leaving given active state ids.
+	 * State ids are expected to be in an order returned from
+	 * {@link State#getIds()} meaning deepest state is last.
+	 *
+	 * @param stateIds the active state ids
+	 * @return the triggerless candidate transitions, empty if none found
+	 */
+	public List<Transition<S, E>> getTriggerlessCandidates(Collection<S> stateIds) {
+		if (triggerless.isEmpty() || stateIds == null) {
+			return Collections.emptyList();
+		}
+		return mergeCandidates(stateIds, null);
+	}
+
+	/**
+	 * Checks if this index has any triggerless transitions.
+	 *
+	 * @return true, if there are triggerless transitions
+	 */
+	public boolean hasTriggerless() {
+		return !triggerless.isEmpty();
+	}
+
+	/**
+	 * Checks if this index has any candidate transitions for an event with
+	 * given active state ids.
+	 *
+	 * @param stateIds the active state ids
+	 * @param event the event
+	 * @return true, if there are candidates
+	 */
+	public boolean hasCandidates(Collection<S> stateIds, E event) {
+		if (event == null || stateIds == null || !hasEvent(event)) {
+			return false;
+		}
+		for (S id : stateIds) {
+			if (getStateCandidates(id, event) != null) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Checks if any transition is indexed for an event.
+	 *
+	 * @param event the event
+	 * @return true, if event is known to this index
+	 */
+	protected boolean hasEvent(E event) {
+		return index.containsKey(event);
+	}
+
+	/**
+	 * Gets candidate transitions for a single state id and event.
+	 *
+	 * @param stateId the state id
+	 * @param event the event
+	 * @return the candidate transitions or {@code NULL} if none found
+	 */
+	protected List<Transition<S, E>> getStateCandidates(S stateId, E event) {
+		Map<S, List<Transition<S, E>>> bySource = index.get(event);
+		return bySource != null ? bySource.get(stateId) : null;
+	}
+
+	/**
+	 * Gets transitions which have a trigger without an event and which
+	 * source matches with given active state ids. These transitions cannot
+	 * be indexed and their triggers needs to be evaluated as is.
+	 *
+	 * @param stateIds the active state ids
+	 * @return the unindexed candidate transitions, empty if none found
+	 */
+	public List<Transition<S, E>> getUnindexedCandidates(Collection<S> stateIds) {
+		if (unindexed.isEmpty() || stateIds == null) {
+			return Collections.emptyList();
+		}
+		List<Transition<S, E>> candidates = new ArrayList<>();
+		for (Transition<S, E> transition : unindexed) {
+			if (StateMachineUtils.containsAtleastOne(transition.getSource().getIds(), stateIds)) {
+				candidates.add(transition);
+			}
+		}
+		return candidates;
+	}
+
+	private List<Transition<S, E>> mergeCandidates(Collection<S> stateIds, E event) {
+		List<S> ids = stateIds instanceof List ? (List<S>) stateIds : new ArrayList<S>(stateIds);
+		List<Transition<S, E>> found = null;
+		List<Transition<S, E>> merged = null;
+		// go up from substates as child transitions are resolved first
+		for (int i = ids.size() - 1; i >= 0; i--) {
+			List<Transition<S, E>> candidates = event != null ? getStateCandidates(ids.get(i), event)
+					: triggerless.get(ids.get(i));
+			if (candidates == null || candidates == found) {
+				continue;
+			}
+			if (found == null) {
+				found = candidates;
+			} else {
+				if (merged == null) {
+					merged = new ArrayList<>(found);
+				}
+				for (Transition<S, E> candidate : candidates) {
+					if (!merged.contains(candidate)) {
+						merged.add(candidate);
+					}
+				}
+			}
+		}
+		if (merged != null) {
+			merged.sort(transitionComparator);
+			return merged;
+		}
+		return found != null ? found : Collections.emptyList();
+	}
+
+	@Override
+	public String toString() {
+		return "TransitionIndex [events=" + index.keySet() + ", unindexed=" + unindexed.size() + ", triggerless="
+				+ triggerless.size() + "]";
+	}
+}
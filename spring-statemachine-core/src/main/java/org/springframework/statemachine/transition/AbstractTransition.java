@@ -23,6 +23,8 @@ import org.apache.commons.logging.LogFactory;
 import org.springframework.statemachine.StateContext;
 import org.springframework.statemachine.action.ActionListener;
 import org.springframework.statemachine.action.CompositeActionListener;
+import org.springframework.statemachine.guard.Guard;
+import org.springframework.statemachine.guard.Guards;
 import org.springframework.statemachine.security.SecurityRule;
 import org.springframework.statemachine.state.State;
 import org.springframework.statemachine.trigger.Trigger;
@@ -117,6 +119,23 @@ public abstract class AbstractTransition<S, E> implements Transition<S, E> {
 		return Mono.just(true);
 	}
 
+	@Override
+	public boolean transitSynchronously(StateContext<S, E> context) {
+		if (guard == null) {
+			return true;
+		}
+		Guard<S, E> syncGuard = Guards.toGuard(guard);
+		if (syncGuard == null) {
+			return Transition.super.transitSynchronously(context);
+		}
+		try {
+			return syncGuard.evaluate(context);
+		} catch (Throwable e) {
+			log.warn("Deny guard due to throw as GUARD should not error", e);
+			return false;
+		}
+	}
+
 	@Override
 	public Function<StateContext<S, E>, Mono<Boolean>> getGuard() {
 		return guard;
@@ -45,6 +45,18 @@ public interface Transition<S, E> {
 	 */
 	Mono<Boolean> transit(StateContext<S, E> context);
 
+	/**
+	 * Transit this transition with a give state context synchronously on a
+	 * calling thread. Default implementation blocks on
+	 * {@link #transit(StateContext)}.
+	 *
+	 * @param context the state context
+	 * @return true, if transition happened, false otherwise
+	 */
+	default boolean transitSynchronously(StateContext<S, E> context) {
+		return Boolean.TRUE.equals(transit(context).block());
+	}
+
 	/**
 	 * Execute transition actions.
 	 *
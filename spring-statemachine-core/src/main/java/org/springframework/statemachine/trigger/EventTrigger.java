@@ -29,7 +29,12 @@ public class EventTrigger<S, E> implements Trigger<S, E> {
 
 	@Override
 	public Mono<Boolean> evaluate(TriggerContext<S, E> context) {
-		return Mono.just(ObjectUtils.nullSafeEquals(event, context.getEvent()));
+		return Mono.just(evaluateSynchronously(context));
+	}
+
+	@Override
+	public boolean evaluateSynchronously(TriggerContext<S, E> context) {
+		return ObjectUtils.nullSafeEquals(event, context.getEvent());
 	}
 
 	@Override
@@ -0,0 +1,392 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.trigger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.util.Assert;
+
+import reactor.core.Disposable;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * {@link TriggerScheduler} backed by a hashed timing wheel driven by a single
+ * worker thread. Timeouts are hashed into wheel buckets by their deadline and
+ * timeouts further away than one rotation wait for remaining rounds in a
+ * bucket, thus scheduling and cancelling is constant time regardless of a
+ * number of pending timeouts. Timeouts are fired with a precision of a tick.
+ * <p>
+ * Timeouts expiring on a same tick are handed together as one batch to an
+ * {@link Executor}, by default {@link Schedulers#parallel()}, so that a worker
+ * thread only drives a wheel and a slow timeout can't delay others. Worker
+ * thread is started when a first timeout is scheduled. Wheel is not used
+ * unless configured, a {@link #getSharedInstance() shared instance} can be
+ * given to state machine factories to have all their timers in one wheel.
+ *
+ * @author Janne Valkealahti
+ *
+ */
+public class HashedWheelTriggerScheduler implements TriggerScheduler, DisposableBean {
+
+	private static final Log log = LogFactory.getLog(HashedWheelTriggerScheduler.class);
+	private static final int STATE_INIT = 0;
+	private static final int STATE_STARTED = 1;
+	private static final int STATE_SHUTDOWN = 2;
+	private static final int MAX_TRANSFER_PER_TICK = 100000;
+	private static final AtomicInteger threadCount = new AtomicInteger();
+	private final long tickNanos;
+	private final Bucket[] wheel;
+	private final int mask;
+	private final Queue<WheelTimeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+	private final Queue<WheelTimeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger state = new AtomicInteger(STATE_INIT);
+	private final AtomicLong pendingCount = new AtomicLong();
+	private final AtomicLong expiredCount = new AtomicLong();
+	private final AtomicLong totalLatenessNanos = new AtomicLong();
+	private final AtomicLong maxLatenessNanos = new AtomicLong();
+	private volatile long startTime;
+	private Executor executor = task -> Schedulers.parallel().schedule(task);
+	private Thread worker;
+	private long tick;
+
+	/**
+	 * Instantiates a new hashed wheel trigger scheduler with a tick of
+	 * {@code 10ms} and {@code 512} buckets.
+	 */
+	public HashedWheelTriggerScheduler() {
+		this(Duration.ofMillis(10), 512);
+	}
+
+	/**
+	 * Instantiates a new hashed wheel trigger scheduler.
+	 *
+	 * @param tickDuration the duration of a tick
+	 * @param ticksPerWheel the number of buckets in a wheel, rounded up to a power of two
+	 */
+	public HashedWheelTriggerScheduler(Duration tickDuration, int ticksPerWheel) {
+		Assert.notNull(tickDuration, "Tick duration must be set");
+		Assert.isTrue(!tickDuration.isNegative() && !tickDuration.isZero(), "Tick duration must be positive");
+		Assert.isTrue(ticksPerWheel > 0 && ticksPerWheel <= (1 << 30), "Ticks per wheel must be between 1 and 2^30");
+		int size = 1;
+		while (size < ticksPerWheel) {
+			size <<= 1;
+		}
+		this.tickNanos = tickDuration.toNanos();
+		this.wheel = new Bucket[size];
+		for (int i = 0; i < size; i++) {
+			this.wheel[i] = new Bucket();
+		}
+		this.mask = size - 1;
+	}
+
+	/**
+	 * Sets the executor running batches of expired timeouts. Defaults to
+	 * {@link Schedulers#parallel()}, if set to {@code NULL} timeouts are run on
+	 * a worker thread driving the wheel which is only safe if they never block.
+	 *
+	 * @param executor the executor
+	 */
+	public void setExecutor(Executor executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * Gets a scheduler shared within a JVM. Shared instance is never shut
+	 * down and runs expired timeouts on {@link Schedulers#parallel()}.
+	 *
+	 * @return the shared hashed wheel trigger scheduler
+	 */
+	public static HashedWheelTriggerScheduler getSharedInstance() {
+		return SharedInstanceHolder.INSTANCE;
+	}
+
+	@Override
+	public Disposable schedule(Runnable task, Duration delay) {
+		Assert.notNull(task, "Task must be set");
+		Assert.notNull(delay, "Delay must be set");
+		start();
+		long deadline = System.nanoTime() + Math.max(delay.toNanos(), 0) - startTime;
+		WheelTimeout timeout = new WheelTimeout(task, deadline);
+		pendingCount.incrementAndGet();
+		pendingTimeouts.add(timeout);
+		return timeout;
+	}
+
+	@Override
+	public void destroy() {
+		if (this == SharedInstanceHolder.INSTANCE) {
+			return;
+		}
+		if (state.getAndSet(STATE_SHUTDOWN) == STATE_STARTED) {
+			worker.interrupt();
+		}
+	}
+
+	/**
+	 * Gets the number of scheduled timeouts which have not yet expired or
+	 * been cancelled.
+	 *
+	 * @return the pending timeout count
+	 */
+	public long getPendingCount() {
+		return pendingCount.get();
+	}
+
+	/**
+	 * Gets the number of expired timeouts.
+	 *
+	 * @return the expired timeout count
+	 */
+	public long getExpiredCount() {
+		return expiredCount.get();
+	}
+
+	/**
+	 * Gets the maximum lateness of an expired timeout compared to its
+	 * deadline.
+	 *
+	 * @return the maximum lateness
+	 */
+	public Duration getMaxLateness() {
+		return Duration.ofNanos(maxLatenessNanos.get());
+	}
+
+	/**
+	 * Gets the average lateness of expired timeouts compared to their
+	 * deadlines.
+	 *
+	 * @return the average lateness
+	 */
+	public Duration getAverageLateness() {
+		long count = expiredCount.get();
+		return count > 0 ? Duration.ofNanos(totalLatenessNanos.get() / count) : Duration.ZERO;
+	}
+
+	private void start() {
+		int current = state.get();
+		if (current == STATE_INIT) {
+			synchronized (this) {
+				if (state.get() == STATE_INIT) {
+					startTime = System.nanoTime();
+					worker = new Thread(this::run, "trigger-scheduler-" + threadCount.incrementAndGet());
+					worker.setDaemon(true);
+					state.set(STATE_STARTED);
+					worker.start();
+				}
+			}
+		} else if (current == STATE_SHUTDOWN) {
+			throw new IllegalStateException("Trigger scheduler is shut down");
+		}
+	}
+
+	private void run() {
+		while (state.get() == STATE_STARTED) {
+			long deadline = waitForNextTick();
+			if (deadline < 0) {
+				continue;
+			}
+			processCancelled();
+			transferPending();
+			List<WheelTimeout> expired = wheel[(int) (tick & mask)].expire(deadline);
+			tick++;
+			if (!expired.isEmpty()) {
+				dispatch(expired);
+			}
+		}
+	}
+
+	private long waitForNextTick() {
+		long deadline = tickNanos * (tick + 1);
+		while (true) {
+			long current = System.nanoTime() - startTime;
+			long sleepNanos = deadline - current;
+			if (sleepNanos <= 0) {
+				return current;
+			}
+			LockSupport.parkNanos(this, sleepNanos);
+			if (state.get() != STATE_STARTED) {
+				return -1;
+			}
+		}
+	}
+
+	private void transferPending() {
+		for (int i = 0; i < MAX_TRANSFER_PER_TICK; i++) {
+			WheelTimeout timeout = pendingTimeouts.poll();
+			if (timeout == null) {
+				break;
+			}
+			if (timeout.state.get() != WheelTimeout.STATE_INIT) {
+				continue;
+			}
+			long calculated = timeout.deadline / tickNanos;
+			timeout.remainingRounds = (calculated - tick) / wheel.length;
+			// already late timeouts go to a current tick
+			long ticks = Math.max(calculated, tick);
+			wheel[(int) (ticks & mask)].add(timeout);
+		}
+	}
+
+	private void processCancelled() {
+		WheelTimeout timeout;
+		while ((timeout = cancelledTimeouts.poll()) != null) {
+			if (timeout.bucket != null) {
+				timeout.bucket.remove(timeout);
+			}
+		}
+	}
+
+	private void dispatch(List<WheelTimeout> expired) {
+		Runnable batch = () -> {
+			for (WheelTimeout timeout : expired) {
+				try {
+					timeout.task.run();
+				} catch (Throwable e) {
+					log.warn("Error running trigger timeout " + timeout.task, e);
+				}
+			}
+		};
+		if (executor != null) {
+			try {
+				executor.execute(batch);
+				return;
+			} catch (Exception e) {
+				log.warn("Executor rejected expired timeouts, running on a worker thread", e);
+			}
+		}
+		batch.run();
+	}
+
+	private void expired(WheelTimeout timeout, long now) {
+		pendingCount.decrementAndGet();
+		expiredCount.incrementAndGet();
+		long lateness = Math.max(now - timeout.deadline, 0);
+		totalLatenessNanos.addAndGet(lateness);
+		maxLatenessNanos.accumulateAndGet(lateness, Math::max);
+	}
+
+	private static class SharedInstanceHolder {
+		static final HashedWheelTriggerScheduler INSTANCE = new HashedWheelTriggerScheduler();
+	}
+
+	private class WheelTimeout implements Disposable {
+
+		static final int STATE_INIT = 0;
+		static final int STATE_CANCELLED = 1;
+		static final int STATE_EXPIRED = 2;
+		final Runnable task;
+		final long deadline;
+		final AtomicInteger state = new AtomicInteger(STATE_INIT);
+		long remainingRounds;
+		// bucket links are only touched from a worker thread
+		Bucket bucket;
+		WheelTimeout next;
+		WheelTimeout prev;
+
+		WheelTimeout(Runnable task, long deadline) {
+			this.task = task;
+			this.deadline = deadline;
+		}
+
+		@Override
+		public void dispose() {
+			if (state.compareAndSet(STATE_INIT, STATE_CANCELLED)) {
+				pendingCount.decrementAndGet();
+				cancelledTimeouts.add(this);
+			}
+		}
+
+		@Override
+		public boolean isDisposed() {
+			return state.get() != STATE_INIT;
+		}
+	}
+
+	private class Bucket {
+
+		WheelTimeout head;
+		WheelTimeout tail;
+
+		void add(WheelTimeout timeout) {
+			timeout.bucket = this;
+			if (head == null) {
+				head = tail = timeout;
+			} else {
+				tail.next = timeout;
+				timeout.prev = tail;
+				tail = timeout;
+			}
+		}
+
+		List<WheelTimeout> expire(long now) {
+			List<WheelTimeout> expired = null;
+			WheelTimeout timeout = head;
+			while (timeout != null) {
+				WheelTimeout next = timeout.next;
+				if (timeout.remainingRounds <= 0) {
+					remove(timeout);
+					if (timeout.state.compareAndSet(WheelTimeout.STATE_INIT, WheelTimeout.STATE_EXPIRED)) {
+						expired(timeout, now);
+						if (expired == null) {
+							expired = new ArrayList<>();
+						}
+						expired.add(timeout);
+					}
+				} else if (timeout.isDisposed()) {
+					remove(timeout);
+				} else {
+					timeout.remainingRounds--;
+				}
+				timeout = next;
+			}
+			return expired != null ? expired : Collections.emptyList();
+		}
+
+		void remove(WheelTimeout timeout) {
+			if (timeout.bucket != this) {
+				return;
+			}
+			WheelTimeout next = timeout.next;
+			if (timeout.prev != null) {
+				timeout.prev.next = next;
+			}
+			if (next != null) {
+				next.prev = timeout.prev;
+			}
+			if (timeout == head) {
+				head = next;
+			}
+			if (timeout == tail) {
+				tail = timeout.prev;
+			}
+			timeout.prev = null;
+			timeout.next = null;
+			timeout.bucket = null;
+		}
+	}
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.trigger;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.util.Assert;
+
+import reactor.core.Disposable;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * {@link TriggerScheduler} running timeouts on a Reactor {@link Scheduler}.
+ * Useful when timers should not share a thread with other machines, for
+ * example with a dedicated scheduler from {@code Schedulers.newSingle()}.
+ * Every timeout is a separate task of a scheduler, thus with a large number
+ * of armed timers a {@link HashedWheelTriggerScheduler} scales better.
+ *
+ * @author Janne Valkealahti
+ */
+public class ReactorTriggerScheduler implements TriggerScheduler {
+
+	private final Scheduler scheduler;
+
+	/**
+	 * Instantiates a new reactor trigger scheduler.
+	 *
+	 * @param scheduler the reactor scheduler
+	 */
+	public ReactorTriggerScheduler(Scheduler scheduler) {
+		Assert.notNull(scheduler, "Scheduler must be set");
+		this.scheduler = scheduler;
+	}
+
+	@Override
+	public Disposable schedule(Runnable task, Duration delay) {
+		return scheduler.schedule(task, delay.toMillis(), TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Gets the reactor scheduler.
+	 *
+	 * @return the reactor scheduler
+	 */
+	public Scheduler getScheduler() {
+		return scheduler;
+	}
+}
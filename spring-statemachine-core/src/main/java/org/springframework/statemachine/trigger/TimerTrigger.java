@@ -26,6 +26,10 @@ import reactor.core.publisher.Mono;
 /**
  * Implementation of a {@link Trigger} capable of firing on a
  * static periods.
+ * <p>
+ * If a {@link TriggerScheduler} is set, timeouts are scheduled with it one at
+ * a time, otherwise every armed trigger has its own interval scheduled with
+ * reactor.
  *
  * @author Janne Valkealahti
  *
@@ -37,7 +41,9 @@ public class TimerTrigger<S, E> extends LifecycleObjectSupport implements Trigge
 	private final CompositeTriggerListener triggerListener = new CompositeTriggerListener();
 	private final long period;
 	private final int count;
+	private TriggerScheduler triggerScheduler;
 	private Disposable disposable;
+	private volatile long deadline = -1;
 
 	/**
 	 * Instantiates a new timer trigger.
@@ -67,11 +73,35 @@ public class TimerTrigger<S, E> extends LifecycleObjectSupport implements Trigge
 		return count;
 	}
 
+	/**
+	 * Gets the time when this trigger fires next.
+	 *
+	 * @return the deadline in milliseconds since epoch, {@code NULL} if trigger is not scheduled
+	 */
+	public Long getDeadline() {
+		long d = deadline;
+		return d < 0 ? null : d;
+	}
+
+	/**
+	 * Sets the trigger scheduler used to schedule timeouts of this trigger.
+	 *
+	 * @param triggerScheduler the trigger scheduler
+	 */
+	public void setTriggerScheduler(TriggerScheduler triggerScheduler) {
+		this.triggerScheduler = triggerScheduler;
+	}
+
 	@Override
 	public Mono<Boolean> evaluate(TriggerContext<S, E> context) {
 		return Mono.just(false);
 	}
 
+	@Override
+	public boolean evaluateSynchronously(TriggerContext<S, E> context) {
+		return false;
+	}
+
 	@Override
 	public void addTriggerListener(TriggerListener listener) {
 		triggerListener.register(listener);
@@ -101,13 +131,26 @@ public class TimerTrigger<S, E> extends LifecycleObjectSupport implements Trigge
 	}
 
 	@Override
-	public void arm() {
+	public synchronized void arm() {
 		if (disposable != null) {
 			return;
 		}
 		schedule();
 	}
 
+	/**
+	 * Arm a trigger to fire first at a given time, for example with a deadline
+	 * of a trigger restored from a persisted context. Trigger fires
+	 * immediately if a deadline has already passed.
+	 *
+	 * @param deadline the deadline in milliseconds since epoch
+	 */
+	public synchronized void armAt(long deadline) {
+		cancel();
+		long now = System.currentTimeMillis();
+		schedule(now, Math.max(deadline - now, 0));
+	}
+
 	@Override
 	public void disarm() {
 		if (count > 0) {
@@ -115,10 +158,19 @@ public class TimerTrigger<S, E> extends LifecycleObjectSupport implements Trigge
 		}
 	}
 
-	private void schedule() {
-		long initialDelay = count > 0 ? period : 0;
+	private synchronized void schedule() {
+		schedule(System.currentTimeMillis(), count > 0 ? period : 0);
+	}
+
+	private void schedule(long now, long initialDelay) {
+		if (triggerScheduler != null) {
+			scheduleTimeout(now + initialDelay, count);
+			return;
+		}
+		deadline = now + initialDelay;
 		Flux<Long> interval = Flux.interval(Duration.ofMillis(initialDelay), Duration.ofMillis(period))
 			.doOnNext(c -> {
+				deadline = count > 0 && c + 1 >= count ? -1 : System.currentTimeMillis() + period;
 				notifyTriggered();
 			});
 		if (count > 0) {
@@ -131,10 +183,61 @@ public class TimerTrigger<S, E> extends LifecycleObjectSupport implements Trigge
 		triggerListener.triggered();
 	}
 
-	private void cancel() {
+	private void scheduleTimeout(long deadline, int remaining) {
+		Timeout timeout = new Timeout(deadline, remaining);
+		disposable = timeout;
+		this.deadline = deadline;
+		long delay = Math.max(deadline - System.currentTimeMillis(), 0);
+		timeout.scheduled = triggerScheduler.schedule(timeout, Duration.ofMillis(delay));
+	}
+
+	private synchronized void cancel() {
 		if (disposable != null) {
 			disposable.dispose();
 		}
 		disposable = null;
+		deadline = -1;
+	}
+
+	/**
+	 * Single scheduled timeout which schedules a next one until a count of
+	 * fired timeouts is reached. Next one is scheduled a period from a
+	 * deadline of a previous one so that a late timeout doesn't shift the
+	 * ones after it.
+	 */
+	private class Timeout implements Runnable, Disposable {
+
+		final long deadline;
+		final int remaining;
+		volatile Disposable scheduled;
+
+		Timeout(long deadline, int remaining) {
+			this.deadline = deadline;
+			this.remaining = remaining;
+		}
+
+		@Override
+		public void run() {
+			synchronized (TimerTrigger.this) {
+				if (disposable != this) {
+					// cancelled or rescheduled
+					return;
+				}
+				if (count == 0 || remaining > 1) {
+					scheduleTimeout(deadline + period, remaining - 1);
+				} else {
+					TimerTrigger.this.deadline = -1;
+				}
+			}
+			notifyTriggered();
+		}
+
+		@Override
+		public void dispose() {
+			Disposable d = scheduled;
+			if (d != null) {
+				d.dispose();
+			}
+		}
 	}
 }
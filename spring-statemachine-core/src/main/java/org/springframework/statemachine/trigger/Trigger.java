@@ -38,6 +38,18 @@ public interface Trigger<S,E> {
 	 */
 	Mono<Boolean> evaluate(TriggerContext<S, E> context);
 
+	/**
+	 * Evaluate trigger synchronously on a calling thread. Default implementation
+	 * blocks on {@link #evaluate(TriggerContext)} and triggers able to give an
+	 * answer directly should override this.
+	 *
+	 * @param context the context
+	 * @return true, if trigger is fired, false otherwise
+	 */
+	default boolean evaluateSynchronously(TriggerContext<S, E> context) {
+		return Boolean.TRUE.equals(evaluate(context).block());
+	}
+
 	/**
 	 * Adds the trigger listener.
 	 *
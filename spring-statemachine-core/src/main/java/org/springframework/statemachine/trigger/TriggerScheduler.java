@@ -0,0 +1,41 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.trigger;
+
+import java.time.Duration;
+
+import reactor.core.Disposable;
+
+/**
+ * Strategy scheduling timeouts of a {@link TimerTrigger}. A single scheduler
+ * is meant to be shared by all machines built from a same factory so that a
+ * number of machines doesn't dictate a number of scheduled tasks.
+ *
+ * @author Janne Valkealahti
+ * @see HashedWheelTriggerScheduler
+ */
+public interface TriggerScheduler {
+
+	/**
+	 * Schedules a task to be run once after a given delay. Task is expected
+	 * to return fast as it may be run on a thread shared with other timeouts.
+	 *
+	 * @param task the task
+	 * @param delay the delay
+	 * @return the disposable cancelling a scheduled task
+	 */
+	Disposable schedule(Runnable task, Duration delay);
+}
@@ -21,7 +21,9 @@ import static org.hamcrest.Matchers.containsInAnyOrder;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
@@ -32,12 +34,17 @@ import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.statemachine.StateMachineEventResult.ResultType;
 import org.springframework.statemachine.config.EnableStateMachine;
 import org.springframework.statemachine.config.EnumStateMachineConfigurerAdapter;
+import org.springframework.statemachine.config.StateMachineBuilder;
+import org.springframework.statemachine.config.StateMachineBuilder.Builder;
 import org.springframework.statemachine.config.StateMachineConfigurerAdapter;
 import org.springframework.statemachine.config.builders.StateMachineStateConfigurer;
 import org.springframework.statemachine.config.builders.StateMachineTransitionConfigurer;
+import org.springframework.statemachine.monitor.AbstractStateMachineMonitor;
+import org.springframework.statemachine.support.MailboxOverflowPolicy;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
 
 public class ReactiveTests extends AbstractStateMachineTests {
@@ -161,6 +168,159 @@ public class ReactiveTests extends AbstractStateMachineTests {
 		assertThat(machine.getState().getIds()).containsExactlyInAnyOrder(TestStates.S3);
 	}
 
+	@Test
+	@Timeout(value = 10, unit = TimeUnit.SECONDS)
+	public void testEventListWithBatchSize() throws Exception {
+		Builder<TestStates, TestEvents> builder = StateMachineBuilder.builder();
+		builder.configureConfiguration()
+			.withConfiguration()
+				.stateMachineExecutorBatchSize(8);
+		builder.configureStates()
+			.withStates()
+				.initial(TestStates.S1)
+				.state(TestStates.S2)
+				.state(TestStates.S3);
+		builder.configureTransitions()
+			.withExternal()
+				.source(TestStates.S1).target(TestStates.S2).event(TestEvents.E1)
+				.and()
+			.withExternal()
+				.source(TestStates.S2).target(TestStates.S3).event(TestEvents.E2);
+		StateMachine<TestStates, TestEvents> machine = builder.build();
+		verifyStart(machine);
+
+		List<Message<TestEvents>> events = new ArrayList<>();
+		events.add(MessageBuilder.withPayload(TestEvents.E1).build());
+		events.add(MessageBuilder.withPayload(TestEvents.E2).build());
+		events.add(MessageBuilder.withPayload(TestEvents.E3).build());
+		StepVerifier.create(machine.sendEvents(events))
+			.expectNextMatches(r -> r.getResultType() == ResultType.ACCEPTED)
+			.expectNextMatches(r -> r.getResultType() == ResultType.ACCEPTED)
+			.expectNextMatches(r -> r.getResultType() == ResultType.DENIED)
+			.expectComplete()
+			.verify();
+		assertThat(machine.getState().getIds()).containsExactlyInAnyOrder(TestStates.S3);
+	}
+
+	@Test
+	@Timeout(value = 10, unit = TimeUnit.SECONDS)
+	public void testEventListDrainedInOnePass() throws Exception {
+		MailboxMonitor monitor = new MailboxMonitor();
+		Builder<TestStates, TestEvents> builder = StateMachineBuilder.builder();
+		builder.configureConfiguration()
+			.withConfiguration()
+				.stateMachineExecutorBatchSize(8)
+				.and()
+			.withMonitoring()
+				.monitor(monitor);
+		builder.configureStates()
+			.withStates()
+				.initial(TestStates.S1)
+				.state(TestStates.S2)
+				.state(TestStates.S3);
+		builder.configureTransitions()
+			.withExternal()
+				.source(TestStates.S1).target(TestStates.S2).event(TestEvents.E1)
+				.and()
+			.withExternal()
+				.source(TestStates.S2).target(TestStates.S3).event(TestEvents.E2);
+		StateMachine<TestStates, TestEvents> machine = builder.build();
+		verifyStart(machine);
+		monitor.batches.set(0);
+
+		List<Message<TestEvents>> events = new ArrayList<>();
+		events.add(MessageBuilder.withPayload(TestEvents.E1).build());
+		events.add(MessageBuilder.withPayload(TestEvents.E2).build());
+		events.add(MessageBuilder.withPayload(TestEvents.E3).build());
+		StepVerifier.create(machine.sendEvents(events))
+			.expectNextMatches(r -> r.getResultType() == ResultType.ACCEPTED)
+			.expectNextMatches(r -> r.getResultType() == ResultType.ACCEPTED)
+			.expectNextMatches(r -> r.getResultType() == ResultType.DENIED)
+			.expectComplete()
+			.verify();
+		assertThat(machine.getState().getIds()).containsExactlyInAnyOrder(TestStates.S3);
+		// monitor is notified once per handled batch
+		assertThat(monitor.batches.get()).isEqualTo(1);
+	}
+
+	@Test
+	@Timeout(value = 10, unit = TimeUnit.SECONDS)
+	public void testMailboxBlockRejectsFromOwnThread() throws Exception {
+		List<ResultType> replies = new CopyOnWriteArrayList<>();
+		Builder<TestStates, TestEvents> builder = StateMachineBuilder.builder();
+		builder.configureConfiguration()
+			.withConfiguration()
+				.stateMachineExecutorMailbox(1, MailboxOverflowPolicy.BLOCK);
+		builder.configureStates()
+			.withStates()
+				.initial(TestStates.S1)
+				.state(TestStates.S2)
+				.state(TestStates.S3);
+		builder.configureTransitions()
+			.withExternal()
+				.source(TestStates.S1).target(TestStates.S2).event(TestEvents.E1)
+				.action(context -> {
+					// second event doesn't fit and action can't wait for its own mailbox
+					context.getStateMachine().sendEvent(asMono(TestEvents.E2)).subscribe(r -> replies.add(r.getResultType()));
+					context.getStateMachine().sendEvent(asMono(TestEvents.E3)).subscribe(r -> replies.add(r.getResultType()));
+				})
+				.and()
+			.withExternal()
+				.source(TestStates.S2).target(TestStates.S3).event(TestEvents.E2);
+		StateMachine<TestStates, TestEvents> machine = builder.build();
+		verifyStart(machine);
+
+		StepVerifier.create(machine.sendEvent(asMono(TestEvents.E1)))
+			.expectNextMatches(r -> r.getResultType() == ResultType.ACCEPTED)
+			.expectComplete()
+			.verify();
+		await().untilAsserted(() -> assertThat(replies).containsExactlyInAnyOrder(ResultType.ACCEPTED, ResultType.REJECTED));
+		await().untilAsserted(() -> assertThat(machine.getState().getIds()).containsExactly(TestStates.S3));
+	}
+
+	@Test
+	@Timeout(value = 10, unit = TimeUnit.SECONDS)
+	public void testMailboxBlockFullDoesNotDeadlock() throws Exception {
+		List<ResultType> replies = new CopyOnWriteArrayList<>();
+		Builder<TestStates, TestEvents> builder = StateMachineBuilder.builder();
+		builder.configureConfiguration()
+			.withConfiguration()
+				.stateMachineExecutorMailbox(1, MailboxOverflowPolicy.BLOCK);
+		builder.configureStates()
+			.withStates()
+				.initial(TestStates.S1);
+		builder.configureTransitions()
+			.withInternal()
+				.source(TestStates.S1).event(TestEvents.E1)
+				.action(context -> {
+					context.getStateMachine().sendEvent(asMono(TestEvents.E2)).subscribe(r -> replies.add(r.getResultType()));
+				})
+				.and()
+			.withInternal()
+				.source(TestStates.S1).event(TestEvents.E2);
+		StateMachine<TestStates, TestEvents> machine = builder.build();
+		verifyStart(machine);
+
+		List<StateMachineEventResult<TestStates, TestEvents>> results = Flux.range(0, 100)
+			.flatMap(i -> machine.sendEvent(asMono(TestEvents.E1)).subscribeOn(Schedulers.parallel()), 8)
+			.collectList()
+			.block();
+		// senders wait for a space instead of getting rejected
+		assertThat(results).hasSize(100).allMatch(r -> r.getResultType() == ResultType.ACCEPTED);
+		await().untilAsserted(() -> assertThat(replies).hasSize(100));
+		assertThat(replies).allMatch(t -> t == ResultType.ACCEPTED || t == ResultType.REJECTED);
+	}
+
+	private static class MailboxMonitor extends AbstractStateMachineMonitor<TestStates, TestEvents> {
+
+		final AtomicInteger batches = new AtomicInteger();
+
+		@Override
+		public void mailbox(StateMachine<TestStates, TestEvents> stateMachine, int depth, long overflowCount) {
+			batches.incrementAndGet();
+		}
+	}
+
 	@Test
 	@SuppressWarnings("unchecked")
 	public void testJoin() throws Exception {
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.statemachine.TestUtils.doSendEventAndConsumeAll;
+import static org.springframework.statemachine.TestUtils.doStartAndAssert;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.Lifecycle;
+import org.springframework.statemachine.config.StateMachineBuilder;
+import org.springframework.statemachine.config.StateMachineBuilder.Builder;
+import org.springframework.statemachine.listener.StateMachineListenerAdapter;
+import org.springframework.statemachine.support.DefaultExtendedState;
+import org.springframework.statemachine.support.DefaultStateMachineContext;
+
+import reactor.test.StepVerifier;
+
+/**
+ * Tests for hydrating a state machine from a {@link StateMachineContext}.
+ *
+ * @author Janne Valkealahti
+ *
+ */
+public class StateMachineHydrateTests {
+
+	private final AtomicInteger initialCount = new AtomicInteger();
+	private final AtomicInteger startedCount = new AtomicInteger();
+	private final AtomicInteger stoppedCount = new AtomicInteger();
+
+	@Test
+	public void testHydrateNotRunningMachine() throws Exception {
+		StateMachine<String, String> stateMachine = buildMachine();
+		DefaultExtendedState extendedState = new DefaultExtendedState();
+		extendedState.getVariables().put("foo", "bar");
+
+		StepVerifier.create(stateMachine.getStateMachineAccessor().withRegion().hydrateStateMachineReactively(
+				new DefaultStateMachineContext<>("S2", null, null, extendedState)))
+			.verifyComplete();
+
+		assertThat(((Lifecycle) stateMachine).isRunning()).isTrue();
+		assertThat(stateMachine.getState().getIds()).containsExactly("S2");
+		assertThat(stateMachine.getExtendedState().getVariables()).containsEntry("foo", "bar");
+		assertThat(initialCount.get()).isEqualTo(0);
+		assertThat(startedCount.get()).isEqualTo(0);
+
+		doSendEventAndConsumeAll(stateMachine, "E2");
+		assertThat(stateMachine.getState().getIds()).containsExactly("S3");
+	}
+
+	@Test
+	public void testHydrateRunningMachine() throws Exception {
+		StateMachine<String, String> stateMachine = buildMachine();
+		doStartAndAssert(stateMachine);
+		assertThat(initialCount.get()).isEqualTo(1);
+		assertThat(startedCount.get()).isEqualTo(1);
+		Object executor = TestUtils.readField("stateMachineExecutor", stateMachine);
+		Object triggerDisposable = TestUtils.readField("triggerDisposable", executor);
+
+		StepVerifier.create(stateMachine.getStateMachineAccessor().withRegion().hydrateStateMachineReactively(
+				new DefaultStateMachineContext<>("S3", null, null, null)))
+			.verifyComplete();
+
+		assertThat(((Lifecycle) stateMachine).isRunning()).isTrue();
+		assertThat(stateMachine.getState().getIds()).containsExactly("S3");
+		assertThat(initialCount.get()).isEqualTo(1);
+		assertThat(startedCount.get()).isEqualTo(1);
+		assertThat(stoppedCount.get()).isEqualTo(0);
+		// hydrated in place, executor is neither stopped nor started again
+		assertThat(((Lifecycle) executor).isRunning()).isTrue();
+		assertThat((Object) TestUtils.readField("triggerDisposable", executor)).isSameAs(triggerDisposable);
+	}
+
+	@Test
+	public void testHydrateRunningMachineDisposesTimers() throws Exception {
+		StateMachine<String, String> stateMachine = buildMachine();
+		doStartAndAssert(stateMachine);
+
+		// timer of S4 armed in place
+		StepVerifier.create(stateMachine.getStateMachineAccessor().withRegion().hydrateStateMachineReactively(
+				new DefaultStateMachineContext<>("S4", null, null, null)))
+			.verifyComplete();
+		await().untilAsserted(() -> assertThat(stateMachine.getState().getIds()).containsExactly("S1"));
+
+		// timer of S4 disposed when hydrated away from it
+		StepVerifier.create(stateMachine.getStateMachineAccessor().withRegion().hydrateStateMachineReactively(
+				new DefaultStateMachineContext<>("S4", null, null, null)))
+			.verifyComplete();
+		StepVerifier.create(stateMachine.getStateMachineAccessor().withRegion().hydrateStateMachineReactively(
+				new DefaultStateMachineContext<>("S2", null, null, null)))
+			.verifyComplete();
+		Thread.sleep(300);
+		assertThat(stateMachine.getState().getIds()).containsExactly("S2");
+		assertThat(initialCount.get()).isEqualTo(1);
+		assertThat(startedCount.get()).isEqualTo(1);
+		assertThat(stoppedCount.get()).isEqualTo(0);
+	}
+
+	@Test
+	public void testHydratedStateTimerIsArmed() throws Exception {
+		StateMachine<String, String> stateMachine = buildMachine();
+
+		StepVerifier.create(stateMachine.getStateMachineAccessor().withRegion().hydrateStateMachineReactively(
+				new DefaultStateMachineContext<>("S4", null, null, null)))
+			.verifyComplete();
+
+		await().untilAsserted(() -> assertThat(stateMachine.getState().getIds()).containsExactly("S1"));
+		assertThat(initialCount.get()).isEqualTo(0);
+	}
+
+	private StateMachine<String, String> buildMachine() throws Exception {
+		Builder<String, String> builder = StateMachineBuilder.builder();
+		builder.configureConfiguration()
+			.withConfiguration()
+				.listener(new StateMachineListenerAdapter<String, String>() {
+
+					@Override
+					public void stateMachineStarted(StateMachine<String, String> stateMachine) {
+						startedCount.incrementAndGet();
+					}
+
+					@Override
+					public void stateMachineStopped(StateMachine<String, String> stateMachine) {
+						stoppedCount.incrementAndGet();
+					}
+				});
+		builder.configureStates()
+			.withStates()
+				.initial("S1", context -> initialCount.incrementAndGet())
+				.state("S2")
+				.state("S3")
+				.state("S4");
+		builder.configureTransitions()
+			.withExternal()
+				.source("S1").target("S2").event("E1")
+				.and()
+			.withExternal()
+				.source("S2").target("S3").event("E2")
+				.and()
+			.withExternal()
+				.source("S4").target("S1").timerOnce(100);
+		return builder.build();
+	}
+}
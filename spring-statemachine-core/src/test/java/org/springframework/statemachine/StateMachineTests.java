@@ -21,14 +21,17 @@ import static org.springframework.statemachine.TestUtils.doStartAndAssert;
 import static org.springframework.statemachine.TestUtils.resolveMachine;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -36,12 +39,26 @@ import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.statemachine.action.Action;
 import org.springframework.statemachine.config.EnableStateMachine;
 import org.springframework.statemachine.config.EnumStateMachineConfigurerAdapter;
+import org.springframework.statemachine.config.StateMachineBuilder;
+import org.springframework.statemachine.config.StateMachineBuilder.Builder;
 import org.springframework.statemachine.config.StateMachineConfigurerAdapter;
 import org.springframework.statemachine.config.builders.StateMachineStateConfigurer;
 import org.springframework.statemachine.config.builders.StateMachineTransitionConfigurer;
 import org.springframework.statemachine.listener.StateMachineListenerAdapter;
+import org.springframework.statemachine.state.DefaultPseudoState;
+import org.springframework.statemachine.state.ObjectState;
+import org.springframework.statemachine.state.PseudoState;
+import org.springframework.statemachine.state.PseudoStateKind;
 import org.springframework.statemachine.state.State;
+import org.springframework.statemachine.support.AbstractStateMachine;
+import org.springframework.statemachine.transition.DefaultExternalTransition;
 import org.springframework.statemachine.transition.Transition;
+import org.springframework.statemachine.trigger.EventTrigger;
+import org.springframework.statemachine.trigger.Trigger;
+import org.springframework.statemachine.trigger.TriggerContext;
+import org.springframework.statemachine.trigger.TriggerListener;
+
+import reactor.core.publisher.Mono;
 
 public class StateMachineTests extends AbstractStateMachineTests {
 
@@ -182,6 +199,108 @@ public class StateMachineTests extends AbstractStateMachineTests {
 		assertThat(listener.entered).hasSize(1);
 	}
 
+	@Test
+	public void testConfigurationVersionChangesWithSubstates() throws Exception {
+		Builder<String, String> builder = StateMachineBuilder.builder();
+		builder.configureStates()
+			.withStates()
+				.initial("S1")
+				.state("S2")
+				.and()
+				.withStates()
+					.parent("S1")
+					.initial("S11")
+					.state("S12");
+		builder.configureTransitions()
+			.withExternal()
+				.source("S11").target("S12").event("E1")
+				.and()
+			.withExternal()
+				.source("S1").target("S2").event("E2");
+		StateMachine<String, String> machine = builder.build();
+		doStartAndAssert(machine);
+		AbstractStateMachine<String, String> abstractMachine = (AbstractStateMachine<String, String>) machine;
+
+		long version = abstractMachine.getConfigurationVersion();
+		doSendEventAndConsumeAll(machine, "E1");
+		assertThat(machine.getState().getIds()).containsExactly("S1", "S12");
+		assertThat(abstractMachine.getConfigurationVersion()).isGreaterThan(version);
+
+		version = abstractMachine.getConfigurationVersion();
+		doSendEventAndConsumeAll(machine, "E3");
+		assertThat(abstractMachine.getConfigurationVersion()).isEqualTo(version);
+
+		doSendEventAndConsumeAll(machine, "E2");
+		assertThat(machine.getState().getIds()).containsExactly("S2");
+		assertThat(abstractMachine.getConfigurationVersion()).isGreaterThan(version);
+	}
+
+	@Test
+	public void testFiredUnindexedTransitionMergedWithCandidates() throws Exception {
+		AtomicInteger evaluations = new AtomicInteger();
+		PseudoState<String, String> pseudoState = new DefaultPseudoState<String, String>(PseudoStateKind.INITIAL);
+		State<String, String> stateS1 = new ObjectState<String, String>("S1", pseudoState);
+		State<String, String> stateS2 = new ObjectState<String, String>("S2");
+		State<String, String> stateS3 = new ObjectState<String, String>("S3");
+		Collection<State<String, String>> states = new ArrayList<>();
+		states.add(stateS1);
+		states.add(stateS2);
+		states.add(stateS3);
+
+		// indexed by an event but denied by a guard
+		Transition<String, String> indexed = new DefaultExternalTransition<String, String>(stateS1, stateS2, null, "E1",
+				context -> Mono.just(false), new EventTrigger<String, String>("E1"));
+		// trigger without an event is not in an index
+		Transition<String, String> unindexed = new DefaultExternalTransition<String, String>(stateS1, stateS3, null, null,
+				null, new CountingTrigger("E1", evaluations));
+		Collection<Transition<String, String>> transitions = new ArrayList<>();
+		transitions.add(indexed);
+		transitions.add(unindexed);
+
+		ObjectStateMachine<String, String> machine = new ObjectStateMachine<String, String>(states, transitions, stateS1);
+		machine.setBeanFactory(new DefaultListableBeanFactory());
+		machine.afterPropertiesSet();
+		doStartAndAssert(machine);
+
+		doSendEventAndConsumeAll(machine, "E1");
+		assertThat(machine.getState().getIds()).containsExactly("S3");
+		assertThat(evaluations.get()).isEqualTo(1);
+	}
+
+	private static class CountingTrigger implements Trigger<String, String> {
+
+		private final String event;
+		private final AtomicInteger evaluations;
+
+		CountingTrigger(String event, AtomicInteger evaluations) {
+			this.event = event;
+			this.evaluations = evaluations;
+		}
+
+		@Override
+		public Mono<Boolean> evaluate(TriggerContext<String, String> context) {
+			evaluations.incrementAndGet();
+			return Mono.just(event.equals(context.getEvent()));
+		}
+
+		@Override
+		public void addTriggerListener(TriggerListener listener) {
+		}
+
+		@Override
+		public String getEvent() {
+			return null;
+		}
+
+		@Override
+		public void arm() {
+		}
+
+		@Override
+		public void disarm() {
+		}
+	}
+
 	private static class LoggingAction implements Action<TestStates, TestEvents> {
 
 		private static final Log log = LogFactory.getLog(StateMachineTests.LoggingAction.class);
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.action;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.statemachine.TestUtils.doSendEventAndConsumeAll;
+import static org.springframework.statemachine.TestUtils.doStartAndAssert;
+
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.statemachine.StateContext;
+import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.config.StateMachineBuilder;
+import org.springframework.statemachine.config.StateMachineBuilder.Builder;
+import org.springframework.statemachine.guard.Guard;
+import org.springframework.statemachine.guard.Guards;
+import org.springframework.statemachine.state.State;
+import org.springframework.statemachine.support.Blocking;
+import org.springframework.statemachine.support.BlockingExecutionPolicy;
+import org.springframework.statemachine.support.StateMachineInterceptorAdapter;
+import org.springframework.statemachine.transition.Transition;
+
+import reactor.blockhound.BlockingMethod;
+import reactor.blockhound.BlockingOperationError;
+
+/**
+ * Tests for offloading blocking actions and guards.
+ *
+ * @author Janne Valkealahti
+ *
+ */
+public class BlockingActionTests {
+
+	@Test
+	public void testMarkedActionAndGuard() throws Exception {
+		List<Thread> threads = new CopyOnWriteArrayList<>();
+		Guard<String, String> guard = context -> threads.add(Thread.currentThread());
+		Builder<String, String> builder = StateMachineBuilder.builder();
+		builder.configureStates()
+			.withStates()
+				.initial("S1")
+				.state("S2")
+				.state("S3");
+		builder.configureTransitions()
+			.withExternal()
+				.source("S1").target("S2").event("E1")
+				.action(new TestBlockingAction(threads))
+				.and()
+			.withExternal()
+				.source("S2").target("S3").event("E2")
+				.guard(Guards.blocking(guard))
+				.action(Actions.blocking(context -> threads.add(Thread.currentThread())));
+		StateMachine<String, String> stateMachine = builder.build();
+
+		doStartAndAssert(stateMachine);
+		doSendEventAndConsumeAll(stateMachine, "E1");
+		await().untilAsserted(() -> assertThat(stateMachine.getState().getIds()).containsExactly("S2"));
+		doSendEventAndConsumeAll(stateMachine, "E2");
+		await().untilAsserted(() -> assertThat(stateMachine.getState().getIds()).containsExactly("S3"));
+
+		assertThat(threads).hasSize(3);
+		assertThat(threads).doesNotContain(Thread.currentThread());
+	}
+
+	@Test
+	public void testPolicyAll() throws Exception {
+		List<Thread> threads = new CopyOnWriteArrayList<>();
+		Builder<String, String> builder = StateMachineBuilder.builder();
+		builder.configureConfiguration()
+			.withConfiguration()
+				.blockingExecutionPolicy(BlockingExecutionPolicy.ALL);
+		builder.configureStates()
+			.withStates()
+				.initial("S1")
+				.state("S2");
+		builder.configureTransitions()
+			.withExternal()
+				.source("S1").target("S2").event("E1")
+				.action(context -> threads.add(Thread.currentThread()));
+		StateMachine<String, String> stateMachine = builder.build();
+		List<Thread> stateThreads = new CopyOnWriteArrayList<>();
+		stateMachine.getStateMachineAccessor().doWithAllRegions(function -> function.addStateMachineInterceptor(
+				new StateMachineInterceptorAdapter<String, String>() {
+
+					@Override
+					public void preStateChange(State<String, String> state, Message<String> message,
+							Transition<String, String> transition, StateMachine<String, String> stateMachine,
+							StateMachine<String, String> rootStateMachine) {
+						stateThreads.add(Thread.currentThread());
+					}
+				}));
+
+		doStartAndAssert(stateMachine);
+		doSendEventAndConsumeAll(stateMachine, "E1");
+		await().untilAsserted(() -> assertThat(stateMachine.getState().getIds()).containsExactly("S2"));
+
+		assertThat(threads).hasSize(1);
+		assertThat(threads).doesNotContain(Thread.currentThread());
+		// after an offloaded action machine continues on a non-blocking scheduler
+		assertThat(stateThreads).hasSize(1);
+		assertThat(stateThreads.get(0).getName()).startsWith("parallel");
+	}
+
+	@Test
+	public void testPolicyDetect() throws Exception {
+		AtomicInteger count = new AtomicInteger();
+		List<Thread> threads = new CopyOnWriteArrayList<>();
+		Builder<String, String> builder = StateMachineBuilder.builder();
+		builder.configureConfiguration()
+			.withConfiguration()
+				.blockingExecutionPolicy(BlockingExecutionPolicy.DETECT);
+		builder.configureStates()
+			.withStates()
+				.initial("S1");
+		builder.configureTransitions()
+			.withInternal()
+				.source("S1").event("E1")
+				.action(context -> {
+					if (count.getAndIncrement() == 0) {
+						throw new BlockingOperationError(
+								new BlockingMethod("java.lang.Thread", "sleep", Modifier.STATIC));
+					}
+					threads.add(Thread.currentThread());
+				});
+		StateMachine<String, String> stateMachine = builder.build();
+
+		doStartAndAssert(stateMachine);
+		doSendEventAndConsumeAll(stateMachine, "E1");
+		await().untilAsserted(() -> assertThat(count.get()).isEqualTo(1));
+		// detected call is not retried
+		Thread.sleep(100);
+		assertThat(count.get()).isEqualTo(1);
+		assertThat(threads).isEmpty();
+
+		doSendEventAndConsumeAll(stateMachine, "E1");
+		await().untilAsserted(() -> assertThat(threads).hasSize(1));
+		assertThat(count.get()).isEqualTo(2);
+		assertThat(threads).doesNotContain(Thread.currentThread());
+	}
+
+	@Blocking
+	private static class TestBlockingAction implements Action<String, String> {
+
+		private final List<Thread> threads;
+
+		TestBlockingAction(List<Thread> threads) {
+			this.threads = threads;
+		}
+
+		@Override
+		public void execute(StateContext<String, String> context) {
+			threads.add(Thread.currentThread());
+		}
+	}
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.springframework.statemachine.TestUtils.doSendEventAndConsumeAll;
+import static org.springframework.statemachine.TestUtils.doStartAndAssert;
+import static org.springframework.statemachine.TestUtils.readField;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.config.StateMachineBuilder.Builder;
+import org.springframework.statemachine.config.model.StateMachineModel;
+import org.springframework.statemachine.state.ChoicePseudoState.ChoiceStateData;
+import org.springframework.statemachine.state.State;
+import org.springframework.statemachine.transition.Transition;
+
+/**
+ * Tests for machines built from a definition shared within a factory.
+ *
+ * @author Janne Valkealahti
+ *
+ */
+public class SharedMachineDefinitionTests {
+
+	@Test
+	public void testDefinitionShared() throws Exception {
+		StateMachineFactory<String, String> factory = buildFactory(new AtomicInteger(), new AtomicInteger());
+		StateMachine<String, String> machine1 = factory.getStateMachine("m1");
+		StateMachine<String, String> machine2 = factory.getStateMachine("m2");
+
+		// adapted initial and choice actions are shared
+		Transition<String, String> initial1 = readField("initialTransition", machine1);
+		Transition<String, String> initial2 = readField("initialTransition", machine2);
+		assertThat(initial1).isNotSameAs(initial2);
+		assertThat(initial1.getActions().iterator().next()).isSameAs(initial2.getActions().iterator().next());
+		List<ChoiceStateData<String, String>> choices1 = readField("choices", findState(machine1, "C").getPseudoState());
+		List<ChoiceStateData<String, String>> choices2 = readField("choices", findState(machine2, "C").getPseudoState());
+		for (int i = 0; i < choices1.size(); i++) {
+			assertThat(choices1.get(i).getActions()).isSameAs(choices2.get(i).getActions());
+		}
+
+		// states keep runtime state and are built per machine
+		assertThat(findState(machine1, "S1")).isNotSameAs(findState(machine2, "S1"));
+	}
+
+	@Test
+	public void testAllocationPerMachine() throws Exception {
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		assumeTrue(bean instanceof com.sun.management.ThreadMXBean
+				&& ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemoryEnabled());
+		com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) bean;
+		ObjectStateMachineFactory<String, String> factory = (ObjectStateMachineFactory<String, String>) buildFactory(
+				new AtomicInteger(), new AtomicInteger());
+		StateMachineModel<String, String> model = factory.resolveStateMachineModel(null);
+		int count = 200;
+
+		// warm up both paths
+		for (int i = 0; i < count; i++) {
+			factory.getStateMachine();
+			new ObjectStateMachineFactory<>(model).getStateMachine();
+		}
+
+		long threadId = Thread.currentThread().getId();
+		long start = threadBean.getThreadAllocatedBytes(threadId);
+		for (int i = 0; i < count; i++) {
+			factory.getStateMachine();
+		}
+		long shared = (threadBean.getThreadAllocatedBytes(threadId) - start) / count;
+
+		start = threadBean.getThreadAllocatedBytes(threadId);
+		for (int i = 0; i < count; i++) {
+			new ObjectStateMachineFactory<>(model).getStateMachine();
+		}
+		long compiled = (threadBean.getThreadAllocatedBytes(threadId) - start) / count;
+
+		// machine built from a shared definition skips compiling a model
+		assertThat(shared).isPositive();
+		assertThat(shared).isLessThan(compiled);
+	}
+
+	@Test
+	public void testInstancesAreIndependent() throws Exception {
+		AtomicInteger initialCount = new AtomicInteger();
+		AtomicInteger choiceCount = new AtomicInteger();
+		StateMachineFactory<String, String> factory = buildFactory(initialCount, choiceCount);
+
+		StateMachine<String, String> machine1 = factory.getStateMachine("m1");
+		StateMachine<String, String> machine2 = factory.getStateMachine("m2");
+		assertThat(machine1).isNotSameAs(machine2);
+
+		doStartAndAssert(machine1);
+		doStartAndAssert(machine2);
+		assertThat(initialCount.get()).isEqualTo(2);
+
+		doSendEventAndConsumeAll(machine1, "E1");
+		assertThat(machine1.getState().getIds()).containsExactlyInAnyOrder("S3", "S30", "S40");
+		assertThat(machine2.getState().getIds()).containsExactly("S1");
+		assertThat(choiceCount.get()).isEqualTo(1);
+
+		doSendEventAndConsumeAll(machine2, "E1");
+		doSendEventAndConsumeAll(machine2, "E2");
+		assertThat(machine2.getState().getIds()).containsExactlyInAnyOrder("S3", "S31", "S40");
+		assertThat(machine1.getState().getIds()).containsExactlyInAnyOrder("S3", "S30", "S40");
+		assertThat(choiceCount.get()).isEqualTo(2);
+	}
+
+	private static State<String, String> findState(StateMachine<String, String> machine, String id) {
+		return machine.getStates().stream().filter(s -> id.equals(s.getId())).findFirst().get();
+	}
+
+	private static StateMachineFactory<String, String> buildFactory(AtomicInteger initialCount,
+			AtomicInteger choiceCount) throws Exception {
+		Builder<String, String> builder = StateMachineBuilder.builder();
+		builder.configureStates()
+			.withStates()
+				.initial("S1", context -> initialCount.incrementAndGet())
+				.choice("C")
+				.state("S2")
+				.state("S3")
+				.and()
+			.withStates()
+				.parent("S3")
+				.initial("S30")
+				.state("S31")
+				.and()
+			.withStates()
+				.parent("S3")
+				.initial("S40")
+				.state("S41");
+		builder.configureTransitions()
+			.withExternal()
+				.source("S1").target("C").event("E1")
+				.and()
+			.withChoice()
+				.source("C")
+				.first("S2", context -> "S2".equals(context.getMessageHeader("target")),
+						context -> choiceCount.incrementAndGet())
+				.last("S3", context -> choiceCount.incrementAndGet())
+				.and()
+			.withExternal()
+				.source("S30").target("S31").event("E2");
+		return builder.createFactory();
+	}
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.config.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.config.ObjectStateMachineFactory;
+import org.springframework.statemachine.config.model.verifier.StateMachineModelVerifier;
+
+/**
+ * Tests for {@link DefaultStateMachineModelCache}.
+ *
+ * @author Janne Valkealahti
+ *
+ */
+public class DefaultStateMachineModelCacheTests {
+
+	@Test
+	public void testModelsBuiltAndVerifiedOnce() {
+		TestStateMachineModelFactory modelFactory = new TestStateMachineModelFactory();
+		ObjectStateMachineFactory<String, String> factory = new ObjectStateMachineFactory<>(modelFactory.build(),
+				modelFactory);
+		factory.setStateMachineModelCache(new DefaultStateMachineModelCache<>(10));
+
+		StateMachine<String, String> machine1 = factory.getStateMachine("m1");
+		StateMachine<String, String> machine2 = factory.getStateMachine("m1");
+		factory.getStateMachine("m2");
+		assertThat(machine1).isNotSameAs(machine2);
+		assertThat(modelFactory.builds.get()).isEqualTo(3);
+		assertThat(modelFactory.verifications.get()).isEqualTo(2);
+
+		factory.invalidateStateMachineModel("m1");
+		factory.getStateMachine("m1");
+		factory.getStateMachine("m2");
+		assertThat(modelFactory.builds.get()).isEqualTo(4);
+		assertThat(modelFactory.verifications.get()).isEqualTo(3);
+
+		factory.invalidateStateMachineModels();
+		factory.getStateMachine("m2");
+		assertThat(modelFactory.builds.get()).isEqualTo(5);
+	}
+
+	@Test
+	public void testCacheDisabledByDefault() {
+		TestStateMachineModelFactory modelFactory = new TestStateMachineModelFactory();
+		ObjectStateMachineFactory<String, String> factory = new ObjectStateMachineFactory<>(modelFactory.build(),
+				modelFactory);
+
+		factory.getStateMachine("m1");
+		factory.getStateMachine("m1");
+		assertThat(modelFactory.builds.get()).isEqualTo(3);
+	}
+
+	@Test
+	public void testLeastRecentlyUsedEvicted() {
+		DefaultStateMachineModelCache<String, String> cache = new DefaultStateMachineModelCache<>(2);
+		TestStateMachineModelFactory modelFactory = new TestStateMachineModelFactory();
+
+		StateMachineModel<String, String> model1 = cache.get("m1", modelFactory::build);
+		cache.get("m2", modelFactory::build);
+		assertThat(cache.get("m1", modelFactory::build)).isSameAs(model1);
+		cache.get("m3", modelFactory::build);
+
+		assertThat(cache.size()).isEqualTo(2);
+		assertThat(cache.get("m1", modelFactory::build)).isSameAs(model1);
+		assertThat(modelFactory.builds.get()).isEqualTo(3);
+		cache.get("m2", modelFactory::build);
+		assertThat(modelFactory.builds.get()).isEqualTo(4);
+	}
+
+	@Test
+	public void testTimeToLive() throws Exception {
+		DefaultStateMachineModelCache<String, String> cache = new DefaultStateMachineModelCache<>(10,
+				Duration.ofMillis(50));
+		TestStateMachineModelFactory modelFactory = new TestStateMachineModelFactory();
+
+		StateMachineModel<String, String> model1 = cache.get("m1", modelFactory::build);
+		assertThat(cache.get("m1", modelFactory::build)).isSameAs(model1);
+		Thread.sleep(100);
+		assertThat(cache.get("m1", modelFactory::build)).isNotSameAs(model1);
+	}
+
+	@Test
+	public void testConcurrentBuildOutsideLock() throws Exception {
+		DefaultStateMachineModelCache<String, String> cache = new DefaultStateMachineModelCache<>(10);
+		TestStateMachineModelFactory modelFactory = new TestStateMachineModelFactory();
+		CountDownLatch building = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger slowBuilds = new AtomicInteger();
+		Function<String, StateMachineModel<String, String>> slowBuilder = id -> {
+			slowBuilds.incrementAndGet();
+			building.countDown();
+			try {
+				release.await(10, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return modelFactory.build();
+		};
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<StateMachineModel<String, String>> future1 = executor.submit(() -> cache.get("m1", slowBuilder));
+			assertThat(building.await(10, TimeUnit.SECONDS)).isTrue();
+			Future<StateMachineModel<String, String>> future2 = executor.submit(() -> cache.get("m1", slowBuilder));
+
+			// other ids are not blocked by a build in progress
+			assertThat(cache.get("m2", modelFactory::build)).isNotNull();
+			assertThat(future2.isDone()).isFalse();
+
+			release.countDown();
+			StateMachineModel<String, String> model1 = future1.get(10, TimeUnit.SECONDS);
+			assertThat(future2.get(10, TimeUnit.SECONDS)).isSameAs(model1);
+			assertThat(slowBuilds.get()).isEqualTo(1);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testFailedBuildNotCached() {
+		DefaultStateMachineModelCache<String, String> cache = new DefaultStateMachineModelCache<>(10);
+		TestStateMachineModelFactory modelFactory = new TestStateMachineModelFactory();
+
+		assertThatThrownBy(() -> cache.get("m1", id -> {
+			throw new IllegalStateException("fail");
+		})).isInstanceOf(IllegalStateException.class);
+		assertThat(cache.size()).isEqualTo(0);
+		assertThat(cache.get("m1", modelFactory::build)).isNotNull();
+		assertThat(modelFactory.builds.get()).isEqualTo(1);
+	}
+
+	private static class TestStateMachineModelFactory implements StateMachineModelFactory<String, String> {
+
+		final AtomicInteger builds = new AtomicInteger();
+		final AtomicInteger verifications = new AtomicInteger();
+
+		@Override
+		public StateMachineModel<String, String> build() {
+			builds.incrementAndGet();
+			StateMachineModelVerifier<String, String> verifier = model -> verifications.incrementAndGet();
+			ConfigurationData<String, String> configurationData = new ConfigurationData<>(null, false, null,
+					new ArrayList<>(), false, null, null, null, null, true, verifier, null, null, null);
+
+			Collection<StateData<String, String>> stateData = new ArrayList<>();
+			stateData.add(new StateData<String, String>("S1", true));
+			stateData.add(new StateData<String, String>("S2"));
+			StatesData<String, String> statesData = new StatesData<>(stateData);
+
+			Collection<TransitionData<String, String>> transitionData = new ArrayList<>();
+			transitionData.add(new TransitionData<String, String>("S1", "S2", "E1"));
+			TransitionsData<String, String> transitionsData = new TransitionsData<>(transitionData);
+
+			return new DefaultStateMachineModel<>(configurationData, statesData, transitionsData);
+		}
+
+		@Override
+		public StateMachineModel<String, String> build(String machineId) {
+			return build();
+		}
+	}
+}
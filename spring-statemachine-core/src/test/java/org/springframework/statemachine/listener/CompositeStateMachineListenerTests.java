@@ -18,7 +18,11 @@ package org.springframework.statemachine.listener;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.statemachine.StateContext;
+import org.springframework.statemachine.StateContext.Stage;
 import org.springframework.statemachine.TestUtils;
+import org.springframework.statemachine.state.State;
+import org.springframework.statemachine.transition.Transition;
 
 import java.util.List;
 
@@ -45,4 +49,71 @@ public class CompositeStateMachineListenerTests {
 		assertThat(list).isEmpty();
 	}
 
+	@Test
+	public void testStageSubscriptions() throws Exception {
+		CompositeStateMachineListener<String, String> listener = new CompositeStateMachineListener<String, String>();
+		assertThat(listener.isSubscribed(Stage.STATE_CHANGED)).isFalse();
+
+		listener.register(new StateMachineListenerAdapter<String, String>());
+		assertThat(listener.isSubscribed(Stage.STATE_CHANGED)).isFalse();
+
+		StateMachineListenerAdapter<String, String> adapter = new StateMachineListenerAdapter<String, String>() {
+
+			@Override
+			public void stateChanged(State<String, String> from, State<String, String> to) {
+			}
+		};
+		listener.register(adapter);
+		assertThat(listener.isSubscribed(Stage.STATE_CHANGED)).isTrue();
+		assertThat(listener.isSubscribed(Stage.STATE_ENTRY)).isFalse();
+		assertThat(listener.isSubscribed(Stage.TRANSITION)).isFalse();
+
+		listener.unregister(adapter);
+		assertThat(listener.isSubscribed(Stage.STATE_CHANGED)).isFalse();
+	}
+
+	@Test
+	public void testStageSubscriptionsWithStateContext() throws Exception {
+		CompositeStateMachineListener<String, String> listener = new CompositeStateMachineListener<String, String>();
+		listener.register(new StateMachineListenerAdapter<String, String>() {
+
+			@Override
+			public void stateContext(StateContext<String, String> stateContext) {
+			}
+		});
+		for (Stage stage : Stage.values()) {
+			assertThat(listener.isSubscribed(stage)).isTrue();
+		}
+	}
+
+	@Test
+	public void testStageSubscriptionsDynamic() throws Exception {
+		CompositeStateMachineListener<String, String> listener = new CompositeStateMachineListener<String, String>();
+		CompositeStateMachineListener<String, String> delegate = new CompositeStateMachineListener<String, String>();
+		listener.register(new SubscriptionListener(delegate));
+		assertThat(listener.isSubscribed(Stage.TRANSITION)).isFalse();
+
+		delegate.register(new StateMachineListenerAdapter<String, String>() {
+
+			@Override
+			public void transition(Transition<String, String> transition) {
+			}
+		});
+		assertThat(listener.isSubscribed(Stage.TRANSITION)).isTrue();
+	}
+
+	private static class SubscriptionListener extends StateMachineListenerAdapter<String, String>
+			implements StageSubscription {
+
+		private final StageSubscription delegate;
+
+		SubscriptionListener(StageSubscription delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public boolean isSubscribed(Stage stage) {
+			return delegate.isSubscribed(stage);
+		}
+	}
 }
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.persist;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.statemachine.TestUtils.doSendEventAndConsumeAll;
+import static org.springframework.statemachine.TestUtils.doStartAndAssert;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.StateMachineContext;
+import org.springframework.statemachine.StateMachinePersist;
+import org.springframework.statemachine.StateMachineTimer;
+import org.springframework.statemachine.config.StateMachineBuilder;
+import org.springframework.statemachine.config.StateMachineBuilder.Builder;
+import org.springframework.statemachine.service.StateMachineTimerScanner;
+import org.springframework.statemachine.support.AbstractStateMachine;
+
+import reactor.core.Disposable;
+
+/**
+ * Tests for timers and delayed events surviving persist and restore.
+ *
+ * @author Janne Valkealahti
+ *
+ */
+public class StateMachineTimerTests {
+
+	@Test
+	public void testTriggerTimerPersistedAndRestored() throws Exception {
+		StateMachine<String, String> machine = buildMachine();
+		doStartAndAssert(machine);
+		doSendEventAndConsumeAll(machine, "E1");
+		assertThat(machine.getState().getIds()).containsExactly("S2");
+
+		InMemoryStateMachinePersist persist = new InMemoryStateMachinePersist();
+		StateMachinePersister<String, String, String> persister = new DefaultStateMachinePersister<>(persist);
+		persister.persist(machine, "xxx");
+		List<StateMachineTimer<String>> timers = persist.contexts.get("xxx").getTimers();
+		assertThat(timers).hasSize(1);
+		assertThat(timers.get(0).getId()).isEqualTo("S2#0");
+		assertThat(timers.get(0).getEvent()).isNull();
+		long deadline = timers.get(0).getDeadline();
+		assertThat(deadline).isGreaterThan(System.currentTimeMillis());
+
+		StateMachine<String, String> restored = buildMachine();
+		persister.restore(restored, "xxx");
+		doStartAndAssert(restored);
+		assertThat(restored.getState().getIds()).containsExactly("S2");
+		assertThat(((AbstractStateMachine<String, String>) restored).getTimers())
+			.extracting(StateMachineTimer::getDeadline).containsExactly(deadline);
+	}
+
+	@Test
+	public void testExpiredTriggerTimerFiresAfterRestore() throws Exception {
+		StateMachine<String, String> machine = buildMachine();
+		doStartAndAssert(machine);
+		doSendEventAndConsumeAll(machine, "E1");
+
+		InMemoryStateMachinePersist persist = new InMemoryStateMachinePersist();
+		StateMachinePersister<String, String, String> persister = new DefaultStateMachinePersister<>(persist);
+		persister.persist(machine, "xxx");
+		StateMachineContext<String, String> context = persist.contexts.get("xxx");
+		long expired = System.currentTimeMillis() - 1000;
+		StateMachineTimer<String> timer = context.getTimers().get(0);
+		context.getTimers().set(0, new StateMachineTimer<>(timer.getId(), expired, null, null));
+		assertThat(StateMachineTimerScanner.hasDueTimers(context, System.currentTimeMillis())).isTrue();
+
+		StateMachine<String, String> restored = buildMachine();
+		persister.restore(restored, "xxx");
+		doStartAndAssert(restored);
+		await().untilAsserted(() -> assertThat(restored.getState().getIds()).containsExactly("S3"));
+	}
+
+	@Test
+	public void testDelayedEventPersistedAndRestored() throws Exception {
+		StateMachine<String, String> machine = buildMachine();
+		doStartAndAssert(machine);
+		machine.sendEventAfter(MessageBuilder.withPayload("E1").setHeader("foo", "bar").build(), Duration.ofHours(1))
+			.block();
+		assertThat(machine.getState().getIds()).containsExactly("S1");
+
+		InMemoryStateMachinePersist persist = new InMemoryStateMachinePersist();
+		StateMachinePersister<String, String, String> persister = new DefaultStateMachinePersister<>(persist);
+		persister.persist(machine, "xxx");
+		StateMachineContext<String, String> context = persist.contexts.get("xxx");
+		assertThat(context.getTimers()).hasSize(1);
+		assertThat(context.getTimers().get(0).getEvent()).isEqualTo("E1");
+		assertThat(context.getTimers().get(0).getEventHeaders()).containsEntry("foo", "bar");
+		assertThat(StateMachineTimerScanner.hasDueTimers(context, System.currentTimeMillis())).isFalse();
+
+		StateMachineTimer<String> timer = context.getTimers().get(0);
+		context.getTimers().set(0, new StateMachineTimer<>(timer.getId(), System.currentTimeMillis(),
+				timer.getEvent(), timer.getEventHeaders()));
+		StateMachine<String, String> restored = buildMachine();
+		persister.restore(restored, "xxx");
+		doStartAndAssert(restored);
+		await().untilAsserted(() -> assertThat(restored.getState().getIds()).containsExactly("S2"));
+		assertThat(((AbstractStateMachine<String, String>) restored).getTimers())
+			.extracting(StateMachineTimer::getEvent).doesNotContain("E1");
+	}
+
+	@Test
+	public void testDelayedEventSent() throws Exception {
+		StateMachine<String, String> machine = buildMachine();
+		doStartAndAssert(machine);
+		machine.sendEventAt(MessageBuilder.withPayload("E1").build(), Instant.now().plusMillis(100)).block();
+		await().untilAsserted(() -> assertThat(machine.getState().getIds()).containsExactly("S2"));
+	}
+
+	@Test
+	public void testDelayedEventCancelled() throws Exception {
+		StateMachine<String, String> machine = buildMachine();
+		doStartAndAssert(machine);
+		Disposable disposable = machine.sendEventAfter(MessageBuilder.withPayload("E1").build(), Duration.ofMillis(100))
+			.block();
+		disposable.dispose();
+		assertThat(disposable.isDisposed()).isTrue();
+		assertThat(((AbstractStateMachine<String, String>) machine).getTimers()).isEmpty();
+		Thread.sleep(300);
+		assertThat(machine.getState().getIds()).containsExactly("S1");
+	}
+
+	@Test
+	public void testSubmachineTimersPersistedAndRestoredOnce() throws Exception {
+		AtomicInteger count = new AtomicInteger();
+		StateMachine<String, String> machine = buildSubmachineMachine(count);
+		doStartAndAssert(machine);
+		assertThat(machine.getState().getIds()).containsExactly("S1", "S11");
+		machine.sendEventAfter(MessageBuilder.withPayload("E1").build(), Duration.ofHours(1)).block();
+
+		InMemoryStateMachinePersist persist = new InMemoryStateMachinePersist();
+		StateMachinePersister<String, String, String> persister = new DefaultStateMachinePersister<>(persist);
+		persister.persist(machine, "xxx");
+		StateMachineContext<String, String> context = persist.contexts.get("xxx");
+		assertThat(context.getTimers()).extracting(StateMachineTimer::getId).hasSize(2).contains("S11#0");
+		assertThat(context.getChilds()).hasSize(1);
+		assertThat(context.getChilds().get(0).getTimers()).isEmpty();
+
+		StateMachineTimer<String> delayed = context.getTimers().stream().filter(t -> t.getEvent() != null)
+				.findFirst().get();
+		context.getTimers().remove(delayed);
+		context.getTimers().add(new StateMachineTimer<>(delayed.getId(), System.currentTimeMillis(), "E1", null));
+		StateMachine<String, String> restored = buildSubmachineMachine(count);
+		persister.restore(restored, "xxx");
+		doStartAndAssert(restored);
+		await().untilAsserted(() -> assertThat(count.get()).isEqualTo(1));
+		assertThat(((AbstractStateMachine<String, String>) restored).getTimers())
+			.extracting(StateMachineTimer::getId).containsExactly("S11#0");
+		Thread.sleep(200);
+		assertThat(count.get()).isEqualTo(1);
+	}
+
+	private static StateMachine<String, String> buildSubmachineMachine(AtomicInteger count) throws Exception {
+		Builder<String, String> builder = StateMachineBuilder.builder();
+		builder.configureStates()
+			.withStates()
+				.initial("S1").state("S2")
+				.and()
+				.withStates()
+					.parent("S1")
+					.initial("S11").state("S12");
+		builder.configureTransitions()
+			.withInternal()
+				.source("S11").event("E1").action(context -> count.incrementAndGet())
+				.and()
+			.withExternal()
+				.source("S11").target("S12").timerOnce(60000)
+				.and()
+			.withExternal()
+				.source("S1").target("S2").event("E2");
+		return builder.build();
+	}
+
+	private static StateMachine<String, String> buildMachine() throws Exception {
+		Builder<String, String> builder = StateMachineBuilder.builder();
+		builder.configureStates()
+			.withStates()
+				.initial("S1").state("S2").state("S3");
+		builder.configureTransitions()
+			.withExternal()
+				.source("S1").target("S2").event("E1")
+				.and()
+			.withExternal()
+				.source("S2").target("S3").timerOnce(60000);
+		return builder.build();
+	}
+
+	private static class InMemoryStateMachinePersist implements StateMachinePersist<String, String, String> {
+
+		final HashMap<String, StateMachineContext<String, String>> contexts = new HashMap<>();
+
+		@Override
+		public void write(StateMachineContext<String, String> context, String contextObj) throws Exception {
+			contexts.put(contextObj, context);
+		}
+
+		@Override
+		public StateMachineContext<String, String> read(String contextObj) throws Exception {
+			return contexts.get(contextObj);
+		}
+	}
+}
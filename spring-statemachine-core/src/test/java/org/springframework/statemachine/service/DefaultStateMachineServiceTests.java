@@ -17,7 +17,18 @@ package org.springframework.statemachine.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.context.Lifecycle;
@@ -25,6 +36,8 @@ import org.springframework.context.annotation.AnnotationConfigApplicationContext
 import org.springframework.context.annotation.Configuration;
 import org.springframework.statemachine.AbstractStateMachineTests;
 import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.StateMachineContext;
+import org.springframework.statemachine.StateMachinePersist;
 import org.springframework.statemachine.StateMachineSystemConstants;
 import org.springframework.statemachine.TestUtils;
 import org.springframework.statemachine.config.EnableStateMachineFactory;
@@ -33,6 +46,8 @@ import org.springframework.statemachine.config.StateMachineFactory;
 import org.springframework.statemachine.config.builders.StateMachineStateConfigurer;
 import org.springframework.statemachine.config.builders.StateMachineTransitionConfigurer;
 
+import reactor.test.StepVerifier;
+
 /**
  * Tests for {@link DefaultStateMachineService}.
  *
@@ -117,6 +132,145 @@ public class DefaultStateMachineServiceTests extends AbstractStateMachineTests {
 		assertThat(machines).isEmpty();
 	}
 
+	@Test
+	public void testConcurrentAcquireDoesNotSerialize() throws Exception {
+		context.register(Config1.class);
+		context.refresh();
+		StateMachineFactory<TestStates, TestEvents> stateMachineFactory =
+				context.getBean(StateMachineSystemConstants.DEFAULT_ID_STATEMACHINEFACTORY, StateMachineFactory.class);
+
+		SlowStateMachinePersist persist = new SlowStateMachinePersist();
+		DefaultStateMachineService<TestStates, TestEvents> service = new DefaultStateMachineService<>(
+				stateMachineFactory, persist);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<StateMachine<TestStates, TestEvents>>> futures = new ArrayList<>();
+			for (int i = 0; i < 4; i++) {
+				futures.add(executor.submit(() -> service.acquireStateMachine("m1", true)));
+			}
+			assertThat(persist.reading.await(2, TimeUnit.SECONDS)).isTrue();
+
+			// slow read of m1 doesn't block other machines
+			StateMachine<TestStates, TestEvents> machine2 = service.acquireStateMachine("m2", true);
+			assertThat(((Lifecycle) machine2).isRunning()).isTrue();
+
+			persist.release.countDown();
+			StateMachine<TestStates, TestEvents> machine1 = futures.get(0).get(2, TimeUnit.SECONDS);
+			for (Future<StateMachine<TestStates, TestEvents>> future : futures) {
+				assertThat(future.get(2, TimeUnit.SECONDS)).isSameAs(machine1);
+			}
+			assertThat(((Lifecycle) machine1).isRunning()).isTrue();
+			assertThat(persist.reads.get()).isEqualTo(2);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testReactiveAcquireAndRelease() {
+		context.register(Config1.class);
+		context.refresh();
+		StateMachineFactory<TestStates, TestEvents> stateMachineFactory =
+				context.getBean(StateMachineSystemConstants.DEFAULT_ID_STATEMACHINEFACTORY, StateMachineFactory.class);
+
+		DefaultStateMachineService<TestStates, TestEvents> service = new DefaultStateMachineService<>(stateMachineFactory);
+		AtomicReference<StateMachine<TestStates, TestEvents>> machine = new AtomicReference<>();
+		StepVerifier.create(service.acquireStateMachineReactively("m1"))
+			.assertNext(m -> {
+				assertThat(((Lifecycle) m).isRunning()).isTrue();
+				machine.set(m);
+			})
+			.verifyComplete();
+		StepVerifier.create(service.acquireStateMachineReactively("m1", false))
+			.assertNext(m -> assertThat(m).isSameAs(machine.get()))
+			.verifyComplete();
+
+		StepVerifier.create(service.releaseStateMachineReactively("m1")).verifyComplete();
+		assertThat(((Lifecycle) machine.get()).isRunning()).isFalse();
+		assertThat(service.hasStateMachine("m1")).isFalse();
+	}
+
+	@Test
+	public void testReleaseWhileAcquiringDoesNotOrphanMachine() throws Exception {
+		context.register(Config1.class);
+		context.refresh();
+		RecordingStateMachineFactory stateMachineFactory = new RecordingStateMachineFactory(
+				context.getBean(StateMachineSystemConstants.DEFAULT_ID_STATEMACHINEFACTORY, StateMachineFactory.class));
+
+		SlowStateMachinePersist persist = new SlowStateMachinePersist();
+		DefaultStateMachineService<TestStates, TestEvents> service = new DefaultStateMachineService<>(
+				stateMachineFactory, persist);
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<StateMachine<TestStates, TestEvents>> future = executor.submit(() -> service.acquireStateMachine("m1", true));
+			assertThat(persist.reading.await(2, TimeUnit.SECONDS)).isTrue();
+
+			// released while m1 is still being built
+			service.releaseStateMachineReactively("m1").subscribe();
+			persist.release.countDown();
+
+			StateMachine<TestStates, TestEvents> machine = future.get(2, TimeUnit.SECONDS);
+			assertThat(((Lifecycle) machine).isRunning()).isTrue();
+			assertThat(service.hasStateMachine("m1")).isTrue();
+			assertThat(stateMachineFactory.machines).hasSize(2);
+			assertThat(stateMachineFactory.machines.get(1)).isSameAs(machine);
+			assertThat(((Lifecycle) stateMachineFactory.machines.get(0)).isRunning()).isFalse();
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static class RecordingStateMachineFactory implements StateMachineFactory<TestStates, TestEvents> {
+
+		final StateMachineFactory<TestStates, TestEvents> delegate;
+		final List<StateMachine<TestStates, TestEvents>> machines = new CopyOnWriteArrayList<>();
+
+		RecordingStateMachineFactory(StateMachineFactory<TestStates, TestEvents> delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public StateMachine<TestStates, TestEvents> getStateMachine() {
+			return record(delegate.getStateMachine());
+		}
+
+		@Override
+		public StateMachine<TestStates, TestEvents> getStateMachine(String machineId) {
+			return record(delegate.getStateMachine(machineId));
+		}
+
+		@Override
+		public StateMachine<TestStates, TestEvents> getStateMachine(UUID uuid) {
+			return record(delegate.getStateMachine(uuid));
+		}
+
+		private StateMachine<TestStates, TestEvents> record(StateMachine<TestStates, TestEvents> machine) {
+			machines.add(machine);
+			return machine;
+		}
+	}
+
+	private static class SlowStateMachinePersist implements StateMachinePersist<TestStates, TestEvents, String> {
+
+		final AtomicInteger reads = new AtomicInteger();
+		final CountDownLatch reading = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+
+		@Override
+		public void write(StateMachineContext<TestStates, TestEvents> context, String contextObj) throws Exception {
+		}
+
+		@Override
+		public StateMachineContext<TestStates, TestEvents> read(String contextObj) throws Exception {
+			reads.incrementAndGet();
+			if ("m1".equals(contextObj)) {
+				reading.countDown();
+				release.await(2, TimeUnit.SECONDS);
+			}
+			return null;
+		}
+	}
+
 	@Configuration
 	@EnableStateMachineFactory
 	static class Config1 extends EnumStateMachineConfigurerAdapter<TestStates, TestEvents> {
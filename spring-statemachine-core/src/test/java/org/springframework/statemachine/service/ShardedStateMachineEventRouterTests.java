@@ -0,0 +1,167 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.StateMachineEventResult;
+import org.springframework.statemachine.StateMachineEventResult.ResultType;
+import org.springframework.statemachine.TestUtils;
+import org.springframework.statemachine.config.StateMachineBuilder;
+import org.springframework.statemachine.config.StateMachineBuilder.Builder;
+import org.springframework.statemachine.config.StateMachineFactory;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Tests for {@link ShardedStateMachineEventRouter}.
+ *
+ * @author Janne Valkealahti
+ *
+ */
+public class ShardedStateMachineEventRouterTests {
+
+	private final Map<String, List<String>> handled = new ConcurrentHashMap<>();
+	private ShardedStateMachineEventRouter<String, String> router;
+
+	@AfterEach
+	public void clean() throws Exception {
+		if (router != null) {
+			router.destroy();
+		}
+	}
+
+	@Test
+	public void testEventsAreOrderedPerMachine() throws Exception {
+		DefaultStateMachineService<String, String> service = new DefaultStateMachineService<>(buildFactory());
+		router = new ShardedStateMachineEventRouter<>(service, 2);
+
+		List<Flux<StateMachineEventResult<String, String>>> results = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			for (String machineId : new String[] { "m1", "m2", "m3" }) {
+				String event = i % 2 == 0 ? "E1" : "E2";
+				results.add(router.sendEvent(machineId, MessageBuilder.withPayload(event).build()));
+			}
+		}
+		List<StateMachineEventResult<String, String>> all = Flux.merge(results)
+			.collectList()
+			.block(Duration.ofSeconds(10));
+
+		assertThat(all).hasSize(30);
+		assertThat(all).allMatch(r -> r.getResultType() == ResultType.ACCEPTED);
+		for (String machineId : new String[] { "m1", "m2", "m3" }) {
+			assertThat(service.hasStateMachine(machineId)).isTrue();
+			assertThat(handled.get(machineId)).hasSize(10);
+			for (int i = 0; i < 10; i++) {
+				assertThat(handled.get(machineId).get(i)).isEqualTo(i % 2 == 0 ? "E1" : "E2");
+			}
+		}
+	}
+
+	@Test
+	public void testIdleMachineIsNotAcquiredAgain() throws Exception {
+		AtomicInteger acquired = new AtomicInteger();
+		DefaultStateMachineService<String, String> service = new DefaultStateMachineService<String, String>(buildFactory()) {
+
+			@Override
+			public Mono<StateMachine<String, String>> acquireStateMachineReactively(String machineId) {
+				acquired.incrementAndGet();
+				return super.acquireStateMachineReactively(machineId);
+			}
+		};
+		router = new ShardedStateMachineEventRouter<>(service, 1);
+
+		for (int i = 0; i < 4; i++) {
+			String event = i % 2 == 0 ? "E1" : "E2";
+			List<StateMachineEventResult<String, String>> results = router
+				.sendEvent("m1", MessageBuilder.withPayload(event).build())
+				.collectList()
+				.block(Duration.ofSeconds(10));
+			assertThat(results).allMatch(r -> r.getResultType() == ResultType.ACCEPTED);
+		}
+		assertThat(acquired.get()).isEqualTo(1);
+
+		router.releaseStateMachine("m1");
+		router.sendEvent("m1", MessageBuilder.withPayload("E1").build()).blockLast(Duration.ofSeconds(10));
+		assertThat(acquired.get()).isEqualTo(2);
+	}
+
+	@Test
+	public void testStoppedMachineIsForgotten() throws Exception {
+		DefaultStateMachineService<String, String> service = new DefaultStateMachineService<>(buildFactory());
+		router = new ShardedStateMachineEventRouter<>(service, 1);
+		List<?> loops = TestUtils.readField("loops", router);
+		Map<?, ?> slots = TestUtils.readField("slots", loops.get(0));
+
+		router.sendEvent("m1", MessageBuilder.withPayload("E1").build()).blockLast(Duration.ofSeconds(10));
+		router.sendEvent("m2", MessageBuilder.withPayload("E1").build()).blockLast(Duration.ofSeconds(10));
+		await().untilAsserted(() -> assertThat(slots).hasSize(2));
+
+		// m1 stops in its final state and m2 is stopped outside of a router
+		router.sendEvent("m1", MessageBuilder.withPayload("E3").build()).blockLast(Duration.ofSeconds(10));
+		service.acquireStateMachine("m2").stopReactively().block();
+		await().untilAsserted(() -> assertThat(slots).isEmpty());
+	}
+
+	@Test
+	public void testMachineIsRoutedToSameLoop() throws Exception {
+		DefaultStateMachineService<String, String> service = new DefaultStateMachineService<>(buildFactory());
+		router = new ShardedStateMachineEventRouter<>(service, 4);
+
+		assertThat(router.getLoopCount()).isEqualTo(4);
+		assertThat(router.getLoopIndex("m1")).isEqualTo(router.getLoopIndex("m1"));
+		assertThat(router.getLoopIndex("m1")).isBetween(0, 3);
+	}
+
+	private StateMachineFactory<String, String> buildFactory() throws Exception {
+		Builder<String, String> builder = StateMachineBuilder.builder();
+		builder.configureStates()
+			.withStates()
+				.initial("S1")
+				.state("S2")
+				.end("SF");
+		builder.configureTransitions()
+			.withExternal()
+				.source("S1").target("S2").event("E1")
+				.action(context -> record(context.getStateMachine(), context.getEvent()))
+				.and()
+			.withExternal()
+				.source("S2").target("S1").event("E2")
+				.action(context -> record(context.getStateMachine(), context.getEvent()))
+				.and()
+			.withExternal()
+				.source("S2").target("SF").event("E3");
+		return builder.createFactory();
+	}
+
+	private void record(StateMachine<String, String> stateMachine, String event) {
+		handled.computeIfAbsent(stateMachine.getId(), id -> new CopyOnWriteArrayList<>()).add(event);
+	}
+}
@@ -0,0 +1,319 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.statemachine.TestUtils.doSendEventAndConsumeAll;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.Lifecycle;
+import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.StateMachineContext;
+import org.springframework.statemachine.StateMachinePersist;
+import org.springframework.statemachine.config.StateMachineBuilder;
+import org.springframework.statemachine.config.StateMachineBuilder.Builder;
+import org.springframework.statemachine.config.StateMachineFactory;
+import org.springframework.statemachine.listener.StateMachineListener;
+import org.springframework.statemachine.listener.StateMachineListenerAdapter;
+
+/**
+ * Tests for machine eviction in {@link DefaultStateMachineService}.
+ *
+ * @author Janne Valkealahti
+ *
+ */
+public class StateMachineEvictionTests {
+
+	@Test
+	public void testLeastRecentlyUsedIsPassivated() throws Exception {
+		InMemoryStateMachinePersist persist = new InMemoryStateMachinePersist();
+		DefaultStateMachineService<String, String> service = new DefaultStateMachineService<>(buildFactory(), persist);
+		service.setMaxStateMachines(2);
+
+		StateMachine<String, String> machine1 = service.acquireStateMachine("m1");
+		doSendEventAndConsumeAll(machine1, "E1");
+		service.returnStateMachine("m1");
+		acquireAndReturn(service, "m2");
+		acquireAndReturn(service, "m1");
+		acquireAndReturn(service, "m3");
+
+		// evicted in the background
+		await().untilAsserted(() -> assertThat(service.getEvictionCount()).isEqualTo(1));
+		assertThat(service.getStateMachineCount()).isEqualTo(2);
+		assertThat(service.hasStateMachine("m1")).isTrue();
+		assertThat(service.hasStateMachine("m2")).isFalse();
+		assertThat(service.getEvictionCount()).isEqualTo(1);
+		assertThat(persist.contexts).containsKey("m2");
+
+		// m1 evicted in S2 and restored from a store
+		acquireAndReturn(service, "m2");
+		await().untilAsserted(() -> assertThat(service.getEvictionCount()).isEqualTo(2));
+		assertThat(service.hasStateMachine("m1")).isFalse();
+		assertThat(((Lifecycle) machine1).isRunning()).isFalse();
+		StateMachine<String, String> restored = service.acquireStateMachine("m1");
+		assertThat(restored).isNotSameAs(machine1);
+		assertThat(restored.getState().getIds()).containsExactly("S2");
+
+		assertThat(service.getHitCount()).isEqualTo(1);
+		assertThat(service.getMissCount()).isEqualTo(5);
+		service.destroy();
+	}
+
+	@Test
+	public void testLeastFrequentlyUsed() throws Exception {
+		DefaultStateMachineService<String, String> service = new DefaultStateMachineService<>(buildFactory(),
+				new InMemoryStateMachinePersist());
+		service.setMaxStateMachines(2);
+		service.setEvictionPolicy(StateMachineEvictionPolicies.leastFrequentlyUsed());
+
+		acquireAndReturn(service, "m1");
+		acquireAndReturn(service, "m1");
+		acquireAndReturn(service, "m2");
+		acquireAndReturn(service, "m3");
+
+		await().untilAsserted(() -> assertThat(service.hasStateMachine("m2")).isFalse());
+		assertThat(service.hasStateMachine("m1")).isTrue();
+		assertThat(service.hasStateMachine("m3")).isTrue();
+		service.destroy();
+	}
+
+	@Test
+	public void testIdleMachinesExpire() throws Exception {
+		DefaultStateMachineService<String, String> service = new DefaultStateMachineService<>(buildFactory(),
+				new InMemoryStateMachinePersist());
+		service.setEvictionPolicy(StateMachineEvictionPolicies.idleTime(Duration.ofMillis(50)));
+
+		acquireAndReturn(service, "m1");
+		acquireAndReturn(service, "m2");
+		Thread.sleep(100);
+		acquireAndReturn(service, "m2");
+		service.evictExpiredStateMachines();
+
+		assertThat(service.hasStateMachine("m1")).isFalse();
+		assertThat(service.hasStateMachine("m2")).isTrue();
+		assertThat(service.getEvictionCount()).isEqualTo(1);
+		service.destroy();
+	}
+
+	@Test
+	public void testEvictionRequiresPersist() throws Exception {
+		DefaultStateMachineService<String, String> service = new DefaultStateMachineService<>(buildFactory());
+		assertThatThrownBy(() -> service.setMaxStateMachines(2)).isInstanceOf(IllegalStateException.class);
+		assertThatThrownBy(() -> service.setEvictionPolicy(StateMachineEvictionPolicies.leastRecentlyUsed()))
+				.isInstanceOf(IllegalStateException.class);
+
+		service.setStateMachinePersist(new InMemoryStateMachinePersist());
+		service.setMaxStateMachines(2);
+		assertThatThrownBy(() -> service.setStateMachinePersist(null)).isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	public void testMachineBeingAcquiredIsNotEvicted() throws Exception {
+		BlockingStartListener listener = new BlockingStartListener();
+		DefaultStateMachineService<String, String> service = new DefaultStateMachineService<>(buildFactory(listener),
+				new InMemoryStateMachinePersist());
+		service.setEvictionPolicy(StateMachineEvictionPolicies.idleTime(Duration.ofMillis(1)));
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<StateMachine<String, String>> future = executor.submit(() -> service.acquireStateMachine("m1"));
+			assertThat(listener.starting.await(2, TimeUnit.SECONDS)).isTrue();
+			Thread.sleep(50);
+
+			// expired but still starting
+			service.evictExpiredStateMachines();
+			assertThat(service.hasStateMachine("m1")).isTrue();
+			assertThat(service.getEvictionCount()).isEqualTo(0);
+
+			listener.release.countDown();
+			StateMachine<String, String> machine = future.get(2, TimeUnit.SECONDS);
+			assertThat(((Lifecycle) machine).isRunning()).isTrue();
+
+			service.returnStateMachine("m1");
+			Thread.sleep(50);
+			service.evictExpiredStateMachines();
+			assertThat(service.hasStateMachine("m1")).isFalse();
+			assertThat(service.getEvictionCount()).isEqualTo(1);
+		} finally {
+			executor.shutdownNow();
+			service.destroy();
+		}
+	}
+
+	@Test
+	public void testMachineInUseIsNotEvicted() throws Exception {
+		DefaultStateMachineService<String, String> service = new DefaultStateMachineService<>(buildFactory(),
+				new InMemoryStateMachinePersist());
+		service.setEvictionPolicy(StateMachineEvictionPolicies.idleTime(Duration.ofMillis(1)));
+
+		StateMachine<String, String> machine = service.acquireStateMachine("m1");
+		service.acquireStateMachine("m1");
+		service.returnStateMachine("m1");
+		Thread.sleep(50);
+
+		// expired but still held from a first acquire
+		service.evictExpiredStateMachines();
+		assertThat(service.hasStateMachine("m1")).isTrue();
+		assertThat(service.getEvictionCount()).isEqualTo(0);
+		assertThat(((Lifecycle) machine).isRunning()).isTrue();
+		doSendEventAndConsumeAll(machine, "E1");
+		assertThat(machine.getState().getIds()).containsExactly("S2");
+
+		service.returnStateMachine("m1");
+		Thread.sleep(50);
+		service.evictExpiredStateMachines();
+		assertThat(service.hasStateMachine("m1")).isFalse();
+		assertThat(service.getEvictionCount()).isEqualTo(1);
+		assertThat(((Lifecycle) machine).isRunning()).isFalse();
+		service.destroy();
+	}
+
+	@Test
+	public void testFailedPassivationKeepsMachine() throws Exception {
+		FailingStateMachinePersist persist = new FailingStateMachinePersist();
+		persist.release.countDown();
+		DefaultStateMachineService<String, String> service = new DefaultStateMachineService<>(buildFactory(), persist);
+		service.setMaxStateMachines(1);
+
+		StateMachine<String, String> machine1 = service.acquireStateMachine("m1");
+		doSendEventAndConsumeAll(machine1, "E1");
+		service.returnStateMachine("m1");
+		acquireAndReturn(service, "m2");
+
+		await().untilAsserted(() -> assertThat(persist.writes.get()).isEqualTo(1));
+		await().untilAsserted(() -> assertThat(service.hasStateMachine("m1")).isTrue());
+		assertThat(service.getEvictionCount()).isEqualTo(0);
+		assertThat(((Lifecycle) machine1).isRunning()).isTrue();
+		assertThat(service.acquireStateMachine("m1")).isSameAs(machine1);
+		service.destroy();
+	}
+
+	@Test
+	public void testFailedPassivationHandsMachineOver() throws Exception {
+		FailingStateMachinePersist persist = new FailingStateMachinePersist();
+		DefaultStateMachineService<String, String> service = new DefaultStateMachineService<>(buildFactory(), persist);
+		service.setMaxStateMachines(1);
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			StateMachine<String, String> machine1 = service.acquireStateMachine("m1");
+			doSendEventAndConsumeAll(machine1, "E1");
+			service.returnStateMachine("m1");
+			acquireAndReturn(service, "m2");
+			assertThat(persist.writing.await(2, TimeUnit.SECONDS)).isTrue();
+			assertThat(service.hasStateMachine("m1")).isFalse();
+
+			// acquired again while its passivation is still writing
+			Future<StateMachine<String, String>> future = executor.submit(() -> service.acquireStateMachine("m1"));
+			await().untilAsserted(() -> assertThat(service.hasStateMachine("m1")).isTrue());
+			persist.release.countDown();
+
+			StateMachine<String, String> acquired = future.get(2, TimeUnit.SECONDS);
+			assertThat(acquired).isSameAs(machine1);
+			assertThat(((Lifecycle) acquired).isRunning()).isTrue();
+			assertThat(acquired.getState().getIds()).containsExactly("S2");
+		} finally {
+			executor.shutdownNow();
+			service.destroy();
+		}
+	}
+
+	private static void acquireAndReturn(DefaultStateMachineService<String, String> service, String machineId) {
+		service.acquireStateMachine(machineId);
+		service.returnStateMachine(machineId);
+	}
+
+	private static StateMachineFactory<String, String> buildFactory() throws Exception {
+		return buildFactory(null);
+	}
+
+	private static StateMachineFactory<String, String> buildFactory(StateMachineListener<String, String> listener)
+			throws Exception {
+		Builder<String, String> builder = StateMachineBuilder.builder();
+		if (listener != null) {
+			builder.configureConfiguration()
+				.withConfiguration()
+					.listener(listener);
+		}
+		builder.configureStates()
+			.withStates()
+				.initial("S1")
+				.state("S2");
+		builder.configureTransitions()
+			.withExternal()
+				.source("S1").target("S2").event("E1");
+		return builder.createFactory();
+	}
+
+	private static class BlockingStartListener extends StateMachineListenerAdapter<String, String> {
+
+		final CountDownLatch starting = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+
+		@Override
+		public void stateMachineStarted(StateMachine<String, String> stateMachine) {
+			starting.countDown();
+			try {
+				release.await(2, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private static class FailingStateMachinePersist extends InMemoryStateMachinePersist {
+
+		final AtomicInteger writes = new AtomicInteger();
+		final CountDownLatch writing = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+
+		@Override
+		public void write(StateMachineContext<String, String> context, String contextObj) throws Exception {
+			if (writes.incrementAndGet() == 1) {
+				writing.countDown();
+				release.await(2, TimeUnit.SECONDS);
+				throw new IOException("write failed");
+			}
+			super.write(context, contextObj);
+		}
+	}
+
+	private static class InMemoryStateMachinePersist implements StateMachinePersist<String, String, String> {
+
+		final Map<String, StateMachineContext<String, String>> contexts = new HashMap<>();
+
+		@Override
+		public synchronized void write(StateMachineContext<String, String> context, String contextObj) throws Exception {
+			contexts.put(contextObj, context);
+		}
+
+		@Override
+		public synchronized StateMachineContext<String, String> read(String contextObj) throws Exception {
+			return contexts.get(contextObj);
+		}
+	}
+}
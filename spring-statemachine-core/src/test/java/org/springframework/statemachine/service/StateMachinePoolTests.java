@@ -0,0 +1,193 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.statemachine.TestUtils.doSendEventAndConsumeAll;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.Lifecycle;
+import org.springframework.messaging.Message;
+import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.StateMachineException;
+import org.springframework.statemachine.config.StateMachineBuilder;
+import org.springframework.statemachine.config.StateMachineBuilder.Builder;
+import org.springframework.statemachine.config.StateMachineFactory;
+import org.springframework.statemachine.listener.StateMachineListenerAdapter;
+import org.springframework.statemachine.state.State;
+import org.springframework.statemachine.support.DefaultExtendedState;
+import org.springframework.statemachine.support.DefaultStateMachineContext;
+import org.springframework.statemachine.support.StateMachineInterceptorAdapter;
+
+/**
+ * Tests for {@link StateMachinePool}.
+ *
+ * @author Janne Valkealahti
+ *
+ */
+public class StateMachinePoolTests {
+
+	private StateMachinePool<String, String> pool;
+
+	@AfterEach
+	public void clean() throws Exception {
+		if (pool != null) {
+			pool.destroy();
+		}
+	}
+
+	@Test
+	public void testMachineIsResetOnReturn() throws Exception {
+		pool = new StateMachinePool<>(buildFactory(), 1, 2);
+		pool.afterPropertiesSet();
+		assertThat(pool.getIdleCount()).isEqualTo(1);
+		assertThat(pool.getCreatedCount()).isEqualTo(1);
+
+		StateMachine<String, String> stateMachine = pool.borrowStateMachine();
+		assertThat(stateMachine.getState().getIds()).containsExactly("S1");
+		doSendEventAndConsumeAll(stateMachine, "E1");
+		doSendEventAndConsumeAll(stateMachine, "E3");
+		stateMachine.getExtendedState().getVariables().put("foo", "bar");
+		assertThat(stateMachine.getState().getIds()).containsExactly("S2");
+		assertThat(pool.getActiveCount()).isEqualTo(1);
+
+		pool.returnStateMachine(stateMachine);
+		assertThat(pool.getActiveCount()).isEqualTo(0);
+		assertThat(pool.getIdleCount()).isEqualTo(1);
+
+		StateMachine<String, String> stateMachine2 = pool.borrowStateMachine();
+		assertThat(stateMachine2).isSameAs(stateMachine);
+		assertThat(stateMachine2.getState().getIds()).containsExactly("S1");
+		assertThat(stateMachine2.getExtendedState().getVariables()).isEmpty();
+		// deferred E3 from a previous borrower must not fire in S3
+		doSendEventAndConsumeAll(stateMachine2, "E2");
+		assertThat(stateMachine2.getState().getIds()).containsExactly("S3");
+
+		assertThat(pool.getCreatedCount()).isEqualTo(1);
+		assertThat(pool.getBorrowCount()).isEqualTo(2);
+		assertThat(pool.getMaxBorrowLatency()).isGreaterThanOrEqualTo(pool.getAverageBorrowLatency());
+	}
+
+	@Test
+	public void testBorrowWithContext() throws Exception {
+		pool = new StateMachinePool<>(buildFactory(), 0, 1);
+		DefaultExtendedState extendedState = new DefaultExtendedState();
+		extendedState.getVariables().put("foo", "bar");
+		StateMachine<String, String> stateMachine = pool.borrowStateMachine(
+				new DefaultStateMachineContext<>("S2", null, null, extendedState, null, "m1"));
+
+		assertThat(stateMachine.getId()).isEqualTo("m1");
+		assertThat(stateMachine.getState().getIds()).containsExactly("S2");
+		assertThat(stateMachine.getExtendedState().getVariables()).containsEntry("foo", "bar");
+	}
+
+	@Test
+	public void testMaxSize() throws Exception {
+		pool = new StateMachinePool<>(buildFactory(), 0, 1);
+		pool.setBorrowTimeout(Duration.ofMillis(100));
+		StateMachine<String, String> stateMachine = pool.borrowStateMachine();
+
+		assertThatThrownBy(() -> pool.borrowStateMachine()).isInstanceOf(StateMachineException.class);
+
+		pool.returnStateMachine(stateMachine);
+		assertThat(pool.borrowStateMachine()).isSameAs(stateMachine);
+	}
+
+	@Test
+	public void testAddedListenersAndInterceptorsRemovedOnReturn() throws Exception {
+		pool = new StateMachinePool<>(buildFactory(), 0, 1);
+		StateMachine<String, String> stateMachine = pool.borrowStateMachine();
+		AtomicInteger listenerCount = new AtomicInteger();
+		AtomicInteger interceptorCount = new AtomicInteger();
+		stateMachine.addStateListener(new StateMachineListenerAdapter<String, String>() {
+
+			@Override
+			public void stateChanged(State<String, String> from, State<String, String> to) {
+				listenerCount.incrementAndGet();
+			}
+		});
+		stateMachine.getStateMachineAccessor().doWithAllRegions(function -> function.addStateMachineInterceptor(
+				new StateMachineInterceptorAdapter<String, String>() {
+
+					@Override
+					public Message<String> preEvent(Message<String> message, StateMachine<String, String> stateMachine) {
+						interceptorCount.incrementAndGet();
+						return message;
+					}
+				}));
+		doSendEventAndConsumeAll(stateMachine, "E1");
+		assertThat(listenerCount.get()).isEqualTo(1);
+		assertThat(interceptorCount.get()).isEqualTo(1);
+		pool.returnStateMachine(stateMachine);
+
+		StateMachine<String, String> stateMachine2 = pool.borrowStateMachine();
+		assertThat(stateMachine2).isSameAs(stateMachine);
+		doSendEventAndConsumeAll(stateMachine2, "E1");
+		assertThat(stateMachine2.getState().getIds()).containsExactly("S2");
+		assertThat(listenerCount.get()).isEqualTo(1);
+		assertThat(interceptorCount.get()).isEqualTo(1);
+	}
+
+	@Test
+	public void testMinIdleRefilledAfterDiscard() throws Exception {
+		pool = new StateMachinePool<>(buildFactory(), 1, 2);
+		pool.afterPropertiesSet();
+		StateMachine<String, String> stateMachine = pool.borrowStateMachine();
+		assertThat(pool.getIdleCount()).isEqualTo(0);
+
+		stateMachine.setStateMachineError(new RuntimeException("fail"));
+		pool.returnStateMachine(stateMachine);
+		assertThat(((Lifecycle) stateMachine).isRunning()).isFalse();
+		assertThat(pool.getDiscardedCount()).isEqualTo(1);
+		await().untilAsserted(() -> assertThat(pool.getIdleCount()).isEqualTo(1));
+		assertThat(pool.getCreatedCount()).isEqualTo(2);
+	}
+
+	@Test
+	public void testReturnUnknownMachine() throws Exception {
+		StateMachineFactory<String, String> factory = buildFactory();
+		pool = new StateMachinePool<>(factory, 0, 1);
+
+		assertThatThrownBy(() -> pool.returnStateMachine(factory.getStateMachine()))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private static StateMachineFactory<String, String> buildFactory() throws Exception {
+		Builder<String, String> builder = StateMachineBuilder.builder();
+		builder.configureStates()
+			.withStates()
+				.initial("S1")
+				.state("S2", "E3")
+				.state("S3")
+				.state("S4");
+		builder.configureTransitions()
+			.withExternal()
+				.source("S1").target("S2").event("E1")
+				.and()
+			.withExternal()
+				.source("S1").target("S3").event("E2")
+				.and()
+			.withExternal()
+				.source("S3").target("S4").event("E3");
+		return builder.createFactory();
+	}
+}
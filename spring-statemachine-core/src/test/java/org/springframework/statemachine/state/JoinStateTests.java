@@ -27,18 +27,22 @@ import org.junit.jupiter.api.Test;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.statemachine.AbstractStateMachineTests;
 import org.springframework.statemachine.ObjectStateMachine;
 import org.springframework.statemachine.StateMachine;
 import org.springframework.statemachine.StateMachineSystemConstants;
 import org.springframework.statemachine.config.EnableStateMachine;
 import org.springframework.statemachine.config.EnumStateMachineConfigurerAdapter;
+import org.springframework.statemachine.config.StateMachineBuilder;
 import org.springframework.statemachine.config.builders.StateMachineStateConfigurer;
 import org.springframework.statemachine.config.builders.StateMachineTransitionConfigurer;
 import org.springframework.statemachine.listener.StateMachineListenerAdapter;
 import org.springframework.statemachine.support.StateMachineInterceptorAdapter;
 import org.springframework.statemachine.transition.Transition;
 
+import reactor.core.publisher.Mono;
+
 public class JoinStateTests extends AbstractStateMachineTests {
 
 	@Override
@@ -376,6 +380,130 @@ public class JoinStateTests extends AbstractStateMachineTests {
 		assertThat(machine.getState().getIds()).containsExactly(TestStates.S4);
 	}
 
+	@Test
+	public void testTwoJoins() throws Exception {
+		StateMachine<String, String> machine = buildTwoJoinsMachine();
+		machine.startReactively().block();
+
+		sendTwoJoinsRound(machine);
+		assertThat(machine.getState().getIds()).containsExactly("C");
+	}
+
+	@Test
+	public void testJoinEnteredTwice() throws Exception {
+		StateMachine<String, String> machine = buildTwoJoinsMachine();
+		machine.startReactively().block();
+
+		sendTwoJoinsRound(machine);
+		assertThat(machine.getState().getIds()).containsExactly("C");
+		sendEvent(machine, "E4");
+		assertThat(machine.getState().getIds()).containsExactly("SI");
+		sendTwoJoinsRound(machine);
+		assertThat(machine.getState().getIds()).containsExactly("C");
+	}
+
+	@Test
+	public void testJoinEnteredTwiceAfterLeavingRegion() throws Exception {
+		StateMachine<String, String> machine = buildTwoJoinsMachine();
+		machine.startReactively().block();
+
+		sendEvent(machine, "E1");
+		sendEvent(machine, "E2");
+		assertThat(machine.getState().getIds()).containsOnly("A", "A11", "A20");
+		sendEvent(machine, "E5");
+		assertThat(machine.getState().getIds()).containsExactly("SI");
+
+		// arrival from a region which was left doesn't count
+		sendEvent(machine, "E1");
+		sendEvent(machine, "E3");
+		assertThat(machine.getState().getIds()).containsOnly("A", "A10", "A21");
+		sendEvent(machine, "E2");
+		assertThat(machine.getState().getIds()).containsOnly("B", "B10", "B20");
+	}
+
+	private static void sendTwoJoinsRound(StateMachine<String, String> machine) {
+		// first join completes with regions arriving in config order and second
+		// one in reverse order, so neither join can pass with one region
+		sendEvent(machine, "E1");
+		sendEvent(machine, "E2");
+		assertThat(machine.getState().getIds()).containsOnly("A", "A11", "A20");
+		sendEvent(machine, "E3");
+		assertThat(machine.getState().getIds()).containsOnly("B", "B10", "B20");
+		sendEvent(machine, "E3");
+		assertThat(machine.getState().getIds()).containsOnly("B", "B10", "B21");
+		sendEvent(machine, "E2");
+	}
+
+	private static void sendEvent(StateMachine<String, String> machine, String event) {
+		machine.sendEvent(Mono.just(MessageBuilder.withPayload(event).build())).blockLast();
+	}
+
+	private static StateMachine<String, String> buildTwoJoinsMachine() throws Exception {
+		StateMachineBuilder.Builder<String, String> builder = StateMachineBuilder.builder();
+		builder.configureStates()
+			.withStates()
+				.initial("SI")
+				.state("A")
+				.join("JA")
+				.state("B")
+				.join("JB")
+				.state("C")
+				.and()
+				.withStates()
+					.parent("A")
+					.initial("A10")
+					.state("A11")
+					.and()
+				.withStates()
+					.parent("A")
+					.initial("A20")
+					.state("A21")
+					.and()
+				.withStates()
+					.parent("B")
+					.initial("B10")
+					.state("B11")
+					.and()
+				.withStates()
+					.parent("B")
+					.initial("B20")
+					.state("B21");
+		builder.configureTransitions()
+			.withExternal()
+				.source("SI").target("A").event("E1")
+				.and()
+			.withExternal()
+				.source("A10").target("A11").event("E2")
+				.and()
+			.withExternal()
+				.source("A20").target("A21").event("E3")
+				.and()
+			.withJoin()
+				.source("A11").source("A21").target("JA")
+				.and()
+			.withExternal()
+				.source("JA").target("B")
+				.and()
+			.withExternal()
+				.source("B10").target("B11").event("E2")
+				.and()
+			.withExternal()
+				.source("B20").target("B21").event("E3")
+				.and()
+			.withJoin()
+				.source("B11").source("B21").target("JB")
+				.and()
+			.withExternal()
+				.source("JB").target("C")
+				.and()
+			.withExternal()
+				.source("C").target("SI").event("E4")
+				.and()
+			.withExternal()
+				.source("A").target("SI").event("E5");
+		return builder.build();
+	}
+
 	@Configuration
 	@EnableStateMachine
 	static class Config1 extends EnumStateMachineConfigurerAdapter<TestStates, TestEvents> {
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.state;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.statemachine.TestUtils.doSendEventAndConsumeAll;
+import static org.springframework.statemachine.TestUtils.doStartAndAssert;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.action.Action;
+import org.springframework.statemachine.config.StateMachineBuilder;
+import org.springframework.statemachine.config.StateMachineBuilder.Builder;
+import org.springframework.statemachine.config.configurers.StateConfigurer;
+import org.springframework.statemachine.monitor.AbstractStateMachineMonitor;
+import org.springframework.statemachine.region.Region;
+import org.springframework.statemachine.region.RegionExecutionPolicy;
+
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Tests for bounded parallel region execution.
+ *
+ * @author Janne Valkealahti
+ *
+ */
+public class RegionParallelismTests {
+
+	private final Scheduler scheduler = Schedulers.newParallel("regions", 4);
+
+	@AfterEach
+	public void clean() {
+		scheduler.dispose();
+	}
+
+	@Test
+	public void testBoundedRegionParallelism() throws Exception {
+		AtomicInteger active = new AtomicInteger();
+		AtomicInteger maxActive = new AtomicInteger();
+		List<String> entered = new CopyOnWriteArrayList<>();
+		Action<String, String> action = context -> {
+			int count = active.incrementAndGet();
+			maxActive.accumulateAndGet(count, Math::max);
+			try {
+				Thread.sleep(50);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			entered.add(context.getTarget().getId());
+			active.decrementAndGet();
+		};
+		TestStateMachineMonitor monitor = new TestStateMachineMonitor();
+		Builder<String, String> builder = StateMachineBuilder.builder();
+		builder.configureConfiguration()
+			.withConfiguration()
+				.regionExecutionPolicy(RegionExecutionPolicy.PARALLEL)
+				.regionExecutionScheduler(scheduler)
+				.regionExecutionParallelism(2)
+				.and()
+			.withMonitoring()
+				.monitor(monitor);
+		StateConfigurer<String, String> states = builder.configureStates()
+			.withStates()
+				.initial("S1")
+				.state("S2");
+		for (int i = 0; i < 6; i++) {
+			states = states
+				.and()
+				.withStates()
+					.parent("S2")
+					.initial("R" + i)
+					.stateEntry("R" + i, action);
+		}
+		builder.configureTransitions()
+			.withExternal()
+				.source("S1").target("S2").event("E1");
+		StateMachine<String, String> stateMachine = builder.build();
+
+		doStartAndAssert(stateMachine);
+		doSendEventAndConsumeAll(stateMachine, "E1");
+		await().untilAsserted(() -> assertThat(entered).hasSize(6));
+
+		assertThat(entered).containsExactlyInAnyOrder("R0", "R1", "R2", "R3", "R4", "R5");
+		assertThat(maxActive.get()).isLessThanOrEqualTo(2);
+		await().untilAsserted(() -> assertThat(monitor.regions.get()).isGreaterThanOrEqualTo(6));
+	}
+
+	private static class TestStateMachineMonitor extends AbstractStateMachineMonitor<String, String> {
+
+		final AtomicInteger regions = new AtomicInteger();
+
+		@Override
+		public void region(StateMachine<String, String> stateMachine, Region<String, String> region, long duration) {
+			regions.incrementAndGet();
+		}
+	}
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.state;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.statemachine.TestUtils.doSendEventAndConsumeAll;
+import static org.springframework.statemachine.TestUtils.doStartAndAssert;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.action.Action;
+import org.springframework.statemachine.config.StateMachineBuilder;
+import org.springframework.statemachine.config.StateMachineBuilder.Builder;
+import org.springframework.statemachine.monitor.AbstractStateMachineMonitor;
+
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+/**
+ * Tests for schedulers used to run state do actions and timers.
+ *
+ * @author Janne Valkealahti
+ *
+ */
+public class StateSchedulerTests {
+
+	private final Scheduler machineScheduler = Schedulers.newSingle("machine-do");
+	private final Scheduler stateScheduler = Schedulers.newBoundedElastic(2, 10, "state-do");
+
+	@AfterEach
+	public void clean() {
+		machineScheduler.dispose();
+		stateScheduler.dispose();
+	}
+
+	@Test
+	public void testDoActionSchedulers() throws Exception {
+		List<String> threads = new CopyOnWriteArrayList<>();
+		Action<String, String> action = context -> threads.add(Thread.currentThread().getName());
+		TestStateMachineMonitor monitor = new TestStateMachineMonitor();
+		Builder<String, String> builder = StateMachineBuilder.builder();
+		builder.configureConfiguration()
+			.withConfiguration()
+				.stateDoActionScheduler(machineScheduler)
+				.and()
+			.withMonitoring()
+				.monitor(monitor);
+		builder.configureStates()
+			.withStates()
+				.initial("S1")
+				.stateDo("S1", action)
+				.stateDo("S2", action)
+				.stateDoScheduler("S2", stateScheduler);
+		builder.configureTransitions()
+			.withExternal()
+				.source("S1").target("S2").event("E1");
+		StateMachine<String, String> stateMachine = builder.build();
+
+		doStartAndAssert(stateMachine);
+		await().untilAsserted(() -> assertThat(threads).hasSize(1));
+		assertThat(threads.get(0)).startsWith("machine-do");
+
+		doSendEventAndConsumeAll(stateMachine, "E1");
+		await().untilAsserted(() -> assertThat(threads).hasSize(2));
+		assertThat(threads.get(1)).startsWith("state-do");
+
+		await().untilAsserted(() -> assertThat(monitor.loads).contains(stateScheduler + ":0:0"));
+		assertThat(monitor.loads).contains(machineScheduler + ":0:1", machineScheduler + ":1:0",
+				stateScheduler + ":0:1", stateScheduler + ":1:0");
+	}
+
+	@Test
+	public void testTimerScheduler() throws Exception {
+		VirtualTimeScheduler timerScheduler = VirtualTimeScheduler.create();
+		Builder<String, String> builder = StateMachineBuilder.builder();
+		builder.configureConfiguration()
+			.withConfiguration()
+				.timerScheduler(timerScheduler);
+		builder.configureStates()
+			.withStates()
+				.initial("S1")
+				.state("S2");
+		builder.configureTransitions()
+			.withExternal()
+				.source("S1").target("S2").timerOnce(1000);
+		StateMachine<String, String> stateMachine = builder.build();
+
+		doStartAndAssert(stateMachine);
+		assertThat(stateMachine.getState().getIds()).containsExactly("S1");
+		timerScheduler.advanceTimeBy(Duration.ofSeconds(1));
+		await().untilAsserted(() -> assertThat(stateMachine.getState().getIds()).containsExactly("S2"));
+	}
+
+	private static class TestStateMachineMonitor extends AbstractStateMachineMonitor<String, String> {
+
+		final List<String> loads = new CopyOnWriteArrayList<>();
+
+		@Override
+		public void scheduler(StateMachine<String, String> stateMachine, Scheduler scheduler, int active, int queued) {
+			loads.add(scheduler + ":" + active + ":" + queued);
+		}
+	}
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.statemachine.TestUtils.doSendEventAndConsumeAll;
+import static org.springframework.statemachine.TestUtils.doStartAndAssert;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.config.StateMachineBuilder;
+import org.springframework.statemachine.config.StateMachineBuilder.Builder;
+import org.springframework.statemachine.state.AbstractState;
+import org.springframework.statemachine.state.ObjectState;
+import org.springframework.statemachine.state.State;
+
+/**
+ * Tests for {@link ActiveStateIds}.
+ *
+ * @author Janne Valkealahti
+ *
+ */
+public class ActiveStateIdsTests {
+
+	@Test
+	public void testLookups() {
+		State<String, String> state = new ObjectState<String, String>("S1");
+		ActiveStateIds<String> small = new ActiveStateIds<>(state, Arrays.asList("S1", "S11", "S111"), 1);
+		assertThat(small).containsExactly("S1", "S11", "S111");
+		assertThat(small.contains("S11")).isTrue();
+		assertThat(small.contains("S2")).isFalse();
+		assertThat(small.isValid(state, 1)).isTrue();
+		assertThat(small.isValid(state, 2)).isFalse();
+
+		List<String> ids = Arrays.asList("S1", "S2", "S3", "S4", "S5", "S6", "S7", "S8", "S9", "S10");
+		ActiveStateIds<String> large = new ActiveStateIds<>(state, ids, 1);
+		assertThat(large).containsExactlyElementsOf(ids);
+		assertThat(large.contains("S10")).isTrue();
+		assertThat(large.contains("S11")).isFalse();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testSnapshotUpdatedFromSubmachine() throws Exception {
+		Builder<String, String> builder = StateMachineBuilder.builder();
+		builder.configureStates()
+			.withStates()
+				.initial("S1")
+				.state("S2")
+				.and()
+				.withStates()
+					.parent("S2")
+					.initial("S21")
+					.state("S22");
+		builder.configureTransitions()
+			.withExternal()
+				.source("S1").target("S2").event("E1")
+				.and()
+			.withExternal()
+				.source("S21").target("S22").event("E2");
+		StateMachine<String, String> stateMachine = builder.build();
+		doStartAndAssert(stateMachine);
+		AbstractStateMachine<String, String> machine = (AbstractStateMachine<String, String>) stateMachine;
+
+		List<String> ids = machine.getActiveStateIds(machine.getState());
+		assertThat(ids).containsExactly("S1");
+		assertThat(machine.getActiveStateIds(machine.getState())).isSameAs(ids);
+
+		doSendEventAndConsumeAll(stateMachine, "E1");
+		ids = machine.getActiveStateIds(machine.getState());
+		assertThat(ids).containsExactly("S2", "S21");
+		assertThat(machine.getActiveStateIds(machine.getState())).isSameAs(ids);
+
+		// state only changes in a submachine
+		doSendEventAndConsumeAll(stateMachine, "E2");
+		assertThat(machine.getActiveStateIds(machine.getState())).containsExactly("S2", "S22");
+
+		State<String, String> state = machine.getState();
+		StateMachine<String, String> submachine = ((AbstractState<String, String>) state).getSubmachine();
+		assertThat(StateMachineUtils.isSubstate(state, submachine.getState())).isTrue();
+		assertThat(StateMachineUtils.isSubstate(submachine.getState(), state)).isFalse();
+		assertThat(StateMachineUtils.isSubstate(state, state)).isFalse();
+	}
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.statemachine.TestUtils.doSendEventAndConsumeAll;
+import static org.springframework.statemachine.TestUtils.doSendEventAndConsumeResultAsDenied;
+import static org.springframework.statemachine.TestUtils.doStartAndAssert;
+import static org.springframework.statemachine.TestUtils.readField;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.statemachine.StateContext;
+import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.action.Action;
+import org.springframework.statemachine.config.StateMachineBuilder;
+import org.springframework.statemachine.config.StateMachineBuilder.Builder;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Tests for {@link BlockingStateMachineExecutorAdapter}.
+ *
+ * @author Janne Valkealahti
+ *
+ */
+public class BlockingStateMachineExecutorAdapterTests {
+
+	@Test
+	public void testGuardsAndActionsOnCallingThread() throws Exception {
+		List<Thread> threads = new ArrayList<>();
+		Builder<String, String> builder = StateMachineBuilder.builder();
+		builder.configureConfiguration()
+			.withConfiguration()
+				.stateMachineExecutorPolicy(StateMachineExecutorPolicy.SYNCHRONOUS);
+		builder.configureStates()
+			.withStates()
+				.initial("S1").state("S2").state("S3");
+		builder.configureTransitions()
+			.withExternal()
+				.source("S1").target("S2").event("E1")
+				.guard(context -> threads.add(Thread.currentThread()))
+				.action(context -> threads.add(Thread.currentThread()))
+				.and()
+			.withExternal()
+				.source("S2").target("S3").event("E2")
+				.guard(context -> false);
+		StateMachine<String, String> stateMachine = builder.build();
+		doStartAndAssert(stateMachine);
+
+		Object executor = readField("stateMachineExecutor", stateMachine);
+		assertThat(executor).isInstanceOf(BlockingStateMachineExecutorAdapter.class);
+		assertThat(stateMachine.getState().getIds()).containsExactly("S1");
+
+		doSendEventAndConsumeAll(stateMachine, "E1");
+		assertThat(stateMachine.getState().getIds()).containsExactly("S2");
+		assertThat(threads).containsExactly(Thread.currentThread(), Thread.currentThread());
+
+		doSendEventAndConsumeAll(stateMachine, "E2");
+		assertThat(stateMachine.getState().getIds()).containsExactly("S2");
+		doSendEventAndConsumeResultAsDenied(stateMachine, "E3");
+		assertThat(stateMachine.getState().getIds()).containsExactly("S2");
+	}
+
+	@Test
+	public void testEventFromActionRunsToCompletion() throws Exception {
+		List<String> statesAfterSend = new ArrayList<>();
+		Builder<String, String> builder = StateMachineBuilder.builder();
+		builder.configureConfiguration()
+			.withConfiguration()
+				.stateMachineExecutorPolicy(StateMachineExecutorPolicy.SYNCHRONOUS);
+		builder.configureStates()
+			.withStates()
+				.initial("S1")
+				.stateEntry("S2", context -> {
+					StateMachine<String, String> machine = context.getStateMachine();
+					machine.sendEvent(Mono.just(MessageBuilder.withPayload("E2").build())).subscribe();
+					// event is handled after this transition completes
+					statesAfterSend.add(machine.getState().getId());
+				})
+				.state("S3");
+		builder.configureTransitions()
+			.withExternal()
+				.source("S1").target("S2").event("E1")
+				.and()
+			.withExternal()
+				.source("S2").target("S3").event("E2");
+		StateMachine<String, String> stateMachine = builder.build();
+		doStartAndAssert(stateMachine);
+
+		doSendEventAndConsumeAll(stateMachine, "E1");
+		assertThat(statesAfterSend).containsExactly("S2");
+		assertThat(stateMachine.getState().getIds()).containsExactly("S3");
+	}
+
+	@Test
+	public void testEventFromBlockingActionDoesNotDeadlock() throws Exception {
+		List<Thread> threads = new CopyOnWriteArrayList<>();
+		Builder<String, String> builder = StateMachineBuilder.builder();
+		builder.configureConfiguration()
+			.withConfiguration()
+				.stateMachineExecutorPolicy(StateMachineExecutorPolicy.SYNCHRONOUS);
+		builder.configureStates()
+			.withStates()
+				.initial("S1").state("S2").state("S3");
+		builder.configureTransitions()
+			.withExternal()
+				.source("S1").target("S2").event("E1")
+				.action(new SendingBlockingAction(threads))
+				.and()
+			.withExternal()
+				.source("S2").target("S3").event("E2");
+		StateMachine<String, String> stateMachine = builder.build();
+		doStartAndAssert(stateMachine);
+
+		// action runs on other thread and sends while this thread handles E1
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			executor.submit(() -> doSendEventAndConsumeAll(stateMachine, "E1")).get(2, TimeUnit.SECONDS);
+		} finally {
+			executor.shutdownNow();
+		}
+		assertThat(threads).hasSize(1);
+		assertThat(threads.get(0)).isNotSameAs(Thread.currentThread());
+		assertThat(stateMachine.getState().getIds()).containsExactly("S3");
+	}
+
+	@Blocking
+	private static class SendingBlockingAction implements Action<String, String> {
+
+		final List<Thread> threads;
+
+		SendingBlockingAction(List<Thread> threads) {
+			this.threads = threads;
+		}
+
+		@Override
+		public void execute(StateContext<String, String> context) {
+			threads.add(Thread.currentThread());
+			context.getStateMachine().sendEvent(Mono.just(MessageBuilder.withPayload("E2").build())).blockLast();
+		}
+	}
+}
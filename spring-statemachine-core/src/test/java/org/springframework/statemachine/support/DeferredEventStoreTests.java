@@ -0,0 +1,86 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.statemachine.state.ObjectState;
+import org.springframework.statemachine.state.State;
+
+/**
+ * Tests for {@link DeferredEventStore}.
+ *
+ * @author Janne Valkealahti
+ *
+ */
+public class DeferredEventStoreTests {
+
+	@Test
+	public void testReleasableInDeferOrder() {
+		DeferredEventStore<String> store = new DeferredEventStore<>();
+		Message<String> e1a = MessageBuilder.withPayload("E1").build();
+		Message<String> e2 = MessageBuilder.withPayload("E2").build();
+		Message<String> e1b = MessageBuilder.withPayload("E1").build();
+		store.add(e1a);
+		store.add(e2);
+		store.add(e1b);
+		assertThat(store).containsExactly(e1a, e2, e1b);
+
+		State<String, String> defersE1 = new ObjectState<String, String>("S1", Arrays.asList("E1"));
+		State<String, String> defersAll = new ObjectState<String, String>("S2", Arrays.asList("E1", "E2"));
+		State<String, String> defersNone = new ObjectState<String, String>("S3");
+		assertThat(store.getReleasable(defersE1)).containsExactly(e2);
+		assertThat(store.getReleasable(defersAll)).isEmpty();
+		assertThat(store.getReleasable(defersNone)).containsExactly(e1a, e2, e1b);
+		assertThat(store).hasSize(3);
+
+		assertThat(store.remove(e2)).isTrue();
+		assertThat(store.remove(e2)).isFalse();
+		assertThat(store.getReleasable(defersE1)).isEmpty();
+		assertThat(store).containsExactly(e1a, e1b);
+	}
+
+	@Test
+	public void testCapacityDropsOldest() {
+		DeferredEventStore<String> store = new DeferredEventStore<>(2, null);
+		Message<String> e1 = MessageBuilder.withPayload("E1").build();
+		Message<String> e2 = MessageBuilder.withPayload("E2").build();
+		Message<String> e3 = MessageBuilder.withPayload("E3").build();
+		store.add(e1);
+		store.add(e2);
+		store.add(e3);
+		assertThat(store).containsExactly(e2, e3);
+		assertThat(store.getDroppedCount()).isEqualTo(1);
+		assertThat(store.getReleasable(new ObjectState<String, String>("S1"))).containsExactly(e2, e3);
+	}
+
+	@Test
+	public void testTimeToLive() throws Exception {
+		DeferredEventStore<String> store = new DeferredEventStore<>(10, Duration.ofMillis(10));
+		store.add(MessageBuilder.withPayload("E1").build());
+		Thread.sleep(50);
+		Message<String> e2 = MessageBuilder.withPayload("E2").build();
+		store.add(e2);
+		assertThat(store).containsExactly(e2);
+		assertThat(store.getDroppedCount()).isEqualTo(1);
+	}
+}
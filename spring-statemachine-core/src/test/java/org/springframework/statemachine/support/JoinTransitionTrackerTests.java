@@ -0,0 +1,129 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.statemachine.state.JoinPseudoState;
+import org.springframework.statemachine.state.JoinPseudoState.JoinStateData;
+import org.springframework.statemachine.state.ObjectState;
+import org.springframework.statemachine.state.State;
+import org.springframework.statemachine.transition.DefaultExternalTransition;
+import org.springframework.statemachine.transition.Transition;
+
+/**
+ * Tests for {@link JoinTransitionTracker}.
+ *
+ * @author Janne Valkealahti
+ *
+ */
+public class JoinTransitionTrackerTests {
+
+	@Test
+	public void testCompletesWhenAllBranchesArrive() {
+		State<String, String> s1 = new ObjectState<String, String>("S1");
+		State<String, String> s2a = new ObjectState<String, String>("S2A");
+		State<String, String> s2b = new ObjectState<String, String>("S2B");
+		State<String, String> s3 = new ObjectState<String, String>("S3");
+		State<String, String> target = new ObjectState<String, String>("S4");
+		JoinTransitionTracker<String, String> tracker = new JoinTransitionTracker<>(
+				join(Collections.singletonList(s1), Arrays.asList(s2a, s2b), Collections.singletonList(s3)));
+		Transition<String, String> t1 = transition(s1, target);
+		Transition<String, String> t2a = transition(s2a, target);
+		Transition<String, String> t2b = transition(s2b, target);
+		Transition<String, String> t3 = transition(s3, target);
+
+		assertThat(tracker.getRemaining()).isEqualTo(3);
+		assertThat(tracker.arrive(t1)).isEmpty();
+		// same branch again doesn't count
+		assertThat(tracker.arrive(t1)).isEmpty();
+		assertThat(tracker.arrive(t2b)).isEmpty();
+		assertThat(tracker.arrive(t2a)).isEmpty();
+		assertThat(tracker.getRemaining()).isEqualTo(1);
+		assertThat(tracker.arrive(t3)).containsExactly(t1, t2b, t3);
+
+		// join can be used again
+		assertThat(tracker.getRemaining()).isEqualTo(3);
+		assertThat(tracker.arrive(t3)).isEmpty();
+		assertThat(tracker.arrive(t2a)).isEmpty();
+		assertThat(tracker.arrive(t1)).containsExactly(t1, t2a, t3);
+	}
+
+	@Test
+	public void testManyBranches() {
+		State<String, String> target = new ObjectState<String, String>("END");
+		List<List<State<String, String>>> joins = new ArrayList<>();
+		List<Transition<String, String>> transitions = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			State<String, String> state = new ObjectState<String, String>("S" + i);
+			joins.add(Collections.singletonList(state));
+			transitions.add(transition(state, target));
+		}
+		JoinTransitionTracker<String, String> tracker = new JoinTransitionTracker<>(
+				new JoinPseudoState<String, String>(joins, new ArrayList<JoinStateData<String, String>>()));
+		for (int i = 99; i > 0; i--) {
+			assertThat(tracker.arrive(transitions.get(i))).isEmpty();
+		}
+		assertThat(tracker.arrive(transitions.get(0))).containsExactlyElementsOf(transitions);
+	}
+
+	@Test
+	public void testUnknownSourceIgnored() {
+		State<String, String> s1 = new ObjectState<String, String>("S1");
+		State<String, String> other = new ObjectState<String, String>("S9");
+		JoinTransitionTracker<String, String> tracker = new JoinTransitionTracker<>(
+				join(Collections.singletonList(s1)));
+		assertThat(tracker.arrive(transition(other, s1))).isEmpty();
+		assertThat(tracker.getRemaining()).isEqualTo(1);
+	}
+
+	@Test
+	public void testEmptyBranchArrivedFromStart() {
+		State<String, String> s1 = new ObjectState<String, String>("S1");
+		State<String, String> s2 = new ObjectState<String, String>("S2");
+		State<String, String> target = new ObjectState<String, String>("S3");
+		JoinTransitionTracker<String, String> tracker = new JoinTransitionTracker<>(
+				join(Collections.singletonList(s1), Collections.<State<String, String>>emptyList(),
+						Collections.singletonList(s2)));
+		Transition<String, String> t1 = transition(s1, target);
+		Transition<String, String> t2 = transition(s2, target);
+
+		// region without end states never arrives
+		assertThat(tracker.getRemaining()).isEqualTo(2);
+		assertThat(tracker.arrive(t1)).isEmpty();
+		assertThat(tracker.arrive(t2)).containsExactly(t1, t2);
+		assertThat(tracker.getRemaining()).isEqualTo(2);
+
+		assertThat(tracker.arrive(t2)).isEmpty();
+		tracker.reset();
+		assertThat(tracker.getRemaining()).isEqualTo(2);
+	}
+
+	@SafeVarargs
+	private static JoinPseudoState<String, String> join(List<State<String, String>>... branches) {
+		return new JoinPseudoState<String, String>(Arrays.asList(branches), new ArrayList<JoinStateData<String, String>>());
+	}
+
+	private static Transition<String, String> transition(State<String, String> source, State<String, String> target) {
+		return new DefaultExternalTransition<String, String>(source, target, null, null, null, null);
+	}
+}
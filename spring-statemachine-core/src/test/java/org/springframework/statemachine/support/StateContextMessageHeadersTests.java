@@ -0,0 +1,58 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.MessageHeaders;
+
+/**
+ * Tests for {@link StateContextMessageHeaders}.
+ *
+ * @author Janne Valkealahti
+ *
+ */
+public class StateContextMessageHeadersTests {
+
+	@Test
+	public void testEmpty() {
+		MessageHeaders headers = StateContextMessageHeaders.EMPTY;
+		assertThat(headers).isEmpty();
+		assertThat(headers.getId()).isNull();
+		assertThat(headers.getTimestamp()).isNull();
+	}
+
+	@Test
+	public void testOverlay() {
+		Map<String, Object> map = new HashMap<>();
+		map.put("foo", "bar");
+		MessageHeaders original = new MessageHeaders(map);
+		MessageHeaders headers = StateContextMessageHeaders.withHeader(original, "key", 1);
+		assertThat(headers).hasSize(original.size() + 1);
+		assertThat(headers.get("foo")).isEqualTo("bar");
+		assertThat(headers.get("key", Integer.class)).isEqualTo(1);
+		assertThat(headers.getId()).isEqualTo(original.getId());
+		assertThat(headers.keySet()).containsAll(original.keySet()).contains("key");
+		assertThat(new HashMap<>(headers)).containsEntry("key", 1).containsEntry("foo", "bar");
+
+		assertThat(StateContextMessageHeaders.withHeader(headers, "key", 2)).isSameAs(headers);
+		assertThat(StateContextMessageHeaders.withHeader(null, "key", 2)).containsOnlyKeys("key");
+	}
+}
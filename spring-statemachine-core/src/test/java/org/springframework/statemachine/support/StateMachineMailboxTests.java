@@ -0,0 +1,131 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link StateMachineMailbox}.
+ *
+ * @author Janne Valkealahti
+ *
+ */
+public class StateMachineMailboxTests {
+
+	@Test
+	public void testReject() {
+		List<String> evicted = new ArrayList<>();
+		StateMachineMailbox<String> mailbox = new StateMachineMailbox<>(2, MailboxOverflowPolicy.REJECT);
+		assertThat(mailbox.offer("1", evicted::add)).isTrue();
+		assertThat(mailbox.offer("2", evicted::add)).isTrue();
+		assertThat(mailbox.offer("3", evicted::add)).isFalse();
+		assertThat(mailbox.getDepth()).isEqualTo(2);
+		assertThat(mailbox.getOverflowCount()).isEqualTo(1);
+		assertThat(evicted).isEmpty();
+		assertThat(mailbox.poll()).isEqualTo("1");
+		assertThat(mailbox.offer("3", evicted::add)).isTrue();
+		assertThat(mailbox.poll()).isEqualTo("2");
+		assertThat(mailbox.poll()).isEqualTo("3");
+		assertThat(mailbox.poll()).isNull();
+		assertThat(mailbox.isEmpty()).isTrue();
+		assertThat(mailbox.getDepth()).isEqualTo(0);
+	}
+
+	@Test
+	public void testDropNewest() {
+		StateMachineMailbox<String> mailbox = new StateMachineMailbox<>(1, MailboxOverflowPolicy.DROP_NEWEST);
+		assertThat(mailbox.offer("1", e -> {})).isTrue();
+		assertThat(mailbox.offer("2", e -> {})).isFalse();
+		assertThat(mailbox.getOverflowCount()).isEqualTo(1);
+		assertThat(mailbox.poll()).isEqualTo("1");
+		assertThat(mailbox.poll()).isNull();
+	}
+
+	@Test
+	public void testDropOldest() {
+		List<String> evicted = new ArrayList<>();
+		StateMachineMailbox<String> mailbox = new StateMachineMailbox<>(2, MailboxOverflowPolicy.DROP_OLDEST);
+		assertThat(mailbox.offer("1", evicted::add)).isTrue();
+		assertThat(mailbox.offer("2", evicted::add)).isTrue();
+		assertThat(mailbox.offer("3", evicted::add)).isTrue();
+		assertThat(evicted).containsExactly("1");
+		assertThat(mailbox.getDepth()).isEqualTo(2);
+		assertThat(mailbox.getOverflowCount()).isEqualTo(1);
+		assertThat(mailbox.poll()).isEqualTo("2");
+		assertThat(mailbox.poll()).isEqualTo("3");
+		assertThat(mailbox.poll()).isNull();
+	}
+
+	@Test
+	public void testBlock() throws Exception {
+		StateMachineMailbox<String> mailbox = new StateMachineMailbox<>(1, MailboxOverflowPolicy.BLOCK);
+		assertThat(mailbox.offer("1", e -> {})).isTrue();
+		assertThat(mailbox.offer("2", e -> {})).isFalse();
+		CompletableFuture<Boolean> offered = mailbox.offerWhenAvailable("3", e -> {}).toFuture();
+		assertThat(offered).isNotDone();
+		assertThat(mailbox.poll()).isEqualTo("1");
+		assertThat(offered.get(2, TimeUnit.SECONDS)).isTrue();
+		assertThat(mailbox.poll()).isEqualTo("3");
+		assertThat(mailbox.getOverflowCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void testBlockWaitersKeepOrder() throws Exception {
+		StateMachineMailbox<String> mailbox = new StateMachineMailbox<>(1, MailboxOverflowPolicy.BLOCK);
+		assertThat(mailbox.offer("1", e -> {})).isTrue();
+		CompletableFuture<Boolean> offered2 = mailbox.offerWhenAvailable("2", e -> {}).toFuture();
+		CompletableFuture<Boolean> offered3 = mailbox.offerWhenAvailable("3", e -> {}).toFuture();
+		// waiting items are not overtaken
+		assertThat(mailbox.offer("4", e -> {})).isFalse();
+		assertThat(mailbox.poll()).isEqualTo("1");
+		assertThat(offered2).isCompletedWithValue(true);
+		assertThat(offered3).isNotDone();
+		assertThat(mailbox.poll()).isEqualTo("2");
+		assertThat(offered3).isCompletedWithValue(true);
+		assertThat(mailbox.poll()).isEqualTo("3");
+		assertThat(mailbox.poll()).isNull();
+	}
+
+	@Test
+	public void testBlockCancelledWaiter() throws Exception {
+		StateMachineMailbox<String> mailbox = new StateMachineMailbox<>(1, MailboxOverflowPolicy.BLOCK);
+		assertThat(mailbox.offer("1", e -> {})).isTrue();
+		CompletableFuture<Boolean> offered = mailbox.offerWhenAvailable("2", e -> {}).toFuture();
+		offered.cancel(true);
+		assertThat(mailbox.poll()).isEqualTo("1");
+		assertThat(mailbox.poll()).isNull();
+		assertThat(mailbox.getDepth()).isEqualTo(0);
+		assertThat(mailbox.offer("3", e -> {})).isTrue();
+	}
+
+	@Test
+	public void testBoundedQueue() {
+		StateMachineMailbox<String> mailbox = new StateMachineMailbox<>(2, MailboxOverflowPolicy.REJECT,
+				new ArrayBlockingQueue<>(1));
+		assertThat(mailbox.offer("1", e -> {})).isTrue();
+		assertThat(mailbox.offer("2", e -> {})).isFalse();
+		assertThat(mailbox.getDepth()).isEqualTo(1);
+		assertThat(mailbox.getOverflowCount()).isEqualTo(1);
+	}
+}
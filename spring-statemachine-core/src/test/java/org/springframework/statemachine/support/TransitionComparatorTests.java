@@ -75,6 +75,10 @@ public class TransitionComparatorTests {
 		DefaultExternalTransition<TestStates, TestEvents> transitionFromS11ToS1 = new DefaultExternalTransition<TestStates, TestEvents>(
 				stateS11, stateS1, null, TestEvents.E1, null, new EventTrigger<TestStates, TestEvents>(TestEvents.E1));
 
+		assertThat(StateMachineUtils.getSubstates(stateS1)).containsOnly(stateS11, stateS111);
+		assertThat(StateMachineUtils.getSubstates(stateS11)).containsOnly(stateS111);
+		assertThat(StateMachineUtils.getSubstates(stateS111)).isEmpty();
+
 		TransitionComparator<TestStates, TestEvents> comparator = new TransitionComparator<>(null);
 		assertThat(comparator.compare(transitionFromS111ToS1, transitionFromS11ToS1)).isEqualTo(-1);
 		assertThat(comparator.compare(transitionFromS11ToS1, transitionFromS111ToS1)).isEqualTo(1);
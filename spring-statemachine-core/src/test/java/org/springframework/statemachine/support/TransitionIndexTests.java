@@ -0,0 +1,228 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.statemachine.AbstractStateMachineTests.TestEvents;
+import org.springframework.statemachine.AbstractStateMachineTests.TestStates;
+import org.springframework.statemachine.ObjectStateMachine;
+import org.springframework.statemachine.state.DefaultPseudoState;
+import org.springframework.statemachine.state.EnumState;
+import org.springframework.statemachine.state.ObjectState;
+import org.springframework.statemachine.state.PseudoState;
+import org.springframework.statemachine.state.PseudoStateKind;
+import org.springframework.statemachine.state.State;
+import org.springframework.statemachine.state.StateMachineState;
+import org.springframework.statemachine.transition.DefaultExternalTransition;
+import org.springframework.statemachine.transition.Transition;
+import org.springframework.statemachine.transition.TransitionConflictPolicy;
+import org.springframework.statemachine.trigger.EventTrigger;
+import org.springframework.statemachine.trigger.TimerTrigger;
+
+/**
+ * Tests for {@link TransitionIndex}.
+ *
+ * @author Janne Valkealahti
+ *
+ */
+public class TransitionIndexTests {
+
+	@Test
+	public void testFlatCandidates() {
+		State<TestStates, TestEvents> stateS1 = new EnumState<TestStates, TestEvents>(TestStates.S1);
+		State<TestStates, TestEvents> stateS2 = new EnumState<TestStates, TestEvents>(TestStates.S2);
+		State<TestStates, TestEvents> stateS3 = new EnumState<TestStates, TestEvents>(TestStates.S3);
+
+		DefaultExternalTransition<TestStates, TestEvents> transitionFromS1ToS2 = new DefaultExternalTransition<TestStates, TestEvents>(
+				stateS1, stateS2, null, TestEvents.E1, null, new EventTrigger<TestStates, TestEvents>(TestEvents.E1));
+		DefaultExternalTransition<TestStates, TestEvents> transitionFromS1ToS3 = new DefaultExternalTransition<TestStates, TestEvents>(
+				stateS1, stateS3, null, TestEvents.E1, null, new EventTrigger<TestStates, TestEvents>(TestEvents.E1));
+		DefaultExternalTransition<TestStates, TestEvents> transitionFromS2ToS3 = new DefaultExternalTransition<TestStates, TestEvents>(
+				stateS2, stateS3, null, TestEvents.E2, null, new EventTrigger<TestStates, TestEvents>(TestEvents.E2));
+		DefaultExternalTransition<TestStates, TestEvents> transitionFromS3ToS1 = new DefaultExternalTransition<TestStates, TestEvents>(
+				stateS3, stateS1, null, null, null, new TimerTrigger<TestStates, TestEvents>(1000));
+
+		Collection<Transition<TestStates, TestEvents>> transitions = new ArrayList<>();
+		transitions.add(transitionFromS1ToS2);
+		transitions.add(transitionFromS1ToS3);
+		transitions.add(transitionFromS2ToS3);
+		transitions.add(transitionFromS3ToS1);
+
+		TransitionIndex<TestStates, TestEvents> index = TransitionIndex.of(transitions, null);
+		assertThat(index).isInstanceOf(EnumTransitionIndex.class);
+
+		assertThat(index.getCandidates(Arrays.asList(TestStates.S1), TestEvents.E1))
+				.containsExactly(transitionFromS1ToS2, transitionFromS1ToS3);
+		assertThat(index.hasCandidates(Arrays.asList(TestStates.S1), TestEvents.E1)).isTrue();
+		assertThat(index.getCandidates(Arrays.asList(TestStates.S1), TestEvents.E2)).isEmpty();
+		assertThat(index.hasCandidates(Arrays.asList(TestStates.S1), TestEvents.E2)).isFalse();
+		assertThat(index.getCandidates(Arrays.asList(TestStates.S2), TestEvents.E2)).containsExactly(transitionFromS2ToS3);
+		assertThat(index.getCandidates(Arrays.asList(TestStates.S3), TestEvents.E3)).isEmpty();
+		assertThat(index.getCandidates(Arrays.asList(TestStates.S3), null)).isEmpty();
+		assertThat(index.getUnindexedCandidates(Arrays.asList(TestStates.S3))).isEmpty();
+	}
+
+	@Test
+	public void testObjectCandidates() {
+		State<String, String> stateS1 = new ObjectState<String, String>("S1");
+		State<String, String> stateS2 = new ObjectState<String, String>("S2");
+
+		DefaultExternalTransition<String, String> transitionFromS1ToS2 = new DefaultExternalTransition<String, String>(
+				stateS1, stateS2, null, "E1", null, new EventTrigger<String, String>("E1"));
+		DefaultExternalTransition<String, String> transitionFromS2ToS1 = new DefaultExternalTransition<String, String>(
+				stateS2, stateS1, null, "E2", null, new EventTrigger<String, String>("E2"));
+
+		Collection<Transition<String, String>> transitions = new ArrayList<>();
+		transitions.add(transitionFromS1ToS2);
+		transitions.add(transitionFromS2ToS1);
+
+		TransitionIndex<String, String> index = TransitionIndex.of(transitions, null);
+		assertThat(index).isNotInstanceOf(EnumTransitionIndex.class);
+
+		assertThat(index.getCandidates(Arrays.asList("S1"), "E1")).containsExactly(transitionFromS1ToS2);
+		assertThat(index.getCandidates(Arrays.asList("S1"), "E2")).isEmpty();
+		assertThat(index.getCandidates(Arrays.asList("S2"), "E2")).containsExactly(transitionFromS2ToS1);
+		assertThat(index.hasCandidates(Arrays.asList("S1", "S2"), "E2")).isTrue();
+		assertThat(index.hasCandidates(Arrays.asList("S1"), "E3")).isFalse();
+	}
+
+	@Test
+	public void testEnumCandidatesBySourceState() {
+		State<TestStates, TestEvents> stateS1 = new EnumState<TestStates, TestEvents>(TestStates.S1);
+		State<TestStates, TestEvents> stateS2 = new EnumState<TestStates, TestEvents>(TestStates.S2);
+
+		DefaultExternalTransition<TestStates, TestEvents> transitionFromS1ToS2 = new DefaultExternalTransition<TestStates, TestEvents>(
+				stateS1, stateS2, null, TestEvents.E1, null, new EventTrigger<TestStates, TestEvents>(TestEvents.E1));
+
+		Collection<Transition<TestStates, TestEvents>> transitions = new ArrayList<>();
+		transitions.add(transitionFromS1ToS2);
+
+		TransitionIndex<TestStates, TestEvents> index = TransitionIndex.of(transitions, null);
+		assertThat(index).isInstanceOf(EnumTransitionIndex.class);
+		assertThat(index.getCandidates(Arrays.asList(TestStates.S1), TestEvents.E1)).containsExactly(transitionFromS1ToS2);
+		assertThat(index.hasCandidates(Arrays.asList(TestStates.S2, TestStates.S1), TestEvents.E1)).isTrue();
+		assertThat(index.hasCandidates(Arrays.asList(TestStates.S2), TestEvents.E1)).isFalse();
+		assertThat(index.getCandidates(Arrays.asList(TestStates.S2), TestEvents.E1)).isEmpty();
+		assertThat(index.getCandidates(Arrays.asList(TestStates.S1), TestEvents.E2)).isEmpty();
+	}
+
+	@Test
+	public void testEnumCandidatesWithActiveStateBitset() {
+		State<TestStates, TestEvents> stateS1 = new EnumState<TestStates, TestEvents>(TestStates.S1);
+		State<TestStates, TestEvents> stateS2 = new EnumState<TestStates, TestEvents>(TestStates.S2);
+
+		DefaultExternalTransition<TestStates, TestEvents> transitionFromS1ToS2 = new DefaultExternalTransition<TestStates, TestEvents>(
+				stateS1, stateS2, null, TestEvents.E1, null, new EventTrigger<TestStates, TestEvents>(TestEvents.E1));
+
+		Collection<Transition<TestStates, TestEvents>> transitions = new ArrayList<>();
+		transitions.add(transitionFromS1ToS2);
+
+		TransitionIndex<TestStates, TestEvents> index = TransitionIndex.of(transitions, null);
+		ActiveStateIds<TestStates> active = new ActiveStateIds<TestStates>(stateS1,
+				Arrays.asList(TestStates.S2, TestStates.S1), 0);
+		assertThat(active.getOrdinals(TestStates.class)).containsExactly(
+				(1L << TestStates.S1.ordinal()) | (1L << TestStates.S2.ordinal()));
+		assertThat(active.getOrdinals(TestEvents.class)).isNull();
+
+		assertThat(index.hasCandidates(active, TestEvents.E1)).isTrue();
+		assertThat(index.getCandidates(active, TestEvents.E1)).containsExactly(transitionFromS1ToS2);
+		assertThat(index.hasCandidates(active, TestEvents.E2)).isFalse();
+		active = new ActiveStateIds<TestStates>(stateS2, Arrays.asList(TestStates.S2), 0);
+		assertThat(index.hasCandidates(active, TestEvents.E1)).isFalse();
+		assertThat(index.getCandidates(active, TestEvents.E1)).isEmpty();
+	}
+
+	@Test
+	public void testTriggerlessCandidates() {
+		State<String, String> stateS1 = new ObjectState<String, String>("S1");
+		State<String, String> stateS2 = new ObjectState<String, String>("S2");
+		State<String, String> stateS3 = new ObjectState<String, String>("S3");
+
+		DefaultExternalTransition<String, String> transitionFromS1ToS2 = new DefaultExternalTransition<String, String>(
+				stateS1, stateS2, null, null, null, null);
+		DefaultExternalTransition<String, String> transitionFromS1ToS3 = new DefaultExternalTransition<String, String>(
+				stateS1, stateS3, null, null, null, null);
+		DefaultExternalTransition<String, String> transitionFromS2ToS3 = new DefaultExternalTransition<String, String>(
+				stateS2, stateS3, null, "E1", null, new EventTrigger<String, String>("E1"));
+
+		Collection<Transition<String, String>> transitions = new ArrayList<>();
+		transitions.add(transitionFromS1ToS2);
+		transitions.add(transitionFromS1ToS3);
+		transitions.add(transitionFromS2ToS3);
+
+		TransitionIndex<String, String> index = TransitionIndex.of(transitions, null);
+		assertThat(index.hasTriggerless()).isTrue();
+		assertThat(index.getTriggerlessCandidates(Arrays.asList("S1")))
+				.containsExactly(transitionFromS1ToS2, transitionFromS1ToS3);
+		assertThat(index.getTriggerlessCandidates(Arrays.asList("S2"))).isEmpty();
+		assertThat(index.getTriggerlessCandidates(Arrays.asList("S3"))).isEmpty();
+		assertThat(index.getCandidates(Arrays.asList("S1"), "E1")).isEmpty();
+		assertThat(index.getCandidates(Arrays.asList("S2"), "E1")).containsExactly(transitionFromS2ToS3);
+	}
+
+	@Test
+	public void testHierarchicalCandidates() {
+		PseudoState<TestStates, TestEvents> pseudoState = new DefaultPseudoState<TestStates, TestEvents>(PseudoStateKind.INITIAL);
+
+		State<TestStates, TestEvents> stateS111 = new EnumState<TestStates, TestEvents>(TestStates.S111, null, null, null, pseudoState);
+
+		// submachine 11
+		Collection<State<TestStates, TestEvents>> substates111 = new ArrayList<State<TestStates, TestEvents>>();
+		substates111.add(stateS111);
+		Collection<Transition<TestStates, TestEvents>> subtransitions111 = new ArrayList<Transition<TestStates, TestEvents>>();
+		ObjectStateMachine<TestStates, TestEvents> submachine11 = new ObjectStateMachine<TestStates, TestEvents>(substates111,
+				subtransitions111, stateS111);
+
+		// submachine 1
+		StateMachineState<TestStates, TestEvents> stateS11 = new StateMachineState<TestStates, TestEvents>(TestStates.S11, submachine11,
+				null, null, null, pseudoState);
+
+		Collection<State<TestStates, TestEvents>> substates11 = new ArrayList<State<TestStates, TestEvents>>();
+		substates11.add(stateS11);
+		Collection<Transition<TestStates, TestEvents>> subtransitions11 = new ArrayList<Transition<TestStates, TestEvents>>();
+		ObjectStateMachine<TestStates, TestEvents> submachine1 = new ObjectStateMachine<TestStates, TestEvents>(substates11,
+				subtransitions11, stateS11);
+
+		// machine
+		StateMachineState<TestStates, TestEvents> stateS1 = new StateMachineState<TestStates, TestEvents>(TestStates.S1, submachine1, null,
+				null, null, pseudoState);
+
+		DefaultExternalTransition<TestStates, TestEvents> transitionFromS11ToS1 = new DefaultExternalTransition<TestStates, TestEvents>(
+				stateS11, stateS1, null, TestEvents.E1, null, new EventTrigger<TestStates, TestEvents>(TestEvents.E1));
+		DefaultExternalTransition<TestStates, TestEvents> transitionFromS111ToS1 = new DefaultExternalTransition<TestStates, TestEvents>(
+				stateS111, stateS1, null, TestEvents.E1, null, new EventTrigger<TestStates, TestEvents>(TestEvents.E1));
+
+		Collection<Transition<TestStates, TestEvents>> transitions = new ArrayList<>();
+		transitions.add(transitionFromS11ToS1);
+		transitions.add(transitionFromS111ToS1);
+
+		TransitionIndex<TestStates, TestEvents> index = TransitionIndex.of(transitions, TransitionConflictPolicy.CHILD);
+		assertThat(index.getCandidates(Arrays.asList(TestStates.S1, TestStates.S11, TestStates.S111), TestEvents.E1))
+				.containsExactly(transitionFromS111ToS1, transitionFromS11ToS1);
+		assertThat(index.getCandidates(Arrays.asList(TestStates.S1, TestStates.S11), TestEvents.E1))
+				.containsExactly(transitionFromS11ToS1);
+
+		index = TransitionIndex.of(transitions, TransitionConflictPolicy.PARENT);
+		assertThat(index.getCandidates(Arrays.asList(TestStates.S1, TestStates.S11, TestStates.S111), TestEvents.E1))
+				.containsExactly(transitionFromS11ToS1, transitionFromS111ToS1);
+	}
+}
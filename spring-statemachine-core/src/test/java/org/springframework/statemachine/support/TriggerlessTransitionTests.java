@@ -0,0 +1,101 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.statemachine.TestUtils.doSendEventAndConsumeAll;
+import static org.springframework.statemachine.TestUtils.doStartAndAssert;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.StateMachineException;
+import org.springframework.statemachine.config.StateMachineBuilder;
+import org.springframework.statemachine.config.StateMachineBuilder.Builder;
+import org.springframework.statemachine.listener.StateMachineListenerAdapter;
+
+/**
+ * Tests for triggerless transitions handled by a state machine executor.
+ *
+ * @author Janne Valkealahti
+ *
+ */
+public class TriggerlessTransitionTests {
+
+	@Test
+	public void testTriggerlessChain() throws Exception {
+		Builder<String, String> builder = StateMachineBuilder.builder();
+		builder.configureStates()
+			.withStates()
+				.initial("S1").state("S2").state("S3").state("S4").state("S5");
+		builder.configureTransitions()
+			.withExternal()
+				.source("S1").target("S2").event("E1")
+				.and()
+			.withExternal()
+				.source("S2").target("S3")
+				.and()
+			.withExternal()
+				.source("S3").target("S5").guard(context -> false)
+				.and()
+			.withExternal()
+				.source("S3").target("S4");
+		StateMachine<String, String> stateMachine = builder.build();
+		doStartAndAssert(stateMachine);
+		assertThat(stateMachine.getState().getIds()).containsExactly("S1");
+
+		doSendEventAndConsumeAll(stateMachine, "E1");
+		assertThat(stateMachine.getState().getIds()).containsExactly("S4");
+	}
+
+	@Test
+	public void testTriggerlessCycleStopsAtCascadeLimit() throws Exception {
+		AtomicInteger count = new AtomicInteger();
+		Builder<String, String> builder = StateMachineBuilder.builder();
+		builder.configureConfiguration()
+			.withConfiguration()
+				.stateMachineExecutorTriggerlessCascadeLimit(10);
+		builder.configureStates()
+			.withStates()
+				.initial("S1").state("S2").state("S3");
+		builder.configureTransitions()
+			.withExternal()
+				.source("S1").target("S2").event("E1")
+				.and()
+			.withExternal()
+				.source("S2").target("S3").guard(context -> count.incrementAndGet() > 0)
+				.and()
+			.withExternal()
+				.source("S3").target("S2");
+		StateMachine<String, String> stateMachine = builder.build();
+		AtomicReference<Exception> error = new AtomicReference<>();
+		stateMachine.addStateListener(new StateMachineListenerAdapter<String, String>() {
+
+			@Override
+			public void stateMachineError(StateMachine<String, String> stateMachine, Exception exception) {
+				error.set(exception);
+			}
+		});
+		doStartAndAssert(stateMachine);
+
+		doSendEventAndConsumeAll(stateMachine, "E1");
+		assertThat(count.get()).isLessThanOrEqualTo(11);
+		assertThat(stateMachine.hasStateMachineError()).isTrue();
+		assertThat(error.get()).isInstanceOf(StateMachineException.class).hasMessageContaining("cascade limit of 10");
+	}
+}
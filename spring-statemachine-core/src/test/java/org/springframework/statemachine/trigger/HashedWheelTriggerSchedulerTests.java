@@ -0,0 +1,154 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.trigger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import reactor.core.Disposable;
+
+/**
+ * Tests for {@link HashedWheelTriggerScheduler}.
+ *
+ * @author Janne Valkealahti
+ *
+ */
+public class HashedWheelTriggerSchedulerTests {
+
+	private HashedWheelTriggerScheduler scheduler = new HashedWheelTriggerScheduler(Duration.ofMillis(5), 8);
+
+	@AfterEach
+	public void clean() {
+		scheduler.destroy();
+	}
+
+	@Test
+	public void testTimeoutExpires() throws Exception {
+		CountDownLatch latch = new CountDownLatch(1);
+		long start = System.nanoTime();
+		scheduler.schedule(latch::countDown, Duration.ofMillis(50));
+		assertThat(scheduler.getPendingCount()).isEqualTo(1);
+		assertThat(latch.await(2, TimeUnit.SECONDS)).isTrue();
+		assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50));
+		assertThat(scheduler.getPendingCount()).isEqualTo(0);
+		assertThat(scheduler.getExpiredCount()).isEqualTo(1);
+		assertThat(scheduler.getMaxLateness()).isGreaterThanOrEqualTo(scheduler.getAverageLateness());
+	}
+
+	@Test
+	public void testTimeoutOverSeveralRounds() throws Exception {
+		// wheel of 8 buckets with 5ms ticks rotates in 40ms
+		CountDownLatch latch = new CountDownLatch(1);
+		long start = System.nanoTime();
+		scheduler.schedule(latch::countDown, Duration.ofMillis(150));
+		assertThat(latch.await(2, TimeUnit.SECONDS)).isTrue();
+		assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(150));
+	}
+
+	@Test
+	public void testCancelledTimeoutDoesNotExpire() throws Exception {
+		AtomicInteger count = new AtomicInteger();
+		CountDownLatch latch = new CountDownLatch(1);
+		Disposable timeout = scheduler.schedule(count::incrementAndGet, Duration.ofMillis(20));
+		scheduler.schedule(latch::countDown, Duration.ofMillis(60));
+		timeout.dispose();
+		assertThat(timeout.isDisposed()).isTrue();
+		assertThat(scheduler.getPendingCount()).isEqualTo(1);
+		assertThat(latch.await(2, TimeUnit.SECONDS)).isTrue();
+		assertThat(count.get()).isEqualTo(0);
+		assertThat(scheduler.getExpiredCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void testExpiredTimeoutsRunAsBatch() throws Exception {
+		List<Runnable> batches = Collections.synchronizedList(new ArrayList<>());
+		scheduler.setExecutor(batches::add);
+		AtomicInteger count = new AtomicInteger();
+		for (int i = 0; i < 10; i++) {
+			scheduler.schedule(count::incrementAndGet, Duration.ZERO);
+		}
+		long deadline = System.currentTimeMillis() + 2000;
+		while (scheduler.getExpiredCount() < 10 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(5);
+		}
+		assertThat(scheduler.getExpiredCount()).isEqualTo(10);
+		assertThat(batches.size()).isLessThan(10);
+		for (Runnable batch : new ArrayList<>(batches)) {
+			batch.run();
+		}
+		assertThat(count.get()).isEqualTo(10);
+	}
+
+	@Test
+	public void testTimeoutsNotRunOnWorkerThread() throws Exception {
+		AtomicReference<String> thread = new AtomicReference<>();
+		CountDownLatch latch = new CountDownLatch(1);
+		scheduler.schedule(() -> {
+			thread.set(Thread.currentThread().getName());
+			latch.countDown();
+		}, Duration.ofMillis(10));
+		assertThat(latch.await(2, TimeUnit.SECONDS)).isTrue();
+		assertThat(thread.get()).doesNotStartWith("trigger-scheduler-");
+	}
+
+	@Test
+	public void testTimerTriggerReschedulesFromDeadline() throws Exception {
+		List<Runnable> tasks = new ArrayList<>();
+		TimerTrigger<String, String> trigger = new TimerTrigger<>(100, 3);
+		trigger.setTriggerScheduler((task, delay) -> {
+			tasks.add(task);
+			return () -> {};
+		});
+		trigger.arm();
+		long deadline = trigger.getDeadline();
+		// run first timeout early, next one is still a period from its deadline
+		tasks.get(0).run();
+		assertThat(trigger.getDeadline()).isEqualTo(deadline + 100);
+		tasks.get(1).run();
+		assertThat(trigger.getDeadline()).isEqualTo(deadline + 200);
+		tasks.get(2).run();
+		assertThat(trigger.getDeadline()).isNull();
+	}
+
+	@Test
+	public void testTimerTriggerWithScheduler() throws Exception {
+		CountDownLatch latch = new CountDownLatch(3);
+		AtomicInteger count = new AtomicInteger();
+		TimerTrigger<String, String> trigger = new TimerTrigger<>(10, 3);
+		trigger.setTriggerScheduler(scheduler);
+		trigger.addTriggerListener(() -> {
+			count.incrementAndGet();
+			latch.countDown();
+		});
+		trigger.arm();
+		assertThat(latch.await(2, TimeUnit.SECONDS)).isTrue();
+		Thread.sleep(50);
+		assertThat(count.get()).isEqualTo(3);
+		trigger.disarm();
+		assertThat(scheduler.getPendingCount()).isEqualTo(0);
+	}
+}
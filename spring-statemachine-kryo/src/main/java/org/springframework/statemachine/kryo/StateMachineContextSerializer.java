@@ -20,10 +20,12 @@ import java.util.List;
 import java.util.Map;
 
 import org.springframework.statemachine.StateMachineContext;
+import org.springframework.statemachine.StateMachineTimer;
 import org.springframework.statemachine.support.DefaultExtendedState;
 import org.springframework.statemachine.support.DefaultStateMachineContext;
 
 import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.KryoException;
 import com.esotericsoftware.kryo.Serializer;
 import com.esotericsoftware.kryo.io.Input;
 import com.esotericsoftware.kryo.io.Output;
@@ -41,8 +43,18 @@ public class StateMachineContextSerializer<S, E> extends Serializer<StateMachine
 	// NOTE: when structure of this serialisation is changed, see how things are tested
 	//       in StateMachineContextSerializerTests.
 
+	// previous layouts started directly with an event whose class id is a
+	// varint kryo always writes in its shortest form, thus a continuation
+	// byte followed by a zero byte never starts those
+	private static final byte MAGIC_1 = (byte) 0xff;
+	private static final byte MAGIC_2 = 0;
+	private static final int VERSION = 3;
+
 	@Override
 	public void write(Kryo kryo, Output output, StateMachineContext<S, E> context) {
+		output.writeByte(MAGIC_1);
+		output.writeByte(MAGIC_2);
+		output.writeVarInt(VERSION, true);
 		kryo.writeClassAndObject(output, context.getEvent());
 		kryo.writeClassAndObject(output, context.getState());
 		kryo.writeClassAndObject(output, context.getEventHeaders());
@@ -50,16 +62,20 @@ public class StateMachineContextSerializer<S, E> extends Serializer<StateMachine
 		kryo.writeClassAndObject(output, context.getChilds());
 		kryo.writeClassAndObject(output, context.getHistoryStates());
 		kryo.writeClassAndObject(output, context.getId());
-		// child refs were added after initial implementation, leaving this here
-		// in case it's starting to cause issues with any existing serialised contexts
-		// which doesn't have this field
-		// NOTE: PR #722 added fixes with new tests
 		kryo.writeClassAndObject(output, context.getChildReferences());
+		writeTimers(kryo, output, context.getTimers());
 	}
 
 	@SuppressWarnings("unchecked")
 	@Override
 	public StateMachineContext<S, E> read(Kryo kryo, Input input, Class<StateMachineContext<S, E>> clazz) {
+		boolean versioned = readMagic(input);
+		if (versioned) {
+			int version = input.readVarInt(true);
+			if (version != VERSION) {
+				throw new KryoException("Unsupported state machine context version " + version);
+			}
+		}
 		E event = (E) kryo.readClassAndObject(input);
 		S state = (S) kryo.readClassAndObject(input);
 		Map<String, Object> eventHeaders = (Map<String, Object>) kryo.readClassAndObject(input);
@@ -68,11 +84,60 @@ public class StateMachineContextSerializer<S, E> extends Serializer<StateMachine
 		Map<S, S> historyStates = (Map<S, S>) kryo.readClassAndObject(input);
 		String id = (String) kryo.readClassAndObject(input);
 		List<String> childRefs = new ArrayList<>();
-		if(input.canReadInt()) {
+		List<StateMachineTimer<E>> timers = new ArrayList<>();
+		if (versioned) {
+			childRefs = (List<String>) kryo.readClassAndObject(input);
+			timers = readTimers(kryo, input);
+		} else if (input.canReadInt()) {
+			// child refs were added after initial implementation without a version
+			// marker, thus those can only be detected from a top-level context
+			// NOTE: PR #722 added fixes with new tests
 			childRefs = (List<String>) kryo.readClassAndObject(input);
 		}
 
 		return new DefaultStateMachineContext<S, E>(childRefs, childs, state, event, eventHeaders,
-				new DefaultExtendedState(variables), historyStates, id);
+				new DefaultExtendedState(variables), historyStates, id, timers);
+	}
+
+	private static boolean readMagic(Input input) {
+		// makes sure a few bytes are buffered so that peeked bytes can be
+		// given back, every layout has more than two bytes
+		if (!input.canReadInt()) {
+			return false;
+		}
+		int position = input.position();
+		if (input.readByte() == MAGIC_1 && input.readByte() == MAGIC_2) {
+			return true;
+		}
+		input.setPosition(position);
+		return false;
+	}
+
+	private void writeTimers(Kryo kryo, Output output, List<StateMachineTimer<E>> timers) {
+		if (timers == null) {
+			output.writeVarInt(0, true);
+			return;
+		}
+		output.writeVarInt(timers.size(), true);
+		for (StateMachineTimer<E> timer : timers) {
+			output.writeString(timer.getId());
+			output.writeLong(timer.getDeadline());
+			kryo.writeClassAndObject(output, timer.getEvent());
+			kryo.writeClassAndObject(output, timer.getEventHeaders());
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<StateMachineTimer<E>> readTimers(Kryo kryo, Input input) {
+		int size = input.readVarInt(true);
+		List<StateMachineTimer<E>> timers = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			String id = input.readString();
+			long deadline = input.readLong();
+			E event = (E) kryo.readClassAndObject(input);
+			Map<String, Object> eventHeaders = (Map<String, Object>) kryo.readClassAndObject(input);
+			timers.add(new StateMachineTimer<E>(id, deadline, event, eventHeaders));
+		}
+		return timers;
 	}
 }
@@ -19,6 +19,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -26,6 +27,7 @@ import java.util.Map;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.statemachine.StateMachineContext;
+import org.springframework.statemachine.StateMachineTimer;
 import org.springframework.statemachine.support.DefaultExtendedState;
 import org.springframework.statemachine.support.DefaultStateMachineContext;
 
@@ -68,6 +70,94 @@ public class StateMachineContextSerializerTests {
 		kryo.readClassAndObject(input);
 	}
 
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testContextWithTimers() {
+		Kryo kryo = new Kryo();
+		StateMachineContextSerializer<String, String> serializer = new StateMachineContextSerializer<>();
+		kryo.addDefaultSerializer(StateMachineContext.class, serializer);
+
+		List<StateMachineTimer<String>> childTimers = new ArrayList<>();
+		childTimers.add(new StateMachineTimer<String>("S1#0", 1000L, null, null));
+		StateMachineContext<String, String> child = new DefaultStateMachineContext<String, String>(new ArrayList<>(),
+				new ArrayList<>(), "child", null, null, new DefaultExtendedState(), null, "child", childTimers);
+		List<StateMachineContext<String, String>> childs = new ArrayList<>();
+		childs.add(child);
+		Map<String, Object> headers = new HashMap<>();
+		headers.put("foo", "bar");
+		List<StateMachineTimer<String>> rootTimers = new ArrayList<>();
+		rootTimers.add(new StateMachineTimer<String>("timer1", 2000L, "E1", headers));
+		DefaultExtendedState extendedState = new DefaultExtendedState();
+		extendedState.getVariables().put("key", "value");
+		StateMachineContext<String, String> root = new DefaultStateMachineContext<String, String>(new ArrayList<>(),
+				childs, "root", null, null, extendedState, null, "root", rootTimers);
+
+		ByteArrayOutputStream outStream = new ByteArrayOutputStream();
+		Output output = new Output(outStream);
+		kryo.writeClassAndObject(output, root);
+		output.flush();
+
+		Input input = new Input(new ByteArrayInputStream(outStream.toByteArray()));
+		StateMachineContext<String, String> read = (StateMachineContext<String, String>) kryo.readClassAndObject(input);
+		assertThat(read.getTimers()).containsExactly(new StateMachineTimer<String>("timer1", 2000L, "E1", headers));
+		assertThat(read.getExtendedState().getVariables()).containsOnlyKeys("key");
+		assertThat(read.getChilds()).hasSize(1);
+		assertThat(read.getChilds().get(0).getTimers()).containsExactly(new StateMachineTimer<String>("S1#0", 1000L, null, null));
+		assertThat(read).isEqualTo(root);
+	}
+
+	@Test
+	public void testVersionMarkerIsNotAClassName() {
+		Kryo kryo = new Kryo();
+		kryo.addDefaultSerializer(StateMachineContext.class, new StateMachineContextSerializer<String, String>());
+		StateMachineContext<String, String> context = new DefaultStateMachineContext<String, String>(
+				new ArrayList<>(), "root", null, null, new DefaultExtendedState());
+
+		ByteArrayOutputStream outStream = new ByteArrayOutputStream();
+		Output output = new Output(outStream);
+		kryo.writeObject(output, context);
+		output.flush();
+
+		byte[] bytes = outStream.toByteArray();
+		assertThat(bytes[0]).isEqualTo((byte) 0xff);
+		assertThat(bytes[1]).isEqualTo((byte) 0);
+		assertThat(bytes[2]).isEqualTo((byte) 3);
+		assertThat(new String(bytes, StandardCharsets.ISO_8859_1)).doesNotContain(StateMachineContextSerializer.class.getName());
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testContextWithMultiByteEventClassIdFromSecondVersionToCurrent() {
+		// class id 253 is written as 0xff 0x01, thus starts with a same byte
+		// than a version marker
+		Kryo kryoFrom = new Kryo();
+		Kryo kryoTo = new Kryo();
+		kryoFrom.register(TestEvents.class, 253);
+		kryoTo.register(TestEvents.class, 253);
+		kryoFrom.addDefaultSerializer(StateMachineContext.class, new StateMachineContextSerializerV2<String, TestEvents>());
+		kryoTo.addDefaultSerializer(StateMachineContext.class, new StateMachineContextSerializer<String, TestEvents>());
+
+		StateMachineContext<String, TestEvents> child = new DefaultStateMachineContext<String, TestEvents>("child",
+				TestEvents.E1, new HashMap<String, Object>(), new DefaultExtendedState());
+		List<StateMachineContext<String, TestEvents>> childs = new ArrayList<>();
+		childs.add(child);
+		StateMachineContext<String, TestEvents> rootFrom = new DefaultStateMachineContext<String, TestEvents>(
+				new ArrayList<>(), childs, "root", TestEvents.E2, new HashMap<String, Object>(),
+				new DefaultExtendedState(), null, "root");
+
+		ByteArrayOutputStream outStreamFrom = new ByteArrayOutputStream();
+		Output outputFrom = new Output(outStreamFrom);
+		kryoFrom.writeClassAndObject(outputFrom, rootFrom);
+		outputFrom.flush();
+
+		Input inputTo = new Input(new ByteArrayInputStream(outStreamFrom.toByteArray()));
+		StateMachineContext<String, TestEvents> rootTo = (StateMachineContext<String, TestEvents>) kryoTo
+			.readClassAndObject(inputTo);
+		assertThat(rootTo.getEvent()).isEqualTo(TestEvents.E2);
+		assertThat(rootTo.getChilds().get(0).getEvent()).isEqualTo(TestEvents.E1);
+		assertThat(rootFrom).isEqualTo(rootTo);
+	}
+
 	@SuppressWarnings("unchecked")
 	@Test
 	public void testContextFromInitialVersionToCurrent() {
@@ -100,6 +190,79 @@ public class StateMachineContextSerializerTests {
 		assertThat(rootFrom).isEqualTo(rootTo);
 	}
 
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testContextFromSecondVersionToCurrent() {
+		// V2 added child refs as an unversioned trailing field, V3 added
+		// a version marker and timers
+		Kryo kryoFrom = new Kryo();
+		Kryo kryoTo = new Kryo();
+
+		StateMachineContextSerializerV2<String, String> serializerV2 = new StateMachineContextSerializerV2<>();
+		kryoFrom.addDefaultSerializer(StateMachineContext.class, serializerV2);
+
+		// unversioned trailing field can only be detected from a top-level context
+		List<String> childRefs = new ArrayList<>();
+		childRefs.add("region1");
+		StateMachineContext<String, String> rootFrom = new DefaultStateMachineContext<String, String>(childRefs,
+				new ArrayList<>(), "root", "event2", new HashMap<String, Object>(), new DefaultExtendedState(), null, "root");
+
+		ByteArrayOutputStream outStreamFrom = new ByteArrayOutputStream();
+		Output outputFrom = new Output(outStreamFrom);
+		kryoFrom.writeClassAndObject(outputFrom, rootFrom);
+		outputFrom.flush();
+
+		StateMachineContextSerializer<String, String> serializerCurrent = new StateMachineContextSerializer<>();
+		kryoTo.addDefaultSerializer(StateMachineContext.class, serializerCurrent);
+
+		Input inputTo = new Input(new ByteArrayInputStream(outStreamFrom.toByteArray()));
+		StateMachineContext<String, String> rootTo = (StateMachineContext<String, String>) kryoTo.readClassAndObject(inputTo);
+		assertThat(rootTo.getChildReferences()).containsExactly("region1");
+		assertThat(rootTo.getTimers()).isEmpty();
+		assertThat(rootFrom).isEqualTo(rootTo);
+	}
+
+	private enum TestEvents {
+		E1, E2
+	}
+
+	/**
+	 * Second implementation of a StateMachineContextSerializer which added
+	 * child references and is used to test read to current version.
+	 */
+	private static class StateMachineContextSerializerV2<S, E> extends Serializer<StateMachineContext<S, E>> {
+
+		@Override
+		public void write(Kryo kryo, Output output, StateMachineContext<S, E> context) {
+			kryo.writeClassAndObject(output, context.getEvent());
+			kryo.writeClassAndObject(output, context.getState());
+			kryo.writeClassAndObject(output, context.getEventHeaders());
+			kryo.writeClassAndObject(output, context.getExtendedState() != null ? context.getExtendedState().getVariables() : null);
+			kryo.writeClassAndObject(output, context.getChilds());
+			kryo.writeClassAndObject(output, context.getHistoryStates());
+			kryo.writeClassAndObject(output, context.getId());
+			kryo.writeClassAndObject(output, context.getChildReferences());
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public StateMachineContext<S, E> read(Kryo kryo, Input input, Class<StateMachineContext<S, E>> clazz) {
+			E event = (E) kryo.readClassAndObject(input);
+			S state = (S) kryo.readClassAndObject(input);
+			Map<String, Object> eventHeaders = (Map<String, Object>) kryo.readClassAndObject(input);
+			Map<Object, Object> variables = (Map<Object, Object>) kryo.readClassAndObject(input);
+			List<StateMachineContext<S, E>> childs = (List<StateMachineContext<S, E>>) kryo.readClassAndObject(input);
+			Map<S, S> historyStates = (Map<S, S>) kryo.readClassAndObject(input);
+			String id = (String) kryo.readClassAndObject(input);
+			List<String> childRefs = new ArrayList<>();
+			if(input.canReadInt()) {
+				childRefs = (List<String>) kryo.readClassAndObject(input);
+			}
+			return new DefaultStateMachineContext<S, E>(childRefs, childs, state, event, eventHeaders,
+					new DefaultExtendedState(variables), historyStates, id);
+		}
+	}
+
 	/**
 	 * Initial implementation of a StateMachineContextSerializer which is used to
 	 * test read to current version.
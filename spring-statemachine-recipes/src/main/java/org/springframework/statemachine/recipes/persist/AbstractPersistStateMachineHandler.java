@@ -24,7 +24,6 @@ import org.springframework.statemachine.support.DefaultStateMachineContext;
 import org.springframework.statemachine.support.LifecycleObjectSupport;
 import org.springframework.statemachine.support.StateMachineInterceptorAdapter;
 import org.springframework.statemachine.transition.Transition;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.Iterator;
@@ -61,12 +60,8 @@ public abstract class AbstractPersistStateMachineHandler<S, E> extends Lifecycle
     @Deprecated
     public boolean handleEventWithState(Message<E> event, S state) {
         StateMachine<S, E> stateMachine = getInitStateMachine();
-        stateMachine.stopReactively().block();
-        List<StateMachineAccess<S, E>> withAllRegions = stateMachine.getStateMachineAccessor().withAllRegions();
-        for (StateMachineAccess<S, E> a : withAllRegions) {
-            a.resetStateMachineReactively(new DefaultStateMachineContext<S, E>(state, null, null, null)).block();
-        }
-        stateMachine.startReactively().block();
+        stateMachine.getStateMachineAccessor().withRegion()
+                .hydrateStateMachineReactively(new DefaultStateMachineContext<S, E>(state, null, null, null)).block();
         return stateMachine.sendEvent(event);
     }
 
@@ -81,12 +76,8 @@ public abstract class AbstractPersistStateMachineHandler<S, E> extends Lifecycle
         return Mono.defer(() -> {
             StateMachine<S, E> stateMachine = getInitStateMachine();
             // TODO: REACTOR add docs and revisit this function concept
-            return Mono.from(stateMachine.stopReactively())
-                    .thenEmpty(
-                            Flux.fromIterable(stateMachine.getStateMachineAccessor().withAllRegions())
-                                    .flatMap(region -> region.resetStateMachineReactively(new DefaultStateMachineContext<S, E>(state, null, null, null)))
-                    )
-                    .then(stateMachine.startReactively())
+            return stateMachine.getStateMachineAccessor().withRegion()
+                    .hydrateStateMachineReactively(new DefaultStateMachineContext<S, E>(state, null, null, null))
                     .thenMany(stateMachine.sendEvent(Mono.just(event)))
                     .then();
         });